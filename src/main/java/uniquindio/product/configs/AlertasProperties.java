@@ -0,0 +1,23 @@
+package uniquindio.product.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "alertas")
+@Getter
+@Setter
+public class AlertasProperties {
+    // Lotes que vencen dentro de estos días generan alerta de vencimiento
+    private int diasVencimiento = 60;
+    // Productos con menos unidades libres que este umbral generan alerta de stock bajo
+    private int umbralStock = 10;
+    // Duración máxima de una conexión SSE; el navegador se reconecta solo
+    private Duration duracionConexion = Duration.ofMinutes(30);
+    // Cada cuánto se envía un comentario para que proxies no cierren la conexión inactiva
+    private Duration latido = Duration.ofSeconds(25);
+}
@@ -1,13 +1,93 @@
 package uniquindio.product.configs;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 public class AsyncConfig implements AsyncConfigurer {
 
+    public static final String EJECUTOR_NOTIFICACIONES_PAGO = "notificacionesPagoExecutor";
+    public static final String EJECUTOR_CORREOS = "correosExecutor";
+
+    private static final int HILOS_ASYNC = 4;
+    private static final int CAPACIDAD_COLA_ASYNC = 200;
+
+    private final Environment environment;
+
+    /**
+     * Ejecutor de los métodos {@code @Async}: acotado, para que una ráfaga no acumule
+     * tareas sin límite; si se llena, la tarea corre en el hilo que la invoca.
+     * Con {@code spring.threads.virtual.enabled=true} cada tarea corre en su propio hilo
+     * virtual, con el mismo máximo de tareas en curso; al llegar al límite quien invoca espera.
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(HILOS_ASYNC + CAPACIDAD_COLA_ASYNC);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(HILOS_ASYNC);
+        executor.setMaxPoolSize(HILOS_ASYNC);
+        executor.setQueueCapacity(CAPACIDAD_COLA_ASYNC);
+        executor.setThreadNamePrefix("async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, metodo, parametros) ->
+                log.error("Error no controlado en la tarea asíncrona {}: {}", metodo.getName(), ex.getMessage(), ex);
+    }
 
+    /**
+     * Pool acotado para las notificaciones de pago: si hilos y cola están llenos,
+     * las notificaciones siguen en la base de datos hasta la próxima pasada.
+     * Sigue con hilos de plataforma aun en modo virtual: el tamaño del pool es el límite
+     * de concurrencia buscado, y los clientes HTTP y SMTP bloquean dentro de synchronized.
+     */
+    @Bean(name = EJECUTOR_NOTIFICACIONES_PAGO)
+    public ThreadPoolTaskExecutor notificacionesPagoExecutor(WebhookProperties webhookProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(webhookProperties.getHilos());
+        executor.setMaxPoolSize(webhookProperties.getHilos());
+        executor.setQueueCapacity(webhookProperties.getCapacidadCola());
+        executor.setThreadNamePrefix("webhook-pago-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
 
+    // Envío de correos de la tabla correo_saliente; igual que el anterior, lo que no cabe espera en la tabla
+    @Bean(name = EJECUTOR_CORREOS)
+    public ThreadPoolTaskExecutor correosExecutor(CorreoProperties correoProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(correoProperties.getHilos());
+        executor.setMaxPoolSize(correoProperties.getHilos());
+        executor.setQueueCapacity(correoProperties.getCapacidadCola());
+        executor.setThreadNamePrefix("correo-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
 }
@@ -0,0 +1,18 @@
+package uniquindio.product.configs;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Activa la caché de Spring. El proveedor (Caffeine), los nombres de caché y su
+ * política de tamaño/TTL se configuran con las propiedades spring.cache.* y las
+ * métricas de aciertos, fallos y desalojos se publican en /actuator/metrics (cache.*).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CACHE_PRODUCTOS = "productos";
+    public static final String CACHE_PRODUCTOS_POR_TIPO = "productosPorTipo";
+    public static final String CACHE_CATALOGO = "catalogoProductos";
+}
@@ -0,0 +1,24 @@
+package uniquindio.product.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import uniquindio.product.model.vo.ConteoConsultas;
+
+@Component
+@ConfigurationProperties(prefix = "consultas")
+@Getter
+@Setter
+public class ConsultasProperties {
+    // Sentencias SQL por petición sobre las que se registra una advertencia
+    private int presupuestoSentencias = 20;
+    // Entidades cargadas desde la base de datos por petición
+    private int presupuestoEntidades = 500;
+    // Colecciones perezosas inicializadas por petición (una por fila indica un N+1)
+    private int presupuestoColecciones = 10;
+
+    public ConteoConsultas presupuesto() {
+        return new ConteoConsultas(presupuestoSentencias, presupuestoEntidades, presupuestoColecciones);
+    }
+}
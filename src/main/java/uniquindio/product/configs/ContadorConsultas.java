@@ -0,0 +1,69 @@
+package uniquindio.product.configs;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+import uniquindio.product.model.vo.ConteoConsultas;
+
+/**
+ * Cuenta las sentencias SQL, las entidades cargadas y las colecciones inicializadas del
+ * hilo actual entre {@link #iniciar()} y {@link #detener()}.
+ * <p>
+ * Hibernate lo invoca como StatementInspector y como listener de POST_LOAD e INIT_COLLECTION
+ * (ver ContadorConsultasConfig). Fuera de una medición (tareas programadas, arranque) no
+ * cuenta nada; el costo por sentencia es leer un ThreadLocal.
+ */
+@Component
+public class ContadorConsultas implements StatementInspector, PostLoadEventListener, InitializeCollectionEventListener {
+
+    private final ThreadLocal<Medicion> medicionActual = new ThreadLocal<>();
+
+    public void iniciar() {
+        medicionActual.set(new Medicion());
+    }
+
+    // Termina la medición del hilo; VACIO si no había una en curso
+    public ConteoConsultas detener() {
+        Medicion medicion = medicionActual.get();
+        medicionActual.remove();
+        return medicion != null ? medicion.conteo() : ConteoConsultas.VACIO;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Medicion medicion = medicionActual.get();
+        if (medicion != null) {
+            medicion.sentencias++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        Medicion medicion = medicionActual.get();
+        if (medicion != null) {
+            medicion.entidades++;
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        Medicion medicion = medicionActual.get();
+        if (medicion != null) {
+            medicion.colecciones++;
+        }
+    }
+
+    private static final class Medicion {
+        private int sentencias;
+        private int entidades;
+        private int colecciones;
+
+        private ConteoConsultas conteo() {
+            return new ConteoConsultas(sentencias, entidades, colecciones);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package uniquindio.product.configs;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Conecta ContadorConsultas a Hibernate al crear la SessionFactory: como StatementInspector
+ * para contar sentencias y como listener de eventos para contar entidades y colecciones.
+ */
+@Configuration
+public class ContadorConsultasConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorConsultasCustomizer(ContadorConsultas contadorConsultas) {
+        return propiedades -> {
+            propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, contadorConsultas);
+            propiedades.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new RegistroListeners(contadorConsultas)));
+        };
+    }
+
+    private record RegistroListeners(ContadorConsultas contadorConsultas) implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                              SessionFactoryImplementor sessionFactory) {
+            EventListenerRegistry registro = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            registro.appendListeners(EventType.POST_LOAD, contadorConsultas);
+            registro.appendListeners(EventType.INIT_COLLECTION, contadorConsultas);
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            // Los listeners se descartan junto con la SessionFactory
+        }
+    }
+}
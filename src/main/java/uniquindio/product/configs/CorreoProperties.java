@@ -0,0 +1,30 @@
+package uniquindio.product.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "correos")
+@Getter
+@Setter
+public class CorreoProperties {
+    // Envíos SMTP simultáneos
+    private int hilos = 2;
+    // Correos reclamados que pueden esperar un hilo libre
+    private int capacidadCola = 50;
+    // Correos que se reclaman de la tabla por pasada
+    private int tamanoLote = 20;
+    // Límite de envíos por segundo hacia el servidor SMTP
+    private int maximoPorSegundo = 5;
+    // Intentos antes de dejar el correo como FALLIDO
+    private int maxIntentos = 5;
+    // Espera antes del primer reintento; se duplica en cada fallo hasta esperaMaxima
+    private Duration esperaInicial = Duration.ofSeconds(30);
+    private Duration esperaMaxima = Duration.ofMinutes(30);
+    // Si un envío no termina en este tiempo, otra pasada puede reclamar el correo
+    private Duration duracionReclamo = Duration.ofMinutes(5);
+}
@@ -0,0 +1,91 @@
+package uniquindio.product.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Detecta hilos virtuales fijados a su hilo portador (pinning): en Java 21 un hilo
+ * virtual que se bloquea dentro de un bloque {@code synchronized} (Jakarta Mail, los
+ * clientes HTTP de Cloudinary y MercadoPago...) no libera el portador y frena a los demás.
+ * <p>
+ * Escucha el evento JFR {@code jdk.VirtualThreadPinned}, lo cuenta por clase de origen en
+ * {@code hilos.virtuales.bloqueos} y escribe la pila en el log. Solo se activa con
+ * {@code spring.threads.virtual.enabled=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@RequiredArgsConstructor
+public class DiagnosticoHilosVirtuales {
+
+    private static final String EVENTO_BLOQUEO = "jdk.VirtualThreadPinned";
+
+    private final HilosVirtualesProperties hilosVirtualesProperties;
+    private final MeterRegistry meterRegistry;
+
+    private RecordingStream grabacion;
+
+    @PostConstruct
+    public void iniciar() {
+        grabacion = new RecordingStream();
+        grabacion.enable(EVENTO_BLOQUEO)
+                .withThreshold(hilosVirtualesProperties.getUmbralBloqueo())
+                .withStackTrace();
+        grabacion.onEvent(EVENTO_BLOQUEO, this::registrar);
+        grabacion.startAsync();
+    }
+
+    @PreDestroy
+    public void detener() {
+        if (grabacion != null) {
+            grabacion.close();
+        }
+    }
+
+    public void registrar(RecordedEvent evento) {
+        List<RecordedFrame> marcos = evento.getStackTrace() != null
+                ? evento.getStackTrace().getFrames()
+                : List.of();
+        String origen = origen(marcos);
+
+        meterRegistry.timer("hilos.virtuales.bloqueos", "origen", origen).record(evento.getDuration());
+        log.warn("Hilo virtual fijado a su portador {} ms en {}:\n{}",
+                evento.getDuration().toMillis(), origen, pila(marcos));
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    /**
+     * Primera clase de la pila que no es del JDK: la biblioteca o el código que tenía el monitor.
+     */
+    private String origen(List<RecordedFrame> marcos) {
+        return marcos.stream()
+                .map(marco -> marco.getMethod().getType().getName())
+                .filter(clase -> !clase.startsWith("java.") && !clase.startsWith("jdk.")
+                        && !clase.startsWith("sun."))
+                .findFirst()
+                .orElse("desconocido");
+    }
+
+    private String pila(List<RecordedFrame> marcos) {
+        return marcos.stream()
+                .limit(hilosVirtualesProperties.getMarcosPila())
+                .map(marco -> "\tat " + marco.getMethod().getType().getName() + "."
+                        + marco.getMethod().getName() + ":" + marco.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
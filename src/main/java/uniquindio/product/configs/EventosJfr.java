@@ -0,0 +1,123 @@
+package uniquindio.product.configs;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+/**
+ * Eventos JFR de los caminos calientes de pedidos, lotes y pagos. Cada evento mide su
+ * duración entre {@code begin()} y {@code commit()} y lleva los IDs necesarios para cruzarlo
+ * con los logs. Sin una grabación activa {@code commit()} no hace nada, así que pueden quedar
+ * siempre en el código; GrabacionJfrEndpoint inicia y descarga la grabación.
+ */
+public final class EventosJfr {
+
+    private static final String CATEGORIA = "ReneChardon";
+
+    // Tipos que GrabacionJfrEndpoint habilita explícitamente en cada grabación
+    public static final List<Class<? extends Event>> TIPOS = List.of(
+            CreacionPedido.class, AsignacionLotes.class, DescuentoStock.class,
+            ProcesamientoWebhook.class, EnvioCorreo.class, SubidaImagen.class
+    );
+
+    private EventosJfr() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    @Name("uniquindio.product.CreacionPedido")
+    @Label("Creación de pedido")
+    @Description("Desde la validación de productos hasta guardar el pedido con sus reservas")
+    @Category({CATEGORIA, "Pedidos"})
+    @StackTrace(false)
+    public static final class CreacionPedido extends Event {
+        @Label("ID del pedido")
+        public String idPedido;
+
+        @Label("ID del cliente")
+        public String idCliente;
+
+        @Label("Productos distintos")
+        public int productos;
+    }
+
+    @Name("uniquindio.product.AsignacionLotes")
+    @Label("Asignación FEFO de lotes")
+    @Description("Consulta de lotes candidatos y reparto de las cantidades en orden FEFO")
+    @Category({CATEGORIA, "Lotes"})
+    @StackTrace(false)
+    public static final class AsignacionLotes extends Event {
+        @Label("Productos")
+        public int productos;
+
+        @Label("Lotes candidatos")
+        public int lotesCandidatos;
+
+        @Label("Asignaciones")
+        public int asignaciones;
+    }
+
+    @Name("uniquindio.product.DescuentoStock")
+    @Label("Descuento de stock")
+    @Description("Venta de las reservas y descuento de lotes al aprobarse el pago de un pedido")
+    @Category({CATEGORIA, "Lotes"})
+    @StackTrace(false)
+    public static final class DescuentoStock extends Event {
+        @Label("ID del pedido")
+        public String idPedido;
+
+        @Label("Planes FEFO aplicados")
+        public int intentos;
+    }
+
+    @Name("uniquindio.product.ProcesamientoWebhook")
+    @Label("Procesamiento de webhook de pago")
+    @Description("Consulta del pago en la pasarela y actualización del pedido")
+    @Category({CATEGORIA, "Pagos"})
+    @StackTrace(false)
+    public static final class ProcesamientoWebhook extends Event {
+        @Label("ID de la notificación")
+        public String idNotificacion;
+
+        @Label("ID del pago")
+        public String idPago;
+
+        @Label("Exitoso")
+        public boolean exitoso;
+    }
+
+    @Name("uniquindio.product.EnvioCorreo")
+    @Label("Envío de correo")
+    @Description("Envío SMTP de un correo de la cola")
+    @Category({CATEGORIA, "Correos"})
+    @StackTrace(false)
+    public static final class EnvioCorreo extends Event {
+        @Label("ID del correo")
+        public String idCorreo;
+
+        @Label("Exitoso")
+        public boolean exitoso;
+    }
+
+    @Name("uniquindio.product.SubidaImagen")
+    @Label("Subida de imagen")
+    @Description("Hash del archivo y subida a Cloudinary cuando la imagen no existía")
+    @Category({CATEGORIA, "Imágenes"})
+    @StackTrace(false)
+    public static final class SubidaImagen extends Event {
+        @Label("Public ID")
+        public String publicId;
+
+        @Label("Tamaño")
+        @DataAmount
+        public long bytes;
+
+        @Label("Reutilizada")
+        public boolean reutilizada;
+    }
+}
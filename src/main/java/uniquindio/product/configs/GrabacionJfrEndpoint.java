@@ -0,0 +1,148 @@
+package uniquindio.product.configs;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Endpoint de actuator para perfilar una instancia en vivo con Java Flight Recorder,
+ * sin reiniciar ni agregar un agente:
+ * <ul>
+ *     <li>{@code POST /actuator/jfr} inicia una grabación acotada por duración y tamaño</li>
+ *     <li>{@code DELETE /actuator/jfr} la detiene (los datos se conservan para descargarlos)</li>
+ *     <li>{@code GET /actuator/jfr/volcado} descarga el archivo .jfr</li>
+ *     <li>{@code GET /actuator/jfr} muestra el estado</li>
+ * </ul>
+ * Solo hay una grabación a la vez; iniciar otra descarta la anterior. Restringido a ADMINISTRADOR.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class GrabacionJfrEndpoint {
+
+    private static final String NOMBRE_GRABACION = "renechardon-actuator";
+    private static final String VOLCADO = "volcado";
+
+    private final JfrProperties jfrProperties;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Recording grabacion;
+
+    @ReadOperation
+    public Map<String, Object> estado() {
+        lock.lock();
+        try {
+            Map<String, Object> estado = new LinkedHashMap<>();
+            estado.put("estado", grabacion != null ? grabacion.getState().name() : "SIN_GRABACION");
+            if (grabacion != null) {
+                estado.put("inicio", grabacion.getStartTime());
+                estado.put("fin", grabacion.getStopTime());
+                estado.put("duracionMaxima", grabacion.getDuration());
+                estado.put("tamanoMaximo", grabacion.getMaxSize());
+                estado.put("bytesGrabados", grabacion.getSize());
+            }
+            return estado;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @WriteOperation
+    public Map<String, Object> iniciar() throws IOException, ParseException {
+        lock.lock();
+        try {
+            if (grabacion != null && grabacion.getState() == RecordingState.RUNNING) {
+                return estado();
+            }
+            cerrar();
+
+            Recording nueva = new Recording(Configuration.getConfiguration(jfrProperties.getConfiguracion()));
+            nueva.setName(NOMBRE_GRABACION);
+            nueva.setToDisk(true);
+            nueva.setDuration(jfrProperties.getDuracionMaxima());
+            nueva.setMaxAge(jfrProperties.getDuracionMaxima());
+            nueva.setMaxSize(jfrProperties.getTamanoMaximo().toBytes());
+            EventosJfr.TIPOS.forEach(nueva::enable);
+            nueva.start();
+            grabacion = nueva;
+
+            log.info("Grabación JFR iniciada (configuración {}, máximo {} / {})", jfrProperties.getConfiguracion(),
+                    jfrProperties.getDuracionMaxima(), jfrProperties.getTamanoMaximo());
+            return estado();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @DeleteOperation
+    public Map<String, Object> detener() {
+        lock.lock();
+        try {
+            if (grabacion != null && grabacion.getState() == RecordingState.RUNNING) {
+                grabacion.stop();
+                log.info("Grabación JFR detenida ({} bytes)", grabacion.getSize());
+            }
+            return estado();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copia la grabación a un archivo temporal que se borra al terminar de enviarlo.
+     * Funciona con la grabación en curso o ya detenida.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> volcar(@Selector String archivo) throws IOException {
+        lock.lock();
+        try {
+            if (!VOLCADO.equals(archivo) || grabacion == null
+                    || (grabacion.getState() != RecordingState.RUNNING && grabacion.getState() != RecordingState.STOPPED)) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+
+            Path destino = Files.createTempFile(NOMBRE_GRABACION + "-", ".jfr");
+            grabacion.dump(destino);
+            return new WebEndpointResponse<>(
+                    new InputStreamResource(Files.newInputStream(destino, StandardOpenOption.DELETE_ON_CLOSE)),
+                    WebEndpointResponse.STATUS_OK);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        lock.lock();
+        try {
+            if (grabacion != null) {
+                grabacion.close();
+                grabacion = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
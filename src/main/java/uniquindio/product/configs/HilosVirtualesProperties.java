@@ -0,0 +1,19 @@
+package uniquindio.product.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "hilos-virtuales")
+@Getter
+@Setter
+public class HilosVirtualesProperties {
+    // Tiempo mínimo que un hilo virtual debe quedar fijado a su portador para registrarlo
+    private Duration umbralBloqueo = Duration.ofMillis(20);
+    // Marcos de la pila que se escriben en el log por cada bloqueo
+    private int marcosPila = 8;
+}
@@ -0,0 +1,18 @@
+package uniquindio.product.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties(prefix = "imagenes")
+@Getter
+@Setter
+public class ImagenesProperties {
+    // Tamaño máximo de una imagen; Tomcat corta la subida al superarlo
+    private DataSize tamanoMaximo = DataSize.ofMegabytes(10);
+    // Carpeta de Cloudinary donde se guardan las imágenes de productos
+    private String carpeta = "ReneChardon";
+}
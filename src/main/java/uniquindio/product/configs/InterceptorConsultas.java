@@ -0,0 +1,82 @@
+package uniquindio.product.configs;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import uniquindio.product.model.vo.ConteoConsultas;
+
+/**
+ * Mide las consultas de cada petición HTTP con ContadorConsultas y las publica como
+ * histogramas {@code http.server.requests.sql.*} etiquetados con la ruta del controlador.
+ * Si la petición supera el presupuesto de ConsultasProperties se registra una advertencia
+ * con el método del controlador, que suele apuntar a un N+1.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InterceptorConsultas implements AsyncHandlerInterceptor {
+
+    private final ContadorConsultas contadorConsultas;
+    private final ConsultasProperties consultasProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        contadorConsultas.iniciar();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ConteoConsultas conteo = contadorConsultas.detener();
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags etiquetas = Tags.of("uri", patron != null ? patron.toString() : "UNKNOWN", "method", request.getMethod());
+
+        registrar("http.server.requests.sql.sentencias", "Sentencias SQL por petición", etiquetas, conteo.sentencias());
+        registrar("http.server.requests.sql.entidades", "Entidades cargadas por petición", etiquetas, conteo.entidades());
+        registrar("http.server.requests.sql.colecciones", "Colecciones inicializadas por petición", etiquetas, conteo.colecciones());
+
+        ConteoConsultas presupuesto = consultasProperties.presupuesto();
+        if (conteo.excede(presupuesto)) {
+            log.warn("{} {} ({}) excedió el presupuesto de consultas: {} sentencias, {} entidades, {} colecciones "
+                            + "(máximo {}/{}/{})",
+                    request.getMethod(), patron, controlador(handler),
+                    conteo.sentencias(), conteo.entidades(), conteo.colecciones(),
+                    presupuesto.sentencias(), presupuesto.entidades(), presupuesto.colecciones());
+        }
+    }
+
+    // Las peticiones asíncronas (SSE) liberan el hilo aquí; su conexión no se mide
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        contadorConsultas.detener();
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private void registrar(String nombre, String descripcion, Tags etiquetas, int valor) {
+        DistributionSummary.builder(nombre)
+                .description(descripcion)
+                .tags(etiquetas)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(valor);
+    }
+
+    private String controlador(Object handler) {
+        if (handler instanceof HandlerMethod metodo) {
+            return metodo.getBeanType().getSimpleName() + "#" + metodo.getMethod().getName();
+        }
+        return String.valueOf(handler);
+    }
+}
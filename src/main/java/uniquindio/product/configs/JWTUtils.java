@@ -1,15 +1,25 @@
 package uniquindio.product.configs;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
 
@@ -21,6 +31,39 @@ public class JWTUtils {
 
     private String secret;
     private Long expiration;
+    // Máximo de tokens ya verificados que se recuerdan hasta su expiración (0 la desactiva)
+    private int tamanoCache = 10_000;
+
+    // Inmutables y seguros entre hilos: se construyen una sola vez al arrancar
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private SecretKey clave;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private JwtParser parser;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Cache<String, Jws<Claims>> tokensVerificados;
+
+    /**
+     * Deriva la clave HMAC y construye el parser con las propiedades ya enlazadas.
+     */
+    @PostConstruct
+    public void inicializar() {
+        clave = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(clave)
+                .build();
+        tokensVerificados = tamanoCache > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(tamanoCache)
+                        .expireAfter(new ExpiracionDelToken())
+                        .build()
+                : null;
+    }
+
     public String generarToken(String email, Map<String, Object> claims) {
 
         Instant now = Instant.now();
@@ -30,22 +73,70 @@ public class JWTUtils {
                 .setSubject(email)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plus(1L, ChronoUnit.HOURS)))
-                .signWith(getKey())
+                .signWith(clave)
                 .compact();
     }
 
+    /**
+     * Verifica la firma y la expiración del token. Los tokens ya verificados se
+     * recuerdan por su huella SHA-256 hasta que expiran, para no repetir el
+     * parseo y el HMAC en cada petición del mismo cliente.
+     */
     public Jws<Claims> parseJwt(String jwtString)
             throws ExpiredJwtException, UnsupportedJwtException, MalformedJwtException, IllegalArgumentException {
 
-        JwtParser jwtParser = Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build();
+        if (jwtString == null || jwtString.isBlank()) {
+            throw new IllegalArgumentException("El token JWT no puede estar vacío");
+        }
 
-        return jwtParser.parseClaimsJws(jwtString);
+        if (tokensVerificados == null) {
+            return parser.parseClaimsJws(jwtString);
+        }
+
+        String huella = huella(jwtString);
+        Jws<Claims> verificado = tokensVerificados.getIfPresent(huella);
+        if (verificado != null) {
+            return verificado;
+        }
+
+        Jws<Claims> jws = parser.parseClaimsJws(jwtString);
+        // Sin fecha de expiración no hay un límite seguro para recordarlo
+        if (jws.getBody().getExpiration() != null) {
+            tokensVerificados.put(huella, jws);
+        }
+        return jws;
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private static String huella(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
     }
 
-    private SecretKey getKey() {
-        byte[] secretKeyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(secretKeyBytes);
+    // Cada token sale de la caché en el instante en que expira
+    private static final class ExpiracionDelToken implements Expiry<String, Jws<Claims>> {
+
+        @Override
+        public long expireAfterCreate(String huella, Jws<Claims> jws, long currentTime) {
+            Duration restante = Duration.between(Instant.now(), jws.getBody().getExpiration().toInstant());
+            return Math.max(0L, restante.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String huella, Jws<Claims> jws, long currentTime, long currentDuration) {
+            return expireAfterCreate(huella, jws, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String huella, Jws<Claims> jws, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package uniquindio.product.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "jfr")
+@Getter
+@Setter
+public class JfrProperties {
+    // Configuración de JFR incluida en el JDK ("default" ~1% de sobrecarga, "profile" más detalle)
+    private String configuracion = "profile";
+    // La grabación se detiene sola pasado este tiempo si nadie la detiene
+    private Duration duracionMaxima = Duration.ofMinutes(15);
+    // Tamaño máximo en disco; al superarlo se descartan los datos más antiguos
+    private DataSize tamanoMaximo = DataSize.ofMegabytes(64);
+}
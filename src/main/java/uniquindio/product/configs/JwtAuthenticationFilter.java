@@ -10,13 +10,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import uniquindio.product.model.enums.Rol;
 
 import java.io.IOException;
-import java.util.List;
 
 @Slf4j
 @Component
@@ -41,22 +40,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
 
         try {
-            // Llama al método estático para parsear el token
+            // Verifica el token o lo toma de los ya verificados en peticiones anteriores
             Jws<Claims> jwsClaims = jwtUtils.parseJwt(token);
 
             Claims claims = jwsClaims.getBody();
 
-            String email = claims.getSubject();
-            String id = claims.get("id", String.class);
-            String rol = claims.get("rol", String.class);
-
-            List<SimpleGrantedAuthority> authorities = List.of(
-                    new SimpleGrantedAuthority("ROLE_" + rol),
-                    new SimpleGrantedAuthority("id:" + id)
+            UsuarioAutenticado usuario = new UsuarioAutenticado(
+                    claims.get("id", String.class),
+                    claims.getSubject(),
+                    Rol.valueOf(claims.get("rol", String.class))
             );
 
             UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(email, null, authorities);
+                    new UsernamePasswordAuthenticationToken(usuario, null, usuario.autoridades());
 
             SecurityContextHolder.getContext().setAuthentication(auth);
 
@@ -0,0 +1,56 @@
+package uniquindio.product.configs;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import uniquindio.product.model.enums.EstadoLote;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene la restricción {@code lote_estado_check} al día con {@link EstadoLote}.
+ * <p>
+ * Hibernate 6 crea esa restricción con los valores del enum cuando crea la tabla, pero
+ * {@code ddl-auto=update} nunca la modifica: en una base creada antes de un estado nuevo
+ * (VENCIDO) cualquier escritura de ese estado falla. Se ejecuta después de que Hibernate
+ * actualice el esquema y antes de que arranquen las tareas programadas, y solo reemplaza la
+ * restricción si le falta algún estado.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class MigracionEstadoLote {
+
+    private static final String RESTRICCION = "lote_estado_check";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void actualizarRestriccion() {
+        List<String> definicion = jdbcTemplate.queryForList("""
+                SELECT pg_get_constraintdef(oid)
+                  FROM pg_constraint
+                 WHERE conname = ? AND conrelid = 'lote'::regclass
+                """, String.class, RESTRICCION);
+
+        if (!definicion.isEmpty() && Arrays.stream(EstadoLote.values())
+                .allMatch(estado -> definicion.get(0).contains("'" + estado.name() + "'"))) {
+            return;
+        }
+
+        String estados = Arrays.stream(EstadoLote.values())
+                .map(estado -> "'" + estado.name() + "'")
+                .collect(Collectors.joining(", "));
+
+        // Una sola sentencia: la tabla nunca queda sin restricción para otras conexiones
+        jdbcTemplate.execute("ALTER TABLE lote DROP CONSTRAINT IF EXISTS " + RESTRICCION +
+                ", ADD CONSTRAINT " + RESTRICCION + " CHECK (estado IN (" + estados + "))");
+        log.info("Restricción {} actualizada con los estados {}", RESTRICCION, estados);
+    }
+}
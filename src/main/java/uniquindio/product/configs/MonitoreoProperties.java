@@ -0,0 +1,17 @@
+package uniquindio.product.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "monitoreo")
+@Getter
+@Setter
+public class MonitoreoProperties {
+    // Redes (IP o CIDR) desde las que Prometheus puede leer /actuator/prometheus sin token
+    private List<String> redesPrometheus = List.of("127.0.0.1/32", "::1/128");
+}
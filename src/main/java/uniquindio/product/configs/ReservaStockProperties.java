@@ -0,0 +1,19 @@
+package uniquindio.product.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "reservas")
+@Getter
+@Setter
+public class ReservaStockProperties {
+    // Tiempo que un pedido PENDIENTE retiene sus unidades esperando el pago
+    private Duration ttl = Duration.ofMinutes(15);
+    // Reservas vencidas que se liberan por transacción en cada pasada del barrido
+    private int tamanoLoteBarrido = 200;
+}
@@ -3,6 +3,8 @@ package uniquindio.product.configs;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -11,7 +13,9 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -51,9 +55,11 @@ public class SecurityConfig {
     private static final String ORIGEN_DOMINIO_PROPIO = "https://essencial.ddns.net";
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final MonitoreoProperties monitoreoProperties;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, MonitoreoProperties monitoreoProperties) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.monitoreoProperties = monitoreoProperties;
     }
 
     // ============================================
@@ -94,6 +100,11 @@ public class SecurityConfig {
         // === ADMINISTRADOR (acceso total a endpoints administrativos) ===
         auth.requestMatchers("/api/admin/**").hasRole(ROL_ADMINISTRADOR);
 
+        // === ACTUATOR: health para cualquier sesión; métricas, cachés y JFR solo administrador ===
+        auth.requestMatchers("/actuator/health", "/actuator/health/**").authenticated();
+        auth.requestMatchers("/actuator/prometheus").access(accesoDesdeRedesDeMonitoreo());
+        auth.requestMatchers("/actuator/**").hasRole(ROL_ADMINISTRADOR);
+
         // === GESTOR DE PRODUCTOS ===
         configurarAccesoGestorProductos(auth);
 
@@ -107,6 +118,19 @@ public class SecurityConfig {
         auth.anyRequest().authenticated();
     }
 
+    // ============================================
+    // ACCESO DEL SCRAPER DE PROMETHEUS
+    // ============================================
+    // Prometheus no maneja tokens JWT que vencen: se le permite el acceso sin sesión solo desde sus redes
+    private AuthorizationManager<RequestAuthorizationContext> accesoDesdeRedesDeMonitoreo() {
+        List<IpAddressMatcher> redes = monitoreoProperties.getRedesPrometheus().stream()
+                .map(IpAddressMatcher::new)
+                .toList();
+
+        return (autenticacion, contexto) -> new AuthorizationDecision(
+                redes.stream().anyMatch(red -> red.matches(contexto.getRequest())));
+    }
+
     // ============================================
     // ACCESO CLIENTE
     // ============================================
@@ -0,0 +1,33 @@
+package uniquindio.product.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Comportamiento de los servicios externos simulados del perfil "carga"
+ * (MercadoPago, Cloudinary y SMTP). Las proporciones de fallo van de 0 a 1.
+ */
+@Component
+@ConfigurationProperties(prefix = "simulacion")
+@Getter
+@Setter
+public class SimulacionProperties {
+    // Latencia media de crear una preferencia o consultar un pago en MercadoPago
+    private Duration latenciaPasarela = Duration.ofMillis(250);
+    // Proporción de llamadas a la pasarela que fallan
+    private double fallosPasarela = 0.0;
+    // Latencia media de subir o eliminar una imagen en Cloudinary
+    private Duration latenciaImagenes = Duration.ofMillis(400);
+    // Proporción de llamadas a Cloudinary que fallan
+    private double fallosImagenes = 0.0;
+    // Latencia media del envío SMTP de un correo
+    private Duration latenciaCorreo = Duration.ofMillis(150);
+    // Proporción de envíos SMTP que fallan
+    private double fallosCorreo = 0.0;
+    // Cada latencia varía al azar hasta esta fracción por encima o por debajo de la media
+    private double variacion = 0.3;
+}
@@ -0,0 +1,35 @@
+package uniquindio.product.configs;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import uniquindio.product.model.enums.Rol;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Usuario autenticado por el token JWT. Lo establece {@link JwtAuthenticationFilter}
+ * como principal y se inyecta en los controladores como parámetro del método.
+ */
+public record UsuarioAutenticado(String id, String email, Rol rol) implements AuthenticatedPrincipal {
+
+    // Una lista inmutable por rol, compartida por todas las peticiones
+    private static final Map<Rol, List<GrantedAuthority>> AUTORIDADES_POR_ROL = new EnumMap<>(Rol.class);
+
+    static {
+        Arrays.stream(Rol.values()).forEach(rol ->
+                AUTORIDADES_POR_ROL.put(rol, List.of(new SimpleGrantedAuthority("ROLE_" + rol.name()))));
+    }
+
+    public List<GrantedAuthority> autoridades() {
+        return AUTORIDADES_POR_ROL.get(rol);
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,19 @@
+package uniquindio.product.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "vencimientos")
+@Getter
+@Setter
+public class VencimientosProperties {
+    // Lotes que se pasan a VENCIDO por sentencia (y por transacción)
+    private int tamanoLote = 500;
+    // Ventana de vencimientos próximos que se mantiene en memoria; se recarga cada día
+    private Duration horizonte = Duration.ofDays(7);
+}
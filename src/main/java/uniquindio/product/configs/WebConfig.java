@@ -0,0 +1,32 @@
+package uniquindio.product.configs;
+
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.utils.SpringDocUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final InterceptorConsultas interceptorConsultas;
+
+    static {
+        // El usuario autenticado sale del token, no es un parámetro de la API
+        SpringDocUtils.getConfig().addRequestWrapperToIgnore(UsuarioAutenticado.class);
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new UsuarioAutenticadoArgumentResolver());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptorConsultas);
+    }
+}
@@ -0,0 +1,26 @@
+package uniquindio.product.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "webhooks")
+@Getter
+@Setter
+public class WebhookProperties {
+    // Trabajadores que procesan notificaciones de pago en paralelo
+    private int hilos = 4;
+    // Notificaciones reclamadas que pueden esperar un trabajador libre
+    private int capacidadCola = 100;
+    // Intentos antes de mover la notificación a la tabla de fallidas
+    private int maxIntentos = 6;
+    // Espera antes del primer reintento; se duplica en cada fallo hasta esperaMaxima
+    private Duration esperaInicial = Duration.ofSeconds(10);
+    private Duration esperaMaxima = Duration.ofMinutes(15);
+    // Si un trabajador no termina en este tiempo, otra pasada puede reclamar la notificación
+    private Duration duracionReclamo = Duration.ofMinutes(5);
+}
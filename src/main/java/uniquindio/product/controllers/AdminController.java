@@ -6,16 +6,20 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import uniquindio.product.dto.autenticacion.MensajeDTO;
+import uniquindio.product.dto.cupon.ItemCuponDTO;
+import uniquindio.product.dto.inventario.ReconstruccionStockDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.dto.pedido.MostrarPedidoDTO;
 import uniquindio.product.dto.usuario.CrearTrabajadorDTO;
 import uniquindio.product.dto.usuario.InformacionUsuarioDTO;
 import uniquindio.product.exceptions.ProductoException;
 import uniquindio.product.exceptions.PedidoException;
 import uniquindio.product.exceptions.UsuarioException;
+import uniquindio.product.services.interfaces.CuponService;
+import uniquindio.product.services.interfaces.InventarioService;
 import uniquindio.product.services.interfaces.PedidoService;
 import uniquindio.product.services.interfaces.UsuarioService;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -24,6 +28,8 @@ public class AdminController {
 
     private final PedidoService pedidoService;
     private final UsuarioService usuarioService;
+    private final InventarioService inventarioService;
+    private final CuponService cuponService;
 
     // ==================== GESTIÓN DE PEDIDOS ==================== //
 
@@ -71,12 +77,16 @@ public class AdminController {
     /**
      * Lista todos los trabajadores (usuarios con roles diferentes a CLIENTE).
      *
-     * @return ResponseEntity con lista de trabajadores
+     * @param cursor cursor de la página anterior (opcional)
+     * @param tamano cantidad de trabajadores por página
+     * @return ResponseEntity con la página de trabajadores
      */
     @Operation(summary = "Listar todos los trabajadores")
     @GetMapping("/trabajadores")
-    public ResponseEntity<MensajeDTO<List<InformacionUsuarioDTO>>> listarTrabajadores() throws UsuarioException {
-        List<InformacionUsuarioDTO> trabajadores = usuarioService.listarTrabajadores();
+    public ResponseEntity<MensajeDTO<PaginaDTO<InformacionUsuarioDTO>>> listarTrabajadores(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano) throws UsuarioException {
+        PaginaDTO<InformacionUsuarioDTO> trabajadores = usuarioService.listarTrabajadores(cursor, tamano);
         return ResponseEntity.ok(new MensajeDTO<>(false, trabajadores));
     }
 
@@ -109,4 +119,36 @@ public class AdminController {
         usuarioService.eliminarUsuario(idTrabajador);
         return ResponseEntity.ok(new MensajeDTO<>(false, "Trabajador desactivado correctamente"));
     }
-}
\ No newline at end of file
+
+    // ==================== GESTIÓN DE CUPONES ==================== //
+
+    /**
+     * Lista los cupones registrados por páginas, ordenados por ID.
+     *
+     * @param cursor cursor de la página anterior (opcional)
+     * @param tamano cantidad de cupones por página
+     * @return ResponseEntity con la página de cupones
+     */
+    @Operation(summary = "Listar cupones")
+    @GetMapping("/cupones")
+    public ResponseEntity<MensajeDTO<PaginaDTO<ItemCuponDTO>>> listarCupones(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano) {
+        return ResponseEntity.ok(new MensajeDTO<>(false, cuponService.listarCupones(cursor, tamano)));
+    }
+
+    // ==================== MANTENIMIENTO DE INVENTARIO ==================== //
+
+    /**
+     * Reconstruye el resumen de stock por producto desde la tabla de lotes.
+     *
+     * @return ResponseEntity con los productos recalculados y las diferencias encontradas
+     */
+    @Operation(summary = "Reconstruir resumen de stock",
+            description = "Recalcula el stock, los lotes disponibles y el próximo vencimiento de cada producto " +
+                    "desde sus lotes e informa cuántos productos no coincidían")
+    @PostMapping("/inventario/reconstruir-resumen")
+    public ResponseEntity<MensajeDTO<ReconstruccionStockDTO>> reconstruirResumenStock() {
+        return ResponseEntity.ok(new MensajeDTO<>(false, inventarioService.reconstruirResumenStock()));
+    }
+}
@@ -3,17 +3,22 @@ package uniquindio.product.controllers;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import uniquindio.product.dto.autenticacion.MensajeDTO;
+import uniquindio.product.dto.inventario.AlertaInventarioDTO;
 import uniquindio.product.dto.inventario.DetalleLoteDTO;
 import uniquindio.product.dto.inventario.ProductoBajoStockDTO;
 import uniquindio.product.dto.inventario.ResumenInventarioDTO;
 import uniquindio.product.dto.inventario.StockPorLoteDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.exceptions.InventarioException;
 import uniquindio.product.exceptions.LoteException;
 import uniquindio.product.exceptions.ProductoException;
+import uniquindio.product.services.interfaces.AlertasInventarioService;
 import uniquindio.product.services.interfaces.InventarioService;
 
 import java.util.List;
@@ -26,6 +31,7 @@ import java.util.List;
 public class EncargadoAlmacenController {
 
     private final InventarioService inventarioService;
+    private final AlertasInventarioService alertasInventarioService;
 
     // ==================== CONSULTAS DE INVENTARIO ==================== //
 
@@ -39,11 +45,15 @@ public class EncargadoAlmacenController {
         return ResponseEntity.ok(new MensajeDTO<>(false, stock));
     }
 
-    @Operation(summary = "Obtener resumen completo del inventario",
-            description = "Lista todos los productos con su stock total, cantidad de lotes y próximo vencimiento")
+    @Operation(summary = "Obtener resumen del inventario por páginas",
+            description = "Lista los productos con su stock total, cantidad de lotes y próximo vencimiento. " +
+                    "Para la siguiente página se envía el siguienteCursor de la respuesta anterior")
     @GetMapping("/resumen")
-    public ResponseEntity<MensajeDTO<List<ResumenInventarioDTO>>> obtenerResumenInventario() {
-        List<ResumenInventarioDTO> resumen = inventarioService.obtenerResumenInventario();
+    public ResponseEntity<MensajeDTO<PaginaDTO<ResumenInventarioDTO>>> obtenerResumenInventario(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano
+    ) {
+        PaginaDTO<ResumenInventarioDTO> resumen = inventarioService.obtenerResumenInventario(cursor, tamano);
         return ResponseEntity.ok(new MensajeDTO<>(false, resumen));
     }
 
@@ -67,6 +77,21 @@ public class EncargadoAlmacenController {
         return ResponseEntity.ok(new MensajeDTO<>(false, productosBajoStock));
     }
 
+    @Operation(summary = "Obtener alertas de inventario activas",
+            description = "Lotes DISPONIBLES próximos a vencer y productos con stock bajo según los umbrales configurados")
+    @GetMapping("/alertas")
+    public ResponseEntity<MensajeDTO<List<AlertaInventarioDTO>>> obtenerAlertasActivas() {
+        return ResponseEntity.ok(new MensajeDTO<>(false, alertasInventarioService.obtenerAlertasActivas()));
+    }
+
+    @Operation(summary = "Suscribirse a las alertas de inventario",
+            description = "Canal SSE: al conectarse envía las alertas activas (eventos LOTE_POR_VENCER y STOCK_BAJO) " +
+                    "y luego solo las que aparecen (activa=true) o se resuelven (activa=false)")
+    @GetMapping(value = "/alertas/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirAlertas() {
+        return alertasInventarioService.suscribir();
+    }
+
     // ==================== OPERACIONES DE ALMACÉN ==================== //
 
     @Operation(summary = "Registrar entrada de lote al almacén",
@@ -80,8 +105,11 @@ public class EncargadoAlmacenController {
     }
 
     @GetMapping("/lotes")
-    public ResponseEntity<MensajeDTO<List<DetalleLoteDTO>>> listarLotes() {
-        return ResponseEntity.ok(new MensajeDTO<>(false, inventarioService.listarLotes()));
+    public ResponseEntity<MensajeDTO<PaginaDTO<DetalleLoteDTO>>> listarLotes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano
+    ) {
+        return ResponseEntity.ok(new MensajeDTO<>(false, inventarioService.listarLotes(cursor, tamano)));
     }
 
 }
\ No newline at end of file
@@ -5,12 +5,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import uniquindio.product.dto.autenticacion.MensajeDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.dto.pqr.CrearPqrDTO;
 import uniquindio.product.dto.pqr.PqrResponseDTO;
 import uniquindio.product.exceptions.PqrException;
 import uniquindio.product.services.implementations.PqrServiceImpl;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/pqr")
@@ -40,9 +40,11 @@ public class PqrController {
     }
 
     @GetMapping
-    public ResponseEntity<MensajeDTO<List<PqrResponseDTO>>> getAllPqr() throws PqrException {
-        List<PqrResponseDTO> pqrList = pqrService.consultarTodasPqr();
-        MensajeDTO<List<PqrResponseDTO>> mensaje = new MensajeDTO<>(false, pqrList);
+    public ResponseEntity<MensajeDTO<PaginaDTO<PqrResponseDTO>>> getAllPqr(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano) throws PqrException {
+        PaginaDTO<PqrResponseDTO> pqrPagina = pqrService.consultarTodasPqr(cursor, tamano);
+        MensajeDTO<PaginaDTO<PqrResponseDTO>> mensaje = new MensajeDTO<>(false, pqrPagina);
         return ResponseEntity.ok(mensaje);
     }
 
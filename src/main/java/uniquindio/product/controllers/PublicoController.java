@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import uniquindio.product.dto.autenticacion.MensajeDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.dto.producto.ItemProductoDTO;
 import uniquindio.product.dto.producto.ProductoDetalleDTO;
 import uniquindio.product.exceptions.ProductoException;
@@ -21,14 +22,15 @@ public class PublicoController {
 
     //_______________________ENDPOINTS PARA PRODUCTOS_________________________________
     /**
-     * Lista todos los productos.
+     * Lista los productos por páginas. Para la siguiente página se envía el
+     * {@code siguienteCursor} recibido en la respuesta anterior.
      */
     @GetMapping("/productos")
-    public ResponseEntity<MensajeDTO<List<ItemProductoDTO>>> listarProductos() throws ProductoException {
-        List<ItemProductoDTO> productos = productoService.listarProductos();
-        if (productos.isEmpty()) {
-            return ResponseEntity.ok(new MensajeDTO<>(false, List.of()));
-        }
+    public ResponseEntity<MensajeDTO<PaginaDTO<ItemProductoDTO>>> listarProductos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano
+    ) throws ProductoException {
+        PaginaDTO<ItemProductoDTO> productos = productoService.listarProductos(cursor, tamano);
         return ResponseEntity.ok(new MensajeDTO<>(false, productos));
     }
 
@@ -12,6 +12,7 @@ import uniquindio.product.dto.lote.ActualizarLoteDTO;
 import uniquindio.product.dto.lote.CrearLoteDTO;
 import uniquindio.product.dto.lote.LotePorVencerDTO;
 import uniquindio.product.dto.lote.MostrarLoteDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.exceptions.LoteException;
 import uniquindio.product.exceptions.ProductoException;
 import uniquindio.product.model.enums.EstadoLote;
@@ -105,10 +106,13 @@ public class SupervisorProduccionController {
     }
 
     @Operation(summary = "Listar lotes disponibles",
-            description = "Lista todos los lotes con estado DISPONIBLE y cantidad > 0")
+            description = "Lista por páginas los lotes con estado DISPONIBLE y cantidad > 0")
     @GetMapping("/disponibles")
-    public ResponseEntity<MensajeDTO<List<MostrarLoteDTO>>> listarLotesDisponibles() {
-        List<MostrarLoteDTO> lotes = loteService.listarLotesDisponibles();
+    public ResponseEntity<MensajeDTO<PaginaDTO<MostrarLoteDTO>>> listarLotesDisponibles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano
+    ) {
+        PaginaDTO<MostrarLoteDTO> lotes = loteService.listarLotesDisponibles(cursor, tamano);
         return ResponseEntity.ok(new MensajeDTO<>(false, lotes));
     }
 
@@ -125,10 +129,12 @@ public class SupervisorProduccionController {
     @Operation(summary = "Listar lotes por estado",
             description = "Filtra lotes por su estado: EN_PRODUCCION, DISPONIBLE, AGOTADO, BLOQUEADO")
     @GetMapping("/estado/{estado}")
-    public ResponseEntity<MensajeDTO<List<MostrarLoteDTO>>> listarLotesPorEstado(
-            @PathVariable EstadoLote estado
+    public ResponseEntity<MensajeDTO<PaginaDTO<MostrarLoteDTO>>> listarLotesPorEstado(
+            @PathVariable EstadoLote estado,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano
     ) {
-        List<MostrarLoteDTO> lotes = loteService.listarLotesPorEstado(estado);
+        PaginaDTO<MostrarLoteDTO> lotes = loteService.listarLotesPorEstado(estado, cursor, tamano);
         return ResponseEntity.ok(new MensajeDTO<>(false, lotes));
     }
 }
\ No newline at end of file
@@ -2,13 +2,13 @@ package uniquindio.product.controllers;
 
 import com.mercadopago.resources.preference.Preference;
 import io.swagger.v3.oas.annotations.Operation;
-import org.springframework.security.core.Authentication;
-import uniquindio.product.configs.AuthUtils;
+import uniquindio.product.configs.UsuarioAutenticado;
 import uniquindio.product.dto.autenticacion.MensajeDTO;
 import uniquindio.product.dto.carrito.CarritoDTO;
 import uniquindio.product.dto.carrito.CarritoResponseDTO;
 import uniquindio.product.dto.carrito.DetalleCarritoDTO;
 import uniquindio.product.dto.carrito.InformacionProductoCarritoDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.dto.pedido.MostrarPedidoDTO;
 import uniquindio.product.dto.pedido.PedidoResponseDTO;
 import uniquindio.product.dto.usuario.EditarUsuarioDTO;
@@ -39,8 +39,8 @@ public class UsuarioController {
     //_______________________ENDPOINTS PARA PERFIL_________________________________
 
     @GetMapping("/perfil")
-    public ResponseEntity<MensajeDTO<InformacionUsuarioDTO>> obtenerInformacionUsuario(Authentication authentication) throws UsuarioException {
-        String id = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+    public ResponseEntity<MensajeDTO<InformacionUsuarioDTO>> obtenerInformacionUsuario(UsuarioAutenticado usuario) throws UsuarioException {
+        String id = usuario.id();
         InformacionUsuarioDTO informacion = usuarioService.obtenerUsuario(id);
         return ResponseEntity.ok(new MensajeDTO<>(false, informacion));
     }
@@ -48,16 +48,16 @@ public class UsuarioController {
     @PutMapping("/editar")
     public ResponseEntity<MensajeDTO<String>> editarUsuario(
             @Valid @RequestBody EditarUsuarioDTO usuarioDTO,
-            Authentication authentication) throws UsuarioException {
+            UsuarioAutenticado usuario) throws UsuarioException {
 
-        String id = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+        String id = usuario.id();
         usuarioService.editarUsuario(id, usuarioDTO); // ← Pasa el ID del token
         return ResponseEntity.ok(new MensajeDTO<>(false, "Perfil actualizado correctamente"));
     }
 
     @DeleteMapping("/eliminar-cuenta")
-    public ResponseEntity<MensajeDTO<String>> eliminarUsuario(Authentication authentication) throws UsuarioException {
-        String id = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+    public ResponseEntity<MensajeDTO<String>> eliminarUsuario(UsuarioAutenticado usuario) throws UsuarioException {
+        String id = usuario.id();
         usuarioService.eliminarUsuario(id);
         return ResponseEntity.ok(new MensajeDTO<>(false, "Cuenta eliminada exitosamente"));
     }
@@ -67,8 +67,8 @@ public class UsuarioController {
     @Operation(summary = "Obtener carrito completo del usuario")
     @GetMapping("/mi-carrito")
     public ResponseEntity<MensajeDTO<CarritoResponseDTO>> obtenerCarritoCompleto(
-            Authentication authentication) throws CarritoException, ProductoException {
-        String id = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+            UsuarioAutenticado usuario) throws CarritoException, ProductoException {
+        String id = usuario.id();
         CarritoResponseDTO carrito = carritoService.obtenerCarritoCompleto(id);
         return ResponseEntity.ok(new MensajeDTO<>(false, carrito));
     }
@@ -76,10 +76,10 @@ public class UsuarioController {
     @Operation(summary = "Agregar items al carrito")
     @PostMapping("/mi-carrito/items")
     public ResponseEntity<MensajeDTO<CarritoDTO>> agregarItemsAlCarrito(
-            Authentication authentication,
+            UsuarioAutenticado usuario,
             @Valid @RequestBody List<DetalleCarritoDTO> nuevosItems
     ) throws CarritoException {
-        String id = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+        String id = usuario.id();
         CarritoDTO carrito = carritoService.agregarItemsAlCarrito(id, nuevosItems);
         return ResponseEntity.ok(new MensajeDTO<>(false, carrito));
     }
@@ -87,10 +87,10 @@ public class UsuarioController {
     @Operation(summary = "Eliminar un item del carrito")
     @DeleteMapping("/mi-carrito/items/{idProducto}")
     public ResponseEntity<MensajeDTO<CarritoDTO>> eliminarItemDelCarrito(
-            Authentication authentication,
+            UsuarioAutenticado usuario,
             @PathVariable String idProducto
     ) throws CarritoException {
-        String id = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+        String id = usuario.id();
         CarritoDTO carrito = carritoService.eliminarItemDelCarrito(id, idProducto);
         return ResponseEntity.ok(new MensajeDTO<>(false, carrito));
     }
@@ -98,8 +98,8 @@ public class UsuarioController {
     @Operation(summary = "Vaciar el carrito")
     @DeleteMapping("/mi-carrito")
     public ResponseEntity<MensajeDTO<CarritoDTO>> vaciarCarrito(
-            Authentication authentication) throws CarritoException {
-        String id = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+            UsuarioAutenticado usuario) throws CarritoException {
+        String id = usuario.id();
         CarritoDTO carrito = carritoService.vaciarCarrito(id);
         return ResponseEntity.ok(new MensajeDTO<>(false, carrito));
     }
@@ -107,17 +107,17 @@ public class UsuarioController {
     @Operation(summary = "Listar productos en el carrito")
     @GetMapping("/mi-carrito/items")
     public ResponseEntity<MensajeDTO<List<InformacionProductoCarritoDTO>>> listarProductosEnCarrito(
-            Authentication authentication
+            UsuarioAutenticado usuario
     ) throws CarritoException, ProductoException {
-        String id = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+        String id = usuario.id();
         List<InformacionProductoCarritoDTO> productos = carritoService.listarProductosEnCarrito(id);
         return ResponseEntity.ok(new MensajeDTO<>(false, productos));
     }
 
     @Operation(summary = "Calcular total del carrito")
     @GetMapping("/mi-carrito/total")
-    public ResponseEntity<MensajeDTO<Double>> calcularTotalCarrito( Authentication authentication) throws CarritoException {
-        String id = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+    public ResponseEntity<MensajeDTO<Double>> calcularTotalCarrito( UsuarioAutenticado usuario) throws CarritoException {
+        String id = usuario.id();
         Double total = carritoService.calcularTotalCarrito(id);
         return ResponseEntity.ok(new MensajeDTO<>(false, total));
     }
@@ -127,19 +127,21 @@ public class UsuarioController {
     @Operation(summary = "Crear pedido desde el carrito")
     @PostMapping("/pedidos")
     public ResponseEntity<MensajeDTO<MostrarPedidoDTO>> crearPedidoDesdeCarrito(
-            Authentication authentication)
+            UsuarioAutenticado usuario)
             throws CarritoException, ProductoException, PedidoException {
-        String idCliente = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+        String idCliente = usuario.id();
         MostrarPedidoDTO pedido = pedidoService.crearPedidoDesdeCarrito(idCliente);
         return ResponseEntity.ok(new MensajeDTO<>(false, pedido));
     }
 
     @Operation(summary = "Obtener todos mis pedidos")
     @GetMapping("/pedidos")
-    public ResponseEntity<MensajeDTO<List<PedidoResponseDTO>>> obtenerMisPedidos(
-            Authentication authentication) throws PedidoException {
-        String idCliente = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
-        List<PedidoResponseDTO> pedidos = pedidoService.obtenerPedidosPorCliente(idCliente);
+    public ResponseEntity<MensajeDTO<PaginaDTO<PedidoResponseDTO>>> obtenerMisPedidos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano,
+            UsuarioAutenticado usuario) throws PedidoException {
+        String idCliente = usuario.id();
+        PaginaDTO<PedidoResponseDTO> pedidos = pedidoService.obtenerPedidosPorCliente(idCliente, cursor, tamano);
         return ResponseEntity.ok(new MensajeDTO<>(false, pedidos));
     }
 
@@ -147,9 +149,9 @@ public class UsuarioController {
     @GetMapping("/pedidos/{idPedido}")
     public ResponseEntity<MensajeDTO<MostrarPedidoDTO>> mostrarMiPedido(
             @PathVariable String idPedido,
-            Authentication authentication
+            UsuarioAutenticado usuario
     ) throws ProductoException, PedidoException {
-        String idCliente = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+        String idCliente = usuario.id();
         MostrarPedidoDTO pedido = pedidoService.mostrarPedido(idPedido);
 
         // Validar propiedad del pedido
@@ -164,9 +166,9 @@ public class UsuarioController {
     @PostMapping("/pedidos/{idPedido}/pago")
     public ResponseEntity<MensajeDTO<Preference>> realizarPago(
             @PathVariable String idPedido,
-            Authentication authentication
+            UsuarioAutenticado usuario
     ) throws Exception {
-        String idCliente = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+        String idCliente = usuario.id();
         MostrarPedidoDTO pedido = pedidoService.mostrarPedido(idPedido);
 
         // Validar propiedad del pedido
@@ -182,9 +184,9 @@ public class UsuarioController {
     @DeleteMapping("/pedidos/{idPedido}")
     public ResponseEntity<MensajeDTO<String>> eliminarMiPedido(
             @PathVariable String idPedido,
-            Authentication authentication
+            UsuarioAutenticado usuario
     ) throws PedidoException, ProductoException {
-        String idCliente = AuthUtils.obtenerIdUsuarioDesdeToken(authentication);
+        String idCliente = usuario.id();
         MostrarPedidoDTO pedido = pedidoService.mostrarPedido(idPedido);
 
         // Validar propiedad del pedido
@@ -8,7 +8,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import uniquindio.product.dto.pedido.NotificacionPagoDTO;
-import uniquindio.product.services.interfaces.PedidoService;
+import uniquindio.product.services.interfaces.NotificacionPagoService;
 
 @RestController
 @RequestMapping("/api/pagos")
@@ -16,21 +16,24 @@ import uniquindio.product.services.interfaces.PedidoService;
 @Slf4j
 public class WebHookController {
 
-    private final PedidoService pedidoService;
+    private final NotificacionPagoService notificacionPagoService;
 
     /**
      * Webhook para recibir notificaciones de MercadoPago.
      * Debe estar accesible públicamente (sin autenticación).
+     * Solo deja la notificación en cola y responde de inmediato; el pago se procesa en segundo plano.
      */
     @PostMapping("/notificacion")
     public ResponseEntity<Void> recibirNotificacion(@RequestBody NotificacionPagoDTO notificacion) {
         try {
-            pedidoService.recibirNotificacionMercadoPago(notificacion);
-            log.info("Notificación de MercadoPago procesada: {}", notificacion.type());
+            if (notificacionPagoService.encolar(notificacion)) {
+                log.info("Notificación de MercadoPago encolada: {}", notificacion.data().id());
+            }
             return ResponseEntity.ok().build(); // MercadoPago espera solo 200 OK
         } catch (Exception e) {
-            log.error("Error procesando notificación de MercadoPago: {}", e.getMessage(), e);
+            // Sin 200 MercadoPago reintenta el envío
+            log.error("Error encolando notificación de MercadoPago: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package uniquindio.product.dto.cupon;
+
+import uniquindio.product.model.enums.EstadoCupon;
+import uniquindio.product.model.enums.TipoCupon;
+
+import java.util.Date;
+
+public record ItemCuponDTO(
+        String id,
+        String codigo,
+        String nombre,
+        Float porcentajeDescuento,
+        TipoCupon tipoCupon,
+        EstadoCupon estado,
+        String cedulaCliente,
+        Date fechaApertura,
+        Date fechaVencimiento
+) {}
@@ -1,7 +1,12 @@
 package uniquindio.product.dto.email;
 
+import uniquindio.product.model.enums.TipoCorreo;
+
+import java.util.Map;
+
 public record EmailDTO(
+        TipoCorreo tipo,
         String asunto,
-        String cuerpo,
-        String destinatario
-) {}
\ No newline at end of file
+        String destinatario,
+        Map<String, Object> variables
+) {}
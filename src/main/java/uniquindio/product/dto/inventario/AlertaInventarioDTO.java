@@ -0,0 +1,20 @@
+package uniquindio.product.dto.inventario;
+
+import uniquindio.product.model.enums.TipoAlerta;
+
+import java.time.LocalDate;
+
+/**
+ * Alerta enviada por el canal SSE. {@code activa} es false cuando la condición dejó
+ * de cumplirse (lote vendido, bloqueado o vencido; stock repuesto).
+ */
+public record AlertaInventarioDTO(
+        TipoAlerta tipo,
+        boolean activa,
+        String idProducto,
+        String nombreProducto,
+        String idLote,
+        String codigoLote,
+        Integer cantidad,
+        LocalDate fechaVencimiento
+) {}
@@ -0,0 +1,7 @@
+package uniquindio.product.dto.inventario;
+
+public record ReconstruccionStockDTO(
+        Integer productosRecalculados,
+        Long diferenciasEncontradas,
+        Integer filasHuerfanasEliminadas
+) {}
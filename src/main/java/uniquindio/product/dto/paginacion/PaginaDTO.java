@@ -0,0 +1,14 @@
+package uniquindio.product.dto.paginacion;
+
+import java.util.List;
+
+/**
+ * Página de un listado con paginación por cursor (keyset).
+ * {@code siguienteCursor} es opaco: se envía tal cual en la siguiente petición
+ * y es {@code null} cuando no hay más elementos.
+ */
+public record PaginaDTO<T>(
+        List<T> elementos,
+        String siguienteCursor,
+        boolean hayMas
+) {}
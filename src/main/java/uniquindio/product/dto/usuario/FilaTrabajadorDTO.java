@@ -0,0 +1,18 @@
+package uniquindio.product.dto.usuario;
+
+import uniquindio.product.model.enums.Rol;
+
+/**
+ * Fila del listado de trabajadores proyectada desde la consulta; el ID solo se usa
+ * como cursor de paginación y no se expone en InformacionUsuarioDTO.
+ */
+public record FilaTrabajadorDTO(
+        String id,
+        String cedula,
+        String nombre,
+        String telefono,
+        String correoElectronico,
+        Rol rol,
+        String ciudadDeResidencia,
+        String direccion
+) {}
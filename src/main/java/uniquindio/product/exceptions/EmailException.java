@@ -6,4 +6,9 @@ public class EmailException extends Exception{
     public EmailException(String message) {
         super(message);
     }
+
+    //Conserva la excepción original del envío para registrarla con su traza
+    public EmailException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -4,6 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import uniquindio.product.dto.autenticacion.MensajeDTO;
 
 import java.util.HashMap;
@@ -24,6 +25,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(new MensajeDTO<>(true, ex.getMessage()));
     }
 
+    @ExceptionHandler(PaginacionException.class)
+    public ResponseEntity<MensajeDTO<String>> handlePaginacionException(PaginacionException ex) {
+        return ResponseEntity.badRequest().body(new MensajeDTO<>(true, ex.getMessage()));
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<MensajeDTO<String>> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(new MensajeDTO<>(true, "El archivo supera el tamaño máximo permitido"));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<MensajeDTO<String>> handleRuntimeException(RuntimeException ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,7 @@
+package uniquindio.product.exceptions;
+
+public class PaginacionException extends RuntimeException {
+    public PaginacionException(String message) {
+        super(message);
+    }
+}
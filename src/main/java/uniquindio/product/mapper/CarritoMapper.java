@@ -2,7 +2,10 @@ package uniquindio.product.mapper;
 
 import uniquindio.product.dto.carrito.CarritoDTO;
 import uniquindio.product.dto.carrito.DetalleCarritoDTO;
+import uniquindio.product.dto.carrito.InformacionProductoCarritoDTO;
 import uniquindio.product.model.documents.Carrito;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.vo.DetalleCarrito;
 
 public class CarritoMapper {
 
@@ -18,4 +21,14 @@ public class CarritoMapper {
                         .toList()
         );
     }
+
+    public static InformacionProductoCarritoDTO toInformacionProductoCarritoDTO(DetalleCarrito item, Producto producto) {
+        return new InformacionProductoCarritoDTO(
+                new DetalleCarritoDTO(item.getIdProducto(), item.getCantidad()),
+                producto.getImagenProducto(),
+                producto.getNombreProducto(),
+                producto.getValor(),
+                producto.getValor() * item.getCantidad()
+        );
+    }
 }
\ No newline at end of file
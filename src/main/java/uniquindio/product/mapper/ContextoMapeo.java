@@ -0,0 +1,67 @@
+package uniquindio.product.mapper;
+
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.Producto;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Productos y lotes que necesita un mapeo, indexados por ID.
+ * <p>
+ * Se arma una vez por petición con consultas en bloque (ver CargadorContextoMapeo) y los
+ * mappers lo consultan en O(1), en lugar de recorrer listas o consultar la base de datos
+ * por cada lote o línea de pedido.
+ */
+public final class ContextoMapeo {
+
+    public static final String PRODUCTO_NO_DISPONIBLE = "Producto no disponible";
+
+    private final Map<String, Producto> productos;
+    private final Map<String, Lote> lotes;
+
+    private ContextoMapeo(Map<String, Producto> productos, Map<String, Lote> lotes) {
+        this.productos = productos;
+        this.lotes = lotes;
+    }
+
+    public static ContextoMapeo de(Map<String, Producto> productosPorId, Collection<Lote> lotes) {
+        Map<String, Lote> lotesPorId = HashMap.newHashMap(lotes.size());
+        for (Lote lote : lotes) {
+            lotesPorId.put(lote.getId(), lote);
+        }
+        return new ContextoMapeo(productosPorId, lotesPorId);
+    }
+
+    public static ContextoMapeo de(Collection<Producto> productos, Collection<Lote> lotes) {
+        Map<String, Producto> productosPorId = HashMap.newHashMap(productos.size());
+        for (Producto producto : productos) {
+            productosPorId.put(producto.getIdProducto(), producto);
+        }
+        return de(productosPorId, lotes);
+    }
+
+    public static ContextoMapeo deProductos(Map<String, Producto> productosPorId) {
+        return new ContextoMapeo(productosPorId, Map.of());
+    }
+
+    // null si el producto no existe (o fue eliminado)
+    public Producto producto(String idProducto) {
+        return productos.get(idProducto);
+    }
+
+    public boolean contieneProducto(String idProducto) {
+        return productos.containsKey(idProducto);
+    }
+
+    public String nombreProducto(String idProducto) {
+        Producto producto = productos.get(idProducto);
+        return producto != null ? producto.getNombreProducto() : PRODUCTO_NO_DISPONIBLE;
+    }
+
+    // null si el lote no existe
+    public Lote lote(String idLote) {
+        return lotes.get(idLote);
+    }
+}
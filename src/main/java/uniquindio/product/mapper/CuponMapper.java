@@ -0,0 +1,29 @@
+package uniquindio.product.mapper;
+
+import uniquindio.product.dto.cupon.ItemCuponDTO;
+import uniquindio.product.model.documents.Cupon;
+
+import java.util.Objects;
+
+public final class CuponMapper {
+
+    private CuponMapper() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static ItemCuponDTO toItemCuponDTO(Cupon cupon) {
+        Objects.requireNonNull(cupon, "El cupón no puede ser nulo");
+
+        return new ItemCuponDTO(
+                cupon.getId(),
+                cupon.getCodigo(),
+                cupon.getNombre(),
+                cupon.getPorcentajeDescuento(),
+                cupon.getTipoCupon(),
+                cupon.getEstado(),
+                cupon.getCedulaCliente(),
+                cupon.getFechaApertura(),
+                cupon.getFechaVencimiento()
+        );
+    }
+}
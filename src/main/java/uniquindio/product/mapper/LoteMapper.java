@@ -1,10 +1,11 @@
 package uniquindio.product.mapper;
 
-import uniquindio.product.dto.lote.ActualizarLoteDTO;
 import uniquindio.product.dto.lote.CrearLoteDTO;
+import uniquindio.product.dto.lote.LotePorVencerDTO;
 import uniquindio.product.dto.lote.MostrarLoteDTO;
 import uniquindio.product.model.documents.Lote;
 
+import java.util.List;
 import java.util.Objects;
 
 public final class LoteMapper {
@@ -47,34 +48,23 @@ public final class LoteMapper {
         );
     }
 
-    public static void actualizarEntidad(Lote lote, ActualizarLoteDTO dto) {
+    public static List<MostrarLoteDTO> toMostrarLoteDTOList(List<Lote> lotes, ContextoMapeo contexto) {
+        Objects.requireNonNull(contexto, "El contexto de mapeo no puede ser nulo");
+
+        return lotes.stream()
+                .map(lote -> toMostrarLoteDTO(lote, contexto.nombreProducto(lote.getIdProducto())))
+                .toList();
+    }
+
+    public static LotePorVencerDTO toLotePorVencerDTO(Lote lote, ContextoMapeo contexto) {
         Objects.requireNonNull(lote, "El lote no puede ser nulo");
-        Objects.requireNonNull(dto, "El DTO no puede ser nulo");
 
-        // Actualización parcial: solo actualiza los campos no nulos
-        if (dto.codigoLote() != null) {
-            lote.setCodigoLote(dto.codigoLote());
-        }
-        if (dto.idProducto() != null) {
-            lote.setIdProducto(dto.idProducto());
-        }
-        if (dto.fechaProduccion() != null) {
-            lote.setFechaProduccion(dto.fechaProduccion());
-        }
-        if (dto.fechaVencimiento() != null) {
-            lote.setFechaVencimiento(dto.fechaVencimiento());
-        }
-        if (dto.cantidadProducida() != null) {
-            lote.setCantidadProducida(dto.cantidadProducida());
-        }
-        if (dto.cantidadDisponible() != null) {
-            lote.setCantidadDisponible(dto.cantidadDisponible());
-        }
-        if (dto.estado() != null) {
-            lote.setEstado(dto.estado());
-        }
-        if (dto.observaciones() != null) {
-            lote.setObservaciones(dto.observaciones());
-        }
+        return new LotePorVencerDTO(
+                lote.getCodigoLote(),
+                contexto.nombreProducto(lote.getIdProducto()),
+                lote.getFechaVencimiento(),
+                lote.getCantidadDisponible(),
+                lote.diasParaVencer()
+        );
     }
-}
\ No newline at end of file
+}
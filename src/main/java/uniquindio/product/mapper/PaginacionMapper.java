@@ -0,0 +1,77 @@
+package uniquindio.product.mapper;
+
+import uniquindio.product.dto.paginacion.PaginaDTO;
+import uniquindio.product.exceptions.PaginacionException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utilidades de paginación por cursor (keyset).
+ * El cursor codifica la clave de orden del último elemento entregado; la siguiente
+ * página se obtiene con "clave > cursor", que usa el índice y no depende del número de página.
+ */
+public final class PaginacionMapper {
+
+    public static final int TAMANO_POR_DEFECTO = 20;
+    public static final int TAMANO_MAXIMO = 100;
+
+    // Cursor de la primera página: toda clave no vacía es mayor
+    private static final String INICIO = "";
+
+    private PaginacionMapper() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @return la clave desde la que continuar, o "" para la primera página
+     * @throws PaginacionException si el cursor no fue generado por esta API (responde 400)
+     */
+    public static String decodificarCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return INICIO;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new PaginacionException("Cursor de paginación inválido");
+        }
+    }
+
+    public static String codificarCursor(String clave) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(clave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int normalizarTamano(int tamano) {
+        if (tamano <= 0) {
+            return TAMANO_POR_DEFECTO;
+        }
+        return Math.min(tamano, TAMANO_MAXIMO);
+    }
+
+    /**
+     * Filas a pedir a la base de datos: una más que el tamaño para saber si hay otra página.
+     */
+    public static int filasAConsultar(int tamano) {
+        return tamano + 1;
+    }
+
+    /**
+     * Arma la página a partir de las filas consultadas (hasta {@code tamano + 1}).
+     *
+     * @param clave  clave de orden de cada fila, la misma usada en la consulta
+     * @param mapeo  conversión de las filas de la página a DTO (recibe la lista para poder cargar datos en lote)
+     */
+    public static <E, T> PaginaDTO<T> toPaginaDTO(List<E> filas, int tamano,
+                                                  Function<E, String> clave,
+                                                  Function<List<E>, List<T>> mapeo) {
+        boolean hayMas = filas.size() > tamano;
+        List<E> pagina = hayMas ? filas.subList(0, tamano) : filas;
+
+        String siguienteCursor = hayMas ? codificarCursor(clave.apply(pagina.get(pagina.size() - 1))) : null;
+
+        return new PaginaDTO<>(mapeo.apply(pagina), siguienteCursor, hayMas);
+    }
+}
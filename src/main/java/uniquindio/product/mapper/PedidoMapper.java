@@ -1,12 +1,18 @@
 package uniquindio.product.mapper;
 
+import uniquindio.product.dto.email.EmailDTO;
 import uniquindio.product.dto.pedido.*;
 import uniquindio.product.model.documents.Lote;
 import uniquindio.product.model.documents.Pedido;
 import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.enums.TipoCorreo;
 import uniquindio.product.model.vo.DetallePedido;
+import uniquindio.product.model.vo.PlanAsignacionLotes;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -18,10 +24,10 @@ public final class PedidoMapper {
         throw new UnsupportedOperationException("Utility class");
     }
 
-    public static MostrarPedidoDTO toMostrarPedidoDTO(Pedido pedido, List<Producto> productos, List<Lote> lotes) {
-        validatePedidoData(pedido, productos, lotes);
+    public static MostrarPedidoDTO toMostrarPedidoDTO(Pedido pedido, ContextoMapeo contexto) {
+        validatePedidoData(pedido, contexto);
 
-        List<MostrarDetallePedidoDTO> detalles = buildDetalles(pedido, productos, lotes);
+        List<MostrarDetallePedidoDTO> detalles = buildDetalles(pedido, contexto);
 
         return new MostrarPedidoDTO(
                 pedido.getId(),
@@ -32,10 +38,10 @@ public final class PedidoMapper {
         );
     }
 
-    public static PedidoResponseDTO toPedidoResponseDTO(Pedido pedido, List<Producto> productos, List<Lote> lotes) {
-        validatePedidoData(pedido, productos, lotes);
+    public static PedidoResponseDTO toPedidoResponseDTO(Pedido pedido, ContextoMapeo contexto) {
+        validatePedidoData(pedido, contexto);
 
-        List<MostrarDetallePedidoDTO> detalles = buildDetalles(pedido, productos, lotes);
+        List<MostrarDetallePedidoDTO> detalles = buildDetalles(pedido, contexto);
 
         return new PedidoResponseDTO(
                 pedido.getId(),
@@ -48,34 +54,38 @@ public final class PedidoMapper {
     }
 
 
-    public static Pedido toEntity(CrearPedidoDTO pedidoDTO, List<Producto> productos, Map<String, Lote> lotesAsignados) {
+    public static Pedido toEntity(CrearPedidoDTO pedidoDTO, ContextoMapeo contexto, PlanAsignacionLotes plan) {
         Objects.requireNonNull(pedidoDTO, "El DTO del pedido no puede ser nulo");
-        Objects.requireNonNull(productos, "La lista de productos no puede ser nula");
-        Objects.requireNonNull(lotesAsignados, "Los lotes asignados no pueden ser nulos");
+        Objects.requireNonNull(contexto, "El contexto de mapeo no puede ser nulo");
+        Objects.requireNonNull(plan, "El plan de asignación no puede ser nulo");
 
-        Map<String, Producto> productoMap = productos.stream()
-                .collect(Collectors.toMap(Producto::getIdProducto, p -> p));
+        Map<String, List<PlanAsignacionLotes.Asignacion>> asignacionesPorProducto = plan.porProducto();
 
+        // Una línea por cada lote asignado: un producto puede repartirse en varios lotes
         List<DetallePedido> detalles = pedidoDTO.detallePedido().stream()
-                .map(dto -> {
-                    Producto producto = productoMap.get(dto.idProducto());
+                .map(DetallePedidoDTO::idProducto)
+                .distinct()
+                .flatMap(idProducto -> {
+                    Producto producto = contexto.producto(idProducto);
                     if (producto == null) {
-                        throw new IllegalArgumentException("Producto no encontrado: " + dto.idProducto());
+                        throw new IllegalArgumentException("Producto no encontrado: " + idProducto);
                     }
 
-                    Lote lote = lotesAsignados.get(dto.idProducto());
-                    if (lote == null) {
-                        throw new IllegalArgumentException("No se asignó lote al producto: " + dto.idProducto());
+                    List<PlanAsignacionLotes.Asignacion> asignaciones = asignacionesPorProducto.get(idProducto);
+                    if (asignaciones == null || asignaciones.isEmpty()) {
+                        throw new IllegalArgumentException("No se asignó lote al producto: " + idProducto);
                     }
 
-                    return new DetallePedido(
-                            producto.getIdProducto(),
-                            lote.getId(),
-                            dto.cantidad(),
-                            BigDecimal.valueOf(producto.getValor())
-                    );
+                    BigDecimal precioUnitario = BigDecimal.valueOf(producto.getValor());
+                    return asignaciones.stream()
+                            .map(asignacion -> new DetallePedido(
+                                    producto.getIdProducto(),
+                                    asignacion.lote().getId(),
+                                    asignacion.cantidad(),
+                                    precioUnitario
+                            ));
                 })
-                .toList();
+                .collect(Collectors.toCollection(ArrayList::new));
 
         BigDecimal total = detalles.stream()
                 .map(d -> d.getPrecioUnitario().multiply(BigDecimal.valueOf(d.getCantidad())))
@@ -92,20 +102,49 @@ public final class PedidoMapper {
         return pedido;
     }
 
-    private static MostrarDetallePedidoDTO toMostrarDetallePedidoDTO(
-            DetallePedido detalle,
-            Map<String, Producto> productoMap,
-            Map<String, Lote> loteMap
-    ) {
-        Producto producto = productoMap.get(detalle.getIdProducto());
-        Lote lote = loteMap.get(detalle.getIdLote());
+    /**
+     * Crea un EmailDTO de confirmación del pedido pagado, con una línea por producto
+     * (las líneas de un mismo producto repartido en varios lotes se suman).
+     *
+     * @param correoDestino email del cliente
+     * @param pedido pedido aprobado
+     * @param contexto productos del pedido, para mostrar sus nombres
+     * @return DTO con el email configurado
+     */
+    public static EmailDTO toEmailConfirmacionDTO(String correoDestino, Pedido pedido, ContextoMapeo contexto) {
+        Objects.requireNonNull(pedido, "El pedido no puede ser nulo");
+
+        Map<String, Integer> cantidades = new LinkedHashMap<>();
+        Map<String, BigDecimal> subtotales = new LinkedHashMap<>();
+        for (DetallePedido detalle : pedido.getDetalle()) {
+            cantidades.merge(detalle.getIdProducto(), detalle.getCantidad(), Integer::sum);
+            subtotales.merge(detalle.getIdProducto(),
+                    detalle.getPrecioUnitario().multiply(BigDecimal.valueOf(detalle.getCantidad())), BigDecimal::add);
+        }
+
+        List<Map<String, Object>> lineas = cantidades.keySet().stream()
+                .map(idProducto -> Map.<String, Object>of(
+                        "producto", contexto.nombreProducto(idProducto),
+                        "cantidad", cantidades.get(idProducto),
+                        "subtotal", formatearValor(subtotales.get(idProducto))))
+                .toList();
+
+        return new EmailDTO(TipoCorreo.CONFIRMACION_PEDIDO, "Confirmación de tu pedido", correoDestino, Map.of(
+                "idPedido", pedido.getId(),
+                "lineas", lineas,
+                "total", formatearValor(pedido.getTotal())));
+    }
+
+    private static MostrarDetallePedidoDTO toMostrarDetallePedidoDTO(DetallePedido detalle, ContextoMapeo contexto) {
+        Producto producto = contexto.producto(detalle.getIdProducto());
+        Lote lote = detalle.getIdLote() != null ? contexto.lote(detalle.getIdLote()) : null;
 
         BigDecimal subtotal = detalle.getPrecioUnitario()
                 .multiply(BigDecimal.valueOf(detalle.getCantidad()));
 
         return new MostrarDetallePedidoDTO(
                 detalle.getIdProducto(),
-                producto != null ? producto.getNombreProducto() : "Producto no disponible",
+                producto != null ? producto.getNombreProducto() : ContextoMapeo.PRODUCTO_NO_DISPONIBLE,
                 producto != null ? producto.getTipo() : null,
                 producto != null ? producto.getImagenProducto() : null,
                 detalle.getPrecioUnitario(),
@@ -121,30 +160,23 @@ public final class PedidoMapper {
 // Métodos privados auxiliares
 // ============================
 
-    private static void validatePedidoData(Pedido pedido, List<Producto> productos, List<Lote> lotes) {
+    private static void validatePedidoData(Pedido pedido, ContextoMapeo contexto) {
         Objects.requireNonNull(pedido, "El pedido no puede ser nulo");
-        Objects.requireNonNull(productos, "La lista de productos no puede ser nula");
-        Objects.requireNonNull(lotes, "La lista de lotes no puede ser nula");
+        Objects.requireNonNull(contexto, "El contexto de mapeo no puede ser nulo");
 
         if (pedido.getDetalle() == null || pedido.getDetalle().isEmpty()) {
             throw new IllegalArgumentException("El pedido no contiene detalles");
         }
     }
 
-    private static List<MostrarDetallePedidoDTO> buildDetalles(
-            Pedido pedido,
-            List<Producto> productos,
-            List<Lote> lotes
-    ) {
-        // Pre-construir maps para acceso O(1)
-        Map<String, Producto> productoMap = productos.stream()
-                .collect(Collectors.toMap(Producto::getIdProducto, p -> p));
-
-        Map<String, Lote> loteMap = lotes.stream()
-                .collect(Collectors.toMap(Lote::getId, l -> l));
+    private static String formatearValor(BigDecimal valor) {
+        return valor == null ? "" : valor.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
 
+    // Productos y lotes ya indexados en el contexto: acceso O(1) por línea
+    private static List<MostrarDetallePedidoDTO> buildDetalles(Pedido pedido, ContextoMapeo contexto) {
         return pedido.getDetalle().stream()
-                .map(detalle -> toMostrarDetallePedidoDTO(detalle, productoMap, loteMap))
+                .map(detalle -> toMostrarDetallePedidoDTO(detalle, contexto))
                 .toList();
     }
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package uniquindio.product.mapper;
 
 import uniquindio.product.dto.producto.CrearProductoDTO;
 import uniquindio.product.dto.producto.EditarProductoDTO;
+import uniquindio.product.dto.producto.ImagenDTO;
 import uniquindio.product.dto.producto.ItemProductoDTO;
 import uniquindio.product.dto.producto.ProductoDetalleDTO;
+import uniquindio.product.model.documents.ImagenAlmacenada;
 import uniquindio.product.model.documents.Producto;
 
 public class ProductoMapper {
@@ -43,6 +45,10 @@ public class ProductoMapper {
         );
     }
 
+    public static ImagenDTO toImagenDTO(ImagenAlmacenada imagen) {
+        return new ImagenDTO(imagen.getUrl(), imagen.getPublicId(), imagen.getFormato());
+    }
+
     public static void updateEntity(Producto producto, EditarProductoDTO dto) {
         producto.setNombreProducto(dto.nombre());
         producto.setImagenProducto(dto.imagenProducto());
@@ -7,10 +7,12 @@ import uniquindio.product.dto.email.EmailDTO;
 import uniquindio.product.dto.usuario.CrearTrabajadorDTO;
 import uniquindio.product.dto.usuario.CrearUsuarioDTO;
 import uniquindio.product.dto.usuario.EditarUsuarioDTO;
+import uniquindio.product.dto.usuario.FilaTrabajadorDTO;
 import uniquindio.product.dto.usuario.InformacionUsuarioDTO;
 import uniquindio.product.model.documents.Usuario;
 import uniquindio.product.model.enums.EstadoCuenta;
 import uniquindio.product.model.enums.Rol;
+import uniquindio.product.model.enums.TipoCorreo;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -65,6 +67,25 @@ public final class UsuarioMapper {
                 .toList();
     }
 
+    /**
+     * Mapea una fila proyectada del listado de trabajadores a InformacionUsuarioDTO.
+     * El ID de la fila solo sirve como cursor y no se copia.
+     *
+     * @param fila fila leída por la consulta de proyección
+     * @return DTO con la información básica del trabajador
+     */
+    public static InformacionUsuarioDTO toInformacionUsuarioDTO(FilaTrabajadorDTO fila) {
+        return new InformacionUsuarioDTO(
+                fila.cedula(),
+                fila.nombre(),
+                fila.telefono(),
+                fila.correoElectronico(),
+                fila.rol(),
+                fila.ciudadDeResidencia(),
+                fila.direccion()
+        );
+    }
+
     /**
      * Crea una entidad Usuario a partir de CrearUsuarioDTO.
      * Configura valores por defecto para un CLIENTE nuevo (INACTIVO, sin validar).
@@ -116,9 +137,8 @@ public final class UsuarioMapper {
      * @return DTO con el email configurado
      */
     public static EmailDTO toEmailValidacionDTO(String correoDestino, String codigoValidacion) {
-        String asunto = "Código de Validación";
-        String cuerpo = "Tu código de validación es: " + codigoValidacion;
-        return new EmailDTO(asunto, cuerpo, correoDestino);
+        return new EmailDTO(TipoCorreo.VALIDACION, "Código de Validación", correoDestino,
+                Map.of("codigo", codigoValidacion));
     }
 
     /**
@@ -191,9 +211,8 @@ public final class UsuarioMapper {
      * @return DTO con el email configurado para recuperación
      */
     public static EmailDTO toEmailRecuperacionDTO(String correoDestino, String codigoRecuperacion) {
-        String asunto = "Código de recuperación de contraseña";
-        String cuerpo = "El código para recuperar tu contraseña es: " + codigoRecuperacion;
-        return new EmailDTO(asunto, cuerpo, correoDestino);
+        return new EmailDTO(TipoCorreo.RECUPERACION, "Código de recuperación de contraseña", correoDestino,
+                Map.of("codigo", codigoRecuperacion));
     }
 
     /**
@@ -289,9 +308,8 @@ public final class UsuarioMapper {
      * @return DTO con el email configurado
      */
     public static EmailDTO toEmailCodigoExpiradoDTO(String correoDestino, String nuevoCodigo, String tipo) {
-        String asunto = "Nuevo Código de " + tipo;
-        String cuerpo = "Tu nuevo código de " + tipo.toLowerCase() + " es: " + nuevoCodigo;
-        return new EmailDTO(asunto, cuerpo, correoDestino);
+        return new EmailDTO(TipoCorreo.CODIGO_EXPIRADO, "Nuevo Código de " + tipo, correoDestino,
+                Map.of("codigo", nuevoCodigo, "tipo", tipo.toLowerCase()));
     }
 
     /**
@@ -0,0 +1,60 @@
+package uniquindio.product.model.documents;
+
+import jakarta.persistence.*;
+import lombok.*;
+import uniquindio.product.model.enums.EstadoCorreo;
+
+import java.time.LocalDateTime;
+
+/**
+ * Correo pendiente de envío (outbox). Se escribe en la misma transacción que el cambio
+ * que lo origina, así que solo sale si ese cambio se confirmó y no se pierde si la
+ * aplicación se reinicia antes de enviarlo.
+ */
+@Entity
+@Table(
+        name = "correo_saliente",
+        indexes = @Index(name = "idx_correo_saliente_estado_intento", columnList = "estado, proximo_intento")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class CorreoSaliente {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "destinatario", nullable = false)
+    private String destinatario;
+
+    @Column(name = "asunto", nullable = false)
+    private String asunto;
+
+    @Column(name = "cuerpo", nullable = false, columnDefinition = "text")
+    private String cuerpo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private EstadoCorreo estado;
+
+    @Column(name = "intentos", nullable = false)
+    private Integer intentos;
+
+    // Para PENDIENTE, cuándo puede reintentarse; para EN_ENVIO, cuándo vence el reclamo
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_envio")
+    private LocalDateTime fechaEnvio;
+
+    @Column(name = "ultimo_error", length = 1000)
+    private String ultimoError;
+}
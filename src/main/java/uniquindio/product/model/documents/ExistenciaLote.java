@@ -0,0 +1,44 @@
+package uniquindio.product.model.documents;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Existencia física de un lote en el almacén.
+ * Cada lote ingresado ocupa su propia fila, de modo que las entradas y los
+ * descuentos se resuelven con operaciones por fila en lugar de reescribir
+ * la colección completa del inventario principal.
+ */
+@Entity
+@Table(
+        name = "existencia_lote",
+        indexes = {
+                @Index(name = "idx_existencia_lote_producto_lote", columnList = "id_producto, id_lote")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ExistenciaLote {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "id_lote", length = 36)
+    private String idLote;
+
+    @Column(name = "id_producto", nullable = false, length = 36)
+    private String idProducto;
+
+    @Column(name = "cantidad", nullable = false)
+    private Integer cantidad;
+
+    @Column(name = "fecha_ingreso", nullable = false)
+    private LocalDateTime fechaIngreso;
+
+    @Column(name = "ultima_actualizacion", nullable = false)
+    private LocalDateTime ultimaActualizacion;
+}
@@ -0,0 +1,41 @@
+package uniquindio.product.model.documents;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Imagen ya subida a Cloudinary, identificada por el SHA-256 de su contenido.
+ * Permite devolver la imagen existente cuando se vuelve a subir la misma foto.
+ */
+@Entity
+@Table(
+        name = "imagen_almacenada",
+        uniqueConstraints = @UniqueConstraint(name = "uk_imagen_almacenada_public_id", columnNames = "public_id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ImagenAlmacenada {
+
+    // SHA-256 del contenido en hexadecimal
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(length = 64)
+    private String hash;
+
+    @Column(name = "url", nullable = false, length = 500)
+    private String url;
+
+    @Column(name = "public_id", nullable = false)
+    private String publicId;
+
+    @Column(name = "formato", length = 20)
+    private String formato;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+}
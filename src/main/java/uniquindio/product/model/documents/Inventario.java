@@ -25,6 +25,7 @@ public class Inventario {
     @Column(name = "ultima_actualizacion")
     private LocalDateTime ultimaActualizacion;
 
+    // Registro histórico: las existencias vigentes se guardan una fila por lote en ExistenciaLote
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "detalle_inventario", joinColumns = @JoinColumn(name = "inventario_id"))
     private List<DetalleInventario> detalleInventario = new ArrayList<>();
@@ -9,7 +9,14 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "lote")
+@Table(
+        name = "lote",
+        indexes = {
+                @Index(name = "idx_lote_estado_id", columnList = "estado, id"),
+                @Index(name = "idx_lote_producto", columnList = "id_producto"),
+                @Index(name = "idx_lote_estado_vencimiento", columnList = "estado, fecha_vencimiento")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -41,6 +48,10 @@ public class Lote {
     @Column(name = "cantidad_disponible", nullable = false)
     private Integer cantidadDisponible;
 
+    // Unidades retenidas por pedidos PENDIENTE (ver ReservaStock); siguen en almacén pero no se pueden vender
+    @Column(name = "cantidad_reservada", nullable = false, columnDefinition = "integer default 0")
+    private Integer cantidadReservada = 0;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "estado", nullable = false)
     private EstadoLote estado;
@@ -55,6 +66,10 @@ public class Lote {
         return LocalDate.now().isAfter(fechaVencimiento);
     }
 
+    public int cantidadLibre() {
+        return cantidadDisponible - (cantidadReservada != null ? cantidadReservada : 0);
+    }
+
     public long diasParaVencer() {
         return ChronoUnit.DAYS.between(LocalDate.now(), fechaVencimiento);
     }
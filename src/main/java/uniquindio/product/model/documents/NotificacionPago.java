@@ -0,0 +1,54 @@
+package uniquindio.product.model.documents;
+
+import jakarta.persistence.*;
+import lombok.*;
+import uniquindio.product.model.enums.EstadoNotificacion;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificación de pago de MercadoPago pendiente de procesar. Hay una sola fila
+ * por ID de pago: los reenvíos de la pasarela se funden en ella en lugar de
+ * repetir el procesamiento.
+ */
+@Entity
+@Table(
+        name = "notificacion_pago",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notificacion_pago_id_pago", columnNames = "id_pago"),
+        indexes = @Index(name = "idx_notificacion_pago_estado_intento", columnList = "estado, proximo_intento")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class NotificacionPago {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "id_pago", nullable = false, length = 64)
+    private String idPago;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private EstadoNotificacion estado;
+
+    @Column(name = "intentos", nullable = false)
+    private Integer intentos;
+
+    // Para PENDIENTE, cuándo puede reintentarse; para EN_PROCESO, cuándo vence el reclamo del trabajador
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    @Column(name = "fecha_recepcion", nullable = false)
+    private LocalDateTime fechaRecepcion;
+
+    @Column(name = "fecha_procesado")
+    private LocalDateTime fechaProcesado;
+
+    @Column(name = "ultimo_error", length = 1000)
+    private String ultimoError;
+}
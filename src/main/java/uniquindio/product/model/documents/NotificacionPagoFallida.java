@@ -0,0 +1,43 @@
+package uniquindio.product.model.documents;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificación de pago que agotó sus reintentos. Queda aquí para revisión manual.
+ */
+@Entity
+@Table(
+        name = "notificacion_pago_fallida",
+        indexes = @Index(name = "idx_notificacion_pago_fallida_id_pago", columnList = "id_pago")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class NotificacionPagoFallida {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "id_pago", nullable = false, length = 64)
+    private String idPago;
+
+    @Column(name = "intentos", nullable = false)
+    private Integer intentos;
+
+    @Column(name = "ultimo_error", length = 1000)
+    private String ultimoError;
+
+    @Column(name = "fecha_recepcion", nullable = false)
+    private LocalDateTime fechaRecepcion;
+
+    @Column(name = "fecha_fallo", nullable = false)
+    private LocalDateTime fechaFallo;
+}
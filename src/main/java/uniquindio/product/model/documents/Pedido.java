@@ -13,7 +13,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "pedido")
+@Table(
+        name = "pedido",
+        indexes = @Index(name = "idx_pedido_cliente_id", columnList = "id_cliente, id")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,56 @@
+package uniquindio.product.model.documents;
+
+import jakarta.persistence.*;
+import lombok.*;
+import uniquindio.product.model.enums.EstadoReserva;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unidades de un lote retenidas para un pedido PENDIENTE hasta que llegue el pago
+ * o venza el plazo de la reserva. El total retenido por lote se lleva en
+ * {@link Lote#getCantidadReservada()}, así que las consultas de stock no recorren esta tabla.
+ */
+@Entity
+@Table(
+        name = "reserva_stock",
+        indexes = {
+                @Index(name = "idx_reserva_stock_pedido", columnList = "id_pedido"),
+                @Index(name = "idx_reserva_stock_estado_expiracion", columnList = "estado, fecha_expiracion")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ReservaStock {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "id_pedido", nullable = false, length = 36)
+    private String idPedido;
+
+    @Column(name = "id_producto", nullable = false, length = 36)
+    private String idProducto;
+
+    @Column(name = "id_lote", nullable = false, length = 36)
+    private String idLote;
+
+    @Column(name = "cantidad", nullable = false)
+    private Integer cantidad;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private EstadoReserva estado;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_expiracion", nullable = false)
+    private LocalDateTime fechaExpiracion;
+}
@@ -0,0 +1,44 @@
+package uniquindio.product.model.documents;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Resumen de stock de un producto, calculado a partir de sus lotes DISPONIBLES con
+ * unidades (los vencidos ya pasaron a VENCIDO). Se actualiza en la misma transacción
+ * que cambia los lotes (ver StockProductoRepository#recalcular), así el resumen de
+ * inventario y las alertas de stock bajo no recorren la tabla de lotes.
+ */
+@Entity
+@Table(
+        name = "stock_producto",
+        indexes = @Index(name = "idx_stock_producto_stock", columnList = "stock_disponible, id_producto")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class StockProducto {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "id_producto", length = 36)
+    private String idProducto;
+
+    // Unidades libres (disponibles menos reservadas)
+    @Column(name = "stock_disponible", nullable = false)
+    private Integer stockDisponible;
+
+    @Column(name = "lotes_disponibles", nullable = false)
+    private Integer lotesDisponibles;
+
+    @Column(name = "proximo_vencimiento")
+    private LocalDate proximoVencimiento;
+
+    @Column(name = "ultima_actualizacion", nullable = false)
+    private LocalDateTime ultimaActualizacion;
+}
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "usuario")
+@Table(
+        name = "usuario",
+        indexes = @Index(name = "idx_usuario_rol_id", columnList = "rol, id")
+)
 public class Usuario {
 
     @Id
@@ -0,0 +1,8 @@
+package uniquindio.product.model.enums;
+
+public enum EstadoCorreo {
+    PENDIENTE,
+    EN_ENVIO,
+    ENVIADO,
+    FALLIDO
+}
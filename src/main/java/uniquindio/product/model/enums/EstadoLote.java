@@ -4,5 +4,7 @@ public enum EstadoLote {
     EN_PRODUCCION,
     DISPONIBLE,
     AGOTADO,
-    BLOQUEADO
+    BLOQUEADO,
+    // Terminal: el motor de vencimientos lo asigna al pasar la fecha de vencimiento
+    VENCIDO
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package uniquindio.product.model.enums;
+
+public enum EstadoNotificacion {
+    PENDIENTE,
+    EN_PROCESO,
+    PROCESADA,
+    DESCARTADA
+}
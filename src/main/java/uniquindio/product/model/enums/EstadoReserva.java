@@ -0,0 +1,7 @@
+package uniquindio.product.model.enums;
+
+public enum EstadoReserva {
+    ACTIVA,
+    CONFIRMADA,
+    LIBERADA
+}
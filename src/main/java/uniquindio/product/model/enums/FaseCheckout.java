@@ -0,0 +1,11 @@
+package uniquindio.product.model.enums;
+
+public enum FaseCheckout {
+    CARGA_CARRITO,
+    CONSULTA_PRODUCTOS,
+    SELECCION_FEFO,
+    GUARDADO_PEDIDO,
+    CREACION_PREFERENCIA,
+    CONSULTA_PAGO,
+    REDUCCION_STOCK
+}
@@ -1,5 +1,8 @@
 package uniquindio.product.model.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum Rol {
     CLIENTE,
     ADMINISTRADOR,
@@ -7,5 +10,10 @@ public enum Rol {
     SUPERVISOR_PRODUCCION,
     ENCARGADO_ALMACEN,
     REPARTIDOR,
-    GERENTE_ASIGNADOR
+    GERENTE_ASIGNADOR;
+
+    // Roles de trabajador: todos menos CLIENTE
+    public static Set<Rol> trabajadores() {
+        return EnumSet.complementOf(EnumSet.of(CLIENTE));
+    }
 }
\ No newline at end of file
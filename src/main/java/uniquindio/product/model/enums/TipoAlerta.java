@@ -0,0 +1,6 @@
+package uniquindio.product.model.enums;
+
+public enum TipoAlerta {
+    LOTE_POR_VENCER,
+    STOCK_BAJO
+}
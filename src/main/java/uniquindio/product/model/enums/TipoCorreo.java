@@ -0,0 +1,8 @@
+package uniquindio.product.model.enums;
+
+public enum TipoCorreo {
+    VALIDACION,
+    RECUPERACION,
+    CODIGO_EXPIRADO,
+    CONFIRMACION_PEDIDO
+}
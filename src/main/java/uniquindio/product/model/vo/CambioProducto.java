@@ -0,0 +1,9 @@
+package uniquindio.product.model.vo;
+
+/**
+ * Evento publicado cuando se crea, modifica o elimina un producto.
+ * Se procesa al confirmar la transacción para que la caché no vuelva a cargar
+ * la versión anterior mientras el cambio aún no es visible para otras lecturas.
+ */
+public record CambioProducto(String idProducto) {
+}
@@ -0,0 +1,23 @@
+package uniquindio.product.model.vo;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Evento publicado cuando cambia el stock de productos (lotes, reservas o ventas).
+ * Se publica después de recalcular su StockProducto y se procesa al confirmar la transacción.
+ */
+public record CambioStock(Set<String> idsProductos) {
+
+    public CambioStock {
+        idsProductos = Set.copyOf(idsProductos);
+    }
+
+    public CambioStock(Collection<String> idsProductos) {
+        this(Set.copyOf(idsProductos));
+    }
+
+    public static CambioStock de(String idProducto) {
+        return new CambioStock(Set.of(idProducto));
+    }
+}
@@ -0,0 +1,17 @@
+package uniquindio.product.model.vo;
+
+/**
+ * Sentencias SQL, entidades cargadas y colecciones inicializadas durante una petición
+ * (o durante la ejecución medida por una prueba).
+ */
+public record ConteoConsultas(int sentencias, int entidades, int colecciones) {
+
+    public static final ConteoConsultas VACIO = new ConteoConsultas(0, 0, 0);
+
+    // true si alguno de los tres valores supera el máximo correspondiente
+    public boolean excede(ConteoConsultas maximo) {
+        return sentencias > maximo.sentencias()
+                || entidades > maximo.entidades()
+                || colecciones > maximo.colecciones();
+    }
+}
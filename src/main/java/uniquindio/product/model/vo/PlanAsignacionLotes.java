@@ -0,0 +1,33 @@
+package uniquindio.product.model.vo;
+
+import uniquindio.product.model.documents.Lote;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Resultado de repartir las cantidades de un pedido entre lotes en orden FEFO.
+ * Un mismo producto puede quedar repartido en varios lotes.
+ */
+public record PlanAsignacionLotes(List<Asignacion> asignaciones) {
+
+    public record Asignacion(String idProducto, Lote lote, int cantidad) {
+    }
+
+    public PlanAsignacionLotes {
+        asignaciones = List.copyOf(asignaciones);
+    }
+
+    public List<Lote> lotes() {
+        return asignaciones.stream()
+                .map(Asignacion::lote)
+                .distinct()
+                .toList();
+    }
+
+    public Map<String, List<Asignacion>> porProducto() {
+        return asignaciones.stream()
+                .collect(Collectors.groupingBy(Asignacion::idProducto));
+    }
+}
@@ -1,6 +1,7 @@
 package uniquindio.product.repositories;
 
 import uniquindio.product.model.documents.Carrito;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import uniquindio.product.model.documents.Usuario;
@@ -9,6 +10,8 @@ import java.util.Optional;
 
 @Repository
 public interface CarritoRepository extends JpaRepository<Carrito, String> {
+    // Carrito, usuario e ítems en una sola consulta
+    @EntityGraph(attributePaths = {"usuario", "items"})
     Optional<Carrito> findByUsuarioId(String idUsuario);
     boolean existsByUsuario(Usuario usuario);
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package uniquindio.product.repositories;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uniquindio.product.model.documents.CorreoSaliente;
+import uniquindio.product.model.enums.EstadoCorreo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CorreoSalienteRepository extends JpaRepository<CorreoSaliente, String> {
+
+    // FOR UPDATE SKIP LOCKED: varias instancias pueden drenar la cola sin enviar dos veces el mismo correo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<CorreoSaliente> findByEstadoInAndProximoIntentoLessThanEqualOrderByProximoIntentoAsc(
+            Collection<EstadoCorreo> estados,
+            LocalDateTime fecha,
+            Limit limit
+    );
+
+    long countByEstado(EstadoCorreo estado);
+
+    @Modifying
+    @Query("""
+            UPDATE CorreoSaliente c
+               SET c.estado = uniquindio.product.model.enums.EstadoCorreo.ENVIADO,
+                   c.fechaEnvio = :ahora
+             WHERE c.id = :id
+            """)
+    int marcarEnviado(@Param("id") String id, @Param("ahora") LocalDateTime ahora);
+}
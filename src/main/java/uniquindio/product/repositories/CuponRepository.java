@@ -3,6 +3,7 @@ package uniquindio.product.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -46,4 +47,9 @@ public interface CuponRepository extends JpaRepository<Cupon, String> {
      * Busca cupones disponibles por cédula del cliente.
      */
     List<Cupon> findByCedulaClienteAndEstado(String cedulaCliente, EstadoCupon estado);
+
+    /**
+     * Página de cupones ordenada por ID a partir de un cursor (keyset).
+     */
+    List<Cupon> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
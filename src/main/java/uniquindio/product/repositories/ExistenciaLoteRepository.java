@@ -0,0 +1,30 @@
+package uniquindio.product.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uniquindio.product.model.documents.ExistenciaLote;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ExistenciaLoteRepository extends JpaRepository<ExistenciaLote, String> {
+
+    List<ExistenciaLote> findByIdProducto(String idProducto);
+
+    // Descuenta en una sola sentencia; devuelve 0 si el lote no existe o no alcanza
+    @Modifying
+    @Query("""
+            UPDATE ExistenciaLote e
+               SET e.cantidad = e.cantidad - :cantidad,
+                   e.ultimaActualizacion = :fecha
+             WHERE e.idLote = :idLote
+               AND e.cantidad >= :cantidad
+            """)
+    int descontarCantidad(@Param("idLote") String idLote,
+                          @Param("cantidad") int cantidad,
+                          @Param("fecha") LocalDateTime fecha);
+}
@@ -0,0 +1,53 @@
+package uniquindio.product.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import uniquindio.product.model.documents.ImagenAlmacenada;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ImagenAlmacenadaRepository extends JpaRepository<ImagenAlmacenada, String> {
+
+    /**
+     * Registra la imagen si nadie registró antes el mismo contenido. Tiene su propia
+     * transacción: la subida a Cloudinary ocurre fuera de cualquier transacción.
+     *
+     * @return 1 si se registró, 0 si otra subida simultánea del mismo contenido ganó
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO imagen_almacenada (hash, url, public_id, formato, fecha_creacion)
+            VALUES (:hash, :url, :publicId, :formato, :ahora)
+            ON CONFLICT (hash) DO NOTHING
+            """, nativeQuery = true)
+    int registrar(@Param("hash") String hash,
+                  @Param("url") String url,
+                  @Param("publicId") String publicId,
+                  @Param("formato") String formato,
+                  @Param("ahora") LocalDateTime ahora);
+
+    Optional<ImagenAlmacenada> findByPublicId(String publicId);
+
+    /**
+     * Borra el registro de la imagen solo si ningún producto usa su URL, en una sola
+     * sentencia. Desde ese momento las subidas del mismo contenido ya no la reutilizan
+     * y la vuelven a subir.
+     *
+     * @return 1 si se borró, 0 si no está registrada o algún producto la usa
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            DELETE FROM ImagenAlmacenada i
+            WHERE i.publicId = :publicId
+              AND NOT EXISTS (SELECT 1 FROM Producto p WHERE p.imagenProducto = i.url)
+            """)
+    int eliminarSiNoSeUsa(@Param("publicId") String publicId);
+}
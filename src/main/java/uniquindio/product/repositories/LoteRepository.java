@@ -1,15 +1,25 @@
 package uniquindio.product.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import uniquindio.product.dto.inventario.DetalleLoteDTO;
+import uniquindio.product.dto.inventario.StockPorLoteDTO;
+import uniquindio.product.dto.lote.ActualizarLoteDTO;
 import uniquindio.product.model.documents.Lote;
 import uniquindio.product.model.enums.EstadoLote;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface LoteRepository extends JpaRepository<Lote, String> {
+public interface LoteRepository extends JpaRepository<Lote, String>, LoteRepositoryCustom {
 
     // Verificar si existe código de lote
     boolean existsByCodigoLote(String codigoLote);
@@ -20,26 +30,298 @@ public interface LoteRepository extends JpaRepository<Lote, String> {
     // Lotes disponibles
     List<Lote> findByEstadoAndCantidadDisponibleGreaterThan(EstadoLote estado, Integer cantidad);
     List<Lote> findByIdProducto(String idProducto);
-    List<Lote> findByIdProductoAndEstadoAndFechaVencimientoAfter(String idProducto, EstadoLote estado, LocalDate fecha);
+    // Sin filtro de fecha: los lotes vencidos ya no están DISPONIBLE (ver MotorVencimientos)
+    List<Lote> findByIdProductoAndEstado(String idProducto, EstadoLote estado);
+    List<Lote> findByIdProductoInAndEstado(Collection<String> idsProductos, EstadoLote estado);
     List<Lote> findByEstadoAndFechaVencimientoBeforeAndCantidadDisponibleGreaterThan(
             EstadoLote estado,
             LocalDate fecha,
             Integer cantidad
     );
+    // Lotes por vencer solo de los productos que cambiaron (alertas SSE)
+    List<Lote> findByIdProductoInAndEstadoAndFechaVencimientoBeforeAndCantidadDisponibleGreaterThan(
+            Collection<String> idsProductos,
+            EstadoLote estado,
+            LocalDate fecha,
+            Integer cantidad
+    );
 
     // Filtra TODO en la BD
-    List<Lote> findByIdProductoAndEstadoAndCantidadDisponibleGreaterThanAndFechaVencimientoAfterOrderByFechaVencimientoAsc(
+    List<Lote> findByIdProductoAndEstadoAndCantidadDisponibleGreaterThanOrderByFechaVencimientoAsc(
             String idProducto,
             EstadoLote estado,
-            Integer cantidad,
-            LocalDate fecha
+            Integer cantidad
     );
 
-    List<Lote> findByEstadoAndCantidadDisponibleGreaterThanAndFechaVencimientoAfter(
+    // ==================== Paginación keyset (índices en Lote) ====================
+
+    List<Lote> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<Lote> findByEstadoAndIdGreaterThanOrderByIdAsc(EstadoLote estado, String id, Limit limit);
+
+    List<Lote> findByEstadoAndCantidadDisponibleGreaterThanAndIdGreaterThanOrderByIdAsc(
             EstadoLote estado,
             Integer cantidad,
-            LocalDate fecha
+            String id,
+            Limit limit
     );
 
+    // ==================== Proyecciones de solo lectura (sin entidades administradas) ====================
+
+    // Página de lotes con el nombre del producto; solo las columnas del DTO
+    @Query("""
+            SELECT new uniquindio.product.dto.inventario.DetalleLoteDTO(
+                   l.id, l.idProducto, COALESCE(p.nombreProducto, 'Desconocido'),
+                   l.cantidadDisponible, l.fechaVencimiento, l.estado)
+              FROM Lote l
+              LEFT JOIN Producto p ON p.idProducto = l.idProducto
+             WHERE l.id > :id
+             ORDER BY l.id
+            """)
+    List<DetalleLoteDTO> findDetallesByIdGreaterThan(@Param("id") String id, Limit limit);
+
+    // Stock libre por lote de un producto, del más próximo a vencer al más lejano
+    @Query("""
+            SELECT new uniquindio.product.dto.inventario.StockPorLoteDTO(
+                   l.codigoLote, l.cantidadDisponible - l.cantidadReservada, l.fechaVencimiento, l.estado)
+              FROM Lote l
+             WHERE l.idProducto = :idProducto
+               AND l.estado = :estado
+               AND l.cantidadDisponible > 0
+             ORDER BY l.fechaVencimiento
+            """)
+    List<StockPorLoteDTO> findStockPorLote(@Param("idProducto") String idProducto, @Param("estado") EstadoLote estado);
+
+    // Candidatos FEFO de todos los productos de un pedido en una sola consulta
+    List<Lote> findByIdProductoInAndEstadoAndCantidadDisponibleGreaterThanOrderByIdProductoAscFechaVencimientoAsc(
+            Collection<String> idsProductos,
+            EstadoLote estado,
+            Integer cantidad
+    );
+
+    // ==================== Vencimientos (índice estado, fecha_vencimiento) ====================
+
+    // Lotes que vencen hasta la fecha indicada, para cargar el índice en memoria del motor
+    List<Lote> findByEstadoInAndFechaVencimientoLessThanEqual(Collection<EstadoLote> estados, LocalDate fecha);
+
+    @Query("SELECT DISTINCT l.idProducto FROM Lote l WHERE l.id IN :ids")
+    List<String> findIdsProductoDeLotes(@Param("ids") Collection<String> idsLotes);
+
+    /**
+     * Pasa a VENCIDO, en una sola sentencia, los lotes indicados que sigan en un estado
+     * con stock y cuya fecha de vencimiento ya llegó. Las unidades reservadas se sueltan:
+     * sus reservas se liberan antes en la misma transacción.
+     *
+     * @return cantidad de lotes vencidos
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Lote l
+               SET l.estado = :vencido,
+                   l.cantidadReservada = 0
+             WHERE l.id IN :ids
+               AND l.estado IN :estados
+               AND l.fechaVencimiento <= :hoy
+            """)
+    int vencer(@Param("ids") Collection<String> idsLotes,
+               @Param("estados") Collection<EstadoLote> estados,
+               @Param("vencido") EstadoLote vencido,
+               @Param("hoy") LocalDate hoy);
+
+    /**
+     * Descuenta unidades libres (no reservadas) de un lote DISPONIBLE en una sola sentencia condicional.
+     * Si el descuento deja el lote en cero, pasa a AGOTADO en la misma sentencia.
+     * Como los demás UPDATE de stock, no vacía el contexto de persistencia: quien vuelva
+     * a planificar sobre lotes ya cargados en la transacción debe llamar a {@link #refrescar}.
+     *
+     * @return 1 si se descontó, 0 si el lote no estaba disponible o no alcanzaba
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Lote l
+               SET l.cantidadDisponible = l.cantidadDisponible - :cantidad,
+                   l.estado = CASE WHEN l.cantidadDisponible = :cantidad THEN :agotado ELSE l.estado END
+             WHERE l.id = :idLote
+               AND l.estado = :disponible
+               AND l.cantidadDisponible - l.cantidadReservada >= :cantidad
+            """)
+    int descontarCantidadDisponible(@Param("idLote") String idLote,
+                                    @Param("cantidad") int cantidad,
+                                    @Param("disponible") EstadoLote disponible,
+                                    @Param("agotado") EstadoLote agotado);
+
+    default boolean descontarSiDisponible(String idLote, int cantidad) {
+        return descontarCantidadDisponible(idLote, cantidad, EstadoLote.DISPONIBLE, EstadoLote.AGOTADO) == 1;
+    }
+
+    // Unidades libres (no reservadas) de un lote DISPONIBLE, leídas sin cargar la entidad
+    @Query("""
+            SELECT l.cantidadDisponible - l.cantidadReservada
+              FROM Lote l
+             WHERE l.id = :idLote
+               AND l.estado = :disponible
+            """)
+    Optional<Integer> findUnidadesLibres(@Param("idLote") String idLote, @Param("disponible") EstadoLote disponible);
+
+    default int unidadesLibres(String idLote) {
+        return findUnidadesLibres(idLote, EstadoLote.DISPONIBLE).orElse(0);
+    }
+
+    /**
+     * Retiene unidades libres de un lote DISPONIBLE para un pedido pendiente.
+     *
+     * @return 1 si se reservó, 0 si el lote ya no tenía unidades libres suficientes
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Lote l
+               SET l.cantidadReservada = l.cantidadReservada + :cantidad
+             WHERE l.id = :idLote
+               AND l.estado = :disponible
+               AND l.cantidadDisponible - l.cantidadReservada >= :cantidad
+            """)
+    int reservarCantidad(@Param("idLote") String idLote,
+                         @Param("cantidad") int cantidad,
+                         @Param("disponible") EstadoLote disponible);
+
+    default boolean reservarSiDisponible(String idLote, int cantidad) {
+        return reservarCantidad(idLote, cantidad, EstadoLote.DISPONIBLE) == 1;
+    }
+
+    // Devuelve a stock libre unidades reservadas (reserva vencida o pedido cancelado)
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Lote l
+               SET l.cantidadReservada = l.cantidadReservada - :cantidad
+             WHERE l.id = :idLote
+               AND l.cantidadReservada >= :cantidad
+            """)
+    int liberarCantidadReservada(@Param("idLote") String idLote, @Param("cantidad") int cantidad);
+
+    /**
+     * Convierte unidades reservadas en venta: descuenta disponible y reservada a la vez.
+     * No exige estado DISPONIBLE porque las unidades ya estaban comprometidas con el pedido.
+     *
+     * @return 1 si se descontó, 0 si el lote no tenía esa reserva
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Lote l
+               SET l.cantidadDisponible = l.cantidadDisponible - :cantidad,
+                   l.cantidadReservada = l.cantidadReservada - :cantidad,
+                   l.estado = CASE WHEN l.cantidadDisponible = :cantidad THEN :agotado ELSE l.estado END
+             WHERE l.id = :idLote
+               AND l.cantidadReservada >= :cantidad
+               AND l.cantidadDisponible >= :cantidad
+            """)
+    int venderCantidadReservada(@Param("idLote") String idLote,
+                                @Param("cantidad") int cantidad,
+                                @Param("agotado") EstadoLote agotado);
+
+    // ==================== Operaciones del administrador (solo las columnas que le pertenecen) ====================
+
+    /**
+     * Actualización parcial de los datos del lote: cada parámetro nulo conserva el valor de la
+     * fila. Nunca escribe cantidadReservada, y no se aplica si la nueva cantidad disponible
+     * quedaría por debajo de lo reservado o si el lote cambia de producto con unidades
+     * reservadas del producto anterior.
+     *
+     * @return 1 si se actualizó, 0 si el lote venció o sus reservas ya no lo permiten
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Lote l
+               SET l.codigoLote = COALESCE(:codigoLote, l.codigoLote),
+                   l.idProducto = :idProducto,
+                   l.fechaProduccion = COALESCE(:fechaProduccion, l.fechaProduccion),
+                   l.fechaVencimiento = COALESCE(:fechaVencimiento, l.fechaVencimiento),
+                   l.cantidadProducida = COALESCE(:cantidadProducida, l.cantidadProducida),
+                   l.cantidadDisponible = COALESCE(:cantidadDisponible, l.cantidadDisponible),
+                   l.estado = COALESCE(:estado, l.estado),
+                   l.observaciones = COALESCE(:observaciones, l.observaciones)
+             WHERE l.id = :idLote
+               AND l.estado <> :vencido
+               AND l.cantidadReservada <= COALESCE(:cantidadDisponible, l.cantidadDisponible)
+               AND (l.idProducto = :idProducto OR l.cantidadReservada = 0)
+            """)
+    int actualizarDatos(@Param("idLote") String idLote,
+                        @Param("codigoLote") String codigoLote,
+                        @Param("idProducto") String idProducto,
+                        @Param("fechaProduccion") LocalDate fechaProduccion,
+                        @Param("fechaVencimiento") LocalDate fechaVencimiento,
+                        @Param("cantidadProducida") Integer cantidadProducida,
+                        @Param("cantidadDisponible") Integer cantidadDisponible,
+                        @Param("estado") EstadoLote estado,
+                        @Param("observaciones") String observaciones,
+                        @Param("vencido") EstadoLote vencido);
+
+    /**
+     * @param idProducto producto del lote tras la actualización (el del DTO o el actual)
+     */
+    default boolean actualizarSiReservasLoPermiten(String idLote, String idProducto, ActualizarLoteDTO dto) {
+        return actualizarDatos(idLote, dto.codigoLote(), idProducto, dto.fechaProduccion(), dto.fechaVencimiento(),
+                dto.cantidadProducida(), dto.cantidadDisponible(), dto.estado(), dto.observaciones(),
+                EstadoLote.VENCIDO) == 1;
+    }
+
+    /**
+     * Retira unidades libres de un lote por un ajuste de inventario (merma, daño, conteo).
+     * Las unidades reservadas por pedidos pendientes no se pueden ajustar. Si el lote queda
+     * en cero pasa a AGOTADO en la misma sentencia.
+     *
+     * @return 1 si se ajustó, 0 si el lote está bloqueado o vencido o no tenía unidades libres suficientes
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Lote l
+               SET l.cantidadDisponible = l.cantidadDisponible - :ajuste,
+                   l.estado = CASE WHEN l.cantidadDisponible = :ajuste THEN :agotado ELSE l.estado END
+             WHERE l.id = :idLote
+               AND l.estado NOT IN :sinAjuste
+               AND l.cantidadDisponible - l.cantidadReservada >= :ajuste
+            """)
+    int ajustarCantidad(@Param("idLote") String idLote,
+                        @Param("ajuste") int ajuste,
+                        @Param("agotado") EstadoLote agotado,
+                        @Param("sinAjuste") Collection<EstadoLote> sinAjuste);
+
+    default boolean ajustarSiLibre(String idLote, int ajuste) {
+        return ajustarCantidad(idLote, ajuste, EstadoLote.AGOTADO, EnumSet.of(EstadoLote.BLOQUEADO, EstadoLote.VENCIDO)) == 1;
+    }
+
+    /**
+     * Bloquea el lote solo si sigue en el estado leído y agrega la nota a sus observaciones.
+     *
+     * @return 1 si se bloqueó, 0 si el estado cambió entretanto
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Lote l
+               SET l.estado = :bloqueado,
+                   l.observaciones = CASE WHEN l.observaciones IS NULL THEN :nota
+                                          ELSE CONCAT(l.observaciones, ' | ', :nota) END
+             WHERE l.id = :idLote
+               AND l.estado = :estadoLeido
+            """)
+    int bloquear(@Param("idLote") String idLote,
+                 @Param("estadoLeido") EstadoLote estadoLeido,
+                 @Param("nota") String nota,
+                 @Param("bloqueado") EstadoLote bloqueado);
 
-}
\ No newline at end of file
+    /**
+     * Desbloquea el lote: vuelve a DISPONIBLE, o a AGOTADO si ya no tiene unidades.
+     *
+     * @return 1 si se desbloqueó, 0 si el lote ya no estaba bloqueado
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Lote l
+               SET l.estado = CASE WHEN l.cantidadDisponible = 0 THEN :agotado ELSE :disponible END
+             WHERE l.id = :idLote
+               AND l.estado = :bloqueado
+            """)
+    int desbloquear(@Param("idLote") String idLote,
+                    @Param("bloqueado") EstadoLote bloqueado,
+                    @Param("disponible") EstadoLote disponible,
+                    @Param("agotado") EstadoLote agotado);
+}
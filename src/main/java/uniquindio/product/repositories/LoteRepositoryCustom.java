@@ -0,0 +1,19 @@
+package uniquindio.product.repositories;
+
+import uniquindio.product.model.documents.Lote;
+
+import java.util.Collection;
+
+/**
+ * Operaciones de LoteRepository que necesitan el EntityManager.
+ */
+public interface LoteRepositoryCustom {
+
+    /**
+     * Vuelve a leer de la base de datos los lotes indicados que sigan asociados al
+     * contexto de persistencia. Los UPDATE condicionales de stock no tocan las
+     * entidades ya cargadas, así que antes de volver a planificar sobre ellas hay
+     * que refrescarlas; el resto del contexto se conserva.
+     */
+    void refrescar(Collection<Lote> lotes);
+}
@@ -0,0 +1,22 @@
+package uniquindio.product.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import uniquindio.product.model.documents.Lote;
+
+import java.util.Collection;
+
+public class LoteRepositoryCustomImpl implements LoteRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void refrescar(Collection<Lote> lotes) {
+        for (Lote lote : lotes) {
+            if (entityManager.contains(lote)) {
+                entityManager.refresh(lote);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package uniquindio.product.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import uniquindio.product.model.documents.NotificacionPagoFallida;
+
+@Repository
+public interface NotificacionPagoFallidaRepository extends JpaRepository<NotificacionPagoFallida, String> {
+}
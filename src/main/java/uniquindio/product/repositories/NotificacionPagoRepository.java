@@ -0,0 +1,67 @@
+package uniquindio.product.repositories;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uniquindio.product.model.documents.NotificacionPago;
+import uniquindio.product.model.enums.EstadoNotificacion;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificacionPagoRepository extends JpaRepository<NotificacionPago, String> {
+
+    /**
+     * Encola la notificación en una sola sentencia. Si el pago ya tiene fila y no está
+     * pendiente, se reabre para procesar el nuevo estado del pago; si ya está pendiente,
+     * el reenvío se descarta.
+     *
+     * @return 1 si se encoló o reabrió, 0 si era un duplicado
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO notificacion_pago (id, id_pago, estado, intentos, proximo_intento, fecha_recepcion)
+            VALUES (:id, :idPago, 'PENDIENTE', 0, :ahora, :ahora)
+            ON CONFLICT (id_pago) DO UPDATE
+               SET estado = 'PENDIENTE',
+                   intentos = 0,
+                   proximo_intento = :ahora,
+                   fecha_recepcion = :ahora,
+                   ultimo_error = NULL
+             WHERE notificacion_pago.estado <> 'PENDIENTE'
+            """, nativeQuery = true)
+    int encolar(@Param("id") String id,
+                @Param("idPago") String idPago,
+                @Param("ahora") LocalDateTime ahora);
+
+    // FOR UPDATE SKIP LOCKED: varias instancias pueden reclamar a la vez sin tomar las mismas filas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<NotificacionPago> findByEstadoInAndProximoIntentoLessThanEqualOrderByProximoIntentoAsc(
+            Collection<EstadoNotificacion> estados,
+            LocalDateTime fecha,
+            Limit limit
+    );
+
+    long countByEstado(EstadoNotificacion estado);
+
+    /**
+     * Marca la notificación como procesada solo si nadie la reabrió mientras se procesaba.
+     *
+     * @return 1 si se marcó, 0 si llegó un nuevo aviso y debe procesarse otra vez
+     */
+    @Modifying
+    @Query("""
+            UPDATE NotificacionPago n
+               SET n.estado = uniquindio.product.model.enums.EstadoNotificacion.PROCESADA,
+                   n.fechaProcesado = :ahora
+             WHERE n.id = :id
+               AND n.estado = uniquindio.product.model.enums.EstadoNotificacion.EN_PROCESO
+            """)
+    int marcarProcesada(@Param("id") String id, @Param("ahora") LocalDateTime ahora);
+}
@@ -1,12 +1,26 @@
 package uniquindio.product.repositories;
 
+import jakarta.persistence.LockModeType;
 import uniquindio.product.model.documents.Pedido;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, String> {
     List<Pedido> findByIdCliente(String idCliente);
-}
\ No newline at end of file
+
+    // Pedidos de un cliente paginados por ID; índice (id_cliente, id)
+    List<Pedido> findByIdClienteAndIdGreaterThanOrderByIdAsc(String idCliente, String id, Limit limit);
+
+    // SELECT ... FOR UPDATE: serializa los avisos de pago sobre el mismo pedido
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Pedido p WHERE p.id = :id")
+    Optional<Pedido> findByIdParaActualizar(@Param("id") String id);
+}
@@ -1,11 +1,31 @@
 package uniquindio.product.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import uniquindio.product.dto.pqr.PqrResponseDTO;
 import uniquindio.product.model.documents.PQR;
+
+import java.util.List;
 @Repository
 public interface PqrRepository extends JpaRepository<PQR,String> {
     PQR findByIdPqr(String idPqr);
     PQR findByIdWorker (String idWorker);
     PQR findByIdUsuario (String idUsuario);
+
+    // Paginación keyset sobre la llave primaria
+    List<PQR> findByIdPqrGreaterThanOrderByIdPqrAsc(String idPqr, Limit limit);
+
+    // Misma página proyectada directamente al DTO, sin entidades administradas
+    @Query("""
+            SELECT new uniquindio.product.dto.pqr.PqrResponseDTO(
+                   p.idPqr, p.idUsuario, p.categoria, p.descripcion, p.idWorker,
+                   p.fechaCreacion, p.fechaRespuesta, p.estadoPqr)
+              FROM PQR p
+             WHERE p.idPqr > :idPqr
+             ORDER BY p.idPqr
+            """)
+    List<PqrResponseDTO> findResponseByIdPqrGreaterThan(@Param("idPqr") String idPqr, Limit limit);
 }
@@ -2,11 +2,27 @@ package uniquindio.product.repositories;
 
 import uniquindio.product.model.enums.TipoProducto;
 import uniquindio.product.model.documents.Producto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductoRepository extends JpaRepository<Producto, String> {
     List<Producto> findByTipo(TipoProducto tipo);
+
+    // Productos que usan una imagen, para no borrarla de Cloudinary mientras siga en uso
+    long countByImagenProducto(String imagenProducto);
+
+    long countByImagenProductoContaining(String publicId);
+
+    // Paginación keyset sobre la llave primaria
+    List<Producto> findByIdProductoGreaterThanOrderByIdProductoAsc(String idProducto, Limit limit);
+
+    // Solo los IDs que existen, para validar sin cargar las entidades
+    @Query("SELECT p.idProducto FROM Producto p WHERE p.idProducto IN :ids")
+    List<String> findIdsExistentes(@Param("ids") Collection<String> idsProductos);
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package uniquindio.product.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uniquindio.product.model.documents.ReservaStock;
+import uniquindio.product.model.enums.EstadoReserva;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReservaStockRepository extends JpaRepository<ReservaStock, String> {
+
+    List<ReservaStock> findByIdPedidoAndEstado(String idPedido, EstadoReserva estado);
+
+    // Lote de barrido: usa el índice (estado, fecha_expiracion)
+    List<ReservaStock> findByEstadoAndFechaExpiracionBeforeOrderByFechaExpiracionAsc(
+            EstadoReserva estado,
+            LocalDateTime fecha,
+            Pageable pageable
+    );
+
+    /**
+     * Cambia el estado de una reserva solo si sigue en el estado esperado.
+     * Evita que el barrido y el webhook procesen la misma reserva.
+     *
+     * @return 1 si la transición se aplicó, 0 si otro proceso ya la tomó
+     */
+    @Modifying
+    @Query("""
+            UPDATE ReservaStock r
+               SET r.estado = :nuevo
+             WHERE r.id = :idReserva
+               AND r.estado = :actual
+            """)
+    int cambiarEstado(@Param("idReserva") String idReserva,
+                      @Param("actual") EstadoReserva actual,
+                      @Param("nuevo") EstadoReserva nuevo);
+
+    /**
+     * Libera las reservas activas de los lotes que vencen. Las unidades no se devuelven
+     * al lote: el motor de vencimientos deja su cantidad reservada en cero, y el pago
+     * de esos pedidos descuenta lo que falte del stock libre de otros lotes.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE ReservaStock r
+               SET r.estado = :liberada
+             WHERE r.idLote IN :idsLotes
+               AND r.estado = :activa
+            """)
+    int liberarPorLotes(@Param("idsLotes") Collection<String> idsLotes,
+                        @Param("activa") EstadoReserva activa,
+                        @Param("liberada") EstadoReserva liberada);
+}
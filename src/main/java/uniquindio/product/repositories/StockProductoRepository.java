@@ -0,0 +1,150 @@
+package uniquindio.product.repositories;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uniquindio.product.model.documents.StockProducto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+@Repository
+public interface StockProductoRepository extends JpaRepository<StockProducto, String> {
+
+    // ==================== Paginación keyset (clave primaria) ====================
+
+    List<StockProducto> findByIdProductoGreaterThanOrderByIdProductoAsc(String idProducto, Limit limit);
+
+    // Alertas de stock bajo; índice (stock_disponible, id_producto)
+    List<StockProducto> findByStockDisponibleLessThanOrderByStockDisponibleAscIdProductoAsc(Integer umbral);
+
+    /**
+     * Bloquea las filas del resumen en orden de ID. La siguiente sentencia de la
+     * transacción ya ve los lotes confirmados por quien tenía el bloqueo, así el
+     * último en recalcular un producto siempre parte de todos sus cambios.
+     */
+    @Query(value = """
+            SELECT id_producto
+              FROM stock_producto
+             WHERE id_producto IN (:ids)
+             ORDER BY id_producto
+               FOR UPDATE
+            """, nativeQuery = true)
+    List<String> bloquear(@Param("ids") Collection<String> ids);
+
+    // Bloqueo de todas las filas antes de la reconstrucción completa
+    @Query(value = "SELECT id_producto FROM stock_producto ORDER BY id_producto FOR UPDATE", nativeQuery = true)
+    List<String> bloquearTodos();
+
+    /**
+     * Recalcula el resumen de los productos indicados desde sus lotes DISPONIBLES.
+     * Usa el índice (id_producto) de lote: el costo depende de los lotes de esos
+     * productos, no del historial completo.
+     *
+     * @return cantidad de productos recalculados
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO stock_producto (id_producto, stock_disponible, lotes_disponibles, proximo_vencimiento, ultima_actualizacion)
+            SELECT p.id_producto,
+                   COALESCE(SUM(l.cantidad_disponible - l.cantidad_reservada), 0),
+                   COUNT(l.id),
+                   MIN(l.fecha_vencimiento),
+                   :ahora
+              FROM producto p
+              LEFT JOIN lote l
+                ON l.id_producto = p.id_producto
+               AND l.estado = 'DISPONIBLE'
+               AND l.cantidad_disponible > 0
+             WHERE p.id_producto IN (:ids)
+             GROUP BY p.id_producto
+            ON CONFLICT (id_producto) DO UPDATE
+               SET stock_disponible = EXCLUDED.stock_disponible,
+                   lotes_disponibles = EXCLUDED.lotes_disponibles,
+                   proximo_vencimiento = EXCLUDED.proximo_vencimiento,
+                   ultima_actualizacion = EXCLUDED.ultima_actualizacion
+            """, nativeQuery = true)
+    int recalcularProductos(@Param("ids") Collection<String> ids, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Recalcula el resumen de todos los productos (reconstrucción completa).
+     *
+     * @return cantidad de productos recalculados
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO stock_producto (id_producto, stock_disponible, lotes_disponibles, proximo_vencimiento, ultima_actualizacion)
+            SELECT p.id_producto,
+                   COALESCE(SUM(l.cantidad_disponible - l.cantidad_reservada), 0),
+                   COUNT(l.id),
+                   MIN(l.fecha_vencimiento),
+                   :ahora
+              FROM producto p
+              LEFT JOIN lote l
+                ON l.id_producto = p.id_producto
+               AND l.estado = 'DISPONIBLE'
+               AND l.cantidad_disponible > 0
+             GROUP BY p.id_producto
+            ON CONFLICT (id_producto) DO UPDATE
+               SET stock_disponible = EXCLUDED.stock_disponible,
+                   lotes_disponibles = EXCLUDED.lotes_disponibles,
+                   proximo_vencimiento = EXCLUDED.proximo_vencimiento,
+                   ultima_actualizacion = EXCLUDED.ultima_actualizacion
+            """, nativeQuery = true)
+    int recalcularTodos(@Param("ahora") LocalDateTime ahora);
+
+    // Filas de productos que ya no existen
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            DELETE FROM stock_producto s
+             WHERE NOT EXISTS (SELECT 1 FROM producto p WHERE p.id_producto = s.id_producto)
+            """, nativeQuery = true)
+    int eliminarHuerfanos();
+
+    /**
+     * Cuenta los productos cuyo resumen no coincide con lo que resulta de la tabla
+     * de lotes (incluye productos sin fila y filas de productos eliminados).
+     */
+    @Query(value = """
+            SELECT COUNT(*)
+              FROM producto p
+              FULL JOIN stock_producto s ON s.id_producto = p.id_producto
+              LEFT JOIN (SELECT l.id_producto,
+                                SUM(l.cantidad_disponible - l.cantidad_reservada) AS stock,
+                                COUNT(*) AS lotes,
+                                MIN(l.fecha_vencimiento) AS proximo
+                           FROM lote l
+                          WHERE l.estado = 'DISPONIBLE'
+                            AND l.cantidad_disponible > 0
+                          GROUP BY l.id_producto) c ON c.id_producto = p.id_producto
+             WHERE p.id_producto IS NULL
+                OR s.id_producto IS NULL
+                OR s.stock_disponible <> COALESCE(c.stock, 0)
+                OR s.lotes_disponibles <> COALESCE(c.lotes, 0)
+                OR s.proximo_vencimiento IS DISTINCT FROM c.proximo
+            """, nativeQuery = true)
+    long contarDiferencias();
+
+    /**
+     * Recalcula el resumen de los productos cuyos lotes cambiaron en la transacción
+     * actual. Debe llamarse después del último cambio de lotes de la transacción.
+     */
+    default void recalcular(Collection<String> idsProductos) {
+        if (idsProductos.isEmpty()) {
+            return;
+        }
+
+        TreeSet<String> ids = new TreeSet<>(idsProductos);
+        bloquear(ids);
+        recalcularProductos(ids, LocalDateTime.now());
+    }
+
+    default void recalcular(String idProducto) {
+        recalcular(List.of(idProducto));
+    }
+}
@@ -1,8 +1,15 @@
 package uniquindio.product.repositories;
 
+import uniquindio.product.dto.usuario.FilaTrabajadorDTO;
 import uniquindio.product.model.documents.Usuario;
+import uniquindio.product.model.enums.Rol;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +19,21 @@ public interface UsuarioRepository extends JpaRepository<Usuario, String> {
     boolean existsByCedula(String cedula);
     boolean existsByCorreoElectronico(String correoElectronico);
     Optional<Usuario> findByCodigoVerificacionContrasenia(String codigoVerificacion);
+
+    // Trabajadores paginados por ID. Con "rol IN" el índice (rol, id) recorre solo los rangos
+    // de esos roles; con "rol <> CLIENTE" habría que filtrar todos los clientes posteriores al cursor
+    List<Usuario> findByRolInAndIdGreaterThanOrderByIdAsc(Collection<Rol> roles, String id, Limit limit);
+
+    // Misma página con solo las columnas del listado (sin contraseña ni códigos de verificación)
+    @Query("""
+            SELECT new uniquindio.product.dto.usuario.FilaTrabajadorDTO(
+                   u.id, u.cedula, u.nombre, u.telefono, u.correoElectronico,
+                   u.rol, u.ciudadDeResidencia, u.direccion)
+              FROM Usuario u
+             WHERE u.rol IN :roles
+               AND u.id > :id
+             ORDER BY u.id
+            """)
+    List<FilaTrabajadorDTO> findFilasByRolInAndIdGreaterThan(@Param("roles") Collection<Rol> roles,
+                                                             @Param("id") String id, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,262 @@
+package uniquindio.product.services.implementations;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uniquindio.product.configs.AlertasProperties;
+import uniquindio.product.dto.inventario.AlertaInventarioDTO;
+import uniquindio.product.mapper.ContextoMapeo;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.StockProducto;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.enums.TipoAlerta;
+import uniquindio.product.model.vo.CambioStock;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.repositories.StockProductoRepository;
+import uniquindio.product.services.interfaces.AlertasInventarioService;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Canal SSE de alertas de lotes por vencer y de stock bajo.
+ * <p>
+ * Las alertas activas se mantienen en memoria. Cada transacción que cambia stock publica
+ * un {@link CambioStock}; al confirmarse, sus productos quedan pendientes y la siguiente
+ * pasada (cada segundo) consulta solo esos productos y envía las alertas que cruzaron el
+ * umbral. Sin cambios no hay consultas: la tabla de lotes completa solo se lee al arrancar
+ * y una vez al día, cuando el paso del tiempo acerca nuevos lotes al umbral de vencimiento.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertasInventarioServiceImpl implements AlertasInventarioService {
+
+    private final LoteRepository loteRepository;
+    private final StockProductoRepository stockProductoRepository;
+    private final CargadorContextoMapeo cargadorContextoMapeo;
+    private final AlertasProperties alertasProperties;
+
+    private final Set<SseEmitter> suscriptores = new CopyOnWriteArraySet<>();
+    private final Set<String> productosPendientes = ConcurrentHashMap.newKeySet();
+
+    // Alertas activas por ID de lote y por ID de producto; protegidas por el cerrojo
+    private final ReentrantLock cerrojo = new ReentrantLock();
+    private final Map<String, AlertaInventarioDTO> lotesPorVencer = new HashMap<>();
+    private final Map<String, AlertaInventarioDTO> stockBajo = new HashMap<>();
+
+    // Solo los usa el hilo del planificador
+    private LocalDate ultimaRevisionCompleta;
+    private long ultimoLatido = System.nanoTime();
+
+    @Override
+    public SseEmitter suscribir() {
+        SseEmitter emitter = new SseEmitter(alertasProperties.getDuracionConexion().toMillis());
+        emitter.onCompletion(() -> suscriptores.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> suscriptores.remove(emitter));
+
+        // Bajo el cerrojo: las pasadas actualizan y envían con el mismo cerrojo, así que cada
+        // cambio llega en la foto inicial o como evento, nunca en ambos ni en ninguno
+        cerrojo.lock();
+        try {
+            for (AlertaInventarioDTO alerta : alertasActivas()) {
+                emitter.send(evento(alerta));
+            }
+            suscriptores.add(emitter);
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        } finally {
+            cerrojo.unlock();
+        }
+
+        return emitter;
+    }
+
+    @Override
+    public List<AlertaInventarioDTO> obtenerAlertasActivas() {
+        cerrojo.lock();
+        try {
+            return alertasActivas();
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Marca los productos de una transacción confirmada para revisarlos en la siguiente pasada.
+     * Sin transacción (por ejemplo al crear un producto) se registran de inmediato.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void registrarCambio(CambioStock cambio) {
+        productosPendientes.addAll(cambio.idsProductos());
+    }
+
+    @Scheduled(fixedDelayString = "${alertas.intervalo:PT1S}")
+    public void procesarCambios() {
+        LocalDate hoy = LocalDate.now();
+
+        if (!hoy.equals(ultimaRevisionCompleta)) {
+            // La revisión completa cubre también los cambios pendientes
+            productosPendientes.clear();
+            revisarTodo(hoy);
+            ultimaRevisionCompleta = hoy;
+        } else if (!productosPendientes.isEmpty()) {
+            Set<String> ids = new HashSet<>(productosPendientes);
+            productosPendientes.removeAll(ids);
+            revisarProductos(ids, hoy);
+        }
+
+        enviarLatidoSiCorresponde();
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private void revisarTodo(LocalDate hoy) {
+        List<Lote> lotes = loteRepository.findByEstadoAndFechaVencimientoBeforeAndCantidadDisponibleGreaterThan(
+                EstadoLote.DISPONIBLE, limiteVencimiento(hoy), 0);
+        List<StockProducto> stocks = stockProductoRepository
+                .findByStockDisponibleLessThanOrderByStockDisponibleAscIdProductoAsc(alertasProperties.getUmbralStock());
+
+        aplicar(lotes, stocks, alerta -> true);
+        log.info("Alertas de inventario revisadas: {} lotes por vencer, {} productos con stock bajo",
+                lotesPorVencer.size(), stockBajo.size());
+    }
+
+    private void revisarProductos(Set<String> idsProductos, LocalDate hoy) {
+        List<Lote> lotes = loteRepository.findByIdProductoInAndEstadoAndFechaVencimientoBeforeAndCantidadDisponibleGreaterThan(
+                idsProductos, EstadoLote.DISPONIBLE, limiteVencimiento(hoy), 0);
+        List<StockProducto> stocks = stockProductoRepository.findAllById(idsProductos).stream()
+                .filter(stock -> stock.getStockDisponible() < alertasProperties.getUmbralStock())
+                .toList();
+
+        aplicar(lotes, stocks, alerta -> idsProductos.contains(alerta.idProducto()));
+    }
+
+    /**
+     * Reemplaza las alertas dentro del alcance por las calculadas y envía las nuevas y las
+     * resueltas a los suscriptores. Ambos pasos van bajo el cerrojo que toma cada alta de
+     * suscriptor con su foto inicial.
+     */
+    private void aplicar(List<Lote> lotes, List<StockProducto> stocks,
+                         Predicate<AlertaInventarioDTO> alcance) {
+        ContextoMapeo contexto = cargadorContextoMapeo.paraProductos(Stream.concat(
+                        lotes.stream().map(Lote::getIdProducto),
+                        stocks.stream().map(StockProducto::getIdProducto))
+                .distinct()
+                .toList());
+
+        Map<String, AlertaInventarioDTO> nuevosPorVencer = new HashMap<>();
+        for (Lote lote : lotes) {
+            nuevosPorVencer.put(lote.getId(), new AlertaInventarioDTO(TipoAlerta.LOTE_POR_VENCER, true,
+                    lote.getIdProducto(), contexto.nombreProducto(lote.getIdProducto()), lote.getId(),
+                    lote.getCodigoLote(), lote.cantidadLibre(), lote.getFechaVencimiento()));
+        }
+
+        Map<String, AlertaInventarioDTO> nuevosStockBajo = new HashMap<>();
+        for (StockProducto stock : stocks) {
+            nuevosStockBajo.put(stock.getIdProducto(), new AlertaInventarioDTO(TipoAlerta.STOCK_BAJO, true,
+                    stock.getIdProducto(), contexto.nombreProducto(stock.getIdProducto()), null, null,
+                    stock.getStockDisponible(), stock.getProximoVencimiento()));
+        }
+
+        cerrojo.lock();
+        try {
+            List<AlertaInventarioDTO> eventos = new ArrayList<>();
+            actualizar(lotesPorVencer, nuevosPorVencer, alcance, eventos);
+            actualizar(stockBajo, nuevosStockBajo, alcance, eventos);
+            enviar(eventos);
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Solo se notifica cuando una alerta aparece o se resuelve; los cambios de cantidad
+     * de una alerta activa quedan en la foto que recibe cada nuevo suscriptor.
+     */
+    private void actualizar(Map<String, AlertaInventarioDTO> actuales, Map<String, AlertaInventarioDTO> nuevas,
+                            Predicate<AlertaInventarioDTO> alcance, List<AlertaInventarioDTO> eventos) {
+        Iterator<AlertaInventarioDTO> existentes = actuales.values().iterator();
+        while (existentes.hasNext()) {
+            AlertaInventarioDTO alerta = existentes.next();
+            if (alcance.test(alerta) && !nuevas.containsKey(clave(alerta))) {
+                existentes.remove();
+                eventos.add(resuelta(alerta));
+            }
+        }
+
+        nuevas.forEach((clave, alerta) -> {
+            if (actuales.put(clave, alerta) == null) {
+                eventos.add(alerta);
+            }
+        });
+    }
+
+    private void enviar(List<AlertaInventarioDTO> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        for (SseEmitter emitter : suscriptores) {
+            try {
+                for (AlertaInventarioDTO alerta : eventos) {
+                    emitter.send(evento(alerta));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Conexión cerrada por el cliente
+                suscriptores.remove(emitter);
+            }
+        }
+    }
+
+    private void enviarLatidoSiCorresponde() {
+        long ahora = System.nanoTime();
+        if (ahora - ultimoLatido < alertasProperties.getLatido().toNanos()) {
+            return;
+        }
+        ultimoLatido = ahora;
+
+        for (SseEmitter emitter : suscriptores) {
+            try {
+                emitter.send(SseEmitter.event().comment("latido"));
+            } catch (IOException | IllegalStateException e) {
+                suscriptores.remove(emitter);
+            }
+        }
+    }
+
+    private List<AlertaInventarioDTO> alertasActivas() {
+        List<AlertaInventarioDTO> activas = new ArrayList<>(lotesPorVencer.values());
+        activas.addAll(stockBajo.values());
+        return activas;
+    }
+
+    private LocalDate limiteVencimiento(LocalDate hoy) {
+        return hoy.plusDays(alertasProperties.getDiasVencimiento());
+    }
+
+    private static SseEmitter.SseEventBuilder evento(AlertaInventarioDTO alerta) {
+        return SseEmitter.event().name(alerta.tipo().name()).data(alerta);
+    }
+
+    private static String clave(AlertaInventarioDTO alerta) {
+        return alerta.tipo() == TipoAlerta.LOTE_POR_VENCER ? alerta.idLote() : alerta.idProducto();
+    }
+
+    private static AlertaInventarioDTO resuelta(AlertaInventarioDTO alerta) {
+        return new AlertaInventarioDTO(alerta.tipo(), false, alerta.idProducto(), alerta.nombreProducto(),
+                alerta.idLote(), alerta.codigoLote(), alerta.cantidad(), alerta.fechaVencimiento());
+    }
+}
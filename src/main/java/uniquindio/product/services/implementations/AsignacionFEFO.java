@@ -0,0 +1,67 @@
+package uniquindio.product.services.implementations;
+
+import uniquindio.product.exceptions.LoteException;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.vo.PlanAsignacionLotes;
+
+import java.util.*;
+
+/**
+ * Motor de asignación FEFO (First Expired, First Out).
+ * Reparte la cantidad requerida de cada producto entre sus lotes candidatos,
+ * empezando por el que vence primero, sin consultar la base de datos.
+ */
+public final class AsignacionFEFO {
+
+    private AsignacionFEFO() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Calcula el plan de asignación para todas las líneas de un pedido.
+     *
+     * @param cantidadesPorProducto cantidad requerida por ID de producto
+     * @param candidatos lotes disponibles de esos productos, en cualquier orden
+     * @return plan con una o más asignaciones por producto
+     * @throws LoteException si algún producto no tiene stock suficiente sumando todos sus lotes
+     */
+    public static PlanAsignacionLotes planificar(Map<String, Integer> cantidadesPorProducto, List<Lote> candidatos)
+            throws LoteException {
+
+        Map<String, List<Lote>> lotesPorProducto = new HashMap<>();
+        for (Lote lote : candidatos) {
+            lotesPorProducto.computeIfAbsent(lote.getIdProducto(), k -> new ArrayList<>()).add(lote);
+        }
+
+        List<PlanAsignacionLotes.Asignacion> asignaciones = new ArrayList<>();
+
+        for (Map.Entry<String, Integer> requerido : cantidadesPorProducto.entrySet()) {
+            String idProducto = requerido.getKey();
+            int cantidadRestante = requerido.getValue();
+
+            List<Lote> lotes = lotesPorProducto.getOrDefault(idProducto, Collections.emptyList());
+            lotes.sort(Comparator.comparing(Lote::getFechaVencimiento).thenComparing(Lote::getId));
+
+            for (Lote lote : lotes) {
+                if (cantidadRestante == 0) {
+                    break;
+                }
+                int cantidad = Math.min(lote.cantidadLibre(), cantidadRestante);
+                if (cantidad > 0) {
+                    asignaciones.add(new PlanAsignacionLotes.Asignacion(idProducto, lote, cantidad));
+                    cantidadRestante -= cantidad;
+                }
+            }
+
+            if (cantidadRestante > 0) {
+                int disponible = requerido.getValue() - cantidadRestante;
+                throw new LoteException(
+                        "Stock insuficiente para el producto con ID: " + idProducto +
+                                ". Requerido: " + requerido.getValue() + ", disponible: " + disponible
+                );
+            }
+        }
+
+        return new PlanAsignacionLotes(asignaciones);
+    }
+}
@@ -0,0 +1,31 @@
+package uniquindio.product.services.implementations;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uniquindio.product.configs.ReservaStockProperties;
+import uniquindio.product.services.interfaces.ReservaStockService;
+
+/**
+ * Devuelve a stock libre las reservas de pedidos que no se pagaron a tiempo.
+ * Cada lote se libera en su propia transacción para no retener bloqueos largos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BarridoReservasScheduler {
+
+    private final ReservaStockService reservaStockService;
+    private final ReservaStockProperties reservaStockProperties;
+
+    @Scheduled(fixedDelayString = "${reservas.intervalo-barrido:PT1M}")
+    public void liberarReservasVencidas() {
+        int tamanoLote = reservaStockProperties.getTamanoLoteBarrido();
+        int leidas;
+
+        do {
+            leidas = reservaStockService.liberarReservasVencidas(tamanoLote);
+        } while (leidas == tamanoLote);
+    }
+}
@@ -0,0 +1,58 @@
+package uniquindio.product.services.implementations;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import uniquindio.product.mapper.ContextoMapeo;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.Pedido;
+import uniquindio.product.model.vo.DetallePedido;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.services.interfaces.ProductoCacheService;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Arma el ContextoMapeo de una petición: reúne los IDs de todos los elementos a mapear
+ * y los resuelve con una consulta por tipo (productos desde la caché, lotes con findAllById),
+ * sin importar cuántos lotes o pedidos tenga la página.
+ */
+@Component
+@RequiredArgsConstructor
+public class CargadorContextoMapeo {
+
+    private final ProductoCacheService productoCacheService;
+    private final LoteRepository loteRepository;
+
+    public ContextoMapeo paraProductos(Collection<String> idsProductos) {
+        return ContextoMapeo.deProductos(productoCacheService.buscarPorIds(new HashSet<>(idsProductos)));
+    }
+
+    // Los lotes ya están cargados; solo faltan sus productos
+    public ContextoMapeo paraLotes(Collection<Lote> lotes) {
+        Set<String> idsProductos = new HashSet<>();
+        for (Lote lote : lotes) {
+            idsProductos.add(lote.getIdProducto());
+        }
+        return ContextoMapeo.de(productoCacheService.buscarPorIds(idsProductos), lotes);
+    }
+
+    // Productos y lotes de todas las líneas de los pedidos
+    public ContextoMapeo paraPedidos(Collection<Pedido> pedidos) {
+        Set<String> idsProductos = new HashSet<>();
+        Set<String> idsLotes = new HashSet<>();
+        for (Pedido pedido : pedidos) {
+            for (DetallePedido detalle : pedido.getDetalle()) {
+                idsProductos.add(detalle.getIdProducto());
+                if (detalle.getIdLote() != null) {
+                    idsLotes.add(detalle.getIdLote());
+                }
+            }
+        }
+
+        List<Lote> lotes = idsLotes.isEmpty() ? List.of() : loteRepository.findAllById(idsLotes);
+        return ContextoMapeo.de(productoCacheService.buscarPorIds(idsProductos), lotes);
+    }
+}
@@ -9,16 +9,17 @@ import uniquindio.product.model.documents.Usuario;
 import uniquindio.product.model.vo.DetalleCarrito;
 import uniquindio.product.exceptions.CarritoException;
 import uniquindio.product.repositories.CarritoRepository;
-import uniquindio.product.repositories.ProductoRepository;
 import uniquindio.product.repositories.UsuarioRepository;
 import uniquindio.product.services.interfaces.CarritoService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uniquindio.product.services.interfaces.InventarioService;
+import uniquindio.product.services.interfaces.ProductoCacheService;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -26,9 +27,9 @@ import java.util.List;
 public class CarritoServiceImpl implements CarritoService {
 
     private final CarritoRepository carritoRepository;
-    private final ProductoRepository productoRepository;
     private final UsuarioRepository usuarioRepository;
     private final InventarioService inventarioService;
+    private final ProductoCacheService productoCacheService;
 
     @Override
     public void crearCarrito(CrearCarritoDTO carritoDTO) throws CarritoException {
@@ -70,14 +71,17 @@ public class CarritoServiceImpl implements CarritoService {
             throw new CarritoException("La lista de ítems no puede estar vacía.");
         }
 
-        // Validar stock antes de agregar al carrito
+        // Validar stock antes de agregar al carrito (una sola consulta para todos los ítems)
+        Map<String, Integer> stockPorProducto;
+        try {
+            stockPorProducto = inventarioService.obtenerStockDisponible(
+                    nuevosItemsDTO.stream().map(DetalleCarritoDTO::idProducto).toList());
+        } catch (ProductoException e) {
+            throw new CarritoException("Error al verificar stock del producto: " + e.getMessage());
+        }
+
         for (DetalleCarritoDTO item : nuevosItemsDTO) {
-            Integer stockDisponible;
-            try {
-                stockDisponible = inventarioService.obtenerStockDisponible(item.idProducto());
-            } catch (ProductoException e) {
-                throw new CarritoException("Error al verificar stock del producto: " + item.idProducto());
-            }
+            Integer stockDisponible = stockPorProducto.get(item.idProducto());
 
             if (stockDisponible < item.cantidad()) {
                 throw new CarritoException(
@@ -154,23 +158,7 @@ public class CarritoServiceImpl implements CarritoService {
 
         Carrito carrito = obtenerCarritoEntity(idUsuario);
 
-        return carrito.getItems().stream()
-                .map(item -> {
-                    Producto producto = productoRepository.findById(item.getIdProducto())
-                            .orElseThrow(() -> new ProductoException(
-                                    "El producto con ID " + item.getIdProducto() + " no existe."));
-
-                    Double subtotal = producto.getValor() * item.getCantidad();
-
-                    return new InformacionProductoCarritoDTO(
-                            new DetalleCarritoDTO(item.getIdProducto(), item.getCantidad()),
-                            producto.getImagenProducto(),
-                            producto.getNombreProducto(),
-                            producto.getValor(),
-                            subtotal
-                    );
-                })
-                .toList();
+        return construirItems(carrito);
     }
 
     /**
@@ -186,14 +174,8 @@ public class CarritoServiceImpl implements CarritoService {
     public Double calcularTotalCarrito(String idUsuario) throws CarritoException, ProductoException {
         Carrito carrito = obtenerCarritoEntity(idUsuario);
 
-        return carrito.getItems().stream()
-                .mapToDouble(item -> {
-                    Producto producto = productoRepository.findById(item.getIdProducto())
-                            .orElseThrow(() -> new ProductoException(
-                                    "Producto no encontrado para el ID: " + item.getIdProducto()
-                            ));
-                    return producto.getValor() * item.getCantidad();
-                })
+        return construirItems(carrito).stream()
+                .mapToDouble(InformacionProductoCarritoDTO::subtotal)
                 .sum();
     }
 
@@ -214,26 +196,10 @@ public class CarritoServiceImpl implements CarritoService {
     public CarritoResponseDTO obtenerCarritoCompleto(String idUsuario) throws CarritoException, ProductoException {
         Carrito carrito = obtenerCarritoEntity(idUsuario);
 
-        List<InformacionProductoCarritoDTO> items = new ArrayList<>();
-        double total = 0.0;
-
-        for (DetalleCarrito item : carrito.getItems()) {
-            Producto producto = productoRepository.findById(item.getIdProducto())
-                    .orElseThrow(() -> new ProductoException(
-                            "El producto con ID " + item.getIdProducto() + " no existe."
-                    ));
-
-            double subtotal = producto.getValor() * item.getCantidad();
-            total += subtotal;
-
-            items.add(new InformacionProductoCarritoDTO(
-                    new DetalleCarritoDTO(item.getIdProducto(), item.getCantidad()),
-                    producto.getImagenProducto(),
-                    producto.getNombreProducto(),
-                    producto.getValor(),
-                    subtotal
-            ));
-        }
+        List<InformacionProductoCarritoDTO> items = construirItems(carrito);
+        double total = items.stream()
+                .mapToDouble(InformacionProductoCarritoDTO::subtotal)
+                .sum();
 
         return new CarritoResponseDTO(
                 carrito.getId(),
@@ -243,4 +209,35 @@ public class CarritoServiceImpl implements CarritoService {
                 carrito.cantidadTotal()
         );
     }
-}
\ No newline at end of file
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    /**
+     * Construye las líneas del carrito cargando sus productos desde la caché
+     * (los que falten se traen en una sola consulta).
+     *
+     * @throws ProductoException si algún producto del carrito ya no existe
+     */
+    private List<InformacionProductoCarritoDTO> construirItems(Carrito carrito) throws ProductoException {
+        List<DetalleCarrito> items = carrito.getItems();
+        if (items.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Producto> productos = productoCacheService.buscarPorIds(
+                items.stream().map(DetalleCarrito::getIdProducto).distinct().toList());
+
+        List<InformacionProductoCarritoDTO> resultado = new ArrayList<>(items.size());
+        for (DetalleCarrito item : items) {
+            Producto producto = productos.get(item.getIdProducto());
+            if (producto == null) {
+                throw new ProductoException("El producto con ID " + item.getIdProducto() + " no existe.");
+            }
+            resultado.add(CarritoMapper.toInformacionProductoCarritoDTO(item, producto));
+        }
+
+        return resultado;
+    }
+}
@@ -0,0 +1,93 @@
+package uniquindio.product.services.implementations;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uniquindio.product.configs.CorreoProperties;
+import uniquindio.product.model.documents.CorreoSaliente;
+import uniquindio.product.model.enums.EstadoCorreo;
+import uniquindio.product.repositories.CorreoSalienteRepository;
+import uniquindio.product.services.interfaces.CorreoSalienteService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class CorreoSalienteServiceImpl implements CorreoSalienteService {
+
+    private final CorreoSalienteRepository correoSalienteRepository;
+    private final CorreoProperties correoProperties;
+
+    /**
+     * Toma hasta {@code maximo} correos listos (pendientes, o en envío con el reclamo
+     * vencido) y los marca EN_ENVIO con un nuevo plazo de reclamo.
+     */
+    @Override
+    public List<CorreoSaliente> reclamarPendientes(int maximo) {
+        LocalDateTime ahora = LocalDateTime.now();
+
+        List<CorreoSaliente> listos = correoSalienteRepository
+                .findByEstadoInAndProximoIntentoLessThanEqualOrderByProximoIntentoAsc(
+                        EnumSet.of(EstadoCorreo.PENDIENTE, EstadoCorreo.EN_ENVIO),
+                        ahora,
+                        Limit.of(maximo)
+                );
+
+        LocalDateTime venceReclamo = ahora.plus(correoProperties.getDuracionReclamo());
+        for (CorreoSaliente correo : listos) {
+            correo.setEstado(EstadoCorreo.EN_ENVIO);
+            correo.setProximoIntento(venceReclamo);
+        }
+
+        return listos;
+    }
+
+    @Override
+    public void marcarEnviado(String idCorreo) {
+        correoSalienteRepository.marcarEnviado(idCorreo, LocalDateTime.now());
+    }
+
+    /**
+     * Programa un reintento con espera exponencial; al agotar los intentos el correo
+     * queda FALLIDO en la tabla para revisión.
+     */
+    @Override
+    public void registrarFallo(String idCorreo, String error) {
+        CorreoSaliente correo = correoSalienteRepository.findById(idCorreo).orElse(null);
+        if (correo == null || correo.getEstado() != EstadoCorreo.EN_ENVIO) {
+            return;
+        }
+
+        int intentos = correo.getIntentos() + 1;
+        correo.setIntentos(intentos);
+        correo.setUltimoError(Reintentos.recortarError(error));
+
+        if (intentos >= correoProperties.getMaxIntentos()) {
+            correo.setEstado(EstadoCorreo.FALLIDO);
+            log.error("Correo {} a {} sin enviar tras {} intentos: {}",
+                    correo.getId(), correo.getDestinatario(), intentos, error);
+            return;
+        }
+
+        Duration espera = Reintentos.espera(intentos,
+                correoProperties.getEsperaInicial(), correoProperties.getEsperaMaxima());
+
+        correo.setEstado(EstadoCorreo.PENDIENTE);
+        correo.setProximoIntento(LocalDateTime.now().plus(espera));
+        log.warn("Fallo enviando el correo {} (intento {}), reintento en {}: {}",
+                correo.getId(), intentos, espera, error);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long contarPendientes() {
+        return correoSalienteRepository.countByEstado(EstadoCorreo.PENDIENTE);
+    }
+}
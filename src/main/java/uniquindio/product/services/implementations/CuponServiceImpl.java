@@ -4,9 +4,14 @@ import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
+import uniquindio.product.dto.cupon.ItemCuponDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
+import uniquindio.product.mapper.CuponMapper;
+import uniquindio.product.mapper.PaginacionMapper;
 import uniquindio.product.model.enums.EstadoCupon;
 import uniquindio.product.model.enums.TipoCupon;
 import uniquindio.product.model.documents.Cupon;
@@ -81,10 +86,16 @@ public class CuponServiceImpl implements CuponService {
 
     @Override
     /**
-     * Retorna todos los cupones registrados.
+     * Retorna una página de cupones ordenada por ID, a partir del cursor recibido.
      */
-    public List<Cupon> listarCupones() {
-        return cuponRepository.findAll();
+    public PaginaDTO<ItemCuponDTO> listarCupones(String cursor, int tamano) {
+        int tamanoPagina = PaginacionMapper.normalizarTamano(tamano);
+        List<Cupon> cupones = cuponRepository.findByIdGreaterThanOrderByIdAsc(
+                PaginacionMapper.decodificarCursor(cursor),
+                Limit.of(PaginacionMapper.filasAConsultar(tamanoPagina))
+        );
+        return PaginacionMapper.toPaginaDTO(cupones, tamanoPagina, Cupon::getId,
+                pagina -> pagina.stream().map(CuponMapper::toItemCuponDTO).toList());
     }
 
     @Override
@@ -1,30 +1,44 @@
 package uniquindio.product.services.implementations;
 
+import lombok.extern.slf4j.Slf4j;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.mailer.Mailer;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 import org.simplejavamail.email.EmailBuilder;
 import org.simplejavamail.mailer.MailerBuilder;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import uniquindio.product.configs.SmtpProperties;
 import uniquindio.product.dto.email.EmailDTO;
 import uniquindio.product.exceptions.EmailException;
+import uniquindio.product.model.documents.CorreoSaliente;
+import uniquindio.product.model.enums.EstadoCorreo;
+import uniquindio.product.repositories.CorreoSalienteRepository;
 import uniquindio.product.services.interfaces.EmailService;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 
+import java.time.LocalDateTime;
+
+@Slf4j
 @Service
+@Profile("!carga")
 @Validated
 public class EmailServiceImp implements EmailService {
 
     private final SmtpProperties smtpProperties;
+    private final CorreoSalienteRepository correoSalienteRepository;
+    private final PlantillasCorreo plantillasCorreo;
     private Mailer mailer;
 
-    public EmailServiceImp(SmtpProperties smtpProperties) {
+    public EmailServiceImp(SmtpProperties smtpProperties, CorreoSalienteRepository correoSalienteRepository,
+                           PlantillasCorreo plantillasCorreo) {
         this.smtpProperties = smtpProperties;
+        this.correoSalienteRepository = correoSalienteRepository;
+        this.plantillasCorreo = plantillasCorreo;
     }
 
     @PostConstruct
@@ -50,72 +64,50 @@ public class EmailServiceImp implements EmailService {
         }
     }
 
+    /**
+     * Genera el HTML con su plantilla y lo guarda en la tabla de salida dentro de la
+     * transacción del llamador. {@link RemitenteCorreos} lo envía después de que esa
+     * transacción se confirme.
+     */
     @Override
-    @Async
-    public void enviarCorreo(EmailDTO emailDTO) throws EmailException {
-        try {
-            // Construcción del correo con formato HTML y CSS
-            String htmlContent = "<!DOCTYPE html>" +
-                    "<html lang=\"es\">" +
-                    "<head>" +
-                    "<meta charset=\"UTF-8\">" +
-                    "<meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">" +
-                    "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">" +
-                    "<title>" + emailDTO.asunto() + "</title>" +
-                    "<style>" +
-                    "body { margin: 0; padding: 0; font-family: Arial, sans-serif; background-color: #ffffff; background-image: radial-gradient(#444cf7 0.5px, #ffffff 0.5px); background-size: 10px 10px; color: #333; }" +
-                    "table { width: 100%; }" +
-                    "td { padding: 20px; }" +
-                    ".container { max-width: 600px; margin: 0 auto; background-color: #f3eded; border-radius: 8px; overflow: hidden; box-shadow: 0 2px 4px rgba(0, 0, 0, 0.1); }" +
-                    ".header { font-size: 24px; font-weight: bold; color: #333; text-align: center; }" +
-                    ".body { font-size: 16px; color: #555; line-height: 1.5; }" +
-                    ".footer { font-size: 14px; color: #999; text-align: center; }" +
-                    "</style>" +
-                    "</head>" +
-                    "<body>" +
-                    "<table role=\"presentation\" border=\"0\" cellpadding=\"0\" cellspacing=\"0\">" +
-                    "<tr>" +
-                    "<td align=\"center\">" +
-                    "<table role=\"presentation\" class=\"container\" border=\"0\" cellpadding=\"0\" cellspacing=\"0\">" +
-                    "<tr>" +
-                    "<td class=\"header\">" +
-                    "Código de verificación" +
-                    "</td>" +
-                    "</tr>" +
-                    "<tr>" +
-                    "<td class=\"body\">" +
-                    emailDTO.cuerpo() +
-                    "</td>" +
-                    "</tr>" +
-                    "<tr>" +
-                    "<td class=\"footer\">" +
-                    "&copy; 2025 - Essentia" +
-                    "</td>" +
-                    "</tr>" +
-                    "</table>" +
-                    "</td>" +
-                    "</tr>" +
-                    "</table>" +
-                    "</body>" +
-                    "</html>";
+    @Transactional
+    public void encolarCorreo(EmailDTO emailDTO) {
+        LocalDateTime ahora = LocalDateTime.now();
+        correoSalienteRepository.save(new CorreoSaliente(
+                null,
+                emailDTO.destinatario(),
+                emailDTO.asunto(),
+                plantillasCorreo.renderizar(emailDTO),
+                EstadoCorreo.PENDIENTE,
+                0,
+                ahora,
+                ahora,
+                null,
+                null
+        ));
+    }
 
+    /**
+     * Envía el correo por SMTP en el hilo actual. Lo usa el remitente de la tabla de salida.
+     */
+    @Override
+    public void enviarCorreo(String destinatario, String asunto, String html) throws EmailException {
+        try {
             Email email = EmailBuilder.startingBlank()
                     .from(smtpProperties.getUsername())
-                    .to(emailDTO.destinatario())
-                    .withSubject(emailDTO.asunto())
-                    .withHTMLText(htmlContent)
+                    .to(destinatario)
+                    .withSubject(asunto)
+                    .withHTMLText(html)
                     .buildEmail();
 
             // Enviar el correo
             mailer.sendMail(email);
 
-            // Log para verificar que el correo se envió
-            System.out.println("Correo enviado exitosamente a: " + emailDTO.destinatario());
+            log.debug("Correo enviado a {}", destinatario);
 
         } catch (Exception e) {
-            System.err.println("Error enviando correo: " + e.getMessage());
-            e.printStackTrace();
-            throw new EmailException("Error en el envio del correo: " + e.getMessage());
+            // RemitenteCorreos registra el fallo y programa el reintento
+            throw new EmailException("Error en el envio del correo: " + e.getMessage(), e);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package uniquindio.product.services.implementations;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uniquindio.product.configs.SimulacionProperties;
+import uniquindio.product.configs.SmtpProperties;
+import uniquindio.product.dto.email.EmailDTO;
+import uniquindio.product.exceptions.EmailException;
+import uniquindio.product.repositories.CorreoSalienteRepository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Correo simulado para las pruebas de carga (perfil "carga"). Los correos se encolan
+ * igual que con EmailServiceImp, porque la tabla de salida es parte de la carga. El envío
+ * SMTP se reemplaza por la latencia y los fallos de {@link SimulacionProperties}.
+ * Guarda el último código de cada destinatario para que el generador de carga pueda activar
+ * las cuentas que registra.
+ */
+@Service
+@Profile("carga")
+public class EmailServiceSimulado extends EmailServiceImp {
+
+    private final SimulacionProperties simulacionProperties;
+
+    // Último código enviado a cada destinatario; se borra al leerlo
+    private final Map<String, String> codigosPorDestinatario = new ConcurrentHashMap<>();
+
+    public EmailServiceSimulado(SmtpProperties smtpProperties, CorreoSalienteRepository correoSalienteRepository,
+                                PlantillasCorreo plantillasCorreo, SimulacionProperties simulacionProperties) {
+        super(smtpProperties, correoSalienteRepository, plantillasCorreo);
+        this.simulacionProperties = simulacionProperties;
+    }
+
+    // Sin servidor SMTP no se crea el Mailer
+    @Override
+    public void init() {
+    }
+
+    @Override
+    public void cleanup() {
+    }
+
+    @Override
+    @Transactional
+    public void encolarCorreo(EmailDTO emailDTO) {
+        super.encolarCorreo(emailDTO);
+
+        Object codigo = emailDTO.variables() != null ? emailDTO.variables().get("codigo") : null;
+        if (codigo != null) {
+            codigosPorDestinatario.put(emailDTO.destinatario(), codigo.toString());
+        }
+    }
+
+    @Override
+    public void enviarCorreo(String destinatario, String asunto, String html) throws EmailException {
+        if (LlamadaSimulada.ejecutar(simulacionProperties.getLatenciaCorreo(),
+                simulacionProperties.getVariacion(), simulacionProperties.getFallosCorreo())) {
+            throw new EmailException("Error en el envio del correo: fallo simulado");
+        }
+    }
+
+    /**
+     * Devuelve y olvida el último código enviado al destinatario.
+     *
+     * @param destinatario correo electrónico
+     * @return código de validación o recuperación, si se envió alguno
+     */
+    public Optional<String> tomarCodigo(String destinatario) {
+        return Optional.ofNullable(codigosPorDestinatario.remove(destinatario));
+    }
+}
@@ -2,34 +2,56 @@ package uniquindio.product.services.implementations;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.multipart.MultipartFile;
-import uniquindio.product.configs.CloudinaryProperties;
+import uniquindio.product.configs.EventosJfr;
+import uniquindio.product.configs.ImagenesProperties;
 import uniquindio.product.dto.producto.ImagenDTO;
+import uniquindio.product.mapper.ProductoMapper;
+import uniquindio.product.model.documents.ImagenAlmacenada;
+import uniquindio.product.repositories.ImagenAlmacenadaRepository;
+import uniquindio.product.repositories.ProductoRepository;
 import uniquindio.product.services.interfaces.ImagesService;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
+@Profile("!carga")
 @Validated
 public class ImagesServiceImp implements ImagesService {
 
     private final Cloudinary cloudinary;
+    private final ImagenesProperties imagenesProperties;
+    private final ImagenAlmacenadaRepository imagenAlmacenadaRepository;
+    private final ProductoRepository productoRepository;
 
-    public ImagesServiceImp(CloudinaryProperties properties) {
-        this.cloudinary = new Cloudinary(ObjectUtils.asMap(
-                "cloud_name", properties.getCloudName(),
-                "api_key", properties.getApiKey(),
-                "api_secret", properties.getApiSecret()
-        ));
+    public ImagesServiceImp(Cloudinary cloudinary, ImagenesProperties imagenesProperties,
+                            ImagenAlmacenadaRepository imagenAlmacenadaRepository,
+                            ProductoRepository productoRepository) {
+        this.cloudinary = cloudinary;
+        this.imagenesProperties = imagenesProperties;
+        this.imagenAlmacenadaRepository = imagenAlmacenadaRepository;
+        this.productoRepository = productoRepository;
     }
 
     /**
      * Sube una imagen a Cloudinary y devuelve un DTO con la información relevante.
+     * La imagen nunca se carga completa en memoria: se pasa al SDK como archivo y este
+     * la envía por partes. Si ya se subió una imagen con el mismo contenido (mismo SHA-256)
+     * se devuelve esa, sin volver a subirla ni moverla a un temporal.
      *
      * @param imagen archivo MultipartFile
      * @return ImagenDTO con url, publicId y formato
@@ -40,26 +62,59 @@ public class ImagesServiceImp implements ImagesService {
         if (imagen == null || imagen.isEmpty()) {
             throw new IllegalArgumentException("El archivo de imagen no puede estar vacío");
         }
+        if (imagen.getSize() > imagenesProperties.getTamanoMaximo().toBytes()) {
+            throw new IllegalArgumentException("La imagen supera el tamaño máximo de "
+                    + imagenesProperties.getTamanoMaximo().toMegabytes() + " MB");
+        }
+
+        EventosJfr.SubidaImagen evento = new EventosJfr.SubidaImagen();
+        evento.begin();
+        evento.bytes = imagen.getSize();
 
-        File file = convertir(imagen);
+        File file = null;
         try {
-            Map<String, Object> uploadResult =
-                    cloudinary.uploader().upload(file, ObjectUtils.asMap("folder", "ReneChardon"));
+            String hash = calcularHash(imagen);
+            Optional<ImagenAlmacenada> existente = imagenAlmacenadaRepository.findById(hash);
+            if (existente.isPresent()) {
+                evento.reutilizada = true;
+                evento.publicId = existente.get().getPublicId();
+                return ProductoMapper.toImagenDTO(existente.get());
+            }
 
-            return new ImagenDTO(
+            file = convertir(imagen);
+            Map<String, Object> uploadResult = cloudinary.uploader()
+                    .upload(file, ObjectUtils.asMap("folder", imagenesProperties.getCarpeta()));
+
+            ImagenDTO subida = new ImagenDTO(
                     (String) uploadResult.get("secure_url"),
                     (String) uploadResult.get("public_id"),
                     (String) uploadResult.get("format")
             );
+            evento.publicId = subida.publicId();
+
+            if (imagenAlmacenadaRepository.registrar(hash, subida.url(), subida.publicId(), subida.formato(),
+                    LocalDateTime.now()) == 0) {
+                // Otra subida simultánea de la misma imagen se registró primero: se usa esa y se borra la copia
+                cloudinary.uploader().destroy(subida.publicId(), ObjectUtils.emptyMap());
+                return imagenAlmacenadaRepository.findById(hash)
+                        .map(ProductoMapper::toImagenDTO)
+                        .orElse(subida);
+            }
+            return subida;
         } finally {
-            if (file.exists()) {
-                file.delete();
+            if (file != null) {
+                Files.deleteIfExists(file.toPath());
             }
+            evento.commit();
         }
     }
 
     /**
-     * Elimina una imagen de Cloudinary según su publicId.
+     * Elimina una imagen de Cloudinary según su publicId, solo si ningún producto la usa.
+     * Como las subidas repetidas devuelven la misma imagen, varios productos pueden compartirla.
+     * El registro se borra primero y de forma condicional, para que una subida simultánea del
+     * mismo contenido no reciba una imagen que se está borrando; el recurso de Cloudinary solo
+     * se destruye si ese borrado se aplicó.
      *
      * @param idImagen identificador público de la imagen
      * @return String con el resultado de la operación
@@ -67,24 +122,58 @@ public class ImagesServiceImp implements ImagesService {
      */
     @Override
     public String eliminarImagen(String idImagen) throws Exception {
+        if (imagenAlmacenadaRepository.eliminarSiNoSeUsa(idImagen) == 0) {
+            Optional<ImagenAlmacenada> almacenada = imagenAlmacenadaRepository.findByPublicId(idImagen);
+
+            // Las imágenes subidas antes del índice se buscan por su publicId dentro de la URL
+            long productosQueLaUsan = almacenada.isPresent()
+                    ? productoRepository.countByImagenProducto(almacenada.get().getUrl())
+                    : productoRepository.countByImagenProductoContaining(idImagen);
+            if (almacenada.isPresent() || productosQueLaUsan > 0) {
+                return "La imagen sigue en uso por " + productosQueLaUsan + " producto(s); no se eliminó";
+            }
+        }
+
         Map<String, Object> result = cloudinary.uploader().destroy(idImagen, ObjectUtils.emptyMap());
-        return "ok".equals(result.get("result"))
-                ? "Imagen eliminada correctamente"
-                : "No se pudo eliminar la imagen";
+        if (!"ok".equals(result.get("result"))) {
+            return "No se pudo eliminar la imagen";
+        }
+        return "Imagen eliminada correctamente";
     }
 
     /**
-     * Convierte un MultipartFile a un archivo temporal para enviarlo a Cloudinary.
+     * Deja el MultipartFile en un archivo temporal para enviarlo a Cloudinary.
+     * Tomcat ya guardó la parte en disco al recibirla; {@code transferTo(File)} la mueve
+     * (renombra) a su destino en lugar de copiar sus bytes.
      *
      * @param imagen archivo recibido
      * @return archivo temporal en disco
-     * @throws IOException si ocurre un error en la escritura del archivo
+     * @throws IOException si ocurre un error al mover o escribir el archivo
      */
     private File convertir(MultipartFile imagen) throws IOException {
-        File file = File.createTempFile("upload-", imagen.getOriginalFilename());
-        try (FileOutputStream fos = new FileOutputStream(file)) {
-            fos.write(imagen.getBytes());
-        }
+        File file = Files.createTempFile("upload-", ".img").toFile();
+        imagen.transferTo(file.getAbsoluteFile());
         return file;
     }
+
+    /**
+     * SHA-256 de la parte, leída por bloques y descartada: no se carga en memoria ni se
+     * escribe en otro archivo. Debe llamarse antes de {@link #convertir}, que mueve la parte.
+     *
+     * @param imagen archivo recibido
+     * @return hash en hexadecimal
+     * @throws IOException si no se puede leer la parte
+     */
+    private String calcularHash(MultipartFile imagen) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+        try (InputStream entrada = new DigestInputStream(imagen.getInputStream(), digest)) {
+            entrada.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
 }
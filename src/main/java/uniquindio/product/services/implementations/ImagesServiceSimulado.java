@@ -0,0 +1,63 @@
+package uniquindio.product.services.implementations;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import uniquindio.product.configs.ImagenesProperties;
+import uniquindio.product.configs.SimulacionProperties;
+import uniquindio.product.dto.producto.ImagenDTO;
+import uniquindio.product.services.interfaces.ImagesService;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Almacén de imágenes simulado para las pruebas de carga (perfil "carga"): reemplaza a
+ * ImagesServiceImp con la latencia y los fallos de {@link SimulacionProperties}.
+ * No guarda el archivo; devuelve una URL que no apunta a ningún servidor real.
+ */
+@Service
+@Profile("carga")
+@RequiredArgsConstructor
+public class ImagesServiceSimulado implements ImagesService {
+
+    private static final String URL_BASE = "https://imagenes.simuladas.invalid/";
+
+    private final SimulacionProperties simulacionProperties;
+    private final ImagenesProperties imagenesProperties;
+
+    @Override
+    public ImagenDTO subirImagen(MultipartFile imagen) throws Exception {
+        if (imagen == null || imagen.isEmpty()) {
+            throw new IllegalArgumentException("El archivo de imagen no puede estar vacío");
+        }
+        if (imagen.getSize() > imagenesProperties.getTamanoMaximo().toBytes()) {
+            throw new IllegalArgumentException("La imagen supera el tamaño máximo de "
+                    + imagenesProperties.getTamanoMaximo().toMegabytes() + " MB");
+        }
+        if (llamar()) {
+            throw new IOException("Fallo simulado al subir la imagen");
+        }
+
+        String publicId = imagenesProperties.getCarpeta() + "/" + UUID.randomUUID();
+        return new ImagenDTO(URL_BASE + publicId + ".jpg", publicId, "jpg");
+    }
+
+    @Override
+    public String eliminarImagen(String idImagen) throws Exception {
+        if (llamar()) {
+            return "No se pudo eliminar la imagen";
+        }
+        return "Imagen eliminada correctamente";
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private boolean llamar() {
+        return LlamadaSimulada.ejecutar(simulacionProperties.getLatenciaImagenes(),
+                simulacionProperties.getVariacion(), simulacionProperties.getFallosImagenes());
+    }
+}
@@ -0,0 +1,122 @@
+package uniquindio.product.services.implementations;
+
+import org.springframework.stereotype.Component;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.enums.EstadoLote;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice en memoria de los lotes con stock que vencen dentro del horizonte cargado,
+ * ordenado por fecha de vencimiento. Permite que cada pasada de MotorVencimientos
+ * tome solo los lotes que ya vencieron, sin consultar la tabla de lotes.
+ * <p>
+ * Es solo una guía: la sentencia que vence los lotes vuelve a comprobar estado y
+ * fecha, así una entrada desactualizada (lote vendido o con otra fecha) no tiene efecto.
+ */
+@Component
+public class IndiceVencimientos {
+
+    private static final Set<EstadoLote> ESTADOS_CON_STOCK = EnumSet.of(EstadoLote.DISPONIBLE, EstadoLote.BLOQUEADO);
+
+    // ReentrantLock en lugar de synchronized para no fijar hilos virtuales
+    private final ReentrantLock cerrojo = new ReentrantLock();
+    private final TreeMap<LocalDate, Set<String>> lotesPorFecha = new TreeMap<>();
+    private LocalDate cargadoHasta = LocalDate.MIN;
+
+    public static Set<EstadoLote> estadosConStock() {
+        return ESTADOS_CON_STOCK;
+    }
+
+    /**
+     * Reemplaza el contenido con los lotes leídos de la base de datos.
+     *
+     * @param hasta última fecha de vencimiento incluida en la carga
+     */
+    public void recargar(Collection<Lote> lotes, LocalDate hasta) {
+        cerrojo.lock();
+        try {
+            lotesPorFecha.clear();
+            cargadoHasta = hasta;
+            lotes.forEach(this::agregar);
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Registra un lote que acaba de quedar con stock o cambió de fecha. Si vence después
+     * del horizonte cargado no se guarda: entrará en una recarga posterior.
+     */
+    public void registrar(Lote lote) {
+        if (!ESTADOS_CON_STOCK.contains(lote.getEstado())) {
+            return;
+        }
+
+        cerrojo.lock();
+        try {
+            if (!lote.getFechaVencimiento().isAfter(cargadoHasta)) {
+                agregar(lote);
+            }
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Quita y devuelve hasta {@code maximo} lotes con fecha de vencimiento hasta {@code hoy}.
+     */
+    public List<String> tomarVencidos(LocalDate hoy, int maximo) {
+        List<String> vencidos = new ArrayList<>();
+
+        cerrojo.lock();
+        try {
+            Iterator<Set<String>> fechas = lotesPorFecha.headMap(hoy, true).values().iterator();
+            while (fechas.hasNext() && vencidos.size() < maximo) {
+                Iterator<String> ids = fechas.next().iterator();
+                while (ids.hasNext() && vencidos.size() < maximo) {
+                    vencidos.add(ids.next());
+                    ids.remove();
+                }
+                if (!ids.hasNext()) {
+                    fechas.remove();
+                }
+            }
+        } finally {
+            cerrojo.unlock();
+        }
+
+        return vencidos;
+    }
+
+    /**
+     * Devuelve al índice lotes tomados cuya transición falló, para reintentarlos en la siguiente pasada.
+     */
+    public void devolver(Collection<String> idsLotes, LocalDate fecha) {
+        cerrojo.lock();
+        try {
+            lotesPorFecha.computeIfAbsent(fecha, f -> new LinkedHashSet<>()).addAll(idsLotes);
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    public int tamano() {
+        cerrojo.lock();
+        try {
+            return lotesPorFecha.values().stream().mapToInt(Set::size).sum();
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private void agregar(Lote lote) {
+        lotesPorFecha.computeIfAbsent(lote.getFechaVencimiento(), f -> new LinkedHashSet<>()).add(lote.getId());
+    }
+}
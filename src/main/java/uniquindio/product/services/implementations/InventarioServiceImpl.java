@@ -2,30 +2,39 @@ package uniquindio.product.services.implementations;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uniquindio.product.dto.inventario.DetalleLoteDTO;
 import uniquindio.product.dto.inventario.ProductoBajoStockDTO;
+import uniquindio.product.dto.inventario.ReconstruccionStockDTO;
 import uniquindio.product.dto.inventario.ResumenInventarioDTO;
 import uniquindio.product.dto.inventario.StockPorLoteDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.exceptions.InventarioException;
 import uniquindio.product.exceptions.LoteException;
 import uniquindio.product.exceptions.ProductoException;
+import uniquindio.product.mapper.ContextoMapeo;
 import uniquindio.product.mapper.InventarioMapper;
+import uniquindio.product.mapper.PaginacionMapper;
+import uniquindio.product.model.documents.ExistenciaLote;
 import uniquindio.product.model.documents.Inventario;
 import uniquindio.product.model.documents.Lote;
-import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.documents.StockProducto;
 import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.vo.CambioStock;
+import uniquindio.product.model.vo.DetalleInventario;
+import uniquindio.product.repositories.ExistenciaLoteRepository;
 import uniquindio.product.repositories.InventarioRepository;
 import uniquindio.product.repositories.LoteRepository;
 import uniquindio.product.repositories.ProductoRepository;
+import uniquindio.product.repositories.StockProductoRepository;
 import uniquindio.product.services.interfaces.InventarioService;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -36,6 +45,11 @@ public class InventarioServiceImpl implements InventarioService {
     private final InventarioRepository inventarioRepository;
     private final ProductoRepository productoRepository;
     private final LoteRepository loteRepository;
+    private final ExistenciaLoteRepository existenciaLoteRepository;
+    private final StockProductoRepository stockProductoRepository;
+    private final IndiceVencimientos indiceVencimientos;
+    private final CargadorContextoMapeo cargadorContextoMapeo;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String INVENTARIO_ID = "inventario-principal";
 
@@ -55,6 +69,12 @@ public class InventarioServiceImpl implements InventarioService {
                 log.info("Inventario principal inicializado correctamente (ID: {})", INVENTARIO_ID);
             } else {
                 log.info("Inventario principal ya existe (ID: {}), omitiendo inicialización", INVENTARIO_ID);
+                migrarDetalleAExistencias();
+            }
+
+            // Primer arranque con el resumen por producto: se construye desde los lotes
+            if (stockProductoRepository.count() == 0) {
+                reconstruirResumenStock();
             }
         } catch (DataIntegrityViolationException e) {
             log.warn("El inventario ya fue creado por otra instancia (concurrencia detectada)");
@@ -72,57 +92,98 @@ public class InventarioServiceImpl implements InventarioService {
         }
 
         // Validar existencia del producto
-        productoRepository.findById(idProducto)
-                .orElseThrow(() -> new ProductoException(
-                        "No se encontró el producto con ID: " + idProducto
-                ));
-
-        LocalDate hoy = LocalDate.now();
+        if (!productoRepository.existsById(idProducto)) {
+            throw new ProductoException("No se encontró el producto con ID: " + idProducto);
+        }
 
-        // Consultar lotes disponibles y no vencidos y sumar su stock
+        // Sumar el stock libre de los lotes disponibles (sin reservas de pedidos pendientes);
+        // los vencidos ya pasaron a VENCIDO
         return loteRepository
-                .findByIdProductoAndEstadoAndFechaVencimientoAfter(idProducto, EstadoLote.DISPONIBLE, hoy)
+                .findByIdProductoAndEstado(idProducto, EstadoLote.DISPONIBLE)
                 .stream()
-                .mapToInt(Lote::getCantidadDisponible)
+                .mapToInt(Lote::cantidadLibre)
                 .sum();
     }
 
+    /**
+     * Stock libre de varios productos: una consulta de productos y una de lotes,
+     * sin importar cuántos IDs se pidan.
+     *
+     * @return stock por ID de producto (0 si no tiene lotes disponibles)
+     * @throws ProductoException si algún producto no existe
+     */
     @Override
-    public List<ResumenInventarioDTO> obtenerResumenInventario() {
+    @Transactional(readOnly = true)
+    public Map<String, Integer> obtenerStockDisponible(Collection<String> idsProductos) throws ProductoException {
+        Objects.requireNonNull(idsProductos, "Los IDs de producto no pueden ser nulos");
+
+        Set<String> ids = new HashSet<>(idsProductos);
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
 
-        // Traer todos los lotes de la BD sin restricciones
-        List<Lote> todosLosLotes = loteRepository.findAll();
+        // Validar existencia de todos los productos (solo se leen los IDs)
+        Set<String> existentes = new HashSet<>(productoRepository.findIdsExistentes(ids));
 
-        if (todosLosLotes.isEmpty()) {
-            return Collections.emptyList();
+        for (String id : ids) {
+            if (!existentes.contains(id)) {
+                throw new ProductoException("No se encontró el producto con ID: " + id);
+            }
         }
 
-        // Agrupar por producto
-        Map<String, List<Lote>> lotesPorProducto = todosLosLotes.stream()
-                .collect(Collectors.groupingBy(Lote::getIdProducto));
+        Map<String, Integer> stockPorProducto = new HashMap<>();
+        ids.forEach(id -> stockPorProducto.put(id, 0));
 
-        return InventarioMapper.toResumenInventarioDTOList(lotesPorProducto, productoRepository);
+        loteRepository.findByIdProductoInAndEstado(ids, EstadoLote.DISPONIBLE)
+                .forEach(lote -> stockPorProducto.merge(lote.getIdProducto(), lote.cantidadLibre(), Integer::sum));
+
+        return stockPorProducto;
     }
 
+    /**
+     * Resumen por producto leído de StockProducto: una consulta de la página y los
+     * nombres desde la caché, sin importar cuántos lotes tenga cada producto.
+     */
     @Override
-    public List<DetalleLoteDTO> listarLotes() {
-        return loteRepository.findAll()
-                .stream()
-                .map(l -> new DetalleLoteDTO(
-                        l.getId(),
-                        l.getIdProducto(),
-                        productoRepository.findById(l.getIdProducto())
-                                .map(Producto::getNombreProducto)
-                                .orElse("Desconocido"),
-                        l.getCantidadDisponible(),
-                        l.getFechaVencimiento(),
-                        l.getEstado()
-                ))
-                .toList();
+    @Transactional(readOnly = true)
+    public PaginaDTO<ResumenInventarioDTO> obtenerResumenInventario(String cursor, int tamano) {
+        int tamanoPagina = PaginacionMapper.normalizarTamano(tamano);
+
+        List<StockProducto> stocks = stockProductoRepository.findByIdProductoGreaterThanOrderByIdProductoAsc(
+                PaginacionMapper.decodificarCursor(cursor),
+                Limit.of(PaginacionMapper.filasAConsultar(tamanoPagina))
+        );
+
+        return PaginacionMapper.toPaginaDTO(stocks, tamanoPagina, StockProducto::getIdProducto, pagina -> {
+            ContextoMapeo contexto = cargadorContextoMapeo.paraProductos(
+                    pagina.stream().map(StockProducto::getIdProducto).toList());
+
+            return pagina.stream()
+                    .map(stock -> InventarioMapper.toResumenInventarioDTO(stock, contexto))
+                    .toList();
+        });
+    }
+
+    /**
+     * Página de lotes proyectada en la consulta: solo las columnas del DTO y el nombre
+     * del producto por LEFT JOIN, sin entidades Lote administradas.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<DetalleLoteDTO> listarLotes(String cursor, int tamano) {
+        int tamanoPagina = PaginacionMapper.normalizarTamano(tamano);
+
+        List<DetalleLoteDTO> lotes = loteRepository.findDetallesByIdGreaterThan(
+                PaginacionMapper.decodificarCursor(cursor),
+                Limit.of(PaginacionMapper.filasAConsultar(tamanoPagina))
+        );
+
+        return PaginacionMapper.toPaginaDTO(lotes, tamanoPagina, DetalleLoteDTO::idLote, pagina -> pagina);
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<StockPorLoteDTO> obtenerStockPorLote(String idProducto) throws ProductoException {
         Objects.requireNonNull(idProducto, "El ID del producto no puede ser nulo");
 
@@ -131,75 +192,64 @@ public class InventarioServiceImpl implements InventarioService {
         }
 
         // Validar existencia del producto
-        productoRepository.findById(idProducto)
-                .orElseThrow(() -> new ProductoException(
-                        "No se encontró el producto con ID: " + idProducto
-                ));
-
-        LocalDate hoy = LocalDate.now();
-
-        // Obtener lotes asociados, disponibles, con stock y no vencidos
-        List<Lote> lotes = loteRepository.findByIdProductoAndEstadoAndCantidadDisponibleGreaterThanAndFechaVencimientoAfterOrderByFechaVencimientoAsc(
-                idProducto,
-                EstadoLote.DISPONIBLE,
-                0,
-                hoy
-        );
-
-        if (lotes.isEmpty()) {
-            return Collections.emptyList();
+        if (!productoRepository.existsById(idProducto)) {
+            throw new ProductoException("No se encontró el producto con ID: " + idProducto);
         }
 
-        // Mapear a DTO
-        return InventarioMapper.toStockPorLoteDTOList(lotes);
+        // Lotes disponibles y con stock (los vencidos ya no están DISPONIBLE), proyectados al DTO
+        return loteRepository.findStockPorLote(idProducto, EstadoLote.DISPONIBLE);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductoBajoStockDTO> obtenerProductosBajoStock(int umbral) {
         if (umbral <= 0) {
             throw new IllegalArgumentException("El umbral debe ser mayor a 0");
         }
 
-        LocalDate hoy = LocalDate.now();
+        // Solo las filas bajo el umbral, por el índice (stock_disponible, id_producto)
+        List<StockProducto> stocks = stockProductoRepository
+                .findByStockDisponibleLessThanOrderByStockDisponibleAscIdProductoAsc(umbral);
 
-        // Obtener todos los productos activos
-        List<Producto> productos = productoRepository.findAll();
-
-        if (productos.isEmpty()) {
+        if (stocks.isEmpty()) {
             return Collections.emptyList();
         }
 
-        // Obtener TODOS los lotes válidos de una sola vez
-        List<Lote> todosLotesValidos = loteRepository
-                .findByEstadoAndCantidadDisponibleGreaterThanAndFechaVencimientoAfter(
-                        EstadoLote.DISPONIBLE,
-                        0,
-                        hoy
-                );
-
-        // Agrupar lotes por producto en memoria
-        Map<String, List<Lote>> lotesPorProducto = todosLotesValidos.stream()
-                .collect(Collectors.groupingBy(Lote::getIdProducto));
-
-        // Procesar cada producto
-        return productos.stream()
-                .map(producto -> {
-                    int stockTotal = lotesPorProducto.getOrDefault(producto.getIdProducto(), Collections.emptyList())
-                            .stream()
-                            .mapToInt(Lote::getCantidadDisponible)
-                            .sum();
-
-                    return new AbstractMap.SimpleEntry<>(producto, stockTotal);
-                })
-                .filter(entry -> entry.getValue() < umbral)
-                .map(entry -> InventarioMapper.toProductoBajoStockDTO(
-                        entry.getKey(),
-                        entry.getValue(),
+        ContextoMapeo contexto = cargadorContextoMapeo.paraProductos(
+                stocks.stream().map(StockProducto::getIdProducto).toList());
+
+        return stocks.stream()
+                .filter(stock -> contexto.contieneProducto(stock.getIdProducto()))
+                .map(stock -> InventarioMapper.toProductoBajoStockDTO(
+                        contexto.producto(stock.getIdProducto()),
+                        stock.getStockDisponible(),
                         umbral
                 ))
                 .toList();
     }
 
+    /**
+     * Recalcula StockProducto de todos los productos desde la tabla de lotes y
+     * elimina las filas de productos que ya no existen.
+     *
+     * @return productos recalculados y cuántos no coincidían antes de reconstruir
+     */
+    @Override
+    public ReconstruccionStockDTO reconstruirResumenStock() {
+        stockProductoRepository.bloquearTodos();
+        long diferencias = stockProductoRepository.contarDiferencias();
+        int recalculados = stockProductoRepository.recalcularTodos(LocalDateTime.now());
+        int huerfanas = stockProductoRepository.eliminarHuerfanos();
+
+        if (diferencias > 0) {
+            log.warn("Resumen de stock reconstruido: {} productos no coincidían con sus lotes", diferencias);
+        } else {
+            log.info("Resumen de stock reconstruido: {} productos, sin diferencias", recalculados);
+        }
+
+        return new ReconstruccionStockDTO(recalculados, diferencias, huerfanas);
+    }
+
     @Override
     public void registrarEntradaAlmacen(String idLote) throws LoteException, InventarioException {
         if (idLote == null || idLote.isBlank()) {
@@ -235,28 +285,70 @@ public class InventarioServiceImpl implements InventarioService {
             );
         }
 
-        // Obtener el inventario principal
-        Inventario inventario = inventarioRepository.findById(INVENTARIO_ID)
-                .orElseThrow(() -> new InventarioException(
-                        "Inventario no inicializado. Por favor inicialice el inventario primero"
-                ));
+        // Verificar que el lote no esté ya en el almacén
+        if (existenciaLoteRepository.existsById(lote.getId())) {
+            throw new InventarioException(
+                    "El lote " + lote.getCodigoLote() + " ya está registrado en el inventario"
+            );
+        }
 
         // Actualizar estado del lote: EN_PRODUCCION → DISPONIBLE
         lote.setEstado(EstadoLote.DISPONIBLE);
         lote.setCantidadDisponible(lote.getCantidadProducida());
         loteRepository.save(lote);
 
-        // Registrar en inventario (almacén físico)
-        inventario.agregarLote(
+        // Registrar en inventario (almacén físico): una fila por lote
+        LocalDateTime ahora = LocalDateTime.now();
+        existenciaLoteRepository.save(new ExistenciaLote(
                 lote.getId(),
                 lote.getIdProducto(),
-                lote.getCantidadProducida()
-        );
-        inventarioRepository.save(inventario);
+                lote.getCantidadProducida(),
+                ahora,
+                ahora
+        ));
+        stockProductoRepository.recalcular(lote.getIdProducto());
+        eventPublisher.publishEvent(CambioStock.de(lote.getIdProducto()));
+        indiceVencimientos.registrar(lote);
 
         log.info("Lote ingresado al almacén: {} - Producto: {} - Cantidad: {}",
                 lote.getCodigoLote(),
                 lote.getIdProducto(),
                 lote.getCantidadProducida());
     }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    /**
+     * Copia a la tabla de existencias los lotes que quedaron registrados en la
+     * colección del inventario principal antes de pasar a una fila por lote.
+     * Solo se ejecuta mientras la tabla de existencias esté vacía.
+     */
+    private void migrarDetalleAExistencias() {
+        if (existenciaLoteRepository.count() > 0) {
+            return;
+        }
+
+        inventarioRepository.findById(INVENTARIO_ID).ifPresent(inventario -> {
+            List<DetalleInventario> detalles = inventario.getDetalleInventario();
+            if (detalles.isEmpty()) {
+                return;
+            }
+
+            LocalDateTime ahora = LocalDateTime.now();
+            List<ExistenciaLote> existencias = detalles.stream()
+                    .map(d -> new ExistenciaLote(
+                            d.getIdLote(),
+                            d.getIdProducto(),
+                            d.getCantidad(),
+                            d.getFechaIngreso(),
+                            ahora
+                    ))
+                    .toList();
+
+            existenciaLoteRepository.saveAll(existencias);
+            log.info("Migradas {} existencias de lote desde el inventario principal", existencias.size());
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package uniquindio.product.services.implementations;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latencia y fallos de los servicios externos simulados del perfil "carga".
+ * La espera bloquea el hilo igual que la llamada HTTP real a la que reemplaza.
+ */
+public final class LlamadaSimulada {
+
+    private LlamadaSimulada() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Espera la latencia media con la variación indicada y decide si la llamada falla.
+     *
+     * @param latencia latencia media de la llamada
+     * @param variacion fracción máxima de desviación sobre la media (0 la deja fija)
+     * @param proporcionFallos probabilidad de que la llamada falle, entre 0 y 1
+     * @return true si la llamada debe fallar
+     */
+    public static boolean ejecutar(Duration latencia, double variacion, double proporcionFallos) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+
+        long media = latencia.toNanos();
+        long desviacion = (long) (media * variacion);
+        long espera = desviacion > 0 ? media + aleatorio.nextLong(-desviacion, desviacion + 1) : media;
+
+        if (espera > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(espera));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        }
+        return aleatorio.nextDouble() < proporcionFallos;
+    }
+}
@@ -1,25 +1,42 @@
 package uniquindio.product.services.implementations;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import uniquindio.product.configs.EventosJfr;
 import uniquindio.product.dto.lote.*;
 import uniquindio.product.exceptions.LoteException;
 import uniquindio.product.exceptions.ProductoException;
+import uniquindio.product.dto.paginacion.PaginaDTO;
+import uniquindio.product.mapper.ContextoMapeo;
 import uniquindio.product.mapper.LoteMapper;
+import uniquindio.product.mapper.PaginacionMapper;
 import uniquindio.product.model.documents.Lote;
 import uniquindio.product.model.documents.Producto;
 import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.enums.EstadoReserva;
+import uniquindio.product.model.vo.CambioStock;
+import uniquindio.product.model.vo.PlanAsignacionLotes;
 import uniquindio.product.repositories.LoteRepository;
 import uniquindio.product.repositories.ProductoRepository;
+import uniquindio.product.repositories.ReservaStockRepository;
+import uniquindio.product.repositories.StockProductoRepository;
 import uniquindio.product.services.interfaces.LoteService;
+import uniquindio.product.services.interfaces.ProductoCacheService;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+@Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -27,6 +44,12 @@ public class LoteServiceImpl implements LoteService {
 
     private final LoteRepository loteRepository;
     private final ProductoRepository productoRepository;
+    private final ProductoCacheService productoCacheService;
+    private final StockProductoRepository stockProductoRepository;
+    private final ReservaStockRepository reservaStockRepository;
+    private final IndiceVencimientos indiceVencimientos;
+    private final CargadorContextoMapeo cargadorContextoMapeo;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public String crearLote(CrearLoteDTO crearLoteDTO) throws LoteException, ProductoException {
@@ -91,6 +114,8 @@ public class LoteServiceImpl implements LoteService {
                         "No se encontró el lote con ID: " + idLote
                 ));
 
+        validarNoVencido(lote);
+
         // Validar que el producto existe si se está cambiando
         if (dto.idProducto() != null && !dto.idProducto().equals(lote.getIdProducto())) {
             productoRepository.findById(dto.idProducto())
@@ -128,13 +153,37 @@ public class LoteServiceImpl implements LoteService {
             );
         }
 
-        // Aplicar cambios (actualización parcial)
-        LoteMapper.actualizarEntidad(lote, dto);
+        // Las unidades reservadas por pedidos pendientes siguen comprometidas con este lote y su producto
+        if (cantidadDisponible < lote.getCantidadReservada()) {
+            throw new LoteException(
+                    "La cantidad disponible no puede ser menor a las " + lote.getCantidadReservada() +
+                            " unidades reservadas por pedidos pendientes"
+            );
+        }
+
+        String idProductoAnterior = lote.getIdProducto();
+        String idProductoNuevo = dto.idProducto() != null ? dto.idProducto() : idProductoAnterior;
+        if (!idProductoNuevo.equals(idProductoAnterior) && lote.getCantidadReservada() > 0) {
+            throw new LoteException(
+                    "No se puede cambiar el producto del lote " + lote.getCodigoLote() + " porque tiene " +
+                            lote.getCantidadReservada() + " unidades reservadas por pedidos pendientes"
+            );
+        }
+
+        // Actualización parcial por columnas: no pisa las reservas ni las ventas hechas desde que se leyó el lote
+        if (!loteRepository.actualizarSiReservasLoPermiten(idLote, idProductoNuevo, dto)) {
+            throw new LoteException(
+                    "Las reservas del lote " + lote.getCodigoLote() + " cambiaron durante la actualización; intente de nuevo"
+            );
+        }
+        loteRepository.refrescar(List.of(lote));
 
-        Lote loteActualizado = loteRepository.save(lote);
+        stockProductoRepository.recalcular(List.of(idProductoAnterior, idProductoNuevo));
+        eventPublisher.publishEvent(new CambioStock(List.of(idProductoAnterior, idProductoNuevo)));
+        indiceVencimientos.registrar(lote);
 
-        String nombreProducto = obtenerNombreProducto(loteActualizado.getIdProducto());
-        return LoteMapper.toMostrarLoteDTO(loteActualizado, nombreProducto);
+        String nombreProducto = obtenerNombreProducto(lote.getIdProducto());
+        return LoteMapper.toMostrarLoteDTO(lote, nombreProducto);
     }
 
     @Override
@@ -174,31 +223,21 @@ public class LoteServiceImpl implements LoteService {
         Lote lote = loteRepository.findById(dto.idLote())
                 .orElseThrow(() -> new LoteException("No se encontró el lote con ID: " + dto.idLote()));
 
-        if (lote.getEstado() == EstadoLote.BLOQUEADO) {
-            throw new LoteException("El lote " + lote.getCodigoLote() + " está bloqueado y no puede modificarse");
-        }
-
         if (dto.ajuste() == null || dto.ajuste() <= 0) {
             throw new LoteException("La cantidad de ajuste debe ser un número positivo");
         }
-
-        int nuevaCantidad = lote.getCantidadDisponible() - dto.ajuste();
-
-        if (nuevaCantidad < 0) {
-            throw new LoteException(
-                    "Stock insuficiente en el lote " + lote.getCodigoLote() +
-                            ". Disponible: " + lote.getCantidadDisponible() +
-                            ", requerido: " + dto.ajuste()
-            );
-        }
-
-        lote.setCantidadDisponible(nuevaCantidad);
-
-        if (nuevaCantidad == 0) {
-            lote.setEstado(EstadoLote.AGOTADO);
+        validarAjuste(lote, dto.ajuste());
+
+        // El descuento y el paso a AGOTADO van en la misma sentencia condicional que las ventas
+        if (!loteRepository.ajustarSiLibre(lote.getId(), dto.ajuste())) {
+            // Otra operación cambió el lote desde que se leyó: el error se arma con su estado actual
+            loteRepository.refrescar(List.of(lote));
+            validarAjuste(lote, dto.ajuste());
+            throw new LoteException("El lote " + lote.getCodigoLote() + " cambió durante el ajuste; intente de nuevo");
         }
 
-        loteRepository.save(lote);
+        stockProductoRepository.recalcular(lote.getIdProducto());
+        eventPublisher.publishEvent(CambioStock.de(lote.getIdProducto()));
     }
 
 
@@ -223,6 +262,8 @@ public class LoteServiceImpl implements LoteService {
             );
         }
 
+        validarNoVencido(lote);
+
         // Validar que no esté agotado
         if (lote.getEstado() == EstadoLote.AGOTADO) {
             throw new LoteException(
@@ -231,13 +272,15 @@ public class LoteServiceImpl implements LoteService {
             );
         }
 
-        lote.setEstado(EstadoLote.BLOQUEADO);
-
-        // Agregar motivo a observaciones
-        String observacionActual = lote.getObservaciones() != null ? lote.getObservaciones() + " | " : "";
-        lote.setObservaciones(observacionActual + "BLOQUEADO: " + motivo);
+        // Solo cambia el estado y agrega el motivo a observaciones, si el estado sigue siendo el leído
+        if (loteRepository.bloquear(idLote, lote.getEstado(), "BLOQUEADO: " + motivo, EstadoLote.BLOQUEADO) == 0) {
+            throw new LoteException(
+                    "El lote " + lote.getCodigoLote() + " cambió de estado mientras se bloqueaba; intente de nuevo"
+            );
+        }
 
-        loteRepository.save(lote);
+        stockProductoRepository.recalcular(lote.getIdProducto());
+        eventPublisher.publishEvent(CambioStock.de(lote.getIdProducto()));
     }
 
     @Override
@@ -266,14 +309,15 @@ public class LoteServiceImpl implements LoteService {
             );
         }
 
-        // Determinar estado apropiado al desbloquear
-        if (lote.getCantidadDisponible() == 0) {
-            lote.setEstado(EstadoLote.AGOTADO);
-        } else if (lote.getCantidadDisponible() > 0) {
-            lote.setEstado(EstadoLote.DISPONIBLE);
+        // DISPONIBLE, o AGOTADO si ya no tiene unidades, según la fila al momento del UPDATE
+        if (loteRepository.desbloquear(idLote, EstadoLote.BLOQUEADO, EstadoLote.DISPONIBLE, EstadoLote.AGOTADO) == 0) {
+            throw new LoteException(
+                    "El lote " + lote.getCodigoLote() + " ya no está bloqueado"
+            );
         }
 
-        loteRepository.save(lote);
+        stockProductoRepository.recalcular(lote.getIdProducto());
+        eventPublisher.publishEvent(CambioStock.de(lote.getIdProducto()));
     }
 
     @Override
@@ -296,12 +340,16 @@ public class LoteServiceImpl implements LoteService {
     }
 
     @Override
-    public List<MostrarLoteDTO> listarLotesDisponibles() {
-        List<Lote> lotes = loteRepository.findByEstadoAndCantidadDisponibleGreaterThan(
+    public PaginaDTO<MostrarLoteDTO> listarLotesDisponibles(String cursor, int tamano) {
+        int tamanoPagina = PaginacionMapper.normalizarTamano(tamano);
+
+        List<Lote> lotes = loteRepository.findByEstadoAndCantidadDisponibleGreaterThanAndIdGreaterThanOrderByIdAsc(
                 EstadoLote.DISPONIBLE,
-                0
+                0,
+                PaginacionMapper.decodificarCursor(cursor),
+                Limit.of(PaginacionMapper.filasAConsultar(tamanoPagina))
         );
-        return getMostrarLoteDTOS(lotes);
+        return PaginacionMapper.toPaginaDTO(lotes, tamanoPagina, Lote::getId, this::getMostrarLoteDTOS);
     }
 
     @Override
@@ -318,38 +366,25 @@ public class LoteServiceImpl implements LoteService {
                 0
         );
 
-        List<String> idsProductos = lotes.stream()
-                .map(Lote::getIdProducto)
-                .distinct()
-                .toList();
-
-        List<Producto> productos = productoRepository.findAllById(idsProductos);
+        ContextoMapeo contexto = cargadorContextoMapeo.paraLotes(lotes);
 
         return lotes.stream()
-                .map(lote -> {
-                    String nombreProducto = productos.stream()
-                            .filter(p -> p.getIdProducto().equals(lote.getIdProducto()))
-                            .findFirst()
-                            .map(Producto::getNombreProducto)
-                            .orElse("Producto no disponible");
-
-                    return new LotePorVencerDTO(
-                            lote.getCodigoLote(),
-                            nombreProducto,
-                            lote.getFechaVencimiento(),
-                            lote.getCantidadDisponible(),
-                            lote.diasParaVencer()
-                    );
-                })
-                .sorted((l1, l2) -> Long.compare(l1.diasRestantes(), l2.diasRestantes()))
+                .map(lote -> LoteMapper.toLotePorVencerDTO(lote, contexto))
+                .sorted(Comparator.comparingLong(LotePorVencerDTO::diasRestantes))
                 .toList();
     }
 
     @Override
-    public List<MostrarLoteDTO> listarLotesPorEstado(EstadoLote estado) {
+    public PaginaDTO<MostrarLoteDTO> listarLotesPorEstado(EstadoLote estado, String cursor, int tamano) {
         Objects.requireNonNull(estado, "El estado no puede ser nulo");
-        List<Lote> lotes = loteRepository.findByEstado(estado);
-        return getMostrarLoteDTOS(lotes);
+        int tamanoPagina = PaginacionMapper.normalizarTamano(tamano);
+
+        List<Lote> lotes = loteRepository.findByEstadoAndIdGreaterThanOrderByIdAsc(
+                estado,
+                PaginacionMapper.decodificarCursor(cursor),
+                Limit.of(PaginacionMapper.filasAConsultar(tamanoPagina))
+        );
+        return PaginacionMapper.toPaginaDTO(lotes, tamanoPagina, Lote::getId, this::getMostrarLoteDTOS);
     }
 
     @Override
@@ -367,14 +402,12 @@ public class LoteServiceImpl implements LoteService {
                         "No se encontró el producto con ID: " + idProducto
                 ));
 
-        // Buscar lotes disponibles con stock, no vencidos, ordenados por FEFO
-        LocalDate hoy = LocalDate.now();
+        // Buscar lotes disponibles con stock ordenados por FEFO (los vencidos ya no están DISPONIBLE)
         List<Lote> lotesDisponibles = loteRepository
-                .findByIdProductoAndEstadoAndCantidadDisponibleGreaterThanAndFechaVencimientoAfterOrderByFechaVencimientoAsc(
+                .findByIdProductoAndEstadoAndCantidadDisponibleGreaterThanOrderByFechaVencimientoAsc(
                         idProducto,
                         EstadoLote.DISPONIBLE,
-                        0,
-                        hoy
+                        0
                 );
 
         if (lotesDisponibles.isEmpty()) {
@@ -386,45 +419,123 @@ public class LoteServiceImpl implements LoteService {
         // Seleccionar el primer lote con stock suficiente
 
         return lotesDisponibles.stream()
-                .filter(lote -> lote.getCantidadDisponible() >= cantidadRequerida)
+                .filter(lote -> lote.cantidadLibre() >= cantidadRequerida)
                 .findFirst()
                 .orElseThrow(() -> new LoteException(
                         "No hay ningún lote con stock suficiente. Requerido: " + cantidadRequerida +
                                 ", Máximo disponible: " + lotesDisponibles.stream()
-                                .mapToInt(Lote::getCantidadDisponible)
+                                .mapToInt(Lote::cantidadLibre)
                                 .max()
                                 .orElse(0)
                 ));
     }
 
+    /**
+     * Reparte las cantidades de todas las líneas de un pedido entre lotes FEFO.
+     * Trae los lotes candidatos de todos los productos en una sola consulta.
+     *
+     * @param cantidadesPorProducto cantidad requerida por ID de producto
+     * @return plan de asignación reutilizable al crear el pedido y al descontar stock
+     * @throws LoteException si algún producto no alcanza la cantidad sumando sus lotes
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PlanAsignacionLotes planificarAsignacionFEFO(Map<String, Integer> cantidadesPorProducto) throws LoteException {
+        Objects.requireNonNull(cantidadesPorProducto, "Las cantidades por producto no pueden ser nulas");
+
+        if (cantidadesPorProducto.isEmpty()) {
+            return new PlanAsignacionLotes(List.of());
+        }
+
+        EventosJfr.AsignacionLotes evento = new EventosJfr.AsignacionLotes();
+        evento.begin();
+        evento.productos = cantidadesPorProducto.size();
+        try {
+            List<Lote> candidatos = loteRepository
+                    .findByIdProductoInAndEstadoAndCantidadDisponibleGreaterThanOrderByIdProductoAscFechaVencimientoAsc(
+                            cantidadesPorProducto.keySet(),
+                            EstadoLote.DISPONIBLE,
+                            0
+                    );
+            evento.lotesCandidatos = candidatos.size();
+
+            PlanAsignacionLotes plan = AsignacionFEFO.planificar(cantidadesPorProducto, candidatos);
+            evento.asignaciones = plan.asignaciones().size();
+            return plan;
+        } finally {
+            evento.commit();
+        }
+    }
+
+    /**
+     * Pasa a VENCIDO los lotes indicados cuya fecha de vencimiento ya llegó, en sentencias
+     * por conjunto: libera sus reservas activas, vence los lotes y recalcula el resumen
+     * de stock de sus productos, todo en la misma transacción.
+     *
+     * @return cantidad de lotes que pasaron a VENCIDO
+     */
+    @Override
+    public int vencerLotes(Collection<String> idsLotes) {
+        if (idsLotes.isEmpty()) {
+            return 0;
+        }
+
+        List<String> idsProductos = loteRepository.findIdsProductoDeLotes(idsLotes);
+        LocalDate hoy = LocalDate.now();
+
+        // Primero las reservas y luego los lotes: mismo orden de bloqueo que el pago de un pedido
+        int reservas = reservaStockRepository.liberarPorLotes(idsLotes, EstadoReserva.ACTIVA, EstadoReserva.LIBERADA);
+        int vencidos = loteRepository.vencer(idsLotes, IndiceVencimientos.estadosConStock(), EstadoLote.VENCIDO, hoy);
+        stockProductoRepository.recalcular(idsProductos);
+        eventPublisher.publishEvent(new CambioStock(idsProductos));
+
+        if (vencidos > 0) {
+            log.info("Vencimientos: {} lotes pasaron a VENCIDO ({} reservas liberadas)", vencidos, reservas);
+        }
+
+        return vencidos;
+    }
+
     // ============================
     // Métodos privados auxiliares
     // ============================
 
-    @NotNull
-    private List<MostrarLoteDTO> getMostrarLoteDTOS(List<Lote> lotes) {
-        List<String> idsProductos = lotes.stream()
-                .map(Lote::getIdProducto)
-                .distinct()
-                .toList();
+    private void validarNoVencido(Lote lote) throws LoteException {
+        if (lote.getEstado() == EstadoLote.VENCIDO) {
+            throw new LoteException(
+                    "El lote " + lote.getCodigoLote() + " está vencido (venció el " +
+                            lote.getFechaVencimiento() + ") y no puede modificarse"
+            );
+        }
+    }
 
-        List<Producto> productos = productoRepository.findAllById(idsProductos);
+    /**
+     * Un ajuste solo puede retirar unidades libres: las reservadas ya están comprometidas
+     * con pedidos pendientes y se venden al confirmarse su pago.
+     */
+    private void validarAjuste(Lote lote, int ajuste) throws LoteException {
+        if (lote.getEstado() == EstadoLote.BLOQUEADO) {
+            throw new LoteException("El lote " + lote.getCodigoLote() + " está bloqueado y no puede modificarse");
+        }
+        validarNoVencido(lote);
 
-        return lotes.stream()
-                .map(lote -> {
-                    String nombreProducto = productos.stream()
-                            .filter(p -> p.getIdProducto().equals(lote.getIdProducto()))
-                            .findFirst()
-                            .map(Producto::getNombreProducto)
-                            .orElse("Producto no disponible");
-
-                    return LoteMapper.toMostrarLoteDTO(lote, nombreProducto);
-                })
-                .toList();
+        if (ajuste > lote.cantidadLibre()) {
+            throw new LoteException(
+                    "Stock libre insuficiente en el lote " + lote.getCodigoLote() +
+                            ". Libre: " + lote.cantidadLibre() +
+                            " (reservadas: " + lote.getCantidadReservada() + ")" +
+                            ", requerido: " + ajuste
+            );
+        }
+    }
+
+    @NotNull
+    private List<MostrarLoteDTO> getMostrarLoteDTOS(List<Lote> lotes) {
+        return LoteMapper.toMostrarLoteDTOList(lotes, cargadorContextoMapeo.paraLotes(lotes));
     }
 
     private String obtenerNombreProducto(String idProducto) {
-        return productoRepository.findById(idProducto)
+        return productoCacheService.buscarPorId(idProducto)
                 .map(Producto::getNombreProducto)
                 .orElse("Producto no disponible");
     }
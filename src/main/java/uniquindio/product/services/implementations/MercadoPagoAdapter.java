@@ -10,6 +10,7 @@ import com.mercadopago.resources.payment.Payment;
 import com.mercadopago.resources.preference.Preference;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import uniquindio.product.configs.MercadoPagoProperties;
 import uniquindio.product.exceptions.PedidoException;
@@ -19,19 +20,20 @@ import uniquindio.product.model.documents.Pedido;
 import uniquindio.product.model.documents.Producto;
 import uniquindio.product.model.vo.DetallePedido;
 import uniquindio.product.model.vo.Pago;
-import uniquindio.product.repositories.ProductoRepository;
+import uniquindio.product.services.interfaces.ProductoCacheService;
 import uniquindio.product.services.interfaces.PasarelaPagoPort;
 
 import java.util.List;
 import java.util.Map;
 
 @Component
+@Profile("!carga")
 @RequiredArgsConstructor
 @Slf4j
 public class MercadoPagoAdapter implements PasarelaPagoPort {
 
     private final MercadoPagoProperties properties;
-    private final ProductoRepository productoRepository;
+    private final ProductoCacheService productoCacheService;
 
     @Override
     public Preference crearPreferencia(Pedido pedido) throws PedidoException {
@@ -83,7 +85,7 @@ public class MercadoPagoAdapter implements PasarelaPagoPort {
     }
 
     private PreferenceItemRequest mapItem(DetallePedido item) {
-        Producto producto = productoRepository.findById(item.getIdProducto())
+        Producto producto = productoCacheService.buscarPorId(item.getIdProducto())
                 .orElseThrow(() -> new ProductoException("Producto no encontrado: " + item.getIdProducto()));
 
         return PreferenceItemRequest.builder()
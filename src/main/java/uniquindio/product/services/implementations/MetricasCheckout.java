@@ -0,0 +1,91 @@
+package uniquindio.product.services.implementations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import uniquindio.product.exceptions.CarritoException;
+import uniquindio.product.exceptions.LoteException;
+import uniquindio.product.model.enums.FaseCheckout;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Temporizadores por fase del checkout ({@code checkout.fase}, con histograma de percentiles)
+ * y contadores de las fases que terminan en LoteException o CarritoException
+ * ({@code checkout.excepciones}). Los medidores se registran una vez al arrancar.
+ */
+@Component
+public class MetricasCheckout {
+
+    private final Map<FaseCheckout, Timer> temporizadores = new EnumMap<>(FaseCheckout.class);
+    private final Map<FaseCheckout, Counter> erroresLote = new EnumMap<>(FaseCheckout.class);
+    private final Map<FaseCheckout, Counter> erroresCarrito = new EnumMap<>(FaseCheckout.class);
+
+    public MetricasCheckout(MeterRegistry meterRegistry) {
+        for (FaseCheckout fase : FaseCheckout.values()) {
+            String etiqueta = fase.name().toLowerCase(Locale.ROOT);
+            temporizadores.put(fase, Timer.builder("checkout.fase")
+                    .description("Duración de cada fase del checkout, del carrito al descuento de stock")
+                    .tag("fase", etiqueta)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            erroresLote.put(fase, contador(meterRegistry, etiqueta, LoteException.class));
+            erroresCarrito.put(fase, contador(meterRegistry, etiqueta, CarritoException.class));
+        }
+    }
+
+    /**
+     * Ejecuta la fase midiendo su duración, también cuando falla.
+     *
+     * @return el resultado de la fase
+     */
+    public <T, E extends Exception> T medir(FaseCheckout fase, Fase<T, E> accion) throws E {
+        Timer.Sample muestra = Timer.start();
+        try {
+            return accion.ejecutar();
+        } catch (LoteException e) {
+            erroresLote.get(fase).increment();
+            throw e;
+        } catch (Exception e) {
+            if (e instanceof CarritoException) {
+                erroresCarrito.get(fase).increment();
+            }
+            throw e;
+        } finally {
+            muestra.stop(temporizadores.get(fase));
+        }
+    }
+
+    // Variante para fases sin resultado; con otro nombre para que las lambdas no sean ambiguas
+    public <E extends Exception> void medirPaso(FaseCheckout fase, Paso<E> accion) throws E {
+        medir(fase, () -> {
+            accion.ejecutar();
+            return null;
+        });
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private static Counter contador(MeterRegistry meterRegistry, String fase, Class<? extends Exception> excepcion) {
+        return Counter.builder("checkout.excepciones")
+                .description("Fases del checkout que terminaron en excepción")
+                .tag("fase", fase)
+                .tag("excepcion", excepcion.getSimpleName())
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface Fase<T, E extends Exception> {
+        T ejecutar() throws E;
+    }
+
+    @FunctionalInterface
+    public interface Paso<E extends Exception> {
+        void ejecutar() throws E;
+    }
+}
@@ -0,0 +1,77 @@
+package uniquindio.product.services.implementations;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uniquindio.product.configs.VencimientosProperties;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.services.interfaces.LoteService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Pasa a VENCIDO los lotes con stock cuya fecha de vencimiento ya llegó, para que las
+ * consultas de stock no tengan que filtrar por fecha.
+ * <p>
+ * Una vez al día carga en IndiceVencimientos los lotes que vencen dentro del horizonte;
+ * el resto de pasadas solo toma del índice los que ya vencieron, así una pasada sin
+ * vencimientos no consulta la base de datos. Cada bloque se vence en su propia transacción.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MotorVencimientos {
+
+    private final LoteService loteService;
+    private final LoteRepository loteRepository;
+    private final IndiceVencimientos indiceVencimientos;
+    private final VencimientosProperties vencimientosProperties;
+
+    // Día de la última carga del índice; solo lo usa el hilo del planificador
+    private LocalDate ultimaCarga;
+
+    @Scheduled(fixedDelayString = "${vencimientos.intervalo:PT1M}")
+    public void vencerLotes() {
+        LocalDate hoy = LocalDate.now();
+
+        if (!hoy.equals(ultimaCarga)) {
+            recargarIndice(hoy);
+        }
+
+        int tamanoLote = vencimientosProperties.getTamanoLote();
+        int vencidos = 0;
+        List<String> idsLotes;
+
+        while (!(idsLotes = indiceVencimientos.tomarVencidos(hoy, tamanoLote)).isEmpty()) {
+            try {
+                vencidos += loteService.vencerLotes(idsLotes);
+            } catch (RuntimeException e) {
+                // Se reintentan en la siguiente pasada
+                indiceVencimientos.devolver(idsLotes, hoy);
+                log.error("Error al vencer {} lotes: {}", idsLotes.size(), e.getMessage(), e);
+                break;
+            }
+        }
+
+        if (vencidos > 0) {
+            log.info("Motor de vencimientos: {} lotes vencidos hoy ({})", vencidos, hoy);
+        }
+    }
+
+    /**
+     * Carga los lotes con stock que vencen hasta hoy más el horizonte. Incluye los que
+     * otras instancias registraron o cambiaron desde la carga anterior.
+     */
+    private void recargarIndice(LocalDate hoy) {
+        LocalDate hasta = hoy.plusDays(vencimientosProperties.getHorizonte().toDays());
+        List<Lote> lotes = loteRepository.findByEstadoInAndFechaVencimientoLessThanEqual(
+                IndiceVencimientos.estadosConStock(), hasta);
+
+        indiceVencimientos.recargar(lotes, hasta);
+        ultimaCarga = hoy;
+        log.info("Índice de vencimientos cargado: {} lotes vencen hasta {}", lotes.size(), hasta);
+    }
+}
@@ -0,0 +1,134 @@
+package uniquindio.product.services.implementations;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uniquindio.product.configs.WebhookProperties;
+import uniquindio.product.dto.pedido.NotificacionPagoDTO;
+import uniquindio.product.model.documents.NotificacionPago;
+import uniquindio.product.model.documents.NotificacionPagoFallida;
+import uniquindio.product.model.enums.EstadoNotificacion;
+import uniquindio.product.repositories.NotificacionPagoFallidaRepository;
+import uniquindio.product.repositories.NotificacionPagoRepository;
+import uniquindio.product.services.interfaces.NotificacionPagoService;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class NotificacionPagoServiceImpl implements NotificacionPagoService {
+
+    private final NotificacionPagoRepository notificacionPagoRepository;
+    private final NotificacionPagoFallidaRepository notificacionPagoFallidaRepository;
+    private final WebhookProperties webhookProperties;
+
+    /**
+     * Registra la notificación para procesarla en segundo plano.
+     * Solo se encolan las notificaciones de tipo "payment" con ID de pago.
+     *
+     * @return true si se encoló; false si se ignoró o era un reenvío de una pendiente
+     */
+    @Override
+    public boolean encolar(NotificacionPagoDTO notificacion) {
+        if (notificacion == null || !"payment".equals(notificacion.type())
+                || notificacion.data() == null || notificacion.data().id() == null) {
+            log.info("Notificación ignorada: {}", notificacion != null ? notificacion.type() : null);
+            return false;
+        }
+
+        String idPago = notificacion.data().id();
+        boolean encolada = notificacionPagoRepository.encolar(
+                UUID.randomUUID().toString(), idPago, LocalDateTime.now()) == 1;
+
+        if (!encolada) {
+            log.debug("Notificación duplicada del pago {} descartada", idPago);
+        }
+        return encolada;
+    }
+
+    /**
+     * Toma hasta {@code maximo} notificaciones listas (pendientes, o en proceso con el
+     * reclamo vencido) y las marca EN_PROCESO con un nuevo plazo de reclamo.
+     */
+    @Override
+    public List<NotificacionPago> reclamarPendientes(int maximo) {
+        LocalDateTime ahora = LocalDateTime.now();
+
+        List<NotificacionPago> listas = notificacionPagoRepository
+                .findByEstadoInAndProximoIntentoLessThanEqualOrderByProximoIntentoAsc(
+                        EnumSet.of(EstadoNotificacion.PENDIENTE, EstadoNotificacion.EN_PROCESO),
+                        ahora,
+                        Limit.of(maximo)
+                );
+
+        LocalDateTime venceReclamo = ahora.plus(webhookProperties.getDuracionReclamo());
+        for (NotificacionPago notificacion : listas) {
+            notificacion.setEstado(EstadoNotificacion.EN_PROCESO);
+            notificacion.setProximoIntento(venceReclamo);
+        }
+
+        return listas;
+    }
+
+    @Override
+    public void marcarProcesada(String idNotificacion) {
+        if (notificacionPagoRepository.marcarProcesada(idNotificacion, LocalDateTime.now()) == 0) {
+            log.info("La notificación {} se reabrió durante el procesamiento; se procesará de nuevo", idNotificacion);
+        }
+    }
+
+    /**
+     * Programa un reintento con espera exponencial o, si se agotaron los intentos,
+     * mueve la notificación a la tabla de fallidas.
+     */
+    @Override
+    public void registrarFallo(String idNotificacion, String error) {
+        NotificacionPago notificacion = notificacionPagoRepository.findById(idNotificacion).orElse(null);
+
+        // Si un nuevo aviso la reabrió, el reintento ya está programado
+        if (notificacion == null || notificacion.getEstado() != EstadoNotificacion.EN_PROCESO) {
+            return;
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        int intentos = notificacion.getIntentos() + 1;
+        String ultimoError = Reintentos.recortarError(error);
+
+        notificacion.setIntentos(intentos);
+        notificacion.setUltimoError(ultimoError);
+
+        if (intentos >= webhookProperties.getMaxIntentos()) {
+            notificacion.setEstado(EstadoNotificacion.DESCARTADA);
+            notificacionPagoFallidaRepository.save(new NotificacionPagoFallida(
+                    null,
+                    notificacion.getIdPago(),
+                    intentos,
+                    ultimoError,
+                    notificacion.getFechaRecepcion(),
+                    ahora
+            ));
+            log.error("Notificación del pago {} descartada tras {} intentos: {}",
+                    notificacion.getIdPago(), intentos, ultimoError);
+            return;
+        }
+
+        notificacion.setEstado(EstadoNotificacion.PENDIENTE);
+        notificacion.setProximoIntento(ahora.plus(Reintentos.espera(intentos,
+                webhookProperties.getEsperaInicial(), webhookProperties.getEsperaMaxima())));
+        log.warn("Fallo procesando la notificación del pago {} (intento {}): {}",
+                notificacion.getIdPago(), intentos, ultimoError);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long contarPendientes() {
+        return notificacionPagoRepository.countByEstado(EstadoNotificacion.PENDIENTE);
+    }
+}
@@ -0,0 +1,87 @@
+package uniquindio.product.services.implementations;
+
+import com.mercadopago.resources.preference.Preference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import uniquindio.product.configs.SimulacionProperties;
+import uniquindio.product.exceptions.PedidoException;
+import uniquindio.product.model.documents.Pedido;
+import uniquindio.product.model.enums.EstadoPago;
+import uniquindio.product.model.enums.Moneda;
+import uniquindio.product.model.enums.TipoPago;
+import uniquindio.product.model.vo.Pago;
+import uniquindio.product.services.interfaces.PasarelaPagoPort;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pasarela en memoria para las pruebas de carga (perfil "carga"): reemplaza a
+ * MercadoPagoAdapter con la latencia y los fallos de {@link SimulacionProperties}.
+ * Cada preferencia creada queda como un pago aprobado por el total del pedido, y su ID de
+ * pago es el ID del pedido, que es como registrarPago ubica el pedido.
+ */
+@Slf4j
+@Component
+@Profile("carga")
+@RequiredArgsConstructor
+public class PasarelaPagoSimulada implements PasarelaPagoPort {
+
+    private final SimulacionProperties simulacionProperties;
+
+    // Total de cada pedido con preferencia creada, por ID de pedido
+    private final Map<String, BigDecimal> pagosPorPedido = new ConcurrentHashMap<>();
+
+    /**
+     * El SDK no permite asignar campos a una Preference, así que se devuelve vacía:
+     * el flujo solo usa su ID para el código de pasarela, que queda nulo.
+     */
+    @Override
+    public Preference crearPreferencia(Pedido pedido) throws PedidoException {
+        if (llamar()) {
+            throw new PedidoException("Error creando preferencia de pago");
+        }
+
+        pagosPorPedido.put(pedido.getId(), pedido.getTotal());
+        return new Preference();
+    }
+
+    @Override
+    public Pago obtenerPago(String idPago) throws PedidoException {
+        if (llamar()) {
+            throw new PedidoException("Error al obtener pago desde pasarela");
+        }
+
+        BigDecimal total = pagosPorPedido.get(idPago);
+        if (total == null) {
+            log.warn("Pago simulado {} no encontrado", idPago);
+            throw new PedidoException("Error al obtener pago desde pasarela");
+        }
+
+        Pago pago = new Pago();
+        pago.setIdPago(idPago);
+        pago.setFecha(OffsetDateTime.now());
+        pago.setEstado(EstadoPago.APROBADO);
+        pago.setDetalleEstado("accredited");
+        pago.setTipoPago(TipoPago.TARJETA_CREDITO);
+        pago.setMoneda(Moneda.COP);
+        pago.setCodigoAutorizacion(UUID.randomUUID().toString().substring(0, 8));
+        pago.setValorTransaccion(total);
+        pago.setMetodoPago("visa");
+        return pago;
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private boolean llamar() {
+        return LlamadaSimulada.ejecutar(simulacionProperties.getLatenciaPasarela(),
+                simulacionProperties.getVariacion(), simulacionProperties.getFallosPasarela());
+    }
+}
@@ -2,27 +2,37 @@ package uniquindio.product.services.implementations;
 
 import com.mercadopago.resources.preference.Preference;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import uniquindio.product.configs.EventosJfr;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.dto.pedido.*;
 import uniquindio.product.exceptions.*;
+import uniquindio.product.mapper.ContextoMapeo;
 import uniquindio.product.mapper.PedidoMapper;
+import uniquindio.product.mapper.PaginacionMapper;
 import uniquindio.product.model.documents.*;
-import uniquindio.product.model.enums.EstadoLote;
 import uniquindio.product.model.enums.EstadoPago;
 import uniquindio.product.model.enums.EstadoPedido;
+import uniquindio.product.model.enums.FaseCheckout;
+import uniquindio.product.model.vo.CambioStock;
 import uniquindio.product.model.vo.DetalleCarrito;
 import uniquindio.product.model.vo.DetallePedido;
 import uniquindio.product.model.vo.Pago;
+import uniquindio.product.model.vo.PlanAsignacionLotes;
 import uniquindio.product.repositories.*;
+import uniquindio.product.services.interfaces.EmailService;
 import uniquindio.product.services.interfaces.LoteService;
 import uniquindio.product.services.interfaces.PasarelaPagoPort;
 import uniquindio.product.services.interfaces.PedidoService;
+import uniquindio.product.services.interfaces.ReservaStockService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,9 +48,16 @@ public class PedidoServiceImpl implements PedidoService {
     private final LoteRepository loteRepository;
     private final PasarelaPagoPort pasarelaPagoPort;
     private final LoteService loteService;
-    private final InventarioRepository inventarioRepository;
+    private final ExistenciaLoteRepository existenciaLoteRepository;
+    private final ReservaStockService reservaStockService;
+    private final UsuarioRepository usuarioRepository;
+    private final EmailService emailService;
+    private final StockProductoRepository stockProductoRepository;
+    private final CargadorContextoMapeo cargadorContextoMapeo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasCheckout metricasCheckout;
 
-    private static final String INVENTARIO_ID = "inventario-principal";
+    private static final int MAX_REINTENTOS_DESCUENTO = 3;
 
     private List<DetallePedidoDTO> convertirCarritoADetallePedidoDTO(List<DetalleCarrito> itemsCarrito) {
         if (itemsCarrito == null || itemsCarrito.isEmpty()) {
@@ -56,12 +73,15 @@ public class PedidoServiceImpl implements PedidoService {
     public MostrarPedidoDTO crearPedidoDesdeCarrito(String idCliente)
             throws CarritoException, ProductoException {
 
-        Carrito carrito = carritoRepository.findByUsuarioId(idCliente)
-                .orElseThrow(() -> new CarritoException("No se encontró el carrito para el usuario con ID: " + idCliente));
+        Carrito carrito = metricasCheckout.medir(FaseCheckout.CARGA_CARRITO, () -> {
+            Carrito encontrado = carritoRepository.findByUsuarioId(idCliente)
+                    .orElseThrow(() -> new CarritoException("No se encontró el carrito para el usuario con ID: " + idCliente));
 
-        if (carrito.getItems().isEmpty()) {
-            throw new CarritoException("El carrito debe tener al menos un producto.");
-        }
+            if (encontrado.getItems().isEmpty()) {
+                throw new CarritoException("El carrito debe tener al menos un producto.");
+            }
+            return encontrado;
+        });
 
         // Convertimos los items del carrito en detalle del pedido
         List<DetallePedidoDTO> detallesPedidoDTO = convertirCarritoADetallePedidoDTO(carrito.getItems());
@@ -85,85 +105,65 @@ public class PedidoServiceImpl implements PedidoService {
     private MostrarPedidoDTO crearPedido(CrearPedidoDTO pedidoDTO)
             throws ProductoException, LoteException {
 
-        List<String> idsProductos = pedidoDTO.detallePedido().stream()
-                .map(DetallePedidoDTO::idProducto)
-                .toList();
+        EventosJfr.CreacionPedido evento = new EventosJfr.CreacionPedido();
+        evento.begin();
 
-        List<Producto> productos = productoRepository.findAllById(idsProductos);
+        Map<String, Integer> cantidadesPorProducto = new LinkedHashMap<>();
+        for (DetallePedidoDTO item : pedidoDTO.detallePedido()) {
+            cantidadesPorProducto.merge(item.idProducto(), item.cantidad(), Integer::sum);
+        }
+        evento.idCliente = pedidoDTO.idCliente();
+        evento.productos = cantidadesPorProducto.size();
 
-        if (productos.size() != idsProductos.size()) {
+        List<Producto> productos = metricasCheckout.medir(FaseCheckout.CONSULTA_PRODUCTOS,
+                () -> productoRepository.findAllById(cantidadesPorProducto.keySet()));
+
+        if (productos.size() != cantidadesPorProducto.size()) {
             throw new ProductoException("Uno o más productos no existen en la base de datos.");
         }
 
-        // Seleccionar lotes con FEFO (solo verifica disponibilidad, NO reduce)
-        Map<String, Lote> lotesAsignados = new HashMap<>();
-        for (DetallePedidoDTO item : pedidoDTO.detallePedido()) {
-            // Selecciona el lote más próximo a vencer con stock suficiente
-            Lote lote = loteService.seleccionarLoteFEFO(item.idProducto(), item.cantidad());
-            lotesAsignados.put(item.idProducto(), lote);
-        }
+        // Repartir cada línea entre lotes FEFO y retener las unidades mientras se espera el pago
+        PlanAsignacionLotes plan = metricasCheckout.medir(FaseCheckout.SELECCION_FEFO,
+                () -> reservaStockService.reservar(cantidadesPorProducto));
 
         // Crear pedido con lotes asignados
-        Pedido pedido = PedidoMapper.toEntity(pedidoDTO, productos, lotesAsignados);
+        ContextoMapeo contexto = ContextoMapeo.de(productos, plan.lotes());
+        Pedido pedido = PedidoMapper.toEntity(pedidoDTO, contexto, plan);
         pedido.setEstado(EstadoPedido.PENDIENTE);
         pedido.setPago(null);
         pedido.setCodigoPasarela(null);
 
-        Pedido pedidoGuardado = pedidoRepository.save(pedido);
+        Pedido pedidoGuardado = metricasCheckout.medir(FaseCheckout.GUARDADO_PEDIDO, () -> {
+            Pedido guardado = pedidoRepository.save(pedido);
+            reservaStockService.registrarReservas(guardado.getId(), plan);
+            return guardado;
+        });
+        evento.idPedido = pedidoGuardado.getId();
+        evento.commit();
 
-        log.info("Pedido creado (stock NO reducido aún): {} - Cliente: {}",
+        log.info("Pedido creado (stock reservado, NO reducido aún): {} - Cliente: {}",
                 pedidoGuardado.getId(),
                 pedidoDTO.idCliente());
 
-        List<Lote> lotes = new ArrayList<>(lotesAsignados.values());
-
-        return PedidoMapper.toMostrarPedidoDTO(pedidoGuardado, productos, lotes);
+        return PedidoMapper.toMostrarPedidoDTO(pedidoGuardado, contexto);
     }
 
     @Override
     public MostrarPedidoDTO mostrarPedido(String idPedido) throws ProductoException, PedidoException {
         Pedido pedido = obtenerPedidoPorId(idPedido);
-
-        List<String> idsProductos = pedido.getDetalle().stream()
-                .map(DetallePedido::getIdProducto)
-                .distinct()
-                .toList();
-
-        List<String> idsLotes = pedido.getDetalle().stream()
-                .map(DetallePedido::getIdLote)
-                .distinct()
-                .toList();
-
-        List<Producto> productos = productoRepository.findAllById(idsProductos);
-        List<Lote> lotes = loteRepository.findAllById(idsLotes);
-
-        return PedidoMapper.toMostrarPedidoDTO(pedido, productos, lotes);
+        return PedidoMapper.toMostrarPedidoDTO(pedido, cargadorContextoMapeo.paraPedidos(List.of(pedido)));
     }
 
     @Override
-    public List<PedidoResponseDTO> obtenerPedidosPorCliente(String idCliente) throws ProductoException {
-        List<Pedido> pedidos = pedidoRepository.findByIdCliente(idCliente);
-
-        if (pedidos.isEmpty()) {
-            return List.of();
-        }
-
-        List<String> idsProductos = pedidos.stream()
-                .flatMap(p -> p.getDetalle().stream().map(DetallePedido::getIdProducto))
-                .distinct()
-                .toList();
-
-        List<String> idsLotes = pedidos.stream()
-                .flatMap(p -> p.getDetalle().stream().map(DetallePedido::getIdLote))
-                .distinct()
-                .toList();
-
-        List<Producto> productos = productoRepository.findAllById(idsProductos);
-        List<Lote> lotes = loteRepository.findAllById(idsLotes);
+    public PaginaDTO<PedidoResponseDTO> obtenerPedidosPorCliente(String idCliente, String cursor, int tamano) {
+        int tamanoPagina = PaginacionMapper.normalizarTamano(tamano);
+        List<Pedido> pedidos = pedidoRepository.findByIdClienteAndIdGreaterThanOrderByIdAsc(
+                idCliente,
+                PaginacionMapper.decodificarCursor(cursor),
+                Limit.of(PaginacionMapper.filasAConsultar(tamanoPagina))
+        );
 
-        return pedidos.stream()
-                .map(pedido -> PedidoMapper.toPedidoResponseDTO(pedido, productos, lotes))
-                .toList();
+        return PaginacionMapper.toPaginaDTO(pedidos, tamanoPagina, Pedido::getId, this::toPedidoResponseDTOs);
     }
 
     @Override
@@ -173,6 +173,7 @@ public class PedidoServiceImpl implements PedidoService {
                         String.format("No se encontró el pedido con ID: %s", id)
                 ));
 
+        reservaStockService.liberarReservas(pedido.getId());
         pedidoRepository.delete(pedido);
     }
 
@@ -180,6 +181,19 @@ public class PedidoServiceImpl implements PedidoService {
     // Métodos privados auxiliares
     // ==============================
 
+    // Un solo contexto para toda la página: productos y lotes en dos consultas, no por pedido
+    private List<PedidoResponseDTO> toPedidoResponseDTOs(List<Pedido> pedidos) {
+        if (pedidos.isEmpty()) {
+            return List.of();
+        }
+
+        ContextoMapeo contexto = cargadorContextoMapeo.paraPedidos(pedidos);
+
+        return pedidos.stream()
+                .map(pedido -> PedidoMapper.toPedidoResponseDTO(pedido, contexto))
+                .toList();
+    }
+
     private Pedido obtenerPedidoPorId(String id) throws PedidoException {
         if (id == null || id.isBlank()) {
             throw new PedidoException("El ID del pedido no puede ser nulo o vacío.");
@@ -196,7 +210,8 @@ public class PedidoServiceImpl implements PedidoService {
         Pedido pedido = pedidoRepository.findById(idPedido)
                 .orElseThrow(() -> new PedidoException("Pedido no encontrado: " + idPedido));
 
-        Preference preference = pasarelaPagoPort.crearPreferencia(pedido);
+        Preference preference = metricasCheckout.medir(FaseCheckout.CREACION_PREFERENCIA,
+                () -> pasarelaPagoPort.crearPreferencia(pedido));
 
         pedido.setCodigoPasarela(preference.getId());
         pedidoRepository.save(pedido);
@@ -204,19 +219,25 @@ public class PedidoServiceImpl implements PedidoService {
         return preference;
     }
 
+    /**
+     * Aplica al pedido el estado de un pago ya consultado en la pasarela.
+     * El pedido se bloquea mientras se actualiza, así que dos avisos del mismo pago
+     * se aplican uno tras otro y un pago ya aprobado no vuelve a descontar stock.
+     */
     @Override
-    public void recibirNotificacionMercadoPago(NotificacionPagoDTO notificacion) throws PedidoException {
-        if (!"payment".equals(notificacion.type())) {
-            log.info("Notificación ignorada: {}", notificacion.type());
-            return;
-        }
-
-        Pago pago = pasarelaPagoPort.obtenerPago(notificacion.data().id());
+    @Transactional(rollbackFor = PedidoException.class)
+    public void registrarPago(Pago pago) throws PedidoException {
         String idPedido = pago.getIdPago(); // O extraer del metadata según tu mapper
 
-        Pedido pedido = pedidoRepository.findById(idPedido)
+        Pedido pedido = pedidoRepository.findByIdParaActualizar(idPedido)
                 .orElseThrow(() -> new PedidoException("Pedido no encontrado: " + idPedido));
 
+        if (pago.getEstado() == EstadoPago.APROBADO && pedido.getPago() != null
+                && pedido.getPago().getEstado() == EstadoPago.APROBADO) {
+            log.info("El pago del pedido {} ya estaba aprobado; aviso repetido ignorado", idPedido);
+            return;
+        }
+
         pedido.setPago(pago);
         pedido.setTotal(pago.getValorTransaccion());
         pedido.setEstado(mapEstadoPedido(pago.getEstado()));
@@ -224,62 +245,137 @@ public class PedidoServiceImpl implements PedidoService {
         // Reducir stock solo si el pago fue aprobado
         if (pago.getEstado() == EstadoPago.APROBADO) {
             try {
-                reducirStockDelPedido(pedido);
+                metricasCheckout.medirPaso(FaseCheckout.REDUCCION_STOCK, () -> reducirStockDelPedido(pedido));
             } catch (ProductoException | LoteException | InventarioException e) {
                 log.error("Error al reducir stock para el pedido {}: {}", idPedido, e.getMessage());
                 throw new PedidoException("Error al procesar el inventario del pedido: " + e.getMessage());
             }
+            encolarConfirmacion(pedido);
+        } else if (pedido.getEstado() == EstadoPedido.CANCELADO) {
+            reservaStockService.liberarReservas(idPedido);
         }
         pedidoRepository.save(pedido);
     }
 
+    /**
+     * Encola el correo de confirmación en la misma transacción que aprueba el pedido.
+     */
+    private void encolarConfirmacion(Pedido pedido) {
+        usuarioRepository.findById(pedido.getIdCliente()).ifPresentOrElse(
+                cliente -> {
+                    List<String> idsProductos = pedido.getDetalle().stream()
+                            .map(DetallePedido::getIdProducto)
+                            .distinct()
+                            .toList();
+                    emailService.encolarCorreo(PedidoMapper.toEmailConfirmacionDTO(
+                            cliente.getCorreoElectronico(), pedido, cargadorContextoMapeo.paraProductos(idsProductos)));
+                },
+                () -> log.warn("No se encontró el cliente {} del pedido {}; no se envía confirmación",
+                        pedido.getIdCliente(), pedido.getId()));
+    }
+
     private void reducirStockDelPedido(Pedido pedido)
             throws ProductoException, LoteException, InventarioException {
 
-        // Obtener inventario
-        Inventario inventario = inventarioRepository.findById(INVENTARIO_ID)
-                .orElseThrow(() -> new InventarioException("Inventario no inicializado"));
+        EventosJfr.DescuentoStock evento = new EventosJfr.DescuentoStock();
+        evento.begin();
+        evento.idPedido = pedido.getId();
 
-        for (DetallePedido detalle : pedido.getDetalle()) {
-            int cantidadRestante = detalle.getCantidad();
+        LocalDateTime ahora = LocalDateTime.now();
 
-            while (cantidadRestante > 0) {
-                // Seleccionar lote FEFO
-                Lote loteSeleccionado = loteService.seleccionarLoteFEFO(
-                        detalle.getIdProducto(),
-                        cantidadRestante
-                );
+        // El detalle se lee una sola vez, antes de los UPDATE de lotes
+        List<DetallePedido> lineas = List.copyOf(pedido.getDetalle());
 
-                int cantidadLote = loteSeleccionado.getCantidadDisponible();
-                int cantidadADescontar = Math.min(cantidadLote, cantidadRestante);
+        // Primero se venden las unidades reservadas al crear el pedido
+        Map<String, Integer> vendidasPorLote = reservaStockService.confirmarReservas(pedido.getId());
 
-                //Reducir en Inventario (almacén físico)
-                inventario.reducirCantidadLote(loteSeleccionado.getId(), cantidadADescontar);
+        // Si la reserva venció y fue liberada, lo que falte se toma del stock libre del lote
+        // registrado en la línea; solo lo que ese lote ya no cubre pasa a planificarse en FEFO
+        Map<String, Integer> pendientes = new LinkedHashMap<>();
+        for (DetallePedido linea : lineas) {
+            int faltante = linea.getCantidad() - vendidasPorLote.getOrDefault(linea.getIdLote(), 0);
+            if (faltante <= 0) {
+                continue;
+            }
 
-                //Reducir en Lote (registro de producción)
-                loteSeleccionado.setCantidadDisponible(
-                        loteSeleccionado.getCantidadDisponible() - cantidadADescontar
-                );
+            int delLote = Math.min(faltante, loteRepository.unidadesLibres(linea.getIdLote()));
+            if (delLote > 0 && descontarDeLote(linea.getIdLote(), delLote, ahora)) {
+                faltante -= delLote;
+            }
+            if (faltante > 0) {
+                pendientes.merge(linea.getIdProducto(), faltante, Integer::sum);
+            }
+        }
 
-                if (loteSeleccionado.getCantidadDisponible() == 0) {
-                    loteSeleccionado.setEstado(EstadoLote.AGOTADO);
-                }
+        // Un plan FEFO por intento (una consulta); solo se replanifica lo que perdió la carrera
+        for (int intento = 0; intento < MAX_REINTENTOS_DESCUENTO && !pendientes.isEmpty(); intento++) {
+            PlanAsignacionLotes plan = loteService.planificarAsignacionFEFO(pendientes);
+            pendientes = aplicarPlan(plan, ahora);
+            evento.intentos++;
+            if (!pendientes.isEmpty()) {
+                loteRepository.refrescar(plan.lotes());
+            }
+        }
 
-                loteRepository.save(loteSeleccionado);
+        if (!pendientes.isEmpty()) {
+            evento.commit();
+            throw new LoteException(
+                    "No se pudo descontar el stock del pedido " + pedido.getId() +
+                            " por ventas concurrentes. Pendiente: " + pendientes
+            );
+        }
 
-                cantidadRestante -= cantidadADescontar;
+        // Un solo recálculo del resumen, después del último cambio de lotes del pago
+        List<String> idsProductos = lineas.stream()
+                .map(DetallePedido::getIdProducto)
+                .distinct()
+                .toList();
+        stockProductoRepository.recalcular(idsProductos);
+        eventPublisher.publishEvent(new CambioStock(idsProductos));
+        evento.commit();
 
-                log.debug("Reducido {} unidades del lote {} (quedan {})",
-                        cantidadADescontar,
-                        loteSeleccionado.getCodigoLote(),
-                        loteSeleccionado.getCantidadDisponible());
+        log.info("Stock reducido correctamente (Inventario + Lotes) para el pedido: {}", pedido.getId());
+    }
+
+    /**
+     * Aplica un plan de asignación con un UPDATE condicional por lote.
+     * Si otro pago se adelantó sobre un lote, el UPDATE no afecta filas y esa
+     * cantidad se devuelve como pendiente para volver a planificarla.
+     *
+     * @return cantidades que no se pudieron descontar, por ID de producto
+     */
+    private Map<String, Integer> aplicarPlan(PlanAsignacionLotes plan, LocalDateTime ahora)
+            throws InventarioException {
+
+        Map<String, Integer> pendientes = new LinkedHashMap<>();
+
+        for (PlanAsignacionLotes.Asignacion asignacion : plan.asignaciones()) {
+            if (!descontarDeLote(asignacion.lote().getId(), asignacion.cantidad(), ahora)) {
+                pendientes.merge(asignacion.idProducto(), asignacion.cantidad(), Integer::sum);
             }
         }
 
-        // Guardar inventario actualizado
-        inventarioRepository.save(inventario);
+        return pendientes;
+    }
 
-        log.info("Stock reducido correctamente (Inventario + Lotes) para el pedido: {}", pedido.getId());
+    /**
+     * Descuenta unidades libres de un lote y de su existencia en el almacén.
+     *
+     * @return false si el lote ya no estaba disponible o no le alcanzaba
+     */
+    private boolean descontarDeLote(String idLote, int cantidad, LocalDateTime ahora) throws InventarioException {
+        //Reducir en Lote (registro de producción); AGOTADO se asigna en la misma sentencia
+        if (!loteRepository.descontarSiDisponible(idLote, cantidad)) {
+            return false;
+        }
+
+        //Reducir en Inventario (almacén físico), una sola fila por lote
+        if (existenciaLoteRepository.descontarCantidad(idLote, cantidad, ahora) == 0) {
+            throw new InventarioException("Cantidad insuficiente en inventario para el lote " + idLote);
+        }
+
+        log.debug("Reducido {} unidades del lote {}", cantidad, idLote);
+        return true;
     }
 
     private EstadoPedido mapEstadoPedido(EstadoPago estadoPago) {
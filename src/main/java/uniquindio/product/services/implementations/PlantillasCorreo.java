@@ -0,0 +1,86 @@
+package uniquindio.product.services.implementations;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import uniquindio.product.dto.email.EmailDTO;
+import uniquindio.product.model.enums.TipoCorreo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Arma el HTML de los correos a partir de las plantillas de templates/correos.
+ * <p>
+ * El marco común (estilos, cabecera del documento y pie) es estático: se lee una vez al
+ * iniciar y se parte en tres trozos fijos. Solo el contenido de cada tipo de correo pasa
+ * por Thymeleaf, que guarda las plantillas ya analizadas en su caché
+ * (spring.thymeleaf.cache=true); al iniciar se procesa cada una para que ningún envío
+ * pague el análisis.
+ */
+@Component
+public class PlantillasCorreo {
+
+    private static final String MARCO = "templates/correos/marco.html";
+    private static final String MARCA_ASUNTO = "<!--asunto-->";
+    private static final String MARCA_CONTENIDO = "<!--contenido-->";
+    private static final Locale LOCALE = Locale.forLanguageTag("es-CO");
+
+    private final ITemplateEngine motorPlantillas;
+    private final Map<TipoCorreo, String> plantillas = new EnumMap<>(TipoCorreo.class);
+
+    private String inicioMarco;
+    private String centroMarco;
+    private String finMarco;
+
+    public PlantillasCorreo(ITemplateEngine motorPlantillas) {
+        this.motorPlantillas = motorPlantillas;
+    }
+
+    @PostConstruct
+    public void inicializar() throws IOException {
+        String marco = new ClassPathResource(MARCO).getContentAsString(StandardCharsets.UTF_8);
+        int asunto = marco.indexOf(MARCA_ASUNTO);
+        int contenido = marco.indexOf(MARCA_CONTENIDO);
+        if (asunto < 0 || contenido < asunto) {
+            throw new IllegalStateException("El marco de correos no tiene las marcas de asunto y contenido");
+        }
+        inicioMarco = marco.substring(0, asunto);
+        centroMarco = marco.substring(asunto + MARCA_ASUNTO.length(), contenido);
+        finMarco = marco.substring(contenido + MARCA_CONTENIDO.length());
+
+        for (TipoCorreo tipo : TipoCorreo.values()) {
+            String plantilla = "correos/" + tipo.name().toLowerCase(Locale.ROOT);
+            // Procesarla una vez deja la plantilla analizada en la caché del motor
+            motorPlantillas.process(plantilla, new Context(LOCALE));
+            plantillas.put(tipo, plantilla);
+        }
+    }
+
+    /**
+     * Genera el HTML completo del correo: marco común más el contenido de su tipo.
+     *
+     * @param emailDTO tipo, asunto y variables del correo
+     * @return documento HTML listo para enviar
+     */
+    public String renderizar(EmailDTO emailDTO) {
+        String contenido = motorPlantillas.process(
+                plantillas.get(emailDTO.tipo()), new Context(LOCALE, emailDTO.variables()));
+        String asunto = HtmlUtils.htmlEscape(emailDTO.asunto(), "UTF-8");
+
+        return new StringBuilder(inicioMarco.length() + asunto.length() + centroMarco.length()
+                + contenido.length() + finMarco.length())
+                .append(inicioMarco)
+                .append(asunto)
+                .append(centroMarco)
+                .append(contenido)
+                .append(finMarco)
+                .toString();
+    }
+}
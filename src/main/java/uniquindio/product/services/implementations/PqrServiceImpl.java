@@ -1,16 +1,19 @@
 package uniquindio.product.services.implementations;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.dto.pqr.CrearPqrDTO;
 import uniquindio.product.dto.pqr.PqrResponseDTO;
+import uniquindio.product.mapper.PaginacionMapper;
 import uniquindio.product.mapper.PqrMapper;
 import uniquindio.product.model.documents.PQR;
 import uniquindio.product.repositories.PqrRepository;
 import uniquindio.product.repositories.ProductoRepository;
 import uniquindio.product.services.interfaces.PqrService;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static uniquindio.product.mapper.PqrMapper.toEntity;
@@ -57,13 +60,15 @@ public class PqrServiceImpl implements PqrService {
     }
 
     @Override
-    public List<PqrResponseDTO> consultarTodasPqr() {
-        List<PQR> pqrs = pqrRepository.findAll();
-        List<PqrResponseDTO> pqrDTOs = new ArrayList<>();
-        for (PQR pqr : pqrs) {
-            pqrDTOs.add(PqrMapper.toResponseDTO(pqr));
-        }
-        return pqrDTOs;
+    @Transactional(readOnly = true)
+    public PaginaDTO<PqrResponseDTO> consultarTodasPqr(String cursor, int tamano) {
+        int tamanoPagina = PaginacionMapper.normalizarTamano(tamano);
+        // La consulta arma los DTO directamente; no se cargan entidades PQR
+        List<PqrResponseDTO> pqrs = pqrRepository.findResponseByIdPqrGreaterThan(
+                PaginacionMapper.decodificarCursor(cursor),
+                Limit.of(PaginacionMapper.filasAConsultar(tamanoPagina))
+        );
+        return PaginacionMapper.toPaginaDTO(pqrs, tamanoPagina, PqrResponseDTO::idPqr, pagina -> pagina);
     }
 
 }
@@ -0,0 +1,109 @@
+package uniquindio.product.services.implementations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import uniquindio.product.configs.AsyncConfig;
+import uniquindio.product.configs.EventosJfr;
+import uniquindio.product.model.documents.NotificacionPago;
+import uniquindio.product.model.enums.FaseCheckout;
+import uniquindio.product.model.vo.Pago;
+import uniquindio.product.services.interfaces.NotificacionPagoService;
+import uniquindio.product.services.interfaces.PasarelaPagoPort;
+import uniquindio.product.services.interfaces.PedidoService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Procesa en segundo plano las notificaciones de pago encoladas por el webhook.
+ * Cada pasada reclama solo las que caben en el pool de trabajadores; la consulta del
+ * pago a MercadoPago se hace fuera de la transacción que actualiza el pedido.
+ */
+@Slf4j
+@Component
+public class ProcesadorNotificacionesPago {
+
+    private final NotificacionPagoService notificacionPagoService;
+    private final PasarelaPagoPort pasarelaPagoPort;
+    private final PedidoService pedidoService;
+    private final ThreadPoolTaskExecutor executor;
+    private final MetricasCheckout metricasCheckout;
+
+    private final Timer tiempoProcesamiento;
+    private final Timer tiempoEnCola;
+    private final Counter procesadas;
+    private final Counter fallidas;
+
+    public ProcesadorNotificacionesPago(NotificacionPagoService notificacionPagoService,
+                                        PasarelaPagoPort pasarelaPagoPort,
+                                        PedidoService pedidoService,
+                                        @Qualifier(AsyncConfig.EJECUTOR_NOTIFICACIONES_PAGO) ThreadPoolTaskExecutor executor,
+                                        MetricasCheckout metricasCheckout,
+                                        MeterRegistry meterRegistry) {
+        this.notificacionPagoService = notificacionPagoService;
+        this.pasarelaPagoPort = pasarelaPagoPort;
+        this.pedidoService = pedidoService;
+        this.executor = executor;
+        this.metricasCheckout = metricasCheckout;
+
+        Gauge.builder("webhooks.pagos.cola", notificacionPagoService, NotificacionPagoService::contarPendientes)
+                .description("Notificaciones de pago pendientes en la base de datos")
+                .register(meterRegistry);
+        Gauge.builder("webhooks.pagos.en_memoria", executor, e -> e.getActiveCount() + e.getQueueSize())
+                .description("Notificaciones reclamadas que se procesan o esperan un trabajador")
+                .register(meterRegistry);
+        this.tiempoProcesamiento = Timer.builder("webhooks.pagos.procesamiento")
+                .description("Consulta del pago y actualización del pedido")
+                .register(meterRegistry);
+        this.tiempoEnCola = Timer.builder("webhooks.pagos.latencia")
+                .description("Desde la recepción de la notificación hasta que queda procesada")
+                .register(meterRegistry);
+        this.procesadas = Counter.builder("webhooks.pagos.resultado").tag("resultado", "procesada").register(meterRegistry);
+        this.fallidas = Counter.builder("webhooks.pagos.resultado").tag("resultado", "fallo").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${webhooks.intervalo-sondeo:PT1S}")
+    public void despachar() {
+        int capacidad = executor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (capacidad == 0) {
+            return;
+        }
+
+        List<NotificacionPago> reclamadas = notificacionPagoService.reclamarPendientes(capacidad);
+        for (NotificacionPago notificacion : reclamadas) {
+            executor.execute(() -> procesar(notificacion));
+        }
+    }
+
+    public void procesar(NotificacionPago notificacion) {
+        Timer.Sample muestra = Timer.start();
+        EventosJfr.ProcesamientoWebhook evento = new EventosJfr.ProcesamientoWebhook();
+        evento.begin();
+        evento.idNotificacion = notificacion.getId();
+        evento.idPago = notificacion.getIdPago();
+        try {
+            Pago pago = metricasCheckout.medir(FaseCheckout.CONSULTA_PAGO,
+                    () -> pasarelaPagoPort.obtenerPago(notificacion.getIdPago()));
+            pedidoService.registrarPago(pago);
+            notificacionPagoService.marcarProcesada(notificacion.getId());
+
+            evento.exitoso = true;
+            procesadas.increment();
+            tiempoEnCola.record(Duration.between(notificacion.getFechaRecepcion(), LocalDateTime.now()));
+        } catch (Exception e) {
+            fallidas.increment();
+            notificacionPagoService.registrarFallo(notificacion.getId(), e.getMessage());
+        } finally {
+            evento.commit();
+            muestra.stop(tiempoProcesamiento);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package uniquindio.product.services.implementations;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.enums.TipoProducto;
+import uniquindio.product.model.vo.CambioProducto;
+import uniquindio.product.repositories.ProductoRepository;
+import uniquindio.product.services.interfaces.ProductoCacheService;
+
+import java.util.*;
+
+import static uniquindio.product.configs.CacheConfig.*;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ProductoCacheServiceImpl implements ProductoCacheService {
+
+    private final ProductoRepository productoRepository;
+    private final CacheManager cacheManager;
+
+    @Override
+    @Cacheable(value = CACHE_PRODUCTOS, key = "#idProducto", unless = "#result == null")
+    public Optional<Producto> buscarPorId(String idProducto) {
+        return productoRepository.findById(idProducto);
+    }
+
+    /**
+     * Resuelve los productos presentes en caché y trae el resto en una sola consulta,
+     * dejándolos cacheados para las siguientes lecturas.
+     *
+     * @return productos encontrados por ID; los IDs inexistentes no aparecen en el mapa
+     */
+    @Override
+    public Map<String, Producto> buscarPorIds(Collection<String> idsProductos) {
+        Objects.requireNonNull(idsProductos, "Los IDs de producto no pueden ser nulos");
+
+        Cache cache = cacheManager.getCache(CACHE_PRODUCTOS);
+        Map<String, Producto> encontrados = new HashMap<>();
+        Set<String> faltantes = new HashSet<>();
+
+        for (String id : idsProductos) {
+            Producto producto = cache != null ? cache.get(id, Producto.class) : null;
+            if (producto != null) {
+                encontrados.put(id, producto);
+            } else {
+                faltantes.add(id);
+            }
+        }
+
+        if (!faltantes.isEmpty()) {
+            for (Producto producto : productoRepository.findAllById(faltantes)) {
+                encontrados.put(producto.getIdProducto(), producto);
+                if (cache != null) {
+                    cache.put(producto.getIdProducto(), producto);
+                }
+            }
+        }
+
+        return encontrados;
+    }
+
+    @Override
+    @Cacheable(value = CACHE_PRODUCTOS_POR_TIPO, key = "#tipo")
+    public List<Producto> buscarPorTipo(TipoProducto tipo) {
+        return List.copyOf(productoRepository.findByTipo(tipo));
+    }
+
+    // Cada página del catálogo se cachea por (cursor, filas); cualquier escritura vacía todas
+    @Override
+    @Cacheable(value = CACHE_CATALOGO, key = "#desdeIdProducto + ':' + #filas")
+    public List<Producto> listarPagina(String desdeIdProducto, int filas) {
+        return List.copyOf(productoRepository.findByIdProductoGreaterThanOrderByIdProductoAsc(
+                desdeIdProducto, Limit.of(filas)));
+    }
+
+    /**
+     * Desaloja el producto cuando se confirma la transacción que lo cambió; si se desalojara
+     * antes, una lectura concurrente volvería a cachear la fila anterior hasta el TTL.
+     * Sin transacción se desaloja de inmediato. Las listas por tipo y las páginas del
+     * catálogo se vacían enteras: un cambio puede mover el producto de tipo.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Caching(evict = {
+            @CacheEvict(value = CACHE_PRODUCTOS, key = "#cambio.idProducto()"),
+            @CacheEvict(value = {CACHE_PRODUCTOS_POR_TIPO, CACHE_CATALOGO}, allEntries = true)
+    })
+    public void invalidar(CambioProducto cambio) {
+        // La invalidación la realizan las anotaciones
+    }
+}
@@ -4,14 +4,23 @@ import uniquindio.product.dto.producto.CrearProductoDTO;
 import uniquindio.product.dto.producto.EditarProductoDTO;
 import uniquindio.product.dto.producto.ItemProductoDTO;
 import uniquindio.product.dto.producto.ProductoDetalleDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
+import uniquindio.product.mapper.PaginacionMapper;
 import uniquindio.product.mapper.ProductoMapper;
 import uniquindio.product.model.enums.TipoProducto;
 import uniquindio.product.exceptions.ProductoException;
 import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.documents.StockProducto;
+import uniquindio.product.model.vo.CambioProducto;
+import uniquindio.product.model.vo.CambioStock;
 import uniquindio.product.repositories.ProductoRepository;
+import uniquindio.product.repositories.StockProductoRepository;
+import uniquindio.product.services.interfaces.ProductoCacheService;
 import uniquindio.product.services.interfaces.ProductoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
@@ -20,14 +29,18 @@ import java.util.List;
 @Slf4j
 
 @Service
+@Transactional
 @RequiredArgsConstructor
 public class ProductoServiceImpl implements ProductoService {
 
     private final ProductoRepository productoRepository;
+    private final ProductoCacheService productoCacheService;
+    private final StockProductoRepository stockProductoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public ProductoDetalleDTO obtenerProductoPorId(String id) throws ProductoException {
-        Producto producto = productoRepository.findById(id)
+        Producto producto = productoCacheService.buscarPorId(id)
                 .orElseThrow(() -> new ProductoException("El producto con ID " + id + " no existe."));
 
         return ProductoMapper.toDetalleDTO(producto);
@@ -39,13 +52,17 @@ public class ProductoServiceImpl implements ProductoService {
         Producto producto = ProductoMapper.toEntity(productoDTO);
         producto.setUltimaFechaModificacion(LocalDateTime.now());
 
-        productoRepository.save(producto);
+        Producto guardado = productoRepository.save(producto);
+        eventPublisher.publishEvent(new CambioProducto(guardado.getIdProducto()));
 
+        // Un producto nuevo aún no tiene lotes: entra al resumen de inventario con stock 0
+        stockProductoRepository.save(new StockProducto(guardado.getIdProducto(), 0, 0, null, LocalDateTime.now()));
+        eventPublisher.publishEvent(CambioStock.de(guardado.getIdProducto()));
     }
 
     @Override
     public List<ItemProductoDTO> obtenerProductosPorTipo(TipoProducto tipo) throws ProductoException {
-        List<Producto> productos = productoRepository.findByTipo(tipo);
+        List<Producto> productos = productoCacheService.buscarPorTipo(tipo);
 
         if (productos.isEmpty()) {
             throw new ProductoException("No se encontraron productos para el tipo: " + tipo);
@@ -66,6 +83,7 @@ public class ProductoServiceImpl implements ProductoService {
 
         producto.setUltimaFechaModificacion(LocalDateTime.now());
         productoRepository.save(producto);
+        eventPublisher.publishEvent(new CambioProducto(id));
     }
 
     @Override
@@ -74,18 +92,23 @@ public class ProductoServiceImpl implements ProductoService {
                 .orElseThrow(() -> new ProductoException("El producto con ID " + id + " no existe."));
 
         productoRepository.delete(producto);
+        eventPublisher.publishEvent(new CambioProducto(id));
+        stockProductoRepository.deleteById(id);
+        eventPublisher.publishEvent(CambioStock.de(id));
     }
 
     @Override
-    public List<ItemProductoDTO> listarProductos() throws ProductoException {
-        List<Producto> productos = productoRepository.findAll();
+    public PaginaDTO<ItemProductoDTO> listarProductos(String cursor, int tamano) throws ProductoException {
+        int tamanoPagina = PaginacionMapper.normalizarTamano(tamano);
+        String desde = PaginacionMapper.decodificarCursor(cursor);
 
-        if (productos.isEmpty()) {
+        List<Producto> productos = productoCacheService.listarPagina(desde, PaginacionMapper.filasAConsultar(tamanoPagina));
+
+        if (productos.isEmpty() && desde.isEmpty()) {
             throw new ProductoException("No hay productos registrados.");
         }
 
-        return productos.stream()
-                .map(ProductoMapper::toItemDTO)
-                .toList();
+        return PaginacionMapper.toPaginaDTO(productos, tamanoPagina, Producto::getIdProducto,
+                pagina -> pagina.stream().map(ProductoMapper::toItemDTO).toList());
     }
 }
\ No newline at end of file
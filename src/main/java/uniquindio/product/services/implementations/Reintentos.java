@@ -0,0 +1,45 @@
+package uniquindio.product.services.implementations;
+
+import java.time.Duration;
+
+/**
+ * Reglas comunes de las colas con reintentos (correos salientes y notificaciones de pago):
+ * la espera exponencial entre intentos y el recorte del último error antes de guardarlo.
+ */
+public final class Reintentos {
+
+    // Longitud de la columna ultimo_error
+    private static final int LONGITUD_MAXIMA_ERROR = 1000;
+    // Desplazamiento máximo del backoff (2^20 veces la espera inicial ya supera cualquier tope razonable)
+    private static final int MAX_DESPLAZAMIENTO_BACKOFF = 20;
+
+    private Reintentos() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Calcula la espera antes del siguiente intento: se duplica con cada fallo hasta el tope.
+     *
+     * @param intentos intentos fallidos hasta ahora, contando el actual
+     * @param esperaInicial espera después del primer fallo
+     * @param esperaMaxima tope de la espera
+     * @return espera hasta el siguiente intento
+     */
+    public static Duration espera(int intentos, Duration esperaInicial, Duration esperaMaxima) {
+        int desplazamiento = Math.min(intentos - 1, MAX_DESPLAZAMIENTO_BACKOFF);
+        Duration espera = esperaInicial.multipliedBy(1L << desplazamiento);
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    /**
+     * Recorta el mensaje de error a la longitud que admite la columna.
+     *
+     * @return el mensaje recortado, o null si no hay mensaje
+     */
+    public static String recortarError(String error) {
+        if (error == null || error.length() <= LONGITUD_MAXIMA_ERROR) {
+            return error;
+        }
+        return error.substring(0, LONGITUD_MAXIMA_ERROR);
+    }
+}
@@ -0,0 +1,117 @@
+package uniquindio.product.services.implementations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import uniquindio.product.configs.AsyncConfig;
+import uniquindio.product.configs.CorreoProperties;
+import uniquindio.product.configs.EventosJfr;
+import uniquindio.product.model.documents.CorreoSaliente;
+import uniquindio.product.services.interfaces.CorreoSalienteService;
+import uniquindio.product.services.interfaces.EmailService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Vacía la tabla de correos salientes por lotes sobre el Mailer compartido,
+ * con un pool acotado y un límite de envíos por segundo hacia el servidor SMTP.
+ */
+@Slf4j
+@Component
+public class RemitenteCorreos {
+
+    private final CorreoSalienteService correoSalienteService;
+    private final EmailService emailService;
+    private final ThreadPoolTaskExecutor executor;
+    private final CorreoProperties correoProperties;
+
+    private final Timer tiempoEnvio;
+    private final Counter enviados;
+    private final Counter fallidos;
+
+    // Instante (nanoTime) a partir del cual puede salir el siguiente correo
+    private long siguienteTurno = System.nanoTime();
+
+    public RemitenteCorreos(CorreoSalienteService correoSalienteService,
+                            EmailService emailService,
+                            @Qualifier(AsyncConfig.EJECUTOR_CORREOS) ThreadPoolTaskExecutor executor,
+                            CorreoProperties correoProperties,
+                            MeterRegistry meterRegistry) {
+        this.correoSalienteService = correoSalienteService;
+        this.emailService = emailService;
+        this.executor = executor;
+        this.correoProperties = correoProperties;
+
+        Gauge.builder("correos.cola", correoSalienteService, CorreoSalienteService::contarPendientes)
+                .description("Correos pendientes de envío en la base de datos")
+                .register(meterRegistry);
+        this.tiempoEnvio = Timer.builder("correos.envio")
+                .description("Duración del envío SMTP de un correo")
+                .register(meterRegistry);
+        this.enviados = Counter.builder("correos.resultado").tag("resultado", "enviado").register(meterRegistry);
+        this.fallidos = Counter.builder("correos.resultado").tag("resultado", "fallo").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${correos.intervalo-envio:PT2S}")
+    public void enviarPendientes() {
+        int capacidad = Math.min(
+                correoProperties.getTamanoLote(),
+                executor.getThreadPoolExecutor().getQueue().remainingCapacity()
+        );
+        if (capacidad == 0) {
+            return;
+        }
+
+        List<CorreoSaliente> reclamados = correoSalienteService.reclamarPendientes(capacidad);
+        for (CorreoSaliente correo : reclamados) {
+            executor.execute(() -> enviar(correo));
+        }
+    }
+
+    public void enviar(CorreoSaliente correo) {
+        LockSupport.parkNanos(reservarTurno());
+
+        Timer.Sample muestra = Timer.start();
+        EventosJfr.EnvioCorreo evento = new EventosJfr.EnvioCorreo();
+        evento.begin();
+        evento.idCorreo = correo.getId();
+        try {
+            emailService.enviarCorreo(correo.getDestinatario(), correo.getAsunto(), correo.getCuerpo());
+            correoSalienteService.marcarEnviado(correo.getId());
+            evento.exitoso = true;
+            enviados.increment();
+        } catch (Exception e) {
+            fallidos.increment();
+            log.warn("No se pudo enviar el correo {} a {}", correo.getId(), correo.getDestinatario(), e);
+            correoSalienteService.registrarFallo(correo.getId(), e.getMessage());
+        } finally {
+            evento.commit();
+            muestra.stop(tiempoEnvio);
+        }
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    /**
+     * Reparte los envíos a intervalos fijos según el máximo por segundo.
+     *
+     * @return nanosegundos que el hilo debe esperar antes de enviar
+     */
+    private synchronized long reservarTurno() {
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / Math.max(1, correoProperties.getMaximoPorSegundo());
+        long ahora = System.nanoTime();
+        long turno = Math.max(ahora, siguienteTurno);
+        siguienteTurno = turno + intervalo;
+        return turno - ahora;
+    }
+}
@@ -0,0 +1,199 @@
+package uniquindio.product.services.implementations;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uniquindio.product.configs.ReservaStockProperties;
+import uniquindio.product.exceptions.InventarioException;
+import uniquindio.product.exceptions.LoteException;
+import uniquindio.product.model.documents.ReservaStock;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.enums.EstadoReserva;
+import uniquindio.product.model.vo.CambioStock;
+import uniquindio.product.model.vo.PlanAsignacionLotes;
+import uniquindio.product.repositories.ExistenciaLoteRepository;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.repositories.ReservaStockRepository;
+import uniquindio.product.repositories.StockProductoRepository;
+import uniquindio.product.services.interfaces.LoteService;
+import uniquindio.product.services.interfaces.ReservaStockService;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class ReservaStockServiceImpl implements ReservaStockService {
+
+    private final ReservaStockRepository reservaStockRepository;
+    private final LoteRepository loteRepository;
+    private final ExistenciaLoteRepository existenciaLoteRepository;
+    private final LoteService loteService;
+    private final ReservaStockProperties reservaStockProperties;
+    private final StockProductoRepository stockProductoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_REINTENTOS_RESERVA = 3;
+
+    /**
+     * Planifica en FEFO y retiene las unidades en cada lote con un UPDATE condicional.
+     * Lo que otro pedido reservó entre la planificación y el UPDATE se vuelve a planificar.
+     *
+     * @return plan con las asignaciones efectivamente reservadas
+     * @throws LoteException si no queda stock libre suficiente
+     */
+    @Override
+    public PlanAsignacionLotes reservar(Map<String, Integer> cantidadesPorProducto) throws LoteException {
+        Objects.requireNonNull(cantidadesPorProducto, "Las cantidades por producto no pueden ser nulas");
+
+        Map<String, PlanAsignacionLotes.Asignacion> reservadasPorLote = new LinkedHashMap<>();
+        Map<String, Integer> pendientes = new LinkedHashMap<>(cantidadesPorProducto);
+
+        for (int intento = 0; intento < MAX_REINTENTOS_RESERVA && !pendientes.isEmpty(); intento++) {
+            PlanAsignacionLotes plan = loteService.planificarAsignacionFEFO(pendientes);
+            pendientes = new LinkedHashMap<>();
+
+            for (PlanAsignacionLotes.Asignacion asignacion : plan.asignaciones()) {
+                if (!loteRepository.reservarSiDisponible(asignacion.lote().getId(), asignacion.cantidad())) {
+                    pendientes.merge(asignacion.idProducto(), asignacion.cantidad(), Integer::sum);
+                    continue;
+                }
+                reservadasPorLote.merge(asignacion.lote().getId(), asignacion, (previa, nueva) ->
+                        new PlanAsignacionLotes.Asignacion(
+                                previa.idProducto(), previa.lote(), previa.cantidad() + nueva.cantidad()));
+            }
+
+            // El siguiente plan lee estos lotes del contexto: sin refrescarlos verían el stock de antes
+            if (!pendientes.isEmpty()) {
+                loteRepository.refrescar(plan.lotes());
+            }
+        }
+
+        if (!pendientes.isEmpty()) {
+            throw new LoteException(
+                    "No se pudo reservar el stock por pedidos concurrentes. Pendiente: " + pendientes
+            );
+        }
+
+        stockProductoRepository.recalcular(cantidadesPorProducto.keySet());
+        eventPublisher.publishEvent(new CambioStock(cantidadesPorProducto.keySet()));
+        return new PlanAsignacionLotes(new ArrayList<>(reservadasPorLote.values()));
+    }
+
+    @Override
+    public void registrarReservas(String idPedido, PlanAsignacionLotes plan) {
+        Objects.requireNonNull(idPedido, "El ID del pedido no puede ser nulo");
+        Objects.requireNonNull(plan, "El plan de asignación no puede ser nulo");
+
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime expiracion = ahora.plus(reservaStockProperties.getTtl());
+
+        List<ReservaStock> reservas = plan.asignaciones().stream()
+                .map(asignacion -> new ReservaStock(
+                        null,
+                        idPedido,
+                        asignacion.idProducto(),
+                        asignacion.lote().getId(),
+                        asignacion.cantidad(),
+                        EstadoReserva.ACTIVA,
+                        ahora,
+                        expiracion
+                ))
+                .toList();
+
+        reservaStockRepository.saveAll(reservas);
+        log.info("Reservadas {} asignaciones de lote para el pedido {} hasta {}", reservas.size(), idPedido, expiracion);
+    }
+
+    /**
+     * Convierte en venta las reservas activas del pedido (aunque su plazo haya
+     * vencido, mientras el barrido no las haya liberado).
+     * No recalcula el resumen de stock: quien llama lo hace tras descontar también
+     * lo que falte del stock libre, después del último cambio de lotes.
+     *
+     * @return unidades vendidas por ID de lote; lo que falte debe descontarse de stock libre
+     */
+    @Override
+    public Map<String, Integer> confirmarReservas(String idPedido) throws InventarioException {
+        Map<String, Integer> vendidas = new HashMap<>();
+        LocalDateTime ahora = LocalDateTime.now();
+
+        for (ReservaStock reserva : reservaStockRepository.findByIdPedidoAndEstado(idPedido, EstadoReserva.ACTIVA)) {
+            if (reservaStockRepository.cambiarEstado(reserva.getId(), EstadoReserva.ACTIVA, EstadoReserva.CONFIRMADA) == 0) {
+                continue; // El barrido la liberó primero
+            }
+
+            if (loteRepository.venderCantidadReservada(reserva.getIdLote(), reserva.getCantidad(), EstadoLote.AGOTADO) == 0) {
+                throw new InventarioException(
+                        "El lote " + reserva.getIdLote() + " no conserva la reserva del pedido " + idPedido);
+            }
+
+            if (existenciaLoteRepository.descontarCantidad(reserva.getIdLote(), reserva.getCantidad(), ahora) == 0) {
+                throw new InventarioException(
+                        "Cantidad insuficiente en inventario para el lote " + reserva.getIdLote());
+            }
+
+            vendidas.merge(reserva.getIdLote(), reserva.getCantidad(), Integer::sum);
+        }
+
+        return vendidas;
+    }
+
+    @Override
+    public void liberarReservas(String idPedido) {
+        List<ReservaStock> reservas = reservaStockRepository.findByIdPedidoAndEstado(idPedido, EstadoReserva.ACTIVA);
+        int liberadas = liberar(reservas);
+
+        if (liberadas > 0) {
+            log.info("Liberadas {} reservas del pedido {}", liberadas, idPedido);
+        }
+    }
+
+    /**
+     * Libera un lote de reservas vencidas en la transacción actual.
+     *
+     * @return cantidad de reservas leídas; si es igual a {@code maximo} puede haber más pendientes
+     */
+    @Override
+    public int liberarReservasVencidas(int maximo) {
+        List<ReservaStock> vencidas = reservaStockRepository.findByEstadoAndFechaExpiracionBeforeOrderByFechaExpiracionAsc(
+                EstadoReserva.ACTIVA,
+                LocalDateTime.now(),
+                PageRequest.of(0, maximo)
+        );
+
+        int liberadas = liberar(vencidas);
+        if (liberadas > 0) {
+            log.info("Barrido de reservas: {} reservas vencidas liberadas", liberadas);
+        }
+
+        return vencidas.size();
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private int liberar(List<ReservaStock> reservas) {
+        int liberadas = 0;
+        Set<String> productos = new HashSet<>();
+
+        for (ReservaStock reserva : reservas) {
+            // Solo quien gana la transición devuelve las unidades al lote
+            if (reservaStockRepository.cambiarEstado(reserva.getId(), EstadoReserva.ACTIVA, EstadoReserva.LIBERADA) == 1) {
+                loteRepository.liberarCantidadReservada(reserva.getIdLote(), reserva.getCantidad());
+                productos.add(reserva.getIdProducto());
+                liberadas++;
+            }
+        }
+
+        stockProductoRepository.recalcular(productos);
+        eventPublisher.publishEvent(new CambioStock(productos));
+        return liberadas;
+    }
+}
@@ -1,15 +1,19 @@
 package uniquindio.product.services.implementations;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Limit;
 import org.springframework.transaction.annotation.Transactional;
 import uniquindio.product.dto.autenticacion.TokenDTO;
 import uniquindio.product.dto.carrito.CrearCarritoDTO;
 import uniquindio.product.dto.email.EmailDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.dto.usuario.*;
 import uniquindio.product.exceptions.CarritoException;
 import uniquindio.product.exceptions.EmailException;
 import uniquindio.product.mapper.UsuarioMapper;
+import uniquindio.product.mapper.PaginacionMapper;
 import uniquindio.product.model.enums.EstadoCuenta;
+import uniquindio.product.model.enums.Rol;
 import uniquindio.product.exceptions.UsuarioException;
 import uniquindio.product.model.documents.Usuario;
 import uniquindio.product.repositories.UsuarioRepository;
@@ -94,7 +98,7 @@ public class UsuarioServiceImpl implements UsuarioService {
                 usuarioDTO.correoElectronico(),
                 codigoValidacion
         );
-        emailService.enviarCorreo(emailDTO);
+        emailService.encolarCorreo(emailDTO);
     }
 
     /**
@@ -221,7 +225,7 @@ public class UsuarioServiceImpl implements UsuarioService {
                 codigoContraseniaDTO.correoElectronico(),
                 codigoRecuperacion
         );
-        emailService.enviarCorreo(emailDTO);
+        emailService.encolarCorreo(emailDTO);
     }
 
     /**
@@ -308,7 +312,7 @@ public class UsuarioServiceImpl implements UsuarioService {
         usuarioRepository.save(usuario);
 
         EmailDTO emailDTO = UsuarioMapper.toEmailCodigoExpiradoDTO(correo, nuevoCodigo, tipo);
-        emailService.enviarCorreo(emailDTO);
+        emailService.encolarCorreo(emailDTO);
     }
 
     /**
@@ -337,16 +341,26 @@ public class UsuarioServiceImpl implements UsuarioService {
     }
 
     /**
-     * Lista todos los usuarios que NO son CLIENTE (trabajadores).
+     * Lista por páginas los usuarios que NO son CLIENTE (trabajadores), ordenados por ID.
      *
-     * @return lista de trabajadores como InformacionUsuarioDTO
+     * @param cursor cursor devuelto por la página anterior, o null para la primera
+     * @param tamano cantidad de trabajadores por página
+     * @return página de trabajadores como InformacionUsuarioDTO
      */
     @Override
-    public List<InformacionUsuarioDTO> listarTrabajadores() {
-        List<Usuario> todosLosUsuarios = usuarioRepository.findAll();
-
-        List<Usuario> trabajadores = UsuarioMapper.filtrarTrabajadores(todosLosUsuarios);
+    @Transactional(readOnly = true)
+    public PaginaDTO<InformacionUsuarioDTO> listarTrabajadores(String cursor, int tamano) {
+        int tamanoPagina = PaginacionMapper.normalizarTamano(tamano);
+
+        // Proyección: solo las columnas del listado, sin entidades en el contexto de persistencia
+        List<FilaTrabajadorDTO> trabajadores = usuarioRepository.findFilasByRolInAndIdGreaterThan(
+                Rol.trabajadores(),
+                PaginacionMapper.decodificarCursor(cursor),
+                Limit.of(PaginacionMapper.filasAConsultar(tamanoPagina))
+        );
 
-        return UsuarioMapper.toInformacionUsuarioDTOList(trabajadores);
+        return PaginacionMapper.toPaginaDTO(trabajadores, tamanoPagina, FilaTrabajadorDTO::id, pagina -> pagina.stream()
+                .map(UsuarioMapper::toInformacionUsuarioDTO)
+                .toList());
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package uniquindio.product.services.interfaces;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uniquindio.product.dto.inventario.AlertaInventarioDTO;
+
+import java.util.List;
+
+public interface AlertasInventarioService {
+
+    //Abre una conexión SSE: envía las alertas activas y luego las que se generen
+    SseEmitter suscribir();
+
+    //Alertas activas en este momento (la misma foto que recibe un nuevo suscriptor)
+    List<AlertaInventarioDTO> obtenerAlertasActivas();
+}
@@ -0,0 +1,13 @@
+package uniquindio.product.services.interfaces;
+
+import uniquindio.product.model.documents.CorreoSaliente;
+
+import java.util.List;
+
+public interface CorreoSalienteService {
+
+    List<CorreoSaliente> reclamarPendientes(int maximo);
+    void marcarEnviado(String idCorreo);
+    void registrarFallo(String idCorreo, String error);
+    long contarPendientes();
+}
@@ -3,6 +3,8 @@ package uniquindio.product.services.interfaces;
 import java.util.List;
 import java.util.Optional;
 
+import uniquindio.product.dto.cupon.ItemCuponDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.model.enums.EstadoCupon;
 import uniquindio.product.model.enums.TipoCupon;
 import uniquindio.product.model.documents.Cupon;
@@ -27,8 +29,8 @@ public interface CuponService {
     /** Elimina un cupón por ID. */
     void eliminarCupon(String id);
     
-    /** Lista todos los cupones. */
-    List<Cupon> listarCupones();
+    /** Lista los cupones por páginas, ordenados por ID (paginación por cursor). */
+    PaginaDTO<ItemCuponDTO> listarCupones(String cursor, int tamano);
     
     /** Busca cupones por cédula del cliente. */
     List<Cupon> buscarCuponesPorCliente(String cedulaCliente);
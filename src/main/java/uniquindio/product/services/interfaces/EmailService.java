@@ -5,6 +5,7 @@ import uniquindio.product.exceptions.EmailException;
 
 public interface EmailService {
 
-    void enviarCorreo(EmailDTO emailDTO) throws EmailException;
+    void encolarCorreo(EmailDTO emailDTO);
+    void enviarCorreo(String destinatario, String asunto, String html) throws EmailException;
 
 }
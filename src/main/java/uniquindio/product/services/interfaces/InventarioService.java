@@ -2,24 +2,32 @@ package uniquindio.product.services.interfaces;
 
 import uniquindio.product.dto.inventario.DetalleLoteDTO;
 import uniquindio.product.dto.inventario.ProductoBajoStockDTO;
+import uniquindio.product.dto.inventario.ReconstruccionStockDTO;
 import uniquindio.product.dto.inventario.ResumenInventarioDTO;
 import uniquindio.product.dto.inventario.StockPorLoteDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.exceptions.InventarioException;
 import uniquindio.product.exceptions.LoteException;
 import uniquindio.product.exceptions.ProductoException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface InventarioService {
 
     void inicializarInventario();
     Integer obtenerStockDisponible(String idProducto) throws ProductoException;
-    List<DetalleLoteDTO> listarLotes();
-    List<ResumenInventarioDTO> obtenerResumenInventario();
+    //Stock de varios productos con un número fijo de consultas
+    Map<String, Integer> obtenerStockDisponible(Collection<String> idsProductos) throws ProductoException;
+    PaginaDTO<DetalleLoteDTO> listarLotes(String cursor, int tamano);
+    PaginaDTO<ResumenInventarioDTO> obtenerResumenInventario(String cursor, int tamano);
     //Stock detallado por lote
     List<StockPorLoteDTO> obtenerStockPorLote(String idProducto) throws ProductoException;
     //Alertas de stock bajo (suma de todos los lotes)
     List<ProductoBajoStockDTO> obtenerProductosBajoStock(int umbral);
+    //Recalcula el resumen por producto desde los lotes y reporta las diferencias
+    ReconstruccionStockDTO reconstruirResumenStock();
     void registrarEntradaAlmacen(String idLote) throws LoteException, InventarioException;
 
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package uniquindio.product.services.interfaces;
 
 import uniquindio.product.dto.lote.*;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.exceptions.LoteException;
 import uniquindio.product.exceptions.ProductoException;
 import uniquindio.product.model.documents.Lote;
 import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.vo.PlanAsignacionLotes;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface LoteService {
 
@@ -18,8 +22,11 @@ public interface LoteService {
     void bloquearLote(String idLote, String motivo) throws LoteException;
     void desbloquearLote(String idLote) throws LoteException;
     List<MostrarLoteDTO> listarLotesPorProducto(String idProducto) throws ProductoException;
-    List<MostrarLoteDTO> listarLotesDisponibles();
+    PaginaDTO<MostrarLoteDTO> listarLotesDisponibles(String cursor, int tamano);
     List<LotePorVencerDTO> obtenerLotesPorVencer(int diasUmbral);
-    List<MostrarLoteDTO> listarLotesPorEstado(EstadoLote estado);
+    PaginaDTO<MostrarLoteDTO> listarLotesPorEstado(EstadoLote estado, String cursor, int tamano);
     Lote seleccionarLoteFEFO(String idProducto, Integer cantidadRequerida) throws LoteException, ProductoException;
+    PlanAsignacionLotes planificarAsignacionFEFO(Map<String, Integer> cantidadesPorProducto) throws LoteException;
+    //Pasa a VENCIDO los lotes cuya fecha ya llegó (motor de vencimientos)
+    int vencerLotes(Collection<String> idsLotes);
 }
\ No newline at end of file
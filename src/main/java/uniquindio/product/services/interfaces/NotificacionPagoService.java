@@ -0,0 +1,15 @@
+package uniquindio.product.services.interfaces;
+
+import uniquindio.product.dto.pedido.NotificacionPagoDTO;
+import uniquindio.product.model.documents.NotificacionPago;
+
+import java.util.List;
+
+public interface NotificacionPagoService {
+
+    boolean encolar(NotificacionPagoDTO notificacion);
+    List<NotificacionPago> reclamarPendientes(int maximo);
+    void marcarProcesada(String idNotificacion);
+    void registrarFallo(String idNotificacion, String error);
+    long contarPendientes();
+}
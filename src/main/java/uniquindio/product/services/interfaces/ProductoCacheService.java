@@ -0,0 +1,24 @@
+package uniquindio.product.services.interfaces;
+
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.enums.TipoProducto;
+import uniquindio.product.model.vo.CambioProducto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lectura de productos desde la caché en memoria. Los objetos devueltos se
+ * comparten entre peticiones y son solo de lectura: para modificar un producto
+ * se debe cargar desde ProductoRepository. Las entradas de un producto se desalojan
+ * cuando se confirma la transacción que publica su {@link CambioProducto}.
+ */
+public interface ProductoCacheService {
+
+    Optional<Producto> buscarPorId(String idProducto);
+    Map<String, Producto> buscarPorIds(Collection<String> idsProductos);
+    List<Producto> buscarPorTipo(TipoProducto tipo);
+    List<Producto> listarPagina(String desdeIdProducto, int filas);
+}
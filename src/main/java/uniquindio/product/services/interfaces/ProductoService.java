@@ -4,6 +4,7 @@ import uniquindio.product.dto.producto.CrearProductoDTO;
 import uniquindio.product.dto.producto.EditarProductoDTO;
 import uniquindio.product.dto.producto.ItemProductoDTO;
 import uniquindio.product.dto.producto.ProductoDetalleDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 
 import uniquindio.product.model.enums.TipoProducto;
 import uniquindio.product.exceptions.ProductoException;
@@ -22,5 +23,5 @@ public interface ProductoService {
 
     void eliminarProducto(String id) throws ProductoException;
 
-    List<ItemProductoDTO> listarProductos() throws ProductoException;
+    PaginaDTO<ItemProductoDTO> listarProductos(String cursor, int tamano) throws ProductoException;
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package uniquindio.product.services.interfaces;
+
+import uniquindio.product.exceptions.InventarioException;
+import uniquindio.product.exceptions.LoteException;
+import uniquindio.product.model.vo.PlanAsignacionLotes;
+
+import java.util.Map;
+
+public interface ReservaStockService {
+
+    PlanAsignacionLotes reservar(Map<String, Integer> cantidadesPorProducto) throws LoteException;
+    void registrarReservas(String idPedido, PlanAsignacionLotes plan);
+    Map<String, Integer> confirmarReservas(String idPedido) throws InventarioException;
+    void liberarReservas(String idPedido);
+    int liberarReservasVencidas(int maximo);
+}
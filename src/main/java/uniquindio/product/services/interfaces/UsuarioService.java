@@ -1,12 +1,12 @@
 package uniquindio.product.services.interfaces;
 
 import uniquindio.product.dto.autenticacion.TokenDTO;
+import uniquindio.product.dto.paginacion.PaginaDTO;
 import uniquindio.product.dto.usuario.*;
 import uniquindio.product.exceptions.CarritoException;
 import uniquindio.product.exceptions.EmailException;
 import uniquindio.product.exceptions.UsuarioException;
 
-import java.util.List;
 
 public interface UsuarioService {
 
@@ -19,5 +19,5 @@ public interface UsuarioService {
     void cambiarPassword(CambiarPasswordDTO cambiarPasswordDTO) throws UsuarioException, EmailException;
     TokenDTO iniciarSesion(LoginDTO loginDTO) throws UsuarioException;
     void crearTrabajador(CrearTrabajadorDTO trabajadorDTO) throws UsuarioException;
-    List<InformacionUsuarioDTO> listarTrabajadores() throws UsuarioException;
+    PaginaDTO<InformacionUsuarioDTO> listarTrabajadores(String cursor, int tamano) throws UsuarioException;
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package uniquindio.product.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import uniquindio.product.model.documents.ExistenciaLote;
+import uniquindio.product.repositories.ExistenciaLoteRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mide la latencia de escritura del inventario por fila (entrada y descuento de
+ * lote) con 1k, 10k y 100k lotes ya registrados.
+ * Se ejecuta solo con el perfil de Maven "benchmark".
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ExistenciaLoteBenchmarkTest {
+
+    private static final int OPERACIONES = 500;
+    private static final int TAMANO_BLOQUE = 1_000;
+    private static final String ID_PRODUCTO = "producto-benchmark";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExistenciaLoteRepository existenciaLoteRepository;
+
+    @ParameterizedTest(name = "{0} lotes")
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    void latenciaDeEscrituraPorTamanoDeAlmacen(int lotesExistentes) {
+        // Arrange: poblar el almacén
+        List<String> ids = poblarAlmacen(lotesExistentes);
+
+        // Act: entradas de lotes nuevos
+        long inicioEntradas = System.nanoTime();
+        for (int i = 0; i < OPERACIONES; i++) {
+            existenciaLoteRepository.save(nuevaExistencia(UUID.randomUUID().toString(), 100));
+            entityManager.flush();
+        }
+        long nanosEntradas = System.nanoTime() - inicioEntradas;
+
+        // Act: descuentos sobre lotes existentes
+        long inicioDescuentos = System.nanoTime();
+        for (int i = 0; i < OPERACIONES; i++) {
+            String idLote = ids.get((i * 7919) % ids.size());
+            int filas = existenciaLoteRepository.descontarCantidad(idLote, 1, LocalDateTime.now());
+            assertEquals(1, filas);
+        }
+        long nanosDescuentos = System.nanoTime() - inicioDescuentos;
+
+        log.info(String.format("[benchmark] lotes=%d entrada=%.1f µs/op descuento=%.1f µs/op",
+                lotesExistentes,
+                nanosEntradas / 1_000.0 / OPERACIONES,
+                nanosDescuentos / 1_000.0 / OPERACIONES));
+
+        // Assert: no se reescribe el almacén completo
+        assertEquals(lotesExistentes + OPERACIONES, existenciaLoteRepository.count());
+    }
+
+    private List<String> poblarAlmacen(int cantidadLotes) {
+        List<String> ids = new ArrayList<>(cantidadLotes);
+        List<ExistenciaLote> bloque = new ArrayList<>(TAMANO_BLOQUE);
+
+        for (int i = 0; i < cantidadLotes; i++) {
+            String idLote = UUID.randomUUID().toString();
+            ids.add(idLote);
+            bloque.add(nuevaExistencia(idLote, 1_000));
+
+            if (bloque.size() == TAMANO_BLOQUE) {
+                existenciaLoteRepository.saveAll(bloque);
+                entityManager.flush();
+                entityManager.clear();
+                bloque.clear();
+            }
+        }
+        existenciaLoteRepository.saveAll(bloque);
+        entityManager.flush();
+        entityManager.clear();
+
+        return ids;
+    }
+
+    private ExistenciaLote nuevaExistencia(String idLote, int cantidad) {
+        LocalDateTime ahora = LocalDateTime.now();
+        return new ExistenciaLote(idLote, ID_PRODUCTO, cantidad, ahora, ahora);
+    }
+}
@@ -0,0 +1,166 @@
+package uniquindio.product.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uniquindio.product.configs.DiagnosticoHilosVirtuales;
+import uniquindio.product.configs.HilosVirtualesProperties;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de carga que compara hilos de plataforma (pool de 200, como Tomcat por defecto)
+ * con un hilo virtual por petición, con el mismo pool de HikariCP:
+ * <ul>
+ *   <li>checkout: consulta en Postgres y llamada a MercadoPago con la conexión tomada,
+ *       como en PedidoServiceImpl, que es transaccional de punta a punta</li>
+ *   <li>subida de imagen: solo la llamada bloqueante a Cloudinary</li>
+ * </ul>
+ * Las llamadas externas se simulan con su latencia. Además comprueba que el diagnóstico
+ * de pinning detecta un hilo virtual bloqueado dentro de synchronized.
+ * Se ejecuta solo con el perfil de Maven "benchmark".
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class HilosVirtualesCargaBenchmarkTest {
+
+    private static final int HILOS_PLATAFORMA = 200;
+    private static final int CHECKOUTS = 300;
+    private static final int SUBIDAS = 2_000;
+    private static final long LATENCIA_MERCADOPAGO_MS = 80;
+    private static final long LATENCIA_CLOUDINARY_MS = 100;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void checkoutYSubidaDeImagen() throws Exception {
+        int conexiones = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+
+        Resultado checkoutPlataforma = cargar(Executors.newFixedThreadPool(HILOS_PLATAFORMA), CHECKOUTS, this::checkout);
+        Resultado checkoutVirtual = cargar(Executors.newVirtualThreadPerTaskExecutor(), CHECKOUTS, this::checkout);
+        Resultado subidaPlataforma = cargar(Executors.newFixedThreadPool(HILOS_PLATAFORMA), SUBIDAS, this::subirImagen);
+        Resultado subidaVirtual = cargar(Executors.newVirtualThreadPerTaskExecutor(), SUBIDAS, this::subirImagen);
+
+        registrar("checkout", conexiones, checkoutPlataforma, checkoutVirtual);
+        registrar("subidaImagen", conexiones, subidaPlataforma, subidaVirtual);
+
+        // Assert: sin conexiones libres de sobra, el checkout queda limitado por el pool en ambos
+        // modos; la subida, que no usa la base de datos, deja de estar limitada por los 200 hilos
+        assertTrue(subidaVirtual.porSegundo() > subidaPlataforma.porSegundo());
+        assertTrue(subidaVirtual.p99Ms() < subidaPlataforma.p99Ms());
+    }
+
+    @Test
+    void diagnosticoDetectaBloqueoEnSynchronized() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        DiagnosticoHilosVirtuales diagnostico = new DiagnosticoHilosVirtuales(new HilosVirtualesProperties(), registro);
+        diagnostico.iniciar();
+        Object monitor = new Object();
+
+        try {
+            // Act: un cliente que duerme con el monitor tomado fija el hilo virtual
+            Thread hilo = Thread.ofVirtual().start(() -> {
+                synchronized (monitor) {
+                    dormir(50);
+                }
+            });
+            hilo.join();
+
+            // Assert: el evento JFR llega con un pequeño retraso
+            long limite = System.currentTimeMillis() + 10_000;
+            Timer bloqueos = null;
+            while (bloqueos == null && System.currentTimeMillis() < limite) {
+                bloqueos = registro.find("hilos.virtuales.bloqueos").timer();
+                Thread.sleep(100);
+            }
+            assertNotNull(bloqueos, "No se registró el bloqueo del hilo virtual");
+            assertEquals(getClass().getName(), bloqueos.getId().getTag("origen").split("\\$")[0]);
+        } finally {
+            diagnostico.detener();
+        }
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private void checkout() throws Exception {
+        try (Connection conexion = dataSource.getConnection();
+             Statement consulta = conexion.createStatement()) {
+            consulta.execute("SELECT pg_sleep(0.005)");
+            dormir(LATENCIA_MERCADOPAGO_MS);
+        }
+    }
+
+    private void subirImagen() {
+        dormir(LATENCIA_CLOUDINARY_MS);
+    }
+
+    private Resultado cargar(ExecutorService ejecutor, int peticiones, Peticion peticion) throws Exception {
+        List<Double> latencias = Collections.synchronizedList(new ArrayList<>(peticiones));
+        List<Future<?>> futuros = new ArrayList<>(peticiones);
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < peticiones; i++) {
+            long llegada = System.nanoTime();
+            futuros.add(ejecutor.submit(() -> {
+                peticion.ejecutar();
+                latencias.add((System.nanoTime() - llegada) / 1_000_000.0);
+                return null;
+            }));
+        }
+        for (Future<?> futuro : futuros) {
+            futuro.get(2, TimeUnit.MINUTES);
+        }
+        double totalSegundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        ejecutor.shutdown();
+
+        List<Double> ordenadas = new ArrayList<>(latencias);
+        Collections.sort(ordenadas);
+        double p99 = ordenadas.get((int) Math.ceil(ordenadas.size() * 0.99) - 1);
+        return new Resultado(peticiones / totalSegundos, p99);
+    }
+
+    private void registrar(String escenario, int conexiones, Resultado plataforma, Resultado virtual) {
+        log.info(String.format("[benchmark] %s conexiones=%d plataforma=%.0f pet/s p99=%.0f ms "
+                        + "virtuales=%.0f pet/s p99=%.0f ms",
+                escenario, conexiones, plataforma.porSegundo(), plataforma.p99Ms(),
+                virtual.porSegundo(), virtual.p99Ms()));
+    }
+
+    private static void dormir(long milisegundos) {
+        try {
+            Thread.sleep(milisegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Resultado(double porSegundo, double p99Ms) {}
+
+    @FunctionalInterface
+    private interface Peticion {
+        void ejecutar() throws Exception;
+    }
+}
@@ -0,0 +1,267 @@
+package uniquindio.product.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import uniquindio.product.dto.inventario.DetalleLoteDTO;
+import uniquindio.product.dto.inventario.StockPorLoteDTO;
+import uniquindio.product.dto.pqr.PqrResponseDTO;
+import uniquindio.product.dto.usuario.FilaTrabajadorDTO;
+import uniquindio.product.dto.usuario.InformacionUsuarioDTO;
+import uniquindio.product.mapper.ContextoMapeo;
+import uniquindio.product.mapper.InventarioMapper;
+import uniquindio.product.mapper.PaginacionMapper;
+import uniquindio.product.mapper.PqrMapper;
+import uniquindio.product.mapper.UsuarioMapper;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.PQR;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.documents.Usuario;
+import uniquindio.product.model.enums.CategoriaPqr;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.enums.EstadoPqr;
+import uniquindio.product.model.enums.Rol;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.repositories.PqrRepository;
+import uniquindio.product.repositories.ProductoRepository;
+import uniquindio.product.repositories.UsuarioRepository;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mide los bytes de heap asignados por petición en los listados de lotes, stock por lote,
+ * trabajadores y PQR: la carga de entidades administradas más el mapeo a DTO (forma
+ * anterior de los servicios) contra las consultas de proyección que solo leen las columnas
+ * del DTO. Cada petición usa un contexto de persistencia limpio, como una petición HTTP.
+ * Se ejecuta solo con el perfil de Maven "benchmark".
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ProyeccionesBenchmarkTest {
+
+    private static final int PRODUCTOS = 20;
+    private static final int LOTES_POR_PRODUCTO = 50;
+    private static final int FILAS = 1_000;
+    private static final int CALENTAMIENTO = 20;
+    private static final int PETICIONES = 200;
+
+    private final com.sun.management.ThreadMXBean hilos =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LoteRepository loteRepository;
+
+    @Autowired
+    private PqrRepository pqrRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    private String idProducto;
+
+    @BeforeEach
+    void setUp() {
+        Assumptions.assumeTrue(hilos.isThreadAllocatedMemorySupported(),
+                "La JVM no permite medir la memoria asignada por hilo");
+        hilos.setThreadAllocatedMemoryEnabled(true);
+        idProducto = poblar();
+    }
+
+    @Test
+    void asignacionPorPeticion() {
+        // Arrange: una página del tamaño máximo desde el inicio
+        Limit pagina = Limit.of(PaginacionMapper.filasAConsultar(PaginacionMapper.TAMANO_MAXIMO));
+        String inicio = PaginacionMapper.decodificarCursor(null);
+
+        // Act: listarLotes
+        long lotesEntidad = medir(() -> detallesDesdeEntidades(inicio, pagina));
+        long lotesProyeccion = medir(() -> loteRepository.findDetallesByIdGreaterThan(inicio, pagina));
+
+        // Act: obtenerStockPorLote
+        long stockEntidad = medir(() -> {
+            productoRepository.findById(idProducto).orElseThrow();
+            return InventarioMapper.toStockPorLoteDTOList(loteRepository
+                    .findByIdProductoAndEstadoAndCantidadDisponibleGreaterThanOrderByFechaVencimientoAsc(
+                            idProducto, EstadoLote.DISPONIBLE, 0));
+        });
+        long stockProyeccion = medir(() -> {
+            assertTrue(productoRepository.existsById(idProducto));
+            return loteRepository.findStockPorLote(idProducto, EstadoLote.DISPONIBLE);
+        });
+
+        // Act: listarTrabajadores
+        long trabajadoresEntidad = medir(() -> UsuarioMapper.toInformacionUsuarioDTOList(
+                usuarioRepository.findByRolInAndIdGreaterThanOrderByIdAsc(Rol.trabajadores(), inicio, pagina)));
+        long trabajadoresProyeccion = medir(() -> usuarioRepository
+                .findFilasByRolInAndIdGreaterThan(Rol.trabajadores(), inicio, pagina).stream()
+                .map(UsuarioMapper::toInformacionUsuarioDTO)
+                .toList());
+
+        // Act: consultarTodasPqr
+        long pqrEntidad = medir(() -> pqrRepository.findByIdPqrGreaterThanOrderByIdPqrAsc(inicio, pagina).stream()
+                .map(PqrMapper::toResponseDTO)
+                .toList());
+        long pqrProyeccion = medir(() -> pqrRepository.findResponseByIdPqrGreaterThan(inicio, pagina));
+
+        log.info(String.format("[benchmark] bytes/petición (entidades -> proyección) listarLotes=%d -> %d "
+                        + "stockPorLote=%d -> %d listarTrabajadores=%d -> %d consultarTodasPqr=%d -> %d",
+                lotesEntidad, lotesProyeccion, stockEntidad, stockProyeccion,
+                trabajadoresEntidad, trabajadoresProyeccion, pqrEntidad, pqrProyeccion));
+
+        // Assert: ambas formas devuelven lo mismo y la proyección no deja entidades administradas
+        entityManager.clear();
+        List<DetalleLoteDTO> detalles = loteRepository.findDetallesByIdGreaterThan(inicio, pagina);
+        List<StockPorLoteDTO> stock = loteRepository.findStockPorLote(idProducto, EstadoLote.DISPONIBLE);
+        List<FilaTrabajadorDTO> filas = usuarioRepository.findFilasByRolInAndIdGreaterThan(Rol.trabajadores(), inicio, pagina);
+        List<PqrResponseDTO> pqrs = pqrRepository.findResponseByIdPqrGreaterThan(inicio, pagina);
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class)
+                .getPersistenceContext().getNumberOfManagedEntities());
+
+        assertEquals(detallesDesdeEntidades(inicio, pagina), detalles);
+        assertEquals(LOTES_POR_PRODUCTO, stock.size());
+        assertEquals(30, stock.get(0).cantidad());
+
+        List<InformacionUsuarioDTO> esperados = UsuarioMapper.toInformacionUsuarioDTOList(
+                usuarioRepository.findByRolInAndIdGreaterThanOrderByIdAsc(Rol.trabajadores(), inicio, pagina));
+        assertEquals(esperados, filas.stream().map(UsuarioMapper::toInformacionUsuarioDTO).toList());
+        assertEquals(pqrRepository.findByIdPqrGreaterThanOrderByIdPqrAsc(inicio, pagina).stream()
+                .map(PqrMapper::toResponseDTO)
+                .toList(), pqrs);
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    /**
+     * Devuelve el promedio de bytes asignados por el hilo actual en cada petición.
+     * El contexto de persistencia se limpia antes de cada petición para no reutilizar entidades.
+     */
+    private long medir(Peticion peticion) {
+        long hilo = Thread.currentThread().threadId();
+
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            entityManager.clear();
+            assertFalse(peticion.ejecutar().isEmpty());
+        }
+
+        long total = 0;
+        for (int i = 0; i < PETICIONES; i++) {
+            entityManager.clear();
+            long antes = hilos.getThreadAllocatedBytes(hilo);
+            List<?> resultado = peticion.ejecutar();
+            total += hilos.getThreadAllocatedBytes(hilo) - antes;
+            assertFalse(resultado.isEmpty());
+        }
+        return total / PETICIONES;
+    }
+
+    /**
+     * Forma anterior de listarLotes: entidades Lote administradas y los productos de la página
+     * cargados como entidades para resolver el nombre.
+     */
+    private List<DetalleLoteDTO> detallesDesdeEntidades(String inicio, Limit pagina) {
+        List<Lote> lotes = loteRepository.findByIdGreaterThanOrderByIdAsc(inicio, pagina);
+        Set<String> idsProductos = new HashSet<>();
+        lotes.forEach(lote -> idsProductos.add(lote.getIdProducto()));
+        ContextoMapeo contexto = ContextoMapeo.de(productoRepository.findAllById(idsProductos), lotes);
+        return lotes.stream().map(lote -> InventarioMapper.toDetalleLoteDTO(lote, contexto)).toList();
+    }
+
+    /**
+     * Inserta productos con sus lotes, trabajadores y PQR; el rollback de @DataJpaTest los elimina.
+     *
+     * @return ID del primer producto
+     */
+    private String poblar() {
+        String primero = null;
+        LocalDateTime ahora = LocalDateTime.now();
+
+        for (int p = 0; p < PRODUCTOS; p++) {
+            Producto producto = new Producto();
+            producto.setNombreProducto("Producto benchmark " + p);
+            producto.setDescripcion("Producto para medir proyecciones");
+            producto.setValor(1_000.0);
+            producto.setUltimaFechaModificacion(ahora);
+            entityManager.persist(producto);
+            if (primero == null) {
+                primero = producto.getIdProducto();
+            }
+
+            for (int l = 0; l < LOTES_POR_PRODUCTO; l++) {
+                Lote lote = new Lote();
+                lote.setCodigoLote("PB-" + UUID.randomUUID());
+                lote.setIdProducto(producto.getIdProducto());
+                lote.setFechaProduccion(LocalDate.now().minusDays(5));
+                lote.setFechaVencimiento(LocalDate.now().plusDays(30L + l));
+                lote.setCantidadProducida(50);
+                lote.setCantidadDisponible(40);
+                lote.setCantidadReservada(10);
+                lote.setEstado(EstadoLote.DISPONIBLE);
+                lote.setFechaCreacion(ahora);
+                entityManager.persist(lote);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        for (int i = 0; i < FILAS; i++) {
+            Usuario usuario = new Usuario();
+            usuario.setCedula("PB-" + UUID.randomUUID());
+            usuario.setNombre("Trabajador " + i);
+            usuario.setTelefono("3000000000");
+            usuario.setCorreoElectronico("trabajador-" + UUID.randomUUID() + "@benchmark.com");
+            usuario.setContrasena("$2a$10$hashDeContrasenaDeRelleno");
+            usuario.setRol(Rol.ENCARGADO_ALMACEN);
+            usuario.setCiudadDeResidencia("Armenia");
+            usuario.setDireccion("Calle " + i);
+            entityManager.persist(usuario);
+
+            PQR pqr = new PQR();
+            pqr.setIdUsuario("cliente-benchmark");
+            pqr.setCategoria(CategoriaPqr.RECLAMO);
+            pqr.setDescripcion("Descripción de la PQR número " + i + " para medir la proyección de columnas");
+            pqr.setFechaCreacion(ahora);
+            pqr.setEstadoPqr(EstadoPqr.ABIERTO);
+            entityManager.persist(pqr);
+
+            if (i % 200 == 199) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return primero;
+    }
+
+    @FunctionalInterface
+    private interface Peticion {
+        List<?> ejecutar();
+    }
+}
@@ -0,0 +1,239 @@
+package uniquindio.product.benchmark;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.Uploader;
+import com.cloudinary.utils.ObjectUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.multipart.MultipartFile;
+import uniquindio.product.configs.ImagenesProperties;
+import uniquindio.product.dto.producto.ImagenDTO;
+import uniquindio.product.repositories.ImagenAlmacenadaRepository;
+import uniquindio.product.repositories.ProductoRepository;
+import uniquindio.product.services.implementations.ImagesServiceImp;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Mide la memoria asignada en el heap y la latencia de subir imágenes de 10 MB con
+ * varias subidas simultáneas: la forma anterior (getBytes() y copia a un temporal)
+ * contra mover la parte que Tomcat ya dejó en disco, después de leerla una vez por bloques
+ * para calcular su hash. Cloudinary se sustituye por un uploader local que lee el archivo
+ * por bloques, como lo envía el SDK.
+ * Se ejecuta solo con el perfil de Maven "benchmark".
+ */
+@Slf4j
+@Tag("benchmark")
+public class SubidaImagenBenchmarkTest {
+
+    private static final int TAMANO_IMAGEN = 10 * 1024 * 1024;
+    private static final int SUBIDAS = 48;
+    private static final int SUBIDAS_SIMULTANEAS = 8;
+
+    private final com.sun.management.ThreadMXBean hilos =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Path directorio;
+    private Path imagenOriginal;
+    private Cloudinary cloudinary;
+    private ImagesServiceImp imagesService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directorio = Files.createTempDirectory("benchmark-imagenes");
+        imagenOriginal = directorio.resolve("original.jpg");
+        byte[] contenido = new byte[TAMANO_IMAGEN];
+        new Random(42).nextBytes(contenido);
+        Files.write(imagenOriginal, contenido);
+
+        Uploader uploader = mock(Uploader.class);
+        when(uploader.upload(any(), anyMap())).thenAnswer(invocacion -> {
+            File archivo = invocacion.getArgument(0);
+            long enviados = 0;
+            byte[] bloque = new byte[8192];
+            try (InputStream entrada = new FileInputStream(archivo)) {
+                for (int leidos; (leidos = entrada.read(bloque)) != -1; ) {
+                    enviados += leidos;
+                }
+            }
+            return ObjectUtils.asMap(
+                    "secure_url", "https://res.cloudinary.local/" + enviados,
+                    "public_id", "ReneChardon/" + UUID.randomUUID(),
+                    "format", "jpg");
+        });
+        cloudinary = mock(Cloudinary.class);
+        when(cloudinary.uploader()).thenReturn(uploader);
+
+        // Cada subida es una imagen nueva para el índice de contenido
+        ImagenAlmacenadaRepository imagenAlmacenadaRepository = mock(ImagenAlmacenadaRepository.class);
+        when(imagenAlmacenadaRepository.registrar(any(), any(), any(), any(), any())).thenReturn(1);
+
+        imagesService = new ImagesServiceImp(cloudinary, new ImagenesProperties(),
+                imagenAlmacenadaRepository, mock(ProductoRepository.class));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (var archivos = Files.list(directorio)) {
+            for (Path archivo : archivos.toList()) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+        Files.deleteIfExists(directorio);
+    }
+
+    @Test
+    void subidasSimultaneasDe10MB() throws Exception {
+        // Act
+        Resultado anterior = cargar(this::subirAnterior);
+        Resultado actual = cargar(imagesService::subirImagen);
+
+        log.info(String.format("[benchmark] subida imagen=%d MB simultaneas=%d "
+                        + "anterior=%.1f MB heap/subida p50=%.0f ms p99=%.0f ms "
+                        + "actual=%.1f MB heap/subida p50=%.0f ms p99=%.0f ms",
+                TAMANO_IMAGEN / (1024 * 1024), SUBIDAS_SIMULTANEAS,
+                anterior.mbPorSubida(), anterior.p50Ms(), anterior.p99Ms(),
+                actual.mbPorSubida(), actual.p50Ms(), actual.p99Ms()));
+
+        // Assert: la imagen ya no pasa entera por el heap, la parte se mueve en lugar de copiarse
+        // y llega completa al uploader
+        assertTrue(actual.mbPorSubida() < 1, "La subida no debe copiar la imagen al heap");
+        assertTrue(anterior.mbPorSubida() >= TAMANO_IMAGEN / (1024.0 * 1024.0));
+        ParteEnDisco parte = parteEnDisco();
+        ImagenDTO imagen = imagesService.subirImagen(parte);
+        assertFalse(Files.exists(parte.spool()), "La parte debe moverse al temporal, no copiarse");
+        assertEquals("https://res.cloudinary.local/" + TAMANO_IMAGEN, imagen.url());
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private Resultado cargar(Subida subida) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(SUBIDAS_SIMULTANEAS);
+        List<Double> latencias = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong bytesAsignados = new AtomicLong();
+        List<Future<?>> futuros = new ArrayList<>();
+
+        for (int i = 0; i < SUBIDAS; i++) {
+            futuros.add(ejecutor.submit(() -> {
+                // La parte en disco es lo que Tomcat ya tiene al llegar la petición
+                MultipartFile parte = parteEnDisco();
+                long asignadosAntes = hilos.getCurrentThreadAllocatedBytes();
+                long inicio = System.nanoTime();
+
+                subida.subir(parte);
+
+                latencias.add((System.nanoTime() - inicio) / 1_000_000.0);
+                bytesAsignados.addAndGet(hilos.getCurrentThreadAllocatedBytes() - asignadosAntes);
+                return null;
+            }));
+        }
+        for (Future<?> futuro : futuros) {
+            futuro.get(2, TimeUnit.MINUTES);
+        }
+        ejecutor.shutdown();
+
+        List<Double> ordenadas = new ArrayList<>(latencias);
+        Collections.sort(ordenadas);
+        return new Resultado(
+                bytesAsignados.get() / (1024.0 * 1024.0) / SUBIDAS,
+                ordenadas.get(ordenadas.size() / 2),
+                ordenadas.get((int) Math.ceil(ordenadas.size() * 0.99) - 1));
+    }
+
+    /**
+     * Copia de la forma anterior de ImagesServiceImp: getBytes() y escritura a un temporal.
+     */
+    private ImagenDTO subirAnterior(MultipartFile imagen) throws Exception {
+        File file = File.createTempFile("upload-", imagen.getOriginalFilename(), directorio.toFile());
+        try {
+            try (FileOutputStream fos = new FileOutputStream(file)) {
+                fos.write(imagen.getBytes());
+            }
+            Map<?, ?> resultado = cloudinary.uploader().upload(file, ObjectUtils.asMap("folder", "ReneChardon"));
+            return new ImagenDTO((String) resultado.get("secure_url"), (String) resultado.get("public_id"),
+                    (String) resultado.get("format"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private ParteEnDisco parteEnDisco() throws IOException {
+        Path spool = directorio.resolve("parte-" + UUID.randomUUID());
+        Files.copy(imagenOriginal, spool);
+        return new ParteEnDisco(spool);
+    }
+
+    private record Resultado(double mbPorSubida, double p50Ms, double p99Ms) {}
+
+    @FunctionalInterface
+    private interface Subida {
+        ImagenDTO subir(MultipartFile parte) throws Exception;
+    }
+
+    /**
+     * Parte multipart respaldada por un archivo, como la que Tomcat guarda al recibir la
+     * petición: getInputStream() la lee desde el disco y transferTo(File) la mueve igual que Part.write.
+     */
+    private record ParteEnDisco(Path spool) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return "imagen";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "producto.jpg";
+        }
+
+        @Override
+        public String getContentType() {
+            return "image/jpeg";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(spool);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(spool);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(spool);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.move(spool, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package uniquindio.product.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uniquindio.product.configs.JWTUtils;
+import uniquindio.product.configs.JwtAuthenticationFilter;
+import uniquindio.product.configs.UsuarioAutenticadoArgumentResolver;
+import uniquindio.product.controllers.UsuarioController;
+import uniquindio.product.services.interfaces.CarritoService;
+import uniquindio.product.services.interfaces.PedidoService;
+import uniquindio.product.services.interfaces.UsuarioService;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Mide el costo por petición de identificar al usuario en los endpoints de
+ * UsuarioController (filtro JWT + resolución del principal) y lo compara con la
+ * búsqueda anterior del ID entre las autoridades ("id:" + id).
+ * Se ejecuta solo con el perfil de Maven "benchmark".
+ */
+@Slf4j
+@Tag("benchmark")
+public class UsuarioControllerBenchmarkTest {
+
+    private static final int CALENTAMIENTO = 2_000;
+    private static final int ITERACIONES = 10_000;
+
+    private final UsuarioService usuarioService = mock(UsuarioService.class);
+    private final CarritoService carritoService = mock(CarritoService.class);
+    private final PedidoService pedidoService = mock(PedidoService.class);
+
+    private MockMvc mockMvc;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        JWTUtils jwtUtils = new JWTUtils();
+        jwtUtils.setSecret("secreto-de-benchmark-con-mas-de-32-bytes-de-largo");
+        jwtUtils.inicializar();
+        token = jwtUtils.generarToken("cliente@correo.com", Map.of("id", "u1", "rol", "CLIENTE"));
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new UsuarioController(usuarioService, carritoService, pedidoService))
+                .setCustomArgumentResolvers(new UsuarioAutenticadoArgumentResolver())
+                .addFilters(new JwtAuthenticationFilter(jwtUtils))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"/api/usuarios/perfil", "/api/usuarios/mi-carrito/total", "/api/usuarios/pedidos"})
+    void costoPorPeticion(String ruta) throws Exception {
+        // Arrange
+        Authentication anterior = new UsernamePasswordAuthenticationToken("cliente@correo.com", null, List.of(
+                new SimpleGrantedAuthority("ROLE_CLIENTE"),
+                new SimpleGrantedAuthority("id:u1")));
+
+        // Act
+        double resolucionAnterior = medir(() -> anterior.getAuthorities().stream()
+                .filter(auth -> auth.getAuthority().startsWith("id:"))
+                .map(auth -> auth.getAuthority().substring(3))
+                .findFirst()
+                .orElseThrow());
+        double peticion = medir(() -> mockMvc.perform(get(ruta).header("Authorization", "Bearer " + token)));
+
+        log.info(String.format("[benchmark] %s resolucionAnterior=%.2f µs peticion=%.2f µs/petición",
+                ruta, resolucionAnterior, peticion));
+
+        // Assert: el ID del token llega al servicio sin pasar por las autoridades
+        mockMvc.perform(get(ruta).header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+        switch (ruta) {
+            case "/api/usuarios/perfil" -> verify(usuarioService, atLeastOnce()).obtenerUsuario("u1");
+            case "/api/usuarios/mi-carrito/total" -> verify(carritoService, atLeastOnce()).calcularTotalCarrito("u1");
+            default -> verify(pedidoService, atLeastOnce()).obtenerPedidosPorCliente(eq("u1"), isNull(), anyInt());
+        }
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private double medir(Accion accion) throws Exception {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            accion.ejecutar();
+        }
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            accion.ejecutar();
+        }
+        return (System.nanoTime() - inicio) / 1_000.0 / ITERACIONES;
+    }
+
+    @FunctionalInterface
+    private interface Accion {
+        Object ejecutar() throws Exception;
+    }
+}
@@ -0,0 +1,176 @@
+package uniquindio.product.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uniquindio.product.configs.AsyncConfig;
+import uniquindio.product.configs.CorreoProperties;
+import uniquindio.product.configs.WebhookProperties;
+import uniquindio.product.dto.pedido.NotificacionDataDTO;
+import uniquindio.product.dto.pedido.NotificacionPagoDTO;
+import uniquindio.product.exceptions.PedidoException;
+import uniquindio.product.model.enums.EstadoPago;
+import uniquindio.product.model.vo.Pago;
+import uniquindio.product.repositories.NotificacionPagoFallidaRepository;
+import uniquindio.product.repositories.NotificacionPagoRepository;
+import uniquindio.product.services.implementations.NotificacionPagoServiceImpl;
+import uniquindio.product.services.implementations.MetricasCheckout;
+import uniquindio.product.services.implementations.ProcesadorNotificacionesPago;
+import uniquindio.product.services.interfaces.NotificacionPagoService;
+import uniquindio.product.services.interfaces.PasarelaPagoPort;
+import uniquindio.product.services.interfaces.PedidoService;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Prueba de carga del webhook de pagos contra una pasarela local que simula la
+ * latencia de MercadoPago: mide cuánto tarda el hilo HTTP en encolar cada aviso
+ * (con reenvíos duplicados) y cuánto tarda el pool en vaciar la cola.
+ * Se ejecuta solo con el perfil de Maven "benchmark".
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest(properties = {"webhooks.espera-inicial=PT0S", "webhooks.hilos=8"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({NotificacionPagoServiceImpl.class, ProcesadorNotificacionesPago.class, MetricasCheckout.class,
+        AsyncConfig.class, WebhookCargaBenchmarkTest.PasarelaLocal.class})
+public class WebhookCargaBenchmarkTest {
+
+    private static final int PAGOS = 200;
+    private static final int REENVIOS_POR_PAGO = 3;
+    private static final int HILOS_HTTP = 16;
+    private static final long LATENCIA_PASARELA_MS = 20;
+    private static final String PREFIJO = "carga-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+
+    @Autowired
+    private NotificacionPagoService notificacionPagoService;
+
+    @Autowired
+    private ProcesadorNotificacionesPago procesador;
+
+    @Autowired
+    @Qualifier(AsyncConfig.EJECUTOR_NOTIFICACIONES_PAGO)
+    private ThreadPoolTaskExecutor executor;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private NotificacionPagoRepository notificacionPagoRepository;
+
+    @Autowired
+    private NotificacionPagoFallidaRepository notificacionPagoFallidaRepository;
+
+    @AfterEach
+    void tearDown() {
+        notificacionPagoRepository.deleteAll(notificacionPagoRepository.findAll().stream()
+                .filter(n -> n.getIdPago().startsWith(PREFIJO)).toList());
+        notificacionPagoFallidaRepository.deleteAll(notificacionPagoFallidaRepository.findAll().stream()
+                .filter(n -> n.getIdPago().startsWith(PREFIJO)).toList());
+    }
+
+    @Test
+    void cargaConReenviosDuplicados() throws Exception {
+        // Arrange: cada pago llega varias veces, como cuando MercadoPago reintenta
+        ExecutorService clientes = Executors.newFixedThreadPool(HILOS_HTTP);
+        AtomicInteger encoladas = new AtomicInteger();
+
+        // Act: encolado concurrente (lo que hace el hilo HTTP del webhook)
+        long inicio = System.nanoTime();
+        for (int reenvio = 0; reenvio < REENVIOS_POR_PAGO; reenvio++) {
+            for (int i = 0; i < PAGOS; i++) {
+                String idPago = PREFIJO + i;
+                clientes.submit(() -> {
+                    if (notificacionPagoService.encolar(new NotificacionPagoDTO("payment", new NotificacionDataDTO(idPago)))) {
+                        encoladas.incrementAndGet();
+                    }
+                });
+            }
+        }
+        clientes.shutdown();
+        assertTrue(clientes.awaitTermination(1, TimeUnit.MINUTES));
+        double encoladoMs = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        // Act: el pool vacía la cola (el planificador llama a despachar() cada segundo)
+        inicio = System.nanoTime();
+        long limite = System.currentTimeMillis() + 120_000;
+        // Primero el pool: si está inactivo, ninguna tarea puede volver a dejar pendientes
+        while (executor.getActiveCount() + executor.getQueueSize() > 0
+                || notificacionPagoService.contarPendientes() > 0) {
+            assertTrue(System.currentTimeMillis() < limite, "La cola no se vació a tiempo");
+            procesador.despachar();
+            Thread.sleep(10);
+        }
+        double vaciadoMs = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        int avisos = PAGOS * REENVIOS_POR_PAGO;
+        log.info(String.format("[benchmark] webhook avisos=%d encolado=%.3f ms/aviso vaciado=%.0f ms (%.1f pagos/s)",
+                avisos, encoladoMs / avisos, vaciadoMs, PAGOS / (vaciadoMs / 1_000)));
+
+        // Assert: un registro por pago, los fallos transitorios se reintentaron y nada quedó en fallidas
+        assertEquals(PAGOS, encoladas.get());
+        verify(pedidoService, times(PAGOS)).registrarPago(any(Pago.class));
+        assertTrue(notificacionPagoFallidaRepository.findAll().stream()
+                .noneMatch(n -> n.getIdPago().startsWith(PREFIJO)));
+    }
+
+    /**
+     * Sustituto local de MercadoPago: responde con latencia fija y falla la primera
+     * consulta de uno de cada diez pagos para forzar reintentos.
+     */
+    @TestConfiguration
+    @EnableConfigurationProperties({WebhookProperties.class, CorreoProperties.class})
+    static class PasarelaLocal {
+
+        @Bean
+        PasarelaPagoPort pasarelaPagoPort() throws PedidoException {
+            Map<String, Boolean> yaFallaron = new ConcurrentHashMap<>();
+            PasarelaPagoPort pasarela = mock(PasarelaPagoPort.class);
+
+            when(pasarela.obtenerPago(any())).thenAnswer(invocacion -> {
+                String idPago = invocacion.getArgument(0);
+                Thread.sleep(LATENCIA_PASARELA_MS);
+                if (idPago.hashCode() % 10 == 0 && yaFallaron.putIfAbsent(idPago, true) == null) {
+                    throw new PedidoException("Error al obtener pago desde pasarela");
+                }
+                Pago pago = new Pago();
+                pago.setIdPago(idPago);
+                pago.setEstado(EstadoPago.APROBADO);
+                return pago;
+            });
+            return pasarela;
+        }
+
+        @Bean
+        PedidoService pedidoService() {
+            return mock(PedidoService.class);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
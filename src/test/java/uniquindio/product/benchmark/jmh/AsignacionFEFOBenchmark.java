@@ -0,0 +1,70 @@
+package uniquindio.product.benchmark.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import uniquindio.product.exceptions.LoteException;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.vo.PlanAsignacionLotes;
+import uniquindio.product.services.implementations.AsignacionFEFO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark de la planificación FEFO de un pedido con 1, 10 y 50 líneas. Cada producto
+ * tiene 5 lotes de 10 unidades, recibidos en orden inverso de vencimiento, y cada línea
+ * necesita tres de ellos para completarse.
+ * Se ejecuta solo con el perfil de Maven "jmh".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsignacionFEFOBenchmark {
+
+    private static final int LOTES_POR_PRODUCTO = 5;
+    private static final int UNIDADES_POR_LOTE = 10;
+
+    @Param({"1", "10", "50"})
+    private int lineas;
+
+    private Map<String, Integer> cantidades;
+    private List<Lote> candidatos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        cantidades = new LinkedHashMap<>();
+        candidatos = new ArrayList<>(lineas * LOTES_POR_PRODUCTO);
+        for (int i = 0; i < lineas; i++) {
+            String idProducto = "producto-" + i;
+            cantidades.put(idProducto, UNIDADES_POR_LOTE * 3 - 5);
+
+            for (int l = LOTES_POR_PRODUCTO - 1; l >= 0; l--) {
+                Lote lote = new Lote();
+                lote.setId(idProducto + "-id-" + l);
+                lote.setCodigoLote(idProducto + "-L" + l);
+                lote.setIdProducto(idProducto);
+                lote.setFechaProduccion(LocalDate.now().minusDays(10));
+                lote.setFechaVencimiento(LocalDate.now().plusDays(30L + l));
+                lote.setCantidadProducida(UNIDADES_POR_LOTE);
+                lote.setCantidadDisponible(UNIDADES_POR_LOTE);
+                lote.setEstado(EstadoLote.DISPONIBLE);
+                lote.setFechaCreacion(LocalDateTime.now());
+                candidatos.add(lote);
+            }
+        }
+    }
+
+    // La copia reproduce la lista nueva que devuelve el repositorio en cada pedido
+    @Benchmark
+    public PlanAsignacionLotes planificar() throws LoteException {
+        return AsignacionFEFO.planificar(cantidades, new ArrayList<>(candidatos));
+    }
+}
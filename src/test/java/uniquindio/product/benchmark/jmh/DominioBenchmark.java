@@ -0,0 +1,92 @@
+package uniquindio.product.benchmark.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import uniquindio.product.model.documents.Carrito;
+import uniquindio.product.model.documents.Inventario;
+import uniquindio.product.model.documents.Pedido;
+import uniquindio.product.model.vo.DetalleCarrito;
+import uniquindio.product.model.vo.DetalleInventario;
+import uniquindio.product.model.vo.DetallePedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks de los métodos de dominio que recorren colecciones: el carrito, el
+ * registro histórico de inventario y el total del pedido. Cada uno busca o actualiza el
+ * último elemento (el peor caso de la búsqueda lineal) con 10, 1.000 y 100.000 elementos.
+ * Se ejecuta solo con el perfil de Maven "jmh".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DominioBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int tamano;
+
+    private Carrito carrito;
+    private Inventario inventario;
+    private Pedido pedido;
+    private String ultimoProducto;
+    private String ultimoLote;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ultimoProducto = "producto-" + (tamano - 1);
+        ultimoLote = "lote-" + (tamano - 1);
+
+        List<DetallePedido> detalle = new ArrayList<>(tamano);
+        for (int i = 0; i < tamano; i++) {
+            detalle.add(new DetallePedido("producto-" + i, "lote-" + i, 1 + i % 5, new BigDecimal("1500.50")));
+        }
+        pedido = new Pedido();
+        pedido.setDetalle(detalle);
+    }
+
+    // Las cantidades se reinician para que las iteraciones no agoten el lote ni desborden el carrito
+    @Setup(Level.Iteration)
+    public void reiniciarCantidades() {
+        List<DetalleCarrito> items = new ArrayList<>(tamano);
+        List<DetalleInventario> detalles = new ArrayList<>(tamano);
+        LocalDateTime ahora = LocalDateTime.now();
+        for (int i = 0; i < tamano; i++) {
+            items.add(new DetalleCarrito("producto-" + i, 1));
+            detalles.add(new DetalleInventario("lote-" + i, "producto-" + i, Integer.MAX_VALUE, ahora));
+        }
+
+        carrito = new Carrito();
+        carrito.setItems(items);
+        inventario = new Inventario();
+        inventario.setDetalleInventario(detalles);
+    }
+
+    @Benchmark
+    public Carrito carritoAgregarOActualizarItem() {
+        carrito.agregarOActualizarItem(new DetalleCarrito(ultimoProducto, 1));
+        return carrito;
+    }
+
+    @Benchmark
+    public Optional<DetalleInventario> inventarioBuscarDetallePorLote() {
+        return inventario.buscarDetallePorLote(ultimoLote);
+    }
+
+    @Benchmark
+    public Inventario inventarioReducirCantidadLote() {
+        inventario.reducirCantidadLote(ultimoLote, 1);
+        return inventario;
+    }
+
+    @Benchmark
+    public BigDecimal pedidoCalcularTotal() {
+        return pedido.calcularTotal();
+    }
+}
@@ -0,0 +1,233 @@
+package uniquindio.product.benchmark.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import uniquindio.product.dto.inventario.ResumenInventarioDTO;
+import uniquindio.product.dto.lote.LotePorVencerDTO;
+import uniquindio.product.dto.lote.MostrarLoteDTO;
+import uniquindio.product.dto.pedido.CrearPedidoDTO;
+import uniquindio.product.dto.pedido.DetallePedidoDTO;
+import uniquindio.product.dto.pedido.PedidoResponseDTO;
+import uniquindio.product.mapper.ContextoMapeo;
+import uniquindio.product.mapper.InventarioMapper;
+import uniquindio.product.mapper.LoteMapper;
+import uniquindio.product.mapper.PedidoMapper;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.Pedido;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.documents.StockProducto;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.enums.TipoProducto;
+import uniquindio.product.model.vo.DetallePedido;
+import uniquindio.product.model.vo.PlanAsignacionLotes;
+import uniquindio.product.services.implementations.CargadorContextoMapeo;
+import uniquindio.product.services.interfaces.ProductoCacheService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks de los mappers en los caminos del checkout, del resumen de inventario y de
+ * las consultas de lotes: PedidoMapper.toEntity con su plan FEFO, el armado de las líneas del
+ * pedido (buildDetalles, medido a través de toPedidoResponseDTO), la página de
+ * ResumenInventarioDTO, listarLotes y obtenerLotesPorVencer con su ContextoMapeo, y una página
+ * de pedidos que comparte un solo contexto. El tamaño es la cantidad de líneas, productos y
+ * lotes; en los caminos de lotes y pedidos hay 20 lotes por producto y 5 líneas por pedido.
+ * Se ejecuta solo con el perfil de Maven "jmh".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeoBenchmark {
+
+    private static final int LOTES_POR_PRODUCTO = 20;
+    private static final int LINEAS_POR_PEDIDO = 5;
+
+    @Param({"10", "1000", "100000"})
+    private int tamano;
+
+    private CrearPedidoDTO pedidoDTO;
+    private PlanAsignacionLotes plan;
+    private ContextoMapeo contexto;
+    private Pedido pedido;
+    private List<StockProducto> stocks;
+    private List<Lote> inventario;
+    private List<Pedido> pedidos;
+    private Map<String, Producto> catalogo;
+    private CargadorContextoMapeo cargadorContextoMapeo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<Producto> productos = new ArrayList<>(tamano);
+        List<Lote> lotes = new ArrayList<>(tamano);
+        List<DetallePedidoDTO> detalle = new ArrayList<>(tamano);
+        List<PlanAsignacionLotes.Asignacion> asignaciones = new ArrayList<>(tamano);
+        stocks = new ArrayList<>(tamano);
+
+        for (int i = 0; i < tamano; i++) {
+            Producto producto = new Producto();
+            producto.setIdProducto("producto-" + i);
+            producto.setNombreProducto("Producto " + i);
+            producto.setValor(1_000.0 + i);
+            productos.add(producto);
+
+            Lote lote = new Lote();
+            lote.setId("lote-" + i);
+            lote.setCodigoLote("L-" + i);
+            lote.setIdProducto(producto.getIdProducto());
+            lote.setFechaVencimiento(LocalDate.now().plusDays(30L + i % 60));
+            lote.setCantidadDisponible(100);
+            lote.setEstado(EstadoLote.DISPONIBLE);
+            lotes.add(lote);
+
+            int cantidad = 1 + i % 5;
+            detalle.add(new DetallePedidoDTO(producto.getIdProducto(), cantidad));
+            asignaciones.add(new PlanAsignacionLotes.Asignacion(producto.getIdProducto(), lote, cantidad));
+            stocks.add(new StockProducto(producto.getIdProducto(), 100, 1, lote.getFechaVencimiento(),
+                    LocalDateTime.now()));
+        }
+
+        pedidoDTO = new CrearPedidoDTO("cliente-jmh", null, OffsetDateTime.now(), detalle, null);
+        plan = new PlanAsignacionLotes(asignaciones);
+        contexto = ContextoMapeo.de(productos, lotes);
+        pedido = PedidoMapper.toEntity(pedidoDTO, contexto, plan);
+        pedido.setId("pedido-jmh");
+
+        prepararInventario();
+    }
+
+    @Benchmark
+    public Pedido pedidoToEntity() {
+        return PedidoMapper.toEntity(pedidoDTO, contexto, plan);
+    }
+
+    @Benchmark
+    public PedidoResponseDTO pedidoBuildDetalles() {
+        return PedidoMapper.toPedidoResponseDTO(pedido, contexto);
+    }
+
+    @Benchmark
+    public List<ResumenInventarioDTO> inventarioToResumenInventarioDTOList() {
+        return stocks.stream()
+                .map(stock -> InventarioMapper.toResumenInventarioDTO(stock, contexto))
+                .toList();
+    }
+
+    @Benchmark
+    public List<MostrarLoteDTO> listarLotes() {
+        return LoteMapper.toMostrarLoteDTOList(inventario, cargadorContextoMapeo.paraLotes(inventario));
+    }
+
+    @Benchmark
+    public List<LotePorVencerDTO> obtenerLotesPorVencer() {
+        ContextoMapeo contextoLotes = cargadorContextoMapeo.paraLotes(inventario);
+        return inventario.stream()
+                .map(lote -> LoteMapper.toLotePorVencerDTO(lote, contextoLotes))
+                .sorted(Comparator.comparingLong(LotePorVencerDTO::diasRestantes))
+                .toList();
+    }
+
+    // El contexto que arma paraPedidos después de su consulta de productos y su consulta de lotes
+    @Benchmark
+    public List<PedidoResponseDTO> pedidosConContextoCompartido() {
+        ContextoMapeo contextoPedidos = ContextoMapeo.de(catalogo, inventario);
+        return pedidos.stream()
+                .map(p -> PedidoMapper.toPedidoResponseDTO(p, contextoPedidos))
+                .toList();
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private void prepararInventario() {
+        int cantidadProductos = Math.max(1, tamano / LOTES_POR_PRODUCTO);
+        catalogo = new HashMap<>(cantidadProductos * 2);
+        for (int i = 0; i < cantidadProductos; i++) {
+            Producto producto = new Producto();
+            producto.setIdProducto("producto-" + i);
+            producto.setNombreProducto("Producto " + i);
+            producto.setValor(1_000.0);
+            catalogo.put(producto.getIdProducto(), producto);
+        }
+
+        inventario = new ArrayList<>(tamano);
+        for (int i = 0; i < tamano; i++) {
+            Lote lote = new Lote();
+            lote.setId("lote-" + i);
+            lote.setCodigoLote("L-" + i);
+            lote.setIdProducto("producto-" + i % cantidadProductos);
+            lote.setFechaProduccion(LocalDate.now().minusDays(10));
+            lote.setFechaVencimiento(LocalDate.now().plusDays(30L + i % 60));
+            lote.setCantidadProducida(100);
+            lote.setCantidadDisponible(80);
+            lote.setEstado(EstadoLote.DISPONIBLE);
+            lote.setFechaCreacion(LocalDateTime.now());
+            inventario.add(lote);
+        }
+
+        pedidos = new ArrayList<>(tamano / LINEAS_POR_PEDIDO + 1);
+        for (int inicio = 0; inicio < tamano; inicio += LINEAS_POR_PEDIDO) {
+            List<DetallePedido> detalle = new ArrayList<>(LINEAS_POR_PEDIDO);
+            for (Lote lote : inventario.subList(inicio, Math.min(inicio + LINEAS_POR_PEDIDO, tamano))) {
+                detalle.add(new DetallePedido(lote.getIdProducto(), lote.getId(), 1, new BigDecimal("1000")));
+            }
+
+            Pedido pedidoPagina = new Pedido();
+            pedidoPagina.setId("pedido-" + pedidos.size());
+            pedidoPagina.setIdCliente("cliente-jmh");
+            pedidoPagina.setDetalle(detalle);
+            pedidoPagina.setTotal(new BigDecimal("1000").multiply(BigDecimal.valueOf(detalle.size())));
+            pedidos.add(pedidoPagina);
+        }
+
+        // paraLotes no usa el repositorio de lotes: solo resuelve los productos
+        cargadorContextoMapeo = new CargadorContextoMapeo(new CatalogoEnMemoria(catalogo), null);
+    }
+
+    /**
+     * Caché de productos ya cargada: buscarPorIds hace una búsqueda por ID, como Caffeine
+     * cuando todas las entradas están presentes.
+     */
+    private record CatalogoEnMemoria(Map<String, Producto> productosPorId) implements ProductoCacheService {
+
+        @Override
+        public Optional<Producto> buscarPorId(String idProducto) {
+            return Optional.ofNullable(productosPorId.get(idProducto));
+        }
+
+        @Override
+        public Map<String, Producto> buscarPorIds(Collection<String> idsProductos) {
+            Map<String, Producto> encontrados = new HashMap<>(idsProductos.size() * 2);
+            for (String id : idsProductos) {
+                Producto producto = productosPorId.get(id);
+                if (producto != null) {
+                    encontrados.put(id, producto);
+                }
+            }
+            return encontrados;
+        }
+
+        @Override
+        public List<Producto> buscarPorTipo(TipoProducto tipo) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Producto> listarPagina(String desdeIdProducto, int filas) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
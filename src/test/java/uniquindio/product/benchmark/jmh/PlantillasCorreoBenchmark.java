@@ -0,0 +1,99 @@
+package uniquindio.product.benchmark.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import uniquindio.product.mapper.ContextoMapeo;
+import uniquindio.product.mapper.PedidoMapper;
+import uniquindio.product.mapper.UsuarioMapper;
+import uniquindio.product.model.documents.Pedido;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.vo.DetallePedido;
+import uniquindio.product.services.implementations.PlantillasCorreo;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks del renderizado de correos con el marco precalculado y las plantillas en
+ * caché, como en una campaña enviada a todos los usuarios: cada invocación arma el correo del
+ * siguiente de 10.000 destinatarios, con el código de validación o con la confirmación de un
+ * pedido de tres líneas.
+ * Se ejecuta solo con el perfil de Maven "jmh".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlantillasCorreoBenchmark {
+
+    private static final int USUARIOS = 10_000;
+
+    private PlantillasCorreo plantillasCorreo;
+    private String[] correos;
+    private Pedido pedido;
+    private ContextoMapeo contexto;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+
+        SpringTemplateEngine motor = new SpringTemplateEngine();
+        motor.setTemplateResolver(resolver);
+
+        plantillasCorreo = new PlantillasCorreo(motor);
+        plantillasCorreo.inicializar();
+
+        correos = new String[USUARIOS];
+        for (int i = 0; i < USUARIOS; i++) {
+            correos[i] = "usuario" + i + "@correo.com";
+        }
+
+        pedido = new Pedido();
+        pedido.setId("pedido-campana");
+        pedido.setTotal(new BigDecimal("120000"));
+        pedido.setDetalle(List.of(
+                new DetallePedido("p1", "lote-1", 2, new BigDecimal("25000")),
+                new DetallePedido("p2", "lote-2", 1, new BigDecimal("40000")),
+                new DetallePedido("p3", "lote-3", 1, new BigDecimal("30000"))));
+
+        List<Producto> productos = new ArrayList<>();
+        for (String id : List.of("p1", "p2", "p3")) {
+            Producto producto = new Producto();
+            producto.setIdProducto(id);
+            producto.setNombreProducto("Producto " + id);
+            productos.add(producto);
+        }
+        contexto = ContextoMapeo.de(productos, List.of());
+    }
+
+    @Benchmark
+    public String correoValidacion() {
+        int i = siguienteUsuario();
+        return plantillasCorreo.renderizar(UsuarioMapper.toEmailValidacionDTO(correos[i], String.valueOf(i)));
+    }
+
+    @Benchmark
+    public String correoConfirmacionPedido() {
+        return plantillasCorreo.renderizar(
+                PedidoMapper.toEmailConfirmacionDTO(correos[siguienteUsuario()], pedido, contexto));
+    }
+
+    private int siguienteUsuario() {
+        int actual = siguiente;
+        siguiente = siguiente + 1 == USUARIOS ? 0 : siguiente + 1;
+        return actual;
+    }
+}
@@ -0,0 +1,118 @@
+package uniquindio.product.benchmark.jmh;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import uniquindio.product.configs.JWTUtils;
+import uniquindio.product.configs.JwtAuthenticationFilter;
+import uniquindio.product.services.implementations.CodigoValidacionServiceImpl;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks de la generación de códigos de validación y de la verificación de JWT.
+ * El código se mide con 5 (el usado al registrar y recuperar la contraseña), 50 y 500
+ * caracteres. parseJwt recorre 10, 1.000 o 100.000 tokens distintos: los dos primeros caben
+ * en la caché de tokens verificados (10.000) y el último obliga a verificar la firma casi siempre.
+ * filtrarPeticion mide JwtAuthenticationFilter por petición con el mismo token, sin caché de
+ * tokens (0) y con la caché por defecto (10.000).
+ * Se ejecuta solo con el perfil de Maven "jmh".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeguridadBenchmark {
+
+    @State(Scope.Thread)
+    public static class Codigos {
+
+        @Param({"5", "50", "500"})
+        private int longitud;
+
+        private final CodigoValidacionServiceImpl codigoValidacionService = new CodigoValidacionServiceImpl();
+    }
+
+    @State(Scope.Thread)
+    public static class Tokens {
+
+        @Param({"10", "1000", "100000"})
+        private int tamano;
+
+        private JWTUtils jwtUtils;
+        private String[] tokens;
+        private int siguiente;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            jwtUtils = new JWTUtils();
+            jwtUtils.setSecret("secreto-de-benchmark-con-mas-de-32-bytes-de-largo");
+            jwtUtils.inicializar();
+
+            tokens = new String[tamano];
+            for (int i = 0; i < tamano; i++) {
+                tokens[i] = jwtUtils.generarToken("usuario" + i + "@correo.com",
+                        Map.of("rol", "CLIENTE", "nombre", "Usuario " + i, "id", "usuario-" + i));
+            }
+        }
+
+        private String siguienteToken() {
+            String token = tokens[siguiente];
+            siguiente = siguiente + 1 == tokens.length ? 0 : siguiente + 1;
+            return token;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Filtros {
+
+        @Param({"0", "10000"})
+        private int tamanoCache;
+
+        private JwtAuthenticationFilter filtro;
+        private String token;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            JWTUtils jwtUtils = new JWTUtils();
+            jwtUtils.setSecret("secreto-de-benchmark-con-mas-de-32-bytes-de-largo");
+            jwtUtils.setTamanoCache(tamanoCache);
+            jwtUtils.inicializar();
+
+            filtro = new JwtAuthenticationFilter(jwtUtils);
+            token = jwtUtils.generarToken("cliente@correo.com", Map.of("id", "u1", "rol", "CLIENTE"));
+        }
+
+        @TearDown(Level.Trial)
+        public void limpiar() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public String generarCodigoValidacion(Codigos estado) {
+        return estado.codigoValidacionService.generarCodigoValidacion(estado.longitud);
+    }
+
+    @Benchmark
+    public Jws<Claims> parseJwt(Tokens estado) {
+        return estado.jwtUtils.parseJwt(estado.siguienteToken());
+    }
+
+    @Benchmark
+    public Authentication filtrarPeticion(Filtros estado) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/usuario/pedidos");
+        request.addHeader("Authorization", "Bearer " + estado.token);
+        estado.filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,138 @@
+package uniquindio.product.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.enums.TipoProducto;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.repositories.ProductoRepository;
+import uniquindio.product.repositories.StockProductoRepository;
+import uniquindio.product.services.implementations.EmailServiceSimulado;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de carga de punta a punta del checkout con la aplicación completa en un puerto
+ * aleatorio y el perfil de Spring "carga": MercadoPago, Cloudinary y SMTP se reemplazan por
+ * simulaciones con la latencia y los fallos de application-carga.properties. Registra en el log el
+ * rendimiento y los percentiles p50/p95/p99 de cada paso.
+ * El ritmo y la duración se ajustan con -Dcarga.rps (peticiones por segundo) y -Dcarga.duracion.
+ * Los productos, lotes y usuarios creados quedan en la base de datos: usar una base desechable.
+ * Se ejecuta solo con el perfil de Maven "carga".
+ */
+@Slf4j
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("carga")
+public class CheckoutCargaTest {
+
+    private static final int PRODUCTOS = 20;
+    private static final int LOTES_POR_PRODUCTO = 5;
+    private static final int UNIDADES_POR_LOTE = 100_000;
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmailServiceSimulado emailService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private LoteRepository loteRepository;
+
+    @Autowired
+    private StockProductoRepository stockProductoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void checkoutCompleto() {
+        // Arrange
+        double rps = Double.parseDouble(System.getProperty("carga.rps", "20"));
+        Duration duracion = Duration.parse(System.getProperty("carga.duracion", "PT30S"));
+        GeneradorCarga generador = new GeneradorCarga(URI.create("http://localhost:" + puerto), objectMapper,
+                emailService::tomarCodigo, poblarCatalogo());
+
+        // Act
+        ResultadoCarga resultado = generador.ejecutar(rps, duracion);
+
+        // Assert
+        log.info(String.format("[carga] objetivo=%.1f pet/s duracion=%ds rendimiento=%.1f pet/s peticiones=%d "
+                        + "fallidas=%d sesiones=%d/%d completas",
+                rps, resultado.duracion().toSeconds(), resultado.rendimiento(), resultado.peticiones(),
+                resultado.fallidas(), resultado.sesionesCompletas(), resultado.sesionesIniciadas()));
+        for (ResultadoCarga.EstadisticaPaso paso : resultado.pasos()) {
+            log.info(String.format("[carga] %-17s exitosas=%6d fallidas=%5d p50=%8.1f ms p95=%8.1f ms p99=%8.1f ms",
+                    paso.paso(), paso.exitosas(), paso.fallidas(), paso.p50(), paso.p95(), paso.p99()));
+        }
+
+        assertTrue(resultado.sesionesIniciadas() > 0);
+        assertTrue(resultado.sesionesCompletas() > 0, "Ninguna sesión llegó al webhook");
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    /**
+     * Crea productos con stock de sobra para toda la corrida y su resumen de stock.
+     *
+     * @return IDs de los productos creados
+     */
+    private List<String> poblarCatalogo() {
+        return transactionTemplate.execute(estado -> {
+            List<String> ids = new ArrayList<>();
+            LocalDateTime ahora = LocalDateTime.now();
+
+            for (int p = 0; p < PRODUCTOS; p++) {
+                Producto producto = new Producto();
+                producto.setNombreProducto("Producto de carga " + p);
+                producto.setDescripcion("Producto para pruebas de carga");
+                producto.setValor(10_000.0 + p * 500);
+                producto.setTipo(TipoProducto.values()[p % TipoProducto.values().length]);
+                producto.setUltimaFechaModificacion(ahora);
+                String idProducto = productoRepository.save(producto).getIdProducto();
+                ids.add(idProducto);
+
+                for (int l = 0; l < LOTES_POR_PRODUCTO; l++) {
+                    Lote lote = new Lote();
+                    lote.setCodigoLote("CARGA-" + UUID.randomUUID());
+                    lote.setIdProducto(idProducto);
+                    lote.setFechaProduccion(LocalDate.now().minusDays(5));
+                    lote.setFechaVencimiento(LocalDate.now().plusDays(90L + l * 30));
+                    lote.setCantidadProducida(UNIDADES_POR_LOTE);
+                    lote.setCantidadDisponible(UNIDADES_POR_LOTE);
+                    lote.setEstado(EstadoLote.DISPONIBLE);
+                    lote.setFechaCreacion(ahora);
+                    loteRepository.save(lote);
+                }
+            }
+
+            stockProductoRepository.recalcular(ids);
+            return ids;
+        });
+    }
+}
@@ -0,0 +1,229 @@
+package uniquindio.product.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Generador de carga de modelo abierto: lanza sesiones de cliente a un ritmo fijo, sin
+ * esperar a que terminen las anteriores, para que una respuesta lenta no baje la carga.
+ * Cada sesión se registra, activa su cuenta, inicia sesión, recorre el catálogo, agrega
+ * productos al carrito, crea el pedido, inicia el pago y envía el webhook de MercadoPago.
+ * Si un paso falla, la sesión se abandona. El webhook solo encola la notificación,
+ * así que su latencia no incluye el descuento de stock: ese tiempo queda en la métrica
+ * checkout.fase del servidor.
+ */
+public class GeneradorCarga {
+
+    private static final String CONTRASENA = "Carga12345";
+    private static final Duration TIEMPO_MAXIMO_PETICION = Duration.ofSeconds(30);
+
+    private final URI base;
+    private final ObjectMapper objectMapper;
+    private final Function<String, Optional<String>> codigosValidacion;
+    private final List<String> idsProductos;
+    private final HttpClient httpClient;
+
+    private final Map<PasoCarga, ConcurrentLinkedQueue<Long>> latencias = new EnumMap<>(PasoCarga.class);
+    private final Map<PasoCarga, AtomicInteger> fallos = new EnumMap<>(PasoCarga.class);
+    private final AtomicInteger sesionesCompletas = new AtomicInteger();
+
+    /**
+     * @param base URL de la aplicación, por ejemplo http://localhost:8080
+     * @param objectMapper serializador JSON de las peticiones
+     * @param codigosValidacion código de activación enviado a cada correo
+     * @param idsProductos productos con stock que las sesiones pueden comprar
+     */
+    public GeneradorCarga(URI base, ObjectMapper objectMapper,
+                          Function<String, Optional<String>> codigosValidacion, List<String> idsProductos) {
+        this.base = base;
+        this.objectMapper = objectMapper;
+        this.codigosValidacion = codigosValidacion;
+        this.idsProductos = List.copyOf(idsProductos);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        for (PasoCarga paso : PasoCarga.values()) {
+            latencias.put(paso, new ConcurrentLinkedQueue<>());
+            fallos.put(paso, new AtomicInteger());
+        }
+    }
+
+    /**
+     * Genera la carga durante el tiempo indicado y espera a que terminen las sesiones en curso.
+     *
+     * @param peticionesPorSegundo ritmo objetivo de peticiones HTTP; las sesiones se lanzan a
+     *                             este ritmo dividido por los pasos de una sesión
+     * @param duracion tiempo durante el que se lanzan sesiones nuevas
+     * @return latencias por paso y sesiones completas
+     */
+    public ResultadoCarga ejecutar(double peticionesPorSegundo, Duration duracion) {
+        long intervalo = (long) (1e9 * PasoCarga.values().length / peticionesPorSegundo);
+        int iniciadas = 0;
+
+        long inicio = System.nanoTime();
+        try (ExecutorService sesiones = Executors.newVirtualThreadPerTaskExecutor()) {
+            long siguiente = inicio;
+            while (siguiente - inicio < duracion.toNanos()) {
+                for (long espera = siguiente - System.nanoTime(); espera > 0; espera = siguiente - System.nanoTime()) {
+                    LockSupport.parkNanos(espera);
+                }
+                sesiones.execute(this::sesion);
+                iniciadas++;
+                siguiente += intervalo;
+            }
+        }
+        Duration transcurrido = Duration.ofNanos(System.nanoTime() - inicio);
+
+        List<ResultadoCarga.EstadisticaPaso> pasos = new ArrayList<>();
+        for (PasoCarga paso : PasoCarga.values()) {
+            pasos.add(estadistica(paso));
+        }
+        return new ResultadoCarga(transcurrido, iniciadas, sesionesCompletas.get(), pasos);
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private void sesion() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        String correo = "carga-" + Long.toHexString(aleatorio.nextLong()) + "@correo.com";
+
+        Map<String, Object> usuario = new LinkedHashMap<>();
+        usuario.put("cedula", String.valueOf(aleatorio.nextLong(1_000_000_000L, 99_999_999_999L)));
+        usuario.put("nombre", "Cliente de carga");
+        usuario.put("telefono", "3" + aleatorio.nextInt(100_000_000, 1_000_000_000));
+        usuario.put("correoElectronico", correo);
+        usuario.put("contrasenia", CONTRASENA);
+        if (enviar(PasoCarga.REGISTRO, "POST", "/api/auth/crear-cuenta", null, usuario).isEmpty()) {
+            return;
+        }
+
+        Optional<String> codigo = codigosValidacion.apply(correo);
+        if (codigo.isEmpty()) {
+            fallos.get(PasoCarga.VALIDACION_CUENTA).incrementAndGet();
+            return;
+        }
+        if (enviar(PasoCarga.VALIDACION_CUENTA, "POST", "/api/auth/validar-codigo", null,
+                Map.of("correoElectronico", correo, "codigo", codigo.get())).isEmpty()) {
+            return;
+        }
+
+        Optional<JsonNode> sesion = enviar(PasoCarga.INICIO_SESION, "POST", "/api/auth/iniciar-sesion", null,
+                Map.of("correoElectronico", correo, "password", CONTRASENA));
+        if (sesion.isEmpty()) {
+            return;
+        }
+        String token = sesion.get().path("respuesta").path("token").asText();
+
+        String idProducto = idsProductos.get(aleatorio.nextInt(idsProductos.size()));
+        if (enviar(PasoCarga.CATALOGO, "GET", "/api/publico/productos?tamano=20", null, null).isEmpty()
+                || enviar(PasoCarga.DETALLE_PRODUCTO, "GET", "/api/publico/productos/" + idProducto, null, null).isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        items.add(Map.of("idProducto", idProducto, "cantidad", 1 + aleatorio.nextInt(2)));
+        String otroProducto = idsProductos.get(aleatorio.nextInt(idsProductos.size()));
+        if (!otroProducto.equals(idProducto)) {
+            items.add(Map.of("idProducto", otroProducto, "cantidad", 1));
+        }
+        if (enviar(PasoCarga.CARRITO, "POST", "/api/usuarios/mi-carrito/items", token, items).isEmpty()) {
+            return;
+        }
+
+        Optional<JsonNode> pedido = enviar(PasoCarga.PEDIDO, "POST", "/api/usuarios/pedidos", token, null);
+        if (pedido.isEmpty()) {
+            return;
+        }
+        String idPedido = pedido.get().path("respuesta").path("idPedido").asText();
+
+        if (enviar(PasoCarga.PAGO, "POST", "/api/usuarios/pedidos/" + idPedido + "/pago", token, null).isEmpty()) {
+            return;
+        }
+
+        // La pasarela simulada usa el ID del pedido como ID del pago
+        if (enviar(PasoCarga.WEBHOOK, "POST", "/api/pagos/notificacion", null,
+                Map.of("type", "payment", "data", Map.of("id", idPedido))).isPresent()) {
+            sesionesCompletas.incrementAndGet();
+        }
+    }
+
+    /**
+     * Hace la petición y registra su latencia. Las respuestas que no son 2xx y los
+     * errores de red cuentan como fallos del paso.
+     *
+     * @return cuerpo JSON de la respuesta, o vacío si la petición falló
+     */
+    private Optional<JsonNode> enviar(PasoCarga paso, String metodo, String ruta, String token, Object cuerpo) {
+        long inicio = System.nanoTime();
+        try {
+            HttpRequest.Builder peticion = HttpRequest.newBuilder(base.resolve(ruta))
+                    .timeout(TIEMPO_MAXIMO_PETICION)
+                    .header("Content-Type", "application/json")
+                    .method(metodo, cuerpo != null
+                            ? HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(cuerpo))
+                            : HttpRequest.BodyPublishers.noBody());
+            if (token != null) {
+                peticion.header("Authorization", "Bearer " + token);
+            }
+
+            HttpResponse<String> respuesta = httpClient.send(peticion.build(), HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() / 100 != 2) {
+                fallos.get(paso).incrementAndGet();
+                return Optional.empty();
+            }
+
+            latencias.get(paso).add(System.nanoTime() - inicio);
+            String json = respuesta.body();
+            return Optional.of(json == null || json.isBlank()
+                    ? objectMapper.createObjectNode()
+                    : objectMapper.readTree(json));
+        } catch (IOException e) {
+            fallos.get(paso).incrementAndGet();
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fallos.get(paso).incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    private ResultadoCarga.EstadisticaPaso estadistica(PasoCarga paso) {
+        long[] nanos = latencias.get(paso).stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(nanos);
+        return new ResultadoCarga.EstadisticaPaso(paso, nanos.length, fallos.get(paso).get(),
+                percentil(nanos, 0.50), percentil(nanos, 0.95), percentil(nanos, 0.99));
+    }
+
+    // Percentil por rango más cercano, en milisegundos
+    private static double percentil(long[] ordenados, double percentil) {
+        if (ordenados.length == 0) {
+            return Double.NaN;
+        }
+        int indice = (int) Math.ceil(percentil * ordenados.length) - 1;
+        return ordenados[Math.max(0, indice)] / 1e6;
+    }
+}
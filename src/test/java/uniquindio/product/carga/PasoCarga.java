@@ -0,0 +1,16 @@
+package uniquindio.product.carga;
+
+/**
+ * Peticiones de una sesión del generador de carga, en el orden en que se hacen.
+ */
+public enum PasoCarga {
+    REGISTRO,
+    VALIDACION_CUENTA,
+    INICIO_SESION,
+    CATALOGO,
+    DETALLE_PRODUCTO,
+    CARRITO,
+    PEDIDO,
+    PAGO,
+    WEBHOOK
+}
@@ -0,0 +1,46 @@
+package uniquindio.product.carga;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resultado de una corrida del generador de carga.
+ *
+ * @param duracion tiempo desde la primera sesión hasta que terminó la última
+ * @param sesionesIniciadas sesiones lanzadas al ritmo pedido
+ * @param sesionesCompletas sesiones que llegaron al webhook sin errores
+ * @param pasos estadísticas de cada paso, en el orden de la sesión
+ */
+public record ResultadoCarga(
+        Duration duracion,
+        int sesionesIniciadas,
+        int sesionesCompletas,
+        List<EstadisticaPaso> pasos
+) {
+
+    /**
+     * Latencias en milisegundos de las peticiones exitosas de un paso.
+     */
+    public record EstadisticaPaso(
+            PasoCarga paso,
+            int exitosas,
+            int fallidas,
+            double p50,
+            double p95,
+            double p99
+    ) {
+    }
+
+    public int peticiones() {
+        return pasos.stream().mapToInt(p -> p.exitosas() + p.fallidas()).sum();
+    }
+
+    public int fallidas() {
+        return pasos.stream().mapToInt(EstadisticaPaso::fallidas).sum();
+    }
+
+    // Peticiones por segundo realmente atendidas, exitosas o no
+    public double rendimiento() {
+        return peticiones() / (duracion.toNanos() / 1e9);
+    }
+}
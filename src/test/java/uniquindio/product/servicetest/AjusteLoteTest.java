@@ -0,0 +1,222 @@
+package uniquindio.product.servicetest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import uniquindio.product.configs.CacheConfig;
+import uniquindio.product.dto.lote.ActualizarLoteDTO;
+import uniquindio.product.dto.lote.AjustarCantidadLoteDTO;
+import uniquindio.product.exceptions.LoteException;
+import uniquindio.product.model.documents.ExistenciaLote;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.repositories.ExistenciaLoteRepository;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.repositories.ProductoRepository;
+import uniquindio.product.repositories.StockProductoRepository;
+import uniquindio.product.services.implementations.CargadorContextoMapeo;
+import uniquindio.product.services.implementations.IndiceVencimientos;
+import uniquindio.product.services.implementations.LoteServiceImpl;
+import uniquindio.product.services.implementations.ProductoCacheServiceImpl;
+import uniquindio.product.services.interfaces.LoteService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas de las operaciones del administrador sobre un lote con unidades reservadas
+ * Prueba que los ajustes y las actualizaciones respetan las reservas de pedidos pendientes
+ * y que no pisan la columna cantidad_reservada
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({LoteServiceImpl.class, ProductoCacheServiceImpl.class, CacheConfig.class, IndiceVencimientos.class,
+        CargadorContextoMapeo.class})
+public class AjusteLoteTest {
+
+    private static final int CANTIDAD_PRODUCIDA = 10;
+    private static final int RESERVADAS = 6;
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private LoteRepository loteRepository;
+
+    @Autowired
+    private ExistenciaLoteRepository existenciaLoteRepository;
+
+    @Autowired
+    private StockProductoRepository stockProductoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private final List<Producto> productos = new ArrayList<>();
+    private Lote lote;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Producto producto = crearProducto("Producto ajuste");
+        lote = crearLote(producto);
+        transactionTemplate.executeWithoutResult(estado ->
+                assertTrue(loteRepository.reservarSiDisponible(lote.getId(), RESERVADAS)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        existenciaLoteRepository.deleteById(lote.getId());
+        loteRepository.deleteById(lote.getId());
+        productos.forEach(producto -> {
+            stockProductoRepository.deleteById(producto.getIdProducto());
+            productoRepository.deleteById(producto.getIdProducto());
+        });
+    }
+
+    /**
+     * Prueba que un ajuste mayor que las unidades libres se rechaza aunque el lote tenga
+     * suficientes unidades disponibles contando las reservadas
+     */
+    @Test
+    void testAjustarCantidadLote_NoTocaUnidadesReservadas() {
+        // Arrange
+        int libres = CANTIDAD_PRODUCIDA - RESERVADAS;
+
+        // Act & Assert
+        assertThrows(LoteException.class, () ->
+                loteService.ajustarCantidadLote(new AjustarCantidadLoteDTO(lote.getId(), libres + 1)));
+
+        Lote resultado = loteRepository.findById(lote.getId()).orElseThrow();
+        assertEquals(CANTIDAD_PRODUCIDA, resultado.getCantidadDisponible());
+        assertEquals(RESERVADAS, resultado.getCantidadReservada());
+    }
+
+    /**
+     * Prueba que un ajuste dentro de las unidades libres descuenta solo la cantidad disponible
+     * y conserva las unidades reservadas
+     */
+    @Test
+    void testAjustarCantidadLote_ConservaReservas() throws Exception {
+        // Arrange
+        int libres = CANTIDAD_PRODUCIDA - RESERVADAS;
+
+        // Act
+        loteService.ajustarCantidadLote(new AjustarCantidadLoteDTO(lote.getId(), libres));
+
+        // Assert
+        Lote resultado = loteRepository.findById(lote.getId()).orElseThrow();
+        assertEquals(RESERVADAS, resultado.getCantidadDisponible());
+        assertEquals(RESERVADAS, resultado.getCantidadReservada());
+        assertEquals(EstadoLote.DISPONIBLE, resultado.getEstado());
+    }
+
+    /**
+     * Prueba que la cantidad disponible no puede quedar por debajo de las unidades reservadas
+     */
+    @Test
+    void testActualizarLote_CantidadDisponibleMenorQueReservada() {
+        // Arrange
+        ActualizarLoteDTO dto = actualizacion(null, RESERVADAS - 1);
+
+        // Act & Assert
+        assertThrows(LoteException.class, () -> loteService.actualizarLote(lote.getId(), dto));
+
+        Lote resultado = loteRepository.findById(lote.getId()).orElseThrow();
+        assertEquals(CANTIDAD_PRODUCIDA, resultado.getCantidadDisponible());
+        assertEquals(RESERVADAS, resultado.getCantidadReservada());
+    }
+
+    /**
+     * Prueba que un lote con unidades reservadas no puede pasar a otro producto
+     */
+    @Test
+    void testActualizarLote_CambioDeProductoConReservas() {
+        // Arrange
+        Producto otro = crearProducto("Otro producto");
+        ActualizarLoteDTO dto = actualizacion(otro.getIdProducto(), null);
+
+        // Act & Assert
+        assertThrows(LoteException.class, () -> loteService.actualizarLote(lote.getId(), dto));
+
+        Lote resultado = loteRepository.findById(lote.getId()).orElseThrow();
+        assertEquals(lote.getIdProducto(), resultado.getIdProducto());
+        assertEquals(RESERVADAS, resultado.getCantidadReservada());
+    }
+
+    /**
+     * Prueba que bloquear y desbloquear el lote solo cambian su estado y sus observaciones
+     */
+    @Test
+    void testBloquearYDesbloquearLote_ConservanReservas() throws Exception {
+        // Act
+        loteService.bloquearLote(lote.getId(), "Revisión de calidad");
+        Lote bloqueado = loteRepository.findById(lote.getId()).orElseThrow();
+        loteService.desbloquearLote(lote.getId());
+
+        // Assert
+        assertEquals(EstadoLote.BLOQUEADO, bloqueado.getEstado());
+        assertEquals("BLOQUEADO: Revisión de calidad", bloqueado.getObservaciones());
+
+        Lote resultado = loteRepository.findById(lote.getId()).orElseThrow();
+        assertEquals(EstadoLote.DISPONIBLE, resultado.getEstado());
+        assertEquals(CANTIDAD_PRODUCIDA, resultado.getCantidadDisponible());
+        assertEquals(RESERVADAS, resultado.getCantidadReservada());
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private Producto crearProducto(String nombre) {
+        Producto producto = new Producto();
+        producto.setNombreProducto(nombre);
+        producto.setValor(1_000.0);
+        producto.setUltimaFechaModificacion(LocalDateTime.now());
+        producto = productoRepository.save(producto);
+        productos.add(producto);
+        return producto;
+    }
+
+    private Lote crearLote(Producto producto) {
+        Lote nuevo = new Lote();
+        nuevo.setCodigoLote("AJUSTE-" + UUID.randomUUID().toString().substring(0, 8));
+        nuevo.setIdProducto(producto.getIdProducto());
+        nuevo.setFechaProduccion(LocalDate.now());
+        nuevo.setFechaVencimiento(LocalDate.now().plusMonths(6));
+        nuevo.setCantidadProducida(CANTIDAD_PRODUCIDA);
+        nuevo.setCantidadDisponible(CANTIDAD_PRODUCIDA);
+        nuevo.setEstado(EstadoLote.DISPONIBLE);
+        nuevo.setFechaCreacion(LocalDateTime.now());
+        nuevo = loteRepository.save(nuevo);
+
+        existenciaLoteRepository.save(new ExistenciaLote(nuevo.getId(), producto.getIdProducto(),
+                CANTIDAD_PRODUCIDA, LocalDateTime.now(), LocalDateTime.now()));
+        transactionTemplate.executeWithoutResult(estado -> stockProductoRepository.recalcular(producto.getIdProducto()));
+        return nuevo;
+    }
+
+    private ActualizarLoteDTO actualizacion(String idProducto, Integer cantidadDisponible) {
+        return new ActualizarLoteDTO(null, idProducto, null, null, null, cantidadDisponible, null, null, "Conteo");
+    }
+}
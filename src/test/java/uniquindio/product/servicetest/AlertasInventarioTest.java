@@ -0,0 +1,195 @@
+package uniquindio.product.servicetest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedConstruction;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uniquindio.product.configs.AlertasProperties;
+import uniquindio.product.dto.inventario.AlertaInventarioDTO;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.StockProducto;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.enums.TipoAlerta;
+import uniquindio.product.model.vo.CambioStock;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.repositories.StockProductoRepository;
+import uniquindio.product.services.implementations.AlertasInventarioServiceImpl;
+import uniquindio.product.services.implementations.CargadorContextoMapeo;
+import uniquindio.product.services.interfaces.ProductoCacheService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de pruebas unitarias para el canal de alertas de inventario
+ * Prueba que solo se consultan los productos con cambios y que las alertas aparecen y se resuelven al cruzar el umbral
+ */
+@ExtendWith(MockitoExtension.class)
+public class AlertasInventarioTest {
+
+    private static final int RONDAS = 100;
+    private static final int SUSCRIPTORES_POR_RONDA = 5;
+
+    @Mock
+    private LoteRepository loteRepository;
+
+    @Mock
+    private StockProductoRepository stockProductoRepository;
+
+    @Mock
+    private ProductoCacheService productoCacheService;
+
+    private final LocalDate hoy = LocalDate.now();
+    private AlertasInventarioServiceImpl alertasService;
+
+    @BeforeEach
+    void setUp() {
+        alertasService = nuevoServicio();
+        lenient().when(productoCacheService.buscarPorIds(anyCollection())).thenReturn(Map.of());
+    }
+
+    /**
+     * Prueba que la primera pasada carga todas las alertas y que sin cambios no se consulta la base de datos
+     */
+    @Test
+    void testProcesarCambios_SinCambiosNoConsulta() {
+        // Arrange
+        when(loteRepository.findByEstadoAndFechaVencimientoBeforeAndCantidadDisponibleGreaterThan(
+                eq(EstadoLote.DISPONIBLE), eq(hoy.plusDays(60)), eq(0)))
+                .thenReturn(List.of(lote("l1", "prod1", 30)));
+        when(stockProductoRepository.findByStockDisponibleLessThanOrderByStockDisponibleAscIdProductoAsc(10))
+                .thenReturn(List.of(stock("prod2", 4)));
+
+        // Act
+        alertasService.procesarCambios();
+        alertasService.procesarCambios();
+        alertasService.procesarCambios();
+
+        // Assert
+        assertEquals(2, alertasService.obtenerAlertasActivas().size());
+        verify(loteRepository, times(1)).findByEstadoAndFechaVencimientoBeforeAndCantidadDisponibleGreaterThan(any(), any(), anyInt());
+        verify(stockProductoRepository, times(1)).findByStockDisponibleLessThanOrderByStockDisponibleAscIdProductoAsc(anyInt());
+        verifyNoMoreInteractions(loteRepository, stockProductoRepository);
+    }
+
+    /**
+     * Prueba que un cambio confirmado solo consulta sus productos y que la alerta de stock bajo
+     * aparece al bajar del umbral y se resuelve al superarlo
+     */
+    @Test
+    void testRegistrarCambio_StockBajoApareceYSeResuelve() {
+        // Arrange
+        alertasService.procesarCambios();
+        when(stockProductoRepository.findAllById(Set.of("prod1")))
+                .thenReturn(List.of(stock("prod1", 3)))
+                .thenReturn(List.of(stock("prod1", 25)));
+
+        // Act
+        alertasService.registrarCambio(CambioStock.de("prod1"));
+        alertasService.procesarCambios();
+        List<AlertaInventarioDTO> conStockBajo = alertasService.obtenerAlertasActivas();
+        alertasService.registrarCambio(CambioStock.de("prod1"));
+        alertasService.procesarCambios();
+
+        // Assert
+        assertEquals(1, conStockBajo.size());
+        assertEquals(TipoAlerta.STOCK_BAJO, conStockBajo.get(0).tipo());
+        assertEquals(3, conStockBajo.get(0).cantidad());
+        assertTrue(alertasService.obtenerAlertasActivas().isEmpty());
+        verify(loteRepository, times(2)).findByIdProductoInAndEstadoAndFechaVencimientoBeforeAndCantidadDisponibleGreaterThan(
+                eq(Set.of("prod1")), eq(EstadoLote.DISPONIBLE), any(), eq(0));
+    }
+
+    /**
+     * Prueba que revisar un producto no toca las alertas de lotes de otros productos
+     */
+    @Test
+    void testRegistrarCambio_SoloReemplazaAlertasDelProducto() {
+        // Arrange
+        when(loteRepository.findByEstadoAndFechaVencimientoBeforeAndCantidadDisponibleGreaterThan(any(), any(), anyInt()))
+                .thenReturn(List.of(lote("l1", "prod1", 30), lote("l2", "prod2", 40)));
+        alertasService.procesarCambios();
+
+        // Act: el lote del producto 1 se vendió por completo
+        alertasService.registrarCambio(CambioStock.de("prod1"));
+        alertasService.procesarCambios();
+
+        // Assert
+        List<AlertaInventarioDTO> activas = alertasService.obtenerAlertasActivas();
+        assertEquals(1, activas.size());
+        assertEquals("l2", activas.get(0).idLote());
+        assertTrue(activas.get(0).activa());
+    }
+
+    /**
+     * Prueba que un suscriptor que llega mientras una pasada publica una alerta la recibe
+     * exactamente una vez: en la foto inicial o como evento, nunca en ambos ni en ninguno
+     */
+    @Test
+    void testSuscribir_DuranteUnaPasadaRecibeCadaAlertaUnaVez() throws Exception {
+        // Arrange
+        when(loteRepository.findByEstadoAndFechaVencimientoBeforeAndCantidadDisponibleGreaterThan(any(), any(), anyInt()))
+                .thenReturn(List.of(lote("l1", "prod1", 30)));
+        ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+
+        // Los emisores se construyen en este hilo, que es el que intercepta mockConstruction
+        try (MockedConstruction<SseEmitter> emisores = mockConstruction(SseEmitter.class)) {
+            // Act
+            for (int ronda = 0; ronda < RONDAS; ronda++) {
+                AlertasInventarioServiceImpl servicio = nuevoServicio();
+                CountDownLatch salida = new CountDownLatch(1);
+                Future<?> pasada = ejecutor.submit(() -> {
+                    salida.await();
+                    servicio.procesarCambios();
+                    return null;
+                });
+
+                salida.countDown();
+                for (int i = 0; i < SUSCRIPTORES_POR_RONDA; i++) {
+                    servicio.suscribir();
+                }
+                pasada.get(10, TimeUnit.SECONDS);
+            }
+            ejecutor.shutdown();
+
+            // Assert
+            assertEquals(RONDAS * SUSCRIPTORES_POR_RONDA, emisores.constructed().size());
+            for (SseEmitter emisor : emisores.constructed()) {
+                verify(emisor, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+            }
+        }
+    }
+
+    private AlertasInventarioServiceImpl nuevoServicio() {
+        return new AlertasInventarioServiceImpl(
+                loteRepository, stockProductoRepository,
+                new CargadorContextoMapeo(productoCacheService, loteRepository), new AlertasProperties());
+    }
+
+    private Lote lote(String id, String idProducto, int diasParaVencer) {
+        Lote lote = new Lote();
+        lote.setId(id);
+        lote.setCodigoLote(id);
+        lote.setIdProducto(idProducto);
+        lote.setEstado(EstadoLote.DISPONIBLE);
+        lote.setCantidadDisponible(20);
+        lote.setCantidadReservada(0);
+        lote.setFechaVencimiento(hoy.plusDays(diasParaVencer));
+        return lote;
+    }
+
+    private StockProducto stock(String idProducto, int unidades) {
+        return new StockProducto(idProducto, unidades, 1, hoy.plusDays(90), LocalDateTime.now());
+    }
+}
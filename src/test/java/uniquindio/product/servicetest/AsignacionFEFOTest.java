@@ -0,0 +1,112 @@
+package uniquindio.product.servicetest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uniquindio.product.exceptions.LoteException;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.vo.PlanAsignacionLotes;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.services.implementations.LoteServiceImpl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de pruebas unitarias para la planificación FEFO de un pedido
+ * Prueba que todo el pedido se resuelve con una consulta de lotes y que cada línea se reparte por vencimiento
+ */
+@ExtendWith(MockitoExtension.class)
+public class AsignacionFEFOTest {
+
+    private static final int LINEAS = 10;
+    private static final int LOTES_POR_PRODUCTO = 5;
+    private static final int UNIDADES_POR_LOTE = 10;
+
+    @Mock
+    private LoteRepository loteRepository;
+
+    @InjectMocks
+    private LoteServiceImpl loteService;
+
+    /**
+     * Prueba que un pedido de varias líneas hace una sola consulta y toma primero los lotes que vencen antes
+     */
+    @Test
+    void testPlanificarAsignacionFEFO_UnaConsultaYRepartoPorVencimiento() {
+        // Arrange: cada línea necesita tres lotes para completarse
+        Map<String, Integer> cantidades = new LinkedHashMap<>();
+        List<Lote> candidatos = new ArrayList<>();
+        for (int i = 0; i < LINEAS; i++) {
+            String idProducto = "producto-" + i;
+            cantidades.put(idProducto, UNIDADES_POR_LOTE * 3 - 5);
+            candidatos.addAll(lotesDe(idProducto));
+        }
+        when(loteRepository
+                .findByIdProductoInAndEstadoAndCantidadDisponibleGreaterThanOrderByIdProductoAscFechaVencimientoAsc(
+                        anyCollection(), eq(EstadoLote.DISPONIBLE), eq(0)))
+                .thenReturn(candidatos);
+
+        // Act
+        PlanAsignacionLotes plan = loteService.planificarAsignacionFEFO(cantidades);
+
+        // Assert
+        verify(loteRepository, times(1))
+                .findByIdProductoInAndEstadoAndCantidadDisponibleGreaterThanOrderByIdProductoAscFechaVencimientoAsc(
+                        anyCollection(), any(), any());
+        verifyNoMoreInteractions(loteRepository);
+
+        assertEquals(LINEAS * 3, plan.asignaciones().size());
+        plan.porProducto().forEach((idProducto, asignaciones) -> {
+            assertEquals(List.of(10, 10, 5), asignaciones.stream().map(PlanAsignacionLotes.Asignacion::cantidad).toList());
+            assertEquals(idProducto + "-L0", asignaciones.get(0).lote().getCodigoLote());
+        });
+    }
+
+    /**
+     * Prueba que un producto sin unidades suficientes sumando todos sus lotes hace fallar el plan
+     */
+    @Test
+    void testPlanificarAsignacionFEFO_StockInsuficiente() {
+        // Arrange
+        when(loteRepository
+                .findByIdProductoInAndEstadoAndCantidadDisponibleGreaterThanOrderByIdProductoAscFechaVencimientoAsc(
+                        anyCollection(), eq(EstadoLote.DISPONIBLE), eq(0)))
+                .thenReturn(lotesDe("producto-0"));
+
+        // Act & Assert
+        assertThrows(LoteException.class, () -> loteService.planificarAsignacionFEFO(
+                Map.of("producto-0", UNIDADES_POR_LOTE * LOTES_POR_PRODUCTO + 1)));
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    // Se agregan en orden inverso de vencimiento para que el plan tenga que ordenarlos
+    private List<Lote> lotesDe(String idProducto) {
+        List<Lote> lotes = new ArrayList<>(LOTES_POR_PRODUCTO);
+        for (int i = LOTES_POR_PRODUCTO - 1; i >= 0; i--) {
+            Lote lote = new Lote();
+            lote.setId(idProducto + "-id-" + i);
+            lote.setCodigoLote(idProducto + "-L" + i);
+            lote.setIdProducto(idProducto);
+            lote.setFechaVencimiento(LocalDate.now().plusDays(30L + i));
+            lote.setCantidadProducida(UNIDADES_POR_LOTE);
+            lote.setCantidadDisponible(UNIDADES_POR_LOTE);
+            lote.setEstado(EstadoLote.DISPONIBLE);
+            lotes.add(lote);
+        }
+        return lotes;
+    }
+}
@@ -0,0 +1,146 @@
+package uniquindio.product.servicetest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uniquindio.product.dto.lote.MostrarLoteDTO;
+import uniquindio.product.dto.pedido.PedidoResponseDTO;
+import uniquindio.product.mapper.ContextoMapeo;
+import uniquindio.product.mapper.LoteMapper;
+import uniquindio.product.mapper.PedidoMapper;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.Pedido;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.vo.DetallePedido;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.services.implementations.CargadorContextoMapeo;
+import uniquindio.product.services.interfaces.ProductoCacheService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de pruebas unitarias para el cargador del contexto de mapeo
+ * Prueba que una página de lotes o de pedidos se resuelve con una consulta por tipo, sin importar su tamaño
+ */
+@ExtendWith(MockitoExtension.class)
+public class CargadorContextoMapeoTest {
+
+    private static final int PRODUCTOS = 5;
+    private static final int LOTES = 100;
+    private static final int LINEAS_POR_PEDIDO = 5;
+
+    @Mock
+    private ProductoCacheService productoCacheService;
+
+    @Mock
+    private LoteRepository loteRepository;
+
+    private CargadorContextoMapeo cargador;
+    private Map<String, Producto> productosPorId;
+    private List<Lote> lotes;
+
+    @BeforeEach
+    void setUp() {
+        cargador = new CargadorContextoMapeo(productoCacheService, loteRepository);
+        productosPorId = new HashMap<>();
+        for (int i = 0; i < PRODUCTOS; i++) {
+            Producto producto = new Producto();
+            producto.setIdProducto("producto-" + i);
+            producto.setNombreProducto("Producto " + i);
+            producto.setValor(1_000.0);
+            productosPorId.put(producto.getIdProducto(), producto);
+        }
+        lotes = new ArrayList<>();
+        for (int i = 0; i < LOTES; i++) {
+            lotes.add(lote(i));
+        }
+    }
+
+    /**
+     * Prueba que los lotes se mapean con una sola lectura de la caché de productos y sin consultar lotes
+     */
+    @Test
+    void testParaLotes_UnaLecturaDeProductos() {
+        // Arrange
+        when(productoCacheService.buscarPorIds(anyCollection())).thenReturn(productosPorId);
+
+        // Act
+        ContextoMapeo contexto = cargador.paraLotes(lotes);
+        List<MostrarLoteDTO> resultado = LoteMapper.toMostrarLoteDTOList(lotes, contexto);
+
+        // Assert
+        assertEquals(LOTES, resultado.size());
+        for (int i = 0; i < LOTES; i++) {
+            assertEquals("Producto " + i % PRODUCTOS, resultado.get(i).nombreProducto());
+        }
+        verify(productoCacheService, times(1)).buscarPorIds(anyCollection());
+        verifyNoInteractions(loteRepository);
+    }
+
+    /**
+     * Prueba que toda una página de pedidos se resuelve con una consulta de productos y una de lotes
+     */
+    @Test
+    void testParaPedidos_UnaConsultaPorTipo() {
+        // Arrange
+        List<Pedido> pedidos = pedidos();
+        when(productoCacheService.buscarPorIds(anyCollection())).thenReturn(productosPorId);
+        when(loteRepository.findAllById(anyIterable())).thenReturn(lotes);
+
+        // Act
+        ContextoMapeo contexto = cargador.paraPedidos(pedidos);
+        PedidoResponseDTO ultimo = PedidoMapper.toPedidoResponseDTO(pedidos.get(pedidos.size() - 1), contexto);
+
+        // Assert
+        Lote ultimoLote = lotes.get(lotes.size() - 1);
+        assertEquals(ultimoLote.getCodigoLote(), ultimo.detalles().get(ultimo.detalles().size() - 1).codigoLote());
+        verify(productoCacheService, times(1)).buscarPorIds(anyCollection());
+        verify(loteRepository, times(1)).findAllById(anyIterable());
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private Lote lote(int i) {
+        Lote lote = new Lote();
+        lote.setId("lote-" + i);
+        lote.setCodigoLote("L-" + i);
+        lote.setIdProducto("producto-" + i % PRODUCTOS);
+        lote.setFechaVencimiento(LocalDate.now().plusDays(30L + i));
+        lote.setCantidadDisponible(80);
+        lote.setEstado(EstadoLote.DISPONIBLE);
+        return lote;
+    }
+
+    // Una línea por lote, en pedidos de LINEAS_POR_PEDIDO líneas
+    private List<Pedido> pedidos() {
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int inicio = 0; inicio < lotes.size(); inicio += LINEAS_POR_PEDIDO) {
+            List<DetallePedido> detalle = new ArrayList<>();
+            for (Lote lote : lotes.subList(inicio, Math.min(inicio + LINEAS_POR_PEDIDO, lotes.size()))) {
+                detalle.add(new DetallePedido(lote.getIdProducto(), lote.getId(), 1, new BigDecimal("1000")));
+            }
+
+            Pedido pedido = new Pedido();
+            pedido.setId("pedido-" + pedidos.size());
+            pedido.setIdCliente("cliente");
+            pedido.setDetalle(detalle);
+            pedido.setTotal(new BigDecimal("1000").multiply(BigDecimal.valueOf(detalle.size())));
+            pedidos.add(pedido);
+        }
+        return pedidos;
+    }
+}
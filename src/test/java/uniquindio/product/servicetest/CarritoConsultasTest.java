@@ -0,0 +1,150 @@
+package uniquindio.product.servicetest;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import uniquindio.product.configs.CacheConfig;
+import uniquindio.product.configs.ContadorConsultas;
+import uniquindio.product.configs.ContadorConsultasConfig;
+import uniquindio.product.dto.carrito.CarritoResponseDTO;
+import uniquindio.product.dto.carrito.DetalleCarritoDTO;
+import uniquindio.product.model.documents.Carrito;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.documents.Usuario;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.vo.DetalleCarrito;
+import uniquindio.product.services.implementations.CargadorContextoMapeo;
+import uniquindio.product.services.implementations.CarritoServiceImpl;
+import uniquindio.product.services.implementations.IndiceVencimientos;
+import uniquindio.product.services.implementations.InventarioServiceImpl;
+import uniquindio.product.services.implementations.ProductoCacheServiceImpl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de regresión de consultas SQL de CarritoServiceImpl.
+ * Las lecturas y la validación de stock del carrito deben ejecutar un número fijo
+ * de sentencias sin importar cuántas líneas tenga el carrito.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CarritoServiceImpl.class, InventarioServiceImpl.class, ProductoCacheServiceImpl.class, CacheConfig.class,
+        IndiceVencimientos.class, CargadorContextoMapeo.class, ContadorConsultas.class, ContadorConsultasConfig.class})
+public class CarritoConsultasTest {
+
+    // Carrito (con usuario e ítems) + productos (la caché está desactivada en @DataJpaTest)
+    private static final int MAX_SENTENCIAS_LECTURA = 2;
+    // Productos + lotes + carrito + inserción por lotes JDBC de los ítems
+    private static final int MAX_SENTENCIAS_AGREGAR = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ContadorConsultas contadorConsultas;
+
+    @Autowired
+    private CarritoServiceImpl carritoService;
+
+    /**
+     * Prueba que las tres lecturas del carrito no crecen con el número de líneas
+     */
+    @ParameterizedTest(name = "{0} líneas")
+    @ValueSource(ints = {1, 10, 20})
+    void testLecturasDelCarrito_SentenciasConstantes(int lineas) {
+        // Arrange
+        Usuario usuario = crearUsuario();
+        List<Producto> productos = crearProductosConStock(lineas);
+
+        Carrito carrito = new Carrito();
+        carrito.setUsuario(usuario);
+        productos.forEach(p -> carrito.getItems().add(new DetalleCarrito(p.getIdProducto(), 2)));
+        entityManager.persist(carrito);
+        entityManager.flush();
+
+        // Act & Assert
+        CarritoResponseDTO completo = medir(MAX_SENTENCIAS_LECTURA, () -> carritoService.obtenerCarritoCompleto(usuario.getId()));
+        assertEquals(lineas, completo.items().size());
+
+        assertEquals(lineas, medir(MAX_SENTENCIAS_LECTURA, () -> carritoService.listarProductosEnCarrito(usuario.getId())).size());
+        assertEquals(lineas * 2 * 1_000.0, medir(MAX_SENTENCIAS_LECTURA, () -> carritoService.calcularTotalCarrito(usuario.getId())));
+    }
+
+    /**
+     * Prueba que validar el stock al agregar ítems no consulta una vez por producto
+     */
+    @ParameterizedTest(name = "{0} ítems")
+    @ValueSource(ints = {1, 10, 20})
+    void testAgregarItems_SentenciasConstantes(int lineas) {
+        // Arrange
+        Usuario usuario = crearUsuario();
+        List<Producto> productos = crearProductosConStock(lineas);
+
+        Carrito carrito = new Carrito();
+        carrito.setUsuario(usuario);
+        entityManager.persist(carrito);
+        entityManager.flush();
+
+        List<DetalleCarritoDTO> items = productos.stream()
+                .map(p -> new DetalleCarritoDTO(p.getIdProducto(), 1))
+                .toList();
+
+        // Act & Assert
+        assertEquals(lineas, medir(MAX_SENTENCIAS_AGREGAR, () -> carritoService.agregarItemsAlCarrito(usuario.getId(), items))
+                .items().size());
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    private <T> T medir(int maximo, PresupuestoConsultas.Accion<T> accion) {
+        entityManager.clear();
+        return PresupuestoConsultas.verificar(contadorConsultas, maximo, accion);
+    }
+
+    private Usuario crearUsuario() {
+        Usuario usuario = new Usuario();
+        usuario.setNombre("Cliente carrito");
+        usuario.setCedula(UUID.randomUUID().toString());
+        return entityManager.persist(usuario);
+    }
+
+    private List<Producto> crearProductosConStock(int cantidad) {
+        List<Producto> productos = new ArrayList<>(cantidad);
+
+        for (int i = 0; i < cantidad; i++) {
+            Producto producto = new Producto();
+            producto.setNombreProducto("Producto " + i);
+            producto.setValor(1_000.0);
+            producto.setUltimaFechaModificacion(LocalDateTime.now());
+            entityManager.persist(producto);
+
+            Lote lote = new Lote();
+            lote.setCodigoLote("CARRITO-" + UUID.randomUUID().toString().substring(0, 8));
+            lote.setIdProducto(producto.getIdProducto());
+            lote.setFechaProduccion(LocalDate.now());
+            lote.setFechaVencimiento(LocalDate.now().plusMonths(3));
+            lote.setCantidadProducida(50);
+            lote.setCantidadDisponible(50);
+            lote.setEstado(EstadoLote.DISPONIBLE);
+            lote.setFechaCreacion(LocalDateTime.now());
+            entityManager.persist(lote);
+
+            productos.add(producto);
+        }
+
+        return productos;
+    }
+}
@@ -0,0 +1,142 @@
+package uniquindio.product.servicetest;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import uniquindio.product.configs.ConsultasProperties;
+import uniquindio.product.configs.ContadorConsultas;
+import uniquindio.product.configs.ContadorConsultasConfig;
+import uniquindio.product.configs.InterceptorConsultas;
+import uniquindio.product.model.documents.Pedido;
+import uniquindio.product.model.vo.ConteoConsultas;
+import uniquindio.product.model.vo.DetallePedido;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para el conteo de consultas por petición
+ * Prueba que el contador conectado a Hibernate detecta un N+1 y que el interceptor publica el histograma por ruta
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ContadorConsultas.class, ContadorConsultasConfig.class})
+public class ConsultasPorPeticionTest {
+
+    private static final int PEDIDOS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ContadorConsultas contadorConsultas;
+
+    /**
+     * Prueba que recorrer el detalle perezoso de cada pedido se cuenta como una colección y una sentencia por pedido
+     */
+    @Test
+    void testContador_DetectaNMasUno() {
+        // Arrange
+        String idCliente = "cliente-" + UUID.randomUUID();
+        for (int i = 0; i < PEDIDOS; i++) {
+            entityManager.persist(pedido(idCliente));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        PresupuestoConsultas.Medicion<Integer> medicion = PresupuestoConsultas.medir(contadorConsultas, () -> {
+            List<Pedido> pedidos = entityManager.getEntityManager()
+                    .createQuery("SELECT p FROM Pedido p WHERE p.idCliente = :idCliente", Pedido.class)
+                    .setParameter("idCliente", idCliente)
+                    .getResultList();
+            return pedidos.stream().mapToInt(p -> p.getDetalle().size()).sum();
+        });
+
+        // Assert
+        assertEquals(PEDIDOS * 2, medicion.resultado());
+        assertEquals(new ConteoConsultas(PEDIDOS + 1, PEDIDOS, PEDIDOS), medicion.conteo());
+        entityManager.clear();
+        assertThrows(AssertionFailedError.class, () -> PresupuestoConsultas.verificar(contadorConsultas, 2,
+                () -> entityManager.getEntityManager()
+                        .createQuery("SELECT p FROM Pedido p WHERE p.idCliente = :idCliente", Pedido.class)
+                        .setParameter("idCliente", idCliente)
+                        .getResultList()
+                        .stream()
+                        .mapToInt(p -> p.getDetalle().size())
+                        .sum()));
+    }
+
+    /**
+     * Prueba que el interceptor registra las sentencias de la petición en el histograma de su ruta
+     */
+    @Test
+    void testInterceptor_RegistraHistogramaPorRuta() {
+        // Arrange
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        InterceptorConsultas interceptor = new InterceptorConsultas(contadorConsultas, new ConsultasProperties(), registro);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/inventario/lotes");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/inventario/lotes");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        interceptor.preHandle(request, response, new Object());
+        contadorConsultas.inspect("select 1");
+        contadorConsultas.inspect("select 2");
+        contadorConsultas.inspect("select 3");
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        DistributionSummary sentencias = registro.get("http.server.requests.sql.sentencias")
+                .tags("uri", "/api/inventario/lotes", "method", "GET")
+                .summary();
+        assertEquals(1, sentencias.count());
+        assertEquals(3, sentencias.totalAmount());
+        assertEquals(ConteoConsultas.VACIO, contadorConsultas.detener());
+    }
+
+    /**
+     * Prueba que una petición asíncrona (SSE) no deja la medición abierta en el hilo
+     */
+    @Test
+    void testInterceptor_PeticionAsincronaNoDejaMedicion() {
+        // Arrange
+        InterceptorConsultas interceptor = new InterceptorConsultas(
+                contadorConsultas, new ConsultasProperties(), new SimpleMeterRegistry());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/inventario/alertas/stream");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+        contadorConsultas.inspect("select 1");
+
+        // Assert
+        assertEquals(ConteoConsultas.VACIO, contadorConsultas.detener());
+    }
+
+    private Pedido pedido(String idCliente) {
+        Pedido pedido = new Pedido();
+        pedido.setIdCliente(idCliente);
+        pedido.setFechaCreacion(OffsetDateTime.now());
+        pedido.setDetalle(new ArrayList<>(List.of(
+                new DetallePedido("p1", "lote-1", 1, new BigDecimal("1000")),
+                new DetallePedido("p2", "lote-2", 2, new BigDecimal("2000")))));
+        pedido.setTotal(new BigDecimal("5000"));
+        return pedido;
+    }
+}
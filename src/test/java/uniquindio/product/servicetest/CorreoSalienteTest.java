@@ -0,0 +1,137 @@
+package uniquindio.product.servicetest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import uniquindio.product.configs.CorreoProperties;
+import uniquindio.product.configs.SmtpProperties;
+import uniquindio.product.dto.email.EmailDTO;
+import uniquindio.product.exceptions.EmailException;
+import uniquindio.product.model.documents.CorreoSaliente;
+import uniquindio.product.model.enums.EstadoCorreo;
+import uniquindio.product.model.enums.TipoCorreo;
+import uniquindio.product.repositories.CorreoSalienteRepository;
+import uniquindio.product.services.implementations.CorreoSalienteServiceImpl;
+import uniquindio.product.services.implementations.EmailServiceImp;
+import uniquindio.product.services.implementations.PlantillasCorreo;
+import uniquindio.product.services.implementations.RemitenteCorreos;
+import uniquindio.product.services.interfaces.CorreoSalienteService;
+import uniquindio.product.services.interfaces.EmailService;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de pruebas unitarias para la tabla de correos salientes
+ * Prueba el encolado, el envío por el remitente y los reintentos
+ */
+@ExtendWith(MockitoExtension.class)
+public class CorreoSalienteTest {
+
+    @Mock
+    private CorreoSalienteRepository correoSalienteRepository;
+
+    @Spy
+    private CorreoProperties correoProperties = new CorreoProperties();
+
+    @InjectMocks
+    private CorreoSalienteServiceImpl correoSalienteService;
+
+    /**
+     * Prueba que encolar un correo guarda la fila pendiente con el HTML ya generado, sin tocar SMTP
+     */
+    @Test
+    void testEncolarCorreo_GuardaPendiente() {
+        // Arrange
+        PlantillasCorreo plantillasCorreo = mock(PlantillasCorreo.class);
+        EmailDTO emailDTO = new EmailDTO(TipoCorreo.VALIDACION, "Código de validación", "cliente@correo.com",
+                Map.of("codigo", "12345"));
+        when(plantillasCorreo.renderizar(emailDTO)).thenReturn("<html>12345</html>");
+        EmailServiceImp emailService = new EmailServiceImp(new SmtpProperties(), correoSalienteRepository, plantillasCorreo);
+
+        // Act
+        emailService.encolarCorreo(emailDTO);
+
+        // Assert
+        ArgumentCaptor<CorreoSaliente> captor = ArgumentCaptor.forClass(CorreoSaliente.class);
+        verify(correoSalienteRepository).save(captor.capture());
+        assertEquals(EstadoCorreo.PENDIENTE, captor.getValue().getEstado());
+        assertEquals("cliente@correo.com", captor.getValue().getDestinatario());
+        assertEquals(0, captor.getValue().getIntentos());
+        assertEquals("<html>12345</html>", captor.getValue().getCuerpo());
+    }
+
+    /**
+     * Prueba que un fallo reprograma el correo y que al agotar los intentos queda FALLIDO
+     */
+    @Test
+    void testRegistrarFallo_ReintentaYLuegoFalla() {
+        // Arrange
+        CorreoSaliente correo = correo(0);
+        when(correoSalienteRepository.findById("c1")).thenReturn(Optional.of(correo));
+        LocalDateTime antes = LocalDateTime.now();
+
+        // Act
+        correoSalienteService.registrarFallo("c1", "Connection refused");
+
+        // Assert
+        assertEquals(EstadoCorreo.PENDIENTE, correo.getEstado());
+        assertFalse(correo.getProximoIntento().isBefore(antes.plus(correoProperties.getEsperaInicial())));
+
+        // Arrange: último intento permitido
+        correo.setEstado(EstadoCorreo.EN_ENVIO);
+        correo.setIntentos(correoProperties.getMaxIntentos() - 1);
+
+        // Act
+        correoSalienteService.registrarFallo("c1", "Connection refused");
+
+        // Assert
+        assertEquals(EstadoCorreo.FALLIDO, correo.getEstado());
+    }
+
+    /**
+     * Prueba que el remitente marca el correo enviado o registra el fallo del envío
+     */
+    @Test
+    void testEnviar_ExitoYFallo() throws Exception {
+        // Arrange
+        CorreoSalienteService servicio = mock(CorreoSalienteService.class);
+        EmailService emailService = mock(EmailService.class);
+        RemitenteCorreos remitente = new RemitenteCorreos(
+                servicio, emailService, new ThreadPoolTaskExecutor(), correoProperties, new SimpleMeterRegistry());
+
+        CorreoSaliente exitoso = correo(0);
+        CorreoSaliente fallido = correo(0);
+        fallido.setId("c2");
+        fallido.setDestinatario("otro@correo.com");
+        doNothing()
+                .doThrow(new EmailException("Error en el envio del correo: timeout"))
+                .when(emailService).enviarCorreo(anyString(), anyString(), anyString());
+
+        // Act
+        remitente.enviar(exitoso);
+        remitente.enviar(fallido);
+
+        // Assert
+        verify(servicio).marcarEnviado("c1");
+        verify(servicio).registrarFallo("c2", "Error en el envio del correo: timeout");
+        verify(servicio, never()).marcarEnviado("c2");
+    }
+
+    private CorreoSaliente correo(int intentos) {
+        LocalDateTime ahora = LocalDateTime.now();
+        return new CorreoSaliente("c1", "cliente@correo.com", "Asunto", "Cuerpo", EstadoCorreo.EN_ENVIO,
+                intentos, ahora.plusMinutes(5), ahora, null, null);
+    }
+}
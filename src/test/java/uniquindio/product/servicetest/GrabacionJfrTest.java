@@ -0,0 +1,95 @@
+package uniquindio.product.servicetest;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import uniquindio.product.configs.EventosJfr;
+import uniquindio.product.configs.GrabacionJfrEndpoint;
+import uniquindio.product.configs.JfrProperties;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para el endpoint de grabación JFR
+ * Prueba que la grabación iniciada por el endpoint contiene los eventos propios con sus campos y que el volcado se puede leer
+ */
+public class GrabacionJfrTest {
+
+    private GrabacionJfrEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        JfrProperties jfrProperties = new JfrProperties();
+        jfrProperties.setConfiguracion("default");
+        endpoint = new GrabacionJfrEndpoint(jfrProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.cerrar();
+    }
+
+    /**
+     * Prueba que un evento de creación de pedido queda en el volcado con su ID y duración
+     */
+    @Test
+    void testVolcar_ContieneEventoDePedido() throws Exception {
+        // Arrange
+        endpoint.iniciar();
+        EventosJfr.CreacionPedido evento = new EventosJfr.CreacionPedido();
+        evento.begin();
+        evento.idPedido = "pedido-jfr";
+        evento.idCliente = "cliente-jfr";
+        evento.productos = 3;
+        evento.commit();
+
+        // Act
+        assertEquals("STOPPED", endpoint.detener().get("estado"));
+        WebEndpointResponse<Resource> respuesta = endpoint.volcar("volcado");
+
+        // Assert
+        assertEquals(WebEndpointResponse.STATUS_OK, respuesta.getStatus());
+        Path archivo = Files.createTempFile("prueba-", ".jfr");
+        try {
+            try (InputStream entrada = respuesta.getBody().getInputStream()) {
+                Files.copy(entrada, archivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+            List<RecordedEvent> pedidos = RecordingFile.readAllEvents(archivo).stream()
+                    .filter(e -> e.getEventType().getName().equals("uniquindio.product.CreacionPedido"))
+                    .toList();
+
+            assertEquals(1, pedidos.size());
+            assertEquals("pedido-jfr", pedidos.get(0).getString("idPedido"));
+            assertEquals(3, pedidos.get(0).getInt("productos"));
+            assertFalse(pedidos.get(0).getDuration().isNegative());
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    /**
+     * Prueba que sin grabación o con un archivo desconocido el volcado responde 404
+     */
+    @Test
+    void testVolcar_SinGrabacionResponde404() throws Exception {
+        // Act
+        WebEndpointResponse<Resource> sinGrabacion = endpoint.volcar("volcado");
+        endpoint.iniciar();
+        WebEndpointResponse<Resource> otroArchivo = endpoint.volcar("otro");
+
+        // Assert
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, sinGrabacion.getStatus());
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, otroArchivo.getStatus());
+        assertEquals("RUNNING", endpoint.estado().get("estado"));
+    }
+}
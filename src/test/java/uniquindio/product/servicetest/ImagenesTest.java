@@ -0,0 +1,225 @@
+package uniquindio.product.servicetest;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.Uploader;
+import com.cloudinary.utils.ObjectUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import uniquindio.product.configs.ImagenesProperties;
+import uniquindio.product.dto.producto.ImagenDTO;
+import uniquindio.product.model.documents.ImagenAlmacenada;
+import uniquindio.product.repositories.ImagenAlmacenadaRepository;
+import uniquindio.product.repositories.ProductoRepository;
+import uniquindio.product.services.implementations.ImagesServiceImp;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de pruebas unitarias para la subida de imágenes de productos
+ * Prueba la deduplicación por contenido y el borrado según los productos que usan la imagen,
+ * contra un sustituto local de Cloudinary
+ */
+public class ImagenesTest {
+
+    private final Map<String, byte[]> recursosRemotos = new ConcurrentHashMap<>();
+    private final Map<String, ImagenAlmacenada> indice = new ConcurrentHashMap<>();
+    private final AtomicInteger secuencia = new AtomicInteger();
+
+    private Uploader uploader;
+    private ImagenAlmacenadaRepository imagenAlmacenadaRepository;
+    private ProductoRepository productoRepository;
+    private ImagenesProperties imagenesProperties;
+    private ImagesServiceImp imagesService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Sustituto local de Cloudinary: guarda el contenido subido por publicId
+        uploader = mock(Uploader.class);
+        when(uploader.upload(any(), anyMap())).thenAnswer(invocacion -> {
+            File archivo = invocacion.getArgument(0);
+            String publicId = "ReneChardon/imagen-" + secuencia.incrementAndGet();
+            recursosRemotos.put(publicId, Files.readAllBytes(archivo.toPath()));
+            return ObjectUtils.asMap(
+                    "secure_url", "https://res.cloudinary.local/" + publicId + ".jpg",
+                    "public_id", publicId,
+                    "format", "jpg");
+        });
+        when(uploader.destroy(anyString(), anyMap())).thenAnswer(invocacion ->
+                ObjectUtils.asMap("result", recursosRemotos.remove(invocacion.<String>getArgument(0)) != null
+                        ? "ok" : "not found"));
+        Cloudinary cloudinary = mock(Cloudinary.class);
+        when(cloudinary.uploader()).thenReturn(uploader);
+
+        // Índice en memoria con la misma semántica que el INSERT ... ON CONFLICT DO NOTHING
+        imagenAlmacenadaRepository = mock(ImagenAlmacenadaRepository.class);
+        when(imagenAlmacenadaRepository.findById(anyString()))
+                .thenAnswer(invocacion -> Optional.ofNullable(indice.get(invocacion.<String>getArgument(0))));
+        when(imagenAlmacenadaRepository.findByPublicId(anyString()))
+                .thenAnswer(invocacion -> indice.values().stream()
+                        .filter(imagen -> imagen.getPublicId().equals(invocacion.getArgument(0)))
+                        .findFirst());
+        when(imagenAlmacenadaRepository.registrar(anyString(), anyString(), anyString(), anyString(),
+                any(LocalDateTime.class))).thenAnswer(invocacion -> {
+            ImagenAlmacenada imagen = new ImagenAlmacenada(invocacion.getArgument(0), invocacion.getArgument(1),
+                    invocacion.getArgument(2), invocacion.getArgument(3), invocacion.getArgument(4));
+            return indice.putIfAbsent(imagen.getHash(), imagen) == null ? 1 : 0;
+        });
+
+        // Borrado condicional: solo si ningún producto usa la URL de la imagen
+        productoRepository = mock(ProductoRepository.class);
+        when(imagenAlmacenadaRepository.eliminarSiNoSeUsa(anyString())).thenAnswer(invocacion -> {
+            String publicId = invocacion.getArgument(0);
+            return indice.values().removeIf(imagen -> imagen.getPublicId().equals(publicId)
+                    && productoRepository.countByImagenProducto(imagen.getUrl()) == 0) ? 1 : 0;
+        });
+        imagenesProperties = new ImagenesProperties();
+        imagesService = new ImagesServiceImp(cloudinary, imagenesProperties, imagenAlmacenadaRepository,
+                productoRepository);
+    }
+
+    /**
+     * Prueba que volver a subir la misma foto devuelve la imagen existente sin subirla otra vez
+     */
+    @Test
+    void testSubirImagen_MismoContenido_NoSeSubeDosVeces() throws Exception {
+        // Act
+        ImagenDTO primera = imagesService.subirImagen(imagen("foto-a.jpg", "contenido-1"));
+        ImagenDTO repetida = imagesService.subirImagen(imagen("otro-nombre.jpg", "contenido-1"));
+        ImagenDTO distinta = imagesService.subirImagen(imagen("foto-b.jpg", "contenido-2"));
+
+        // Assert
+        assertEquals(primera, repetida);
+        assertNotEquals(primera.publicId(), distinta.publicId());
+        verify(uploader, times(2)).upload(any(), anyMap());
+        assertEquals(2, recursosRemotos.size());
+    }
+
+    /**
+     * Prueba que si otra subida simultánea registró el mismo contenido primero, se usa
+     * la suya y se borra la copia recién subida
+     */
+    @Test
+    void testSubirImagen_CarreraConOtraSubida_BorraLaCopia() throws Exception {
+        // Arrange: la otra subida se registra entre la consulta y el registro de esta
+        ImagenDTO ganadora = new ImagenDTO("https://res.cloudinary.local/ganadora.jpg", "ReneChardon/ganadora", "jpg");
+        when(imagenAlmacenadaRepository.findById(anyString()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new ImagenAlmacenada("hash", ganadora.url(), ganadora.publicId(),
+                        ganadora.formato(), LocalDateTime.now())));
+        when(imagenAlmacenadaRepository.registrar(anyString(), anyString(), anyString(), anyString(),
+                any(LocalDateTime.class))).thenReturn(0);
+
+        // Act
+        ImagenDTO resultado = imagesService.subirImagen(imagen("foto.jpg", "contenido"));
+
+        // Assert
+        assertEquals(ganadora, resultado);
+        verify(uploader).destroy(eq("ReneChardon/imagen-1"), anyMap());
+        assertTrue(recursosRemotos.isEmpty());
+    }
+
+    /**
+     * Prueba que una imagen usada por algún producto no se borra de Cloudinary
+     */
+    @Test
+    void testEliminarImagen_EnUso_NoSeBorra() throws Exception {
+        // Arrange
+        ImagenDTO imagen = imagesService.subirImagen(imagen("foto.jpg", "contenido"));
+        when(productoRepository.countByImagenProducto(imagen.url())).thenReturn(2L);
+
+        // Act
+        String resultado = imagesService.eliminarImagen(imagen.publicId());
+
+        // Assert
+        assertTrue(resultado.contains("sigue en uso por 2"));
+        verify(uploader, never()).destroy(anyString(), anyMap());
+        assertTrue(recursosRemotos.containsKey(imagen.publicId()));
+    }
+
+    /**
+     * Prueba que sin productos que la usen, la imagen se borra de Cloudinary y del índice,
+     * y una nueva subida del mismo contenido vuelve a subirla
+     */
+    @Test
+    void testEliminarImagen_SinUso_SeBorraYDejaDeDeduplicarse() throws Exception {
+        // Arrange
+        ImagenDTO imagen = imagesService.subirImagen(imagen("foto.jpg", "contenido"));
+
+        // Act
+        String resultado = imagesService.eliminarImagen(imagen.publicId());
+        ImagenDTO nueva = imagesService.subirImagen(imagen("foto.jpg", "contenido"));
+
+        // Assert
+        assertEquals("Imagen eliminada correctamente", resultado);
+        assertNotEquals(imagen.publicId(), nueva.publicId());
+        verify(uploader, times(2)).upload(any(), anyMap());
+    }
+
+    /**
+     * Prueba que el registro se borra antes de destruir el recurso en Cloudinary
+     */
+    @Test
+    void testEliminarImagen_BorraElRegistroAntesDeCloudinary() throws Exception {
+        // Arrange
+        ImagenDTO imagen = imagesService.subirImagen(imagen("foto.jpg", "contenido"));
+
+        // Act
+        imagesService.eliminarImagen(imagen.publicId());
+
+        // Assert
+        InOrder orden = inOrder(imagenAlmacenadaRepository, uploader);
+        orden.verify(imagenAlmacenadaRepository).eliminarSiNoSeUsa(imagen.publicId());
+        orden.verify(uploader).destroy(eq(imagen.publicId()), anyMap());
+        assertTrue(indice.isEmpty());
+    }
+
+    /**
+     * Prueba que una imagen subida antes del índice se busca por su publicId en la URL de los productos
+     */
+    @Test
+    void testEliminarImagen_SinRegistro_UsaLaUrlDeLosProductos() throws Exception {
+        // Arrange
+        recursosRemotos.put("ReneChardon/antigua", "contenido".getBytes());
+        when(productoRepository.countByImagenProductoContaining("ReneChardon/antigua")).thenReturn(1L, 0L);
+
+        // Act
+        String enUso = imagesService.eliminarImagen("ReneChardon/antigua");
+        String libre = imagesService.eliminarImagen("ReneChardon/antigua");
+
+        // Assert
+        assertTrue(enUso.contains("sigue en uso por 1"));
+        assertEquals("Imagen eliminada correctamente", libre);
+        assertTrue(recursosRemotos.isEmpty());
+    }
+
+    /**
+     * Prueba que una imagen mayor al tamaño máximo se rechaza sin subirla
+     */
+    @Test
+    void testSubirImagen_SuperaTamanoMaximo() throws Exception {
+        // Arrange
+        imagenesProperties.setTamanoMaximo(DataSize.ofBytes(4));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> imagesService.subirImagen(imagen("foto.jpg", "contenido")));
+        verifyNoInteractions(uploader);
+    }
+
+    private MockMultipartFile imagen(String nombre, String contenido) {
+        return new MockMultipartFile("imagen", nombre, "image/jpeg", contenido.getBytes());
+    }
+}
@@ -0,0 +1,103 @@
+package uniquindio.product.servicetest;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import uniquindio.product.configs.JWTUtils;
+import uniquindio.product.configs.JwtAuthenticationFilter;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para JWTUtils
+ * Prueba la verificación de tokens con el parser construido al arrancar, la caché de tokens verificados
+ * y la autenticación del filtro con los claims del token
+ */
+public class JwtUtilsTest {
+
+    private JWTUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JWTUtils();
+        jwtUtils.setSecret("secreto-de-pruebas-con-mas-de-32-bytes-de-largo");
+        jwtUtils.inicializar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Prueba que un token generado se verifica y que la segunda lectura sale de la caché
+     */
+    @Test
+    void testParseJwt_TokenValido_SeRecuerda() {
+        // Arrange
+        String token = jwtUtils.generarToken("cliente@correo.com", Map.of("id", "u1", "rol", "CLIENTE"));
+
+        // Act
+        Jws<Claims> primera = jwtUtils.parseJwt(token);
+        Jws<Claims> segunda = jwtUtils.parseJwt(token);
+
+        // Assert
+        assertEquals("cliente@correo.com", primera.getBody().getSubject());
+        assertEquals("u1", primera.getBody().get("id", String.class));
+        assertSame(primera, segunda);
+    }
+
+    /**
+     * Prueba que un token alterado no se acepta aunque el original esté en caché
+     */
+    @Test
+    void testParseJwt_TokenAlterado_Falla() {
+        // Arrange
+        String token = jwtUtils.generarToken("cliente@correo.com", Map.of("id", "u1", "rol", "CLIENTE"));
+        jwtUtils.parseJwt(token);
+        String alterado = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThrows(SignatureException.class, () -> jwtUtils.parseJwt(alterado));
+    }
+
+    /**
+     * Prueba que un token vacío se rechaza sin consultar la caché
+     */
+    @Test
+    void testParseJwt_TokenVacio_Falla() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> jwtUtils.parseJwt(" "));
+    }
+
+    /**
+     * Prueba que el filtro autentica la petición con el correo y el rol del token
+     */
+    @Test
+    void testFiltro_AutenticaConLosClaims() throws Exception {
+        // Arrange
+        String token = jwtUtils.generarToken("cliente@correo.com", Map.of("id", "u1", "rol", "CLIENTE"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/usuario/pedidos");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        // Act
+        new JwtAuthenticationFilter(jwtUtils).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(autenticacion);
+        assertEquals("cliente@correo.com", autenticacion.getName());
+        assertTrue(autenticacion.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_CLIENTE")));
+    }
+}
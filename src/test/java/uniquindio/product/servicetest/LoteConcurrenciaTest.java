@@ -0,0 +1,146 @@
+package uniquindio.product.servicetest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.repositories.LoteRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de estrés del descuento condicional de stock en LoteRepository.
+ * Lanza cientos de descuentos concurrentes sobre el mismo lote y verifica
+ * que nunca se venda más de la cantidad producida.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class LoteConcurrenciaTest {
+
+    private static final int CANTIDAD_PRODUCIDA = 100;
+    private static final int DESCUENTOS_CONCURRENTES = 400;
+    private static final int HILOS = 32;
+
+    @Autowired
+    private LoteRepository loteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Lote lote;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        lote = new Lote();
+        lote.setCodigoLote("STRESS-" + UUID.randomUUID().toString().substring(0, 8));
+        lote.setIdProducto("producto-stress");
+        lote.setFechaProduccion(LocalDate.now());
+        lote.setFechaVencimiento(LocalDate.now().plusMonths(6));
+        lote.setCantidadProducida(CANTIDAD_PRODUCIDA);
+        lote.setCantidadDisponible(CANTIDAD_PRODUCIDA);
+        lote.setEstado(EstadoLote.DISPONIBLE);
+        lote.setFechaCreacion(LocalDateTime.now());
+        lote = loteRepository.save(lote);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loteRepository.deleteById(lote.getId());
+    }
+
+    /**
+     * Cientos de descuentos de una unidad compiten por el mismo lote.
+     * Solo deben prosperar tantos como unidades producidas.
+     */
+    @Test
+    void testDescuentosConcurrentes_NoSobrevende() throws Exception {
+        // Arrange
+        AtomicInteger vendidas = new AtomicInteger();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < DESCUENTOS_CONCURRENTES; i++) {
+            tareas.add(executor.submit(() -> {
+                salida.await();
+                Boolean descontado = transactionTemplate.execute(status ->
+                        loteRepository.descontarSiDisponible(lote.getId(), 1));
+                if (Boolean.TRUE.equals(descontado)) {
+                    vendidas.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        salida.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        Lote resultado = loteRepository.findById(lote.getId()).orElseThrow();
+        assertTrue(vendidas.get() <= CANTIDAD_PRODUCIDA);
+        assertEquals(CANTIDAD_PRODUCIDA, vendidas.get());
+        assertEquals(0, resultado.getCantidadDisponible());
+        assertEquals(EstadoLote.AGOTADO, resultado.getEstado());
+    }
+
+    /**
+     * Descuentos de varias unidades: la suma vendida más el remanente
+     * debe coincidir exactamente con la cantidad producida.
+     */
+    @Test
+    void testDescuentosConcurrentesVariables_ConservaTotal() throws Exception {
+        // Arrange
+        AtomicInteger vendidas = new AtomicInteger();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < DESCUENTOS_CONCURRENTES; i++) {
+            int cantidad = 1 + (i % 3);
+            tareas.add(executor.submit(() -> {
+                salida.await();
+                Boolean descontado = transactionTemplate.execute(status ->
+                        loteRepository.descontarSiDisponible(lote.getId(), cantidad));
+                if (Boolean.TRUE.equals(descontado)) {
+                    vendidas.addAndGet(cantidad);
+                }
+                return null;
+            }));
+        }
+        salida.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        Lote resultado = loteRepository.findById(lote.getId()).orElseThrow();
+        assertTrue(vendidas.get() <= CANTIDAD_PRODUCIDA);
+        assertEquals(CANTIDAD_PRODUCIDA, vendidas.get() + resultado.getCantidadDisponible());
+        assertTrue(resultado.getCantidadDisponible() >= 0);
+    }
+}
@@ -0,0 +1,70 @@
+package uniquindio.product.servicetest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uniquindio.product.exceptions.CarritoException;
+import uniquindio.product.exceptions.LoteException;
+import uniquindio.product.model.enums.FaseCheckout;
+import uniquindio.product.services.implementations.MetricasCheckout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para las métricas del checkout
+ * Prueba que cada fase se mide aunque falle y que LoteException y CarritoException se cuentan por fase
+ */
+public class MetricasCheckoutTest {
+
+    private SimpleMeterRegistry registro;
+    private MetricasCheckout metricasCheckout;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        metricasCheckout = new MetricasCheckout(registro);
+    }
+
+    /**
+     * Prueba que una fase exitosa devuelve su resultado y queda en su temporizador
+     */
+    @Test
+    void testMedir_FaseExitosa() {
+        // Act
+        String resultado = metricasCheckout.medir(FaseCheckout.CONSULTA_PRODUCTOS, () -> "productos");
+
+        // Assert
+        assertEquals("productos", resultado);
+        assertEquals(1, registro.get("checkout.fase").tag("fase", "consulta_productos").timer().count());
+        assertEquals(0, registro.get("checkout.fase").tag("fase", "seleccion_fefo").timer().count());
+    }
+
+    /**
+     * Prueba que las fases fallidas se miden y cuentan su excepción sin ocultarla
+     */
+    @Test
+    void testMedir_FaseFallidaCuentaExcepcion() {
+        // Act
+        assertThrows(LoteException.class,
+                () -> metricasCheckout.medirPaso(FaseCheckout.SELECCION_FEFO, MetricasCheckoutTest::reservarSinStock));
+        assertThrows(CarritoException.class,
+                () -> metricasCheckout.medirPaso(FaseCheckout.CARGA_CARRITO, MetricasCheckoutTest::cargarCarritoVacio));
+
+        // Assert
+        assertEquals(1, registro.get("checkout.fase").tag("fase", "seleccion_fefo").timer().count());
+        assertEquals(1, registro.get("checkout.excepciones")
+                .tags("fase", "seleccion_fefo", "excepcion", "LoteException").counter().count());
+        assertEquals(1, registro.get("checkout.excepciones")
+                .tags("fase", "carga_carrito", "excepcion", "CarritoException").counter().count());
+        assertEquals(0, registro.get("checkout.excepciones")
+                .tags("fase", "carga_carrito", "excepcion", "LoteException").counter().count());
+    }
+
+    private static void reservarSinStock() {
+        throw new LoteException("Stock insuficiente");
+    }
+
+    private static void cargarCarritoVacio() throws CarritoException {
+        throw new CarritoException("El carrito debe tener al menos un producto.");
+    }
+}
@@ -0,0 +1,167 @@
+package uniquindio.product.servicetest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import uniquindio.product.configs.WebhookProperties;
+import uniquindio.product.dto.pedido.NotificacionDataDTO;
+import uniquindio.product.dto.pedido.NotificacionPagoDTO;
+import uniquindio.product.exceptions.PedidoException;
+import uniquindio.product.model.documents.NotificacionPago;
+import uniquindio.product.model.documents.NotificacionPagoFallida;
+import uniquindio.product.model.enums.EstadoNotificacion;
+import uniquindio.product.model.vo.Pago;
+import uniquindio.product.repositories.NotificacionPagoFallidaRepository;
+import uniquindio.product.repositories.NotificacionPagoRepository;
+import uniquindio.product.services.implementations.NotificacionPagoServiceImpl;
+import uniquindio.product.services.implementations.MetricasCheckout;
+import uniquindio.product.services.implementations.ProcesadorNotificacionesPago;
+import uniquindio.product.services.interfaces.NotificacionPagoService;
+import uniquindio.product.services.interfaces.PasarelaPagoPort;
+import uniquindio.product.services.interfaces.PedidoService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de pruebas unitarias para la cola de notificaciones de pago
+ * Prueba el encolado, los reintentos con espera exponencial y el paso a la tabla de fallidas
+ */
+@ExtendWith(MockitoExtension.class)
+public class NotificacionPagoTest {
+
+    @Mock
+    private NotificacionPagoRepository notificacionPagoRepository;
+
+    @Mock
+    private NotificacionPagoFallidaRepository notificacionPagoFallidaRepository;
+
+    @Spy
+    private WebhookProperties webhookProperties = new WebhookProperties();
+
+    @InjectMocks
+    private NotificacionPagoServiceImpl notificacionPagoService;
+
+    /**
+     * Prueba que solo se encolan las notificaciones de tipo payment
+     */
+    @Test
+    void testEncolar_IgnoraOtrosTipos() {
+        // Act
+        boolean encolada = notificacionPagoService.encolar(
+                new NotificacionPagoDTO("merchant_order", new NotificacionDataDTO("123")));
+
+        // Assert
+        assertFalse(encolada);
+        verifyNoInteractions(notificacionPagoRepository);
+    }
+
+    /**
+     * Prueba que un reenvío de una notificación pendiente no se encola otra vez
+     */
+    @Test
+    void testEncolar_DuplicadoPendiente() {
+        // Arrange
+        when(notificacionPagoRepository.encolar(anyString(), eq("123"), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act
+        boolean encolada = notificacionPagoService.encolar(
+                new NotificacionPagoDTO("payment", new NotificacionDataDTO("123")));
+
+        // Assert
+        assertFalse(encolada);
+    }
+
+    /**
+     * Prueba que un fallo reprograma la notificación con espera exponencial
+     */
+    @Test
+    void testRegistrarFallo_ProgramaReintento() {
+        // Arrange
+        NotificacionPago notificacion = notificacion(2);
+        when(notificacionPagoRepository.findById("n1")).thenReturn(Optional.of(notificacion));
+        LocalDateTime antes = LocalDateTime.now();
+
+        // Act
+        notificacionPagoService.registrarFallo("n1", "Timeout");
+
+        // Assert: tercer intento fallido → espera inicial × 4
+        assertEquals(EstadoNotificacion.PENDIENTE, notificacion.getEstado());
+        assertEquals(3, notificacion.getIntentos());
+        assertFalse(notificacion.getProximoIntento()
+                .isBefore(antes.plus(webhookProperties.getEsperaInicial().multipliedBy(4))));
+        verifyNoInteractions(notificacionPagoFallidaRepository);
+    }
+
+    /**
+     * Prueba que al agotar los intentos la notificación pasa a la tabla de fallidas
+     */
+    @Test
+    void testRegistrarFallo_AgotaIntentos_PasaAFallidas() {
+        // Arrange
+        NotificacionPago notificacion = notificacion(webhookProperties.getMaxIntentos() - 1);
+        when(notificacionPagoRepository.findById("n1")).thenReturn(Optional.of(notificacion));
+
+        // Act
+        notificacionPagoService.registrarFallo("n1", "Pedido no encontrado");
+
+        // Assert
+        ArgumentCaptor<NotificacionPagoFallida> captor = ArgumentCaptor.forClass(NotificacionPagoFallida.class);
+        verify(notificacionPagoFallidaRepository).save(captor.capture());
+        assertEquals("pago-1", captor.getValue().getIdPago());
+        assertEquals("Pedido no encontrado", captor.getValue().getUltimoError());
+        assertEquals(EstadoNotificacion.DESCARTADA, notificacion.getEstado());
+    }
+
+    /**
+     * Prueba que el procesador registra el pago y marca la notificación, o registra el fallo
+     */
+    @Test
+    void testProcesar_ExitoYFallo() throws Exception {
+        // Arrange
+        NotificacionPagoService servicio = mock(NotificacionPagoService.class);
+        PasarelaPagoPort pasarela = mock(PasarelaPagoPort.class);
+        PedidoService pedidoService = mock(PedidoService.class);
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        ProcesadorNotificacionesPago procesador = new ProcesadorNotificacionesPago(
+                servicio, pasarela, pedidoService, new ThreadPoolTaskExecutor(), new MetricasCheckout(registro), registro);
+
+        Pago pago = new Pago();
+        pago.setIdPago("pago-1");
+        when(pasarela.obtenerPago("pago-1")).thenReturn(pago);
+        when(pasarela.obtenerPago("pago-2")).thenThrow(new PedidoException("Error al obtener pago desde pasarela"));
+
+        NotificacionPago exitosa = notificacion(0);
+        NotificacionPago fallida = notificacion(0);
+        fallida.setId("n2");
+        fallida.setIdPago("pago-2");
+
+        // Act
+        procesador.procesar(exitosa);
+        procesador.procesar(fallida);
+
+        // Assert
+        verify(pedidoService).registrarPago(pago);
+        verify(servicio).marcarProcesada("n1");
+        verify(servicio).registrarFallo("n2", "Error al obtener pago desde pasarela");
+        verify(servicio, never()).marcarProcesada("n2");
+        assertEquals(2, registro.get("checkout.fase").tag("fase", "consulta_pago").timer().count());
+    }
+
+    private NotificacionPago notificacion(int intentos) {
+        LocalDateTime ahora = LocalDateTime.now();
+        return new NotificacionPago("n1", "pago-1", EstadoNotificacion.EN_PROCESO, intentos,
+                ahora.plus(Duration.ofMinutes(5)), ahora.minusSeconds(30), null, null);
+    }
+}
@@ -0,0 +1,71 @@
+package uniquindio.product.servicetest;
+
+import org.junit.jupiter.api.Test;
+import uniquindio.product.dto.paginacion.PaginaDTO;
+import uniquindio.product.exceptions.PaginacionException;
+import uniquindio.product.mapper.PaginacionMapper;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para PaginacionMapper
+ * Prueba el armado de páginas por cursor y la codificación del cursor
+ */
+public class PaginacionMapperTest {
+
+    /**
+     * Prueba que la fila extra consultada marca que hay más páginas y no se entrega
+     */
+    @Test
+    void testToPaginaDTO_ConFilaExtra_HayMas() {
+        // Arrange
+        List<String> filas = List.of("a", "b", "c");
+
+        // Act
+        PaginaDTO<String> pagina = PaginacionMapper.toPaginaDTO(filas, 2, Function.identity(), l -> l);
+
+        // Assert
+        assertEquals(List.of("a", "b"), pagina.elementos());
+        assertTrue(pagina.hayMas());
+        assertEquals("b", PaginacionMapper.decodificarCursor(pagina.siguienteCursor()));
+    }
+
+    /**
+     * Prueba que la última página no devuelve cursor
+     */
+    @Test
+    void testToPaginaDTO_UltimaPagina_SinCursor() {
+        // Act
+        PaginaDTO<String> pagina = PaginacionMapper.toPaginaDTO(List.of("a"), 2, Function.identity(), l -> l);
+
+        // Assert
+        assertEquals(List.of("a"), pagina.elementos());
+        assertFalse(pagina.hayMas());
+        assertNull(pagina.siguienteCursor());
+    }
+
+    /**
+     * Prueba que sin cursor se empieza desde el inicio y que un cursor corrupto se rechaza
+     */
+    @Test
+    void testDecodificarCursor() {
+        // Act & Assert
+        assertEquals("", PaginacionMapper.decodificarCursor(null));
+        assertEquals("", PaginacionMapper.decodificarCursor(" "));
+        assertThrows(PaginacionException.class, () -> PaginacionMapper.decodificarCursor("%%%"));
+    }
+
+    /**
+     * Prueba que el tamaño de página se acota al máximo y usa el valor por defecto si no es válido
+     */
+    @Test
+    void testNormalizarTamano() {
+        // Act & Assert
+        assertEquals(PaginacionMapper.TAMANO_POR_DEFECTO, PaginacionMapper.normalizarTamano(0));
+        assertEquals(PaginacionMapper.TAMANO_MAXIMO, PaginacionMapper.normalizarTamano(10_000));
+        assertEquals(5, PaginacionMapper.normalizarTamano(5));
+    }
+}
@@ -0,0 +1,106 @@
+package uniquindio.product.servicetest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import uniquindio.product.dto.email.EmailDTO;
+import uniquindio.product.mapper.ContextoMapeo;
+import uniquindio.product.mapper.PedidoMapper;
+import uniquindio.product.mapper.UsuarioMapper;
+import uniquindio.product.model.documents.Pedido;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.vo.DetallePedido;
+import uniquindio.product.services.implementations.PlantillasCorreo;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas unitarias para PlantillasCorreo
+ * Prueba el armado del marco común y el contenido de cada tipo de correo
+ */
+public class PlantillasCorreoTest {
+
+    private PlantillasCorreo plantillasCorreo;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+
+        SpringTemplateEngine motor = new SpringTemplateEngine();
+        motor.setTemplateResolver(resolver);
+
+        plantillasCorreo = new PlantillasCorreo(motor);
+        plantillasCorreo.inicializar();
+    }
+
+    /**
+     * Prueba que el correo de validación lleva el marco completo, el asunto y el código
+     */
+    @Test
+    void testRenderizar_Validacion() {
+        // Act
+        String html = plantillasCorreo.renderizar(UsuarioMapper.toEmailValidacionDTO("cliente@correo.com", "48213"));
+
+        // Assert
+        assertTrue(html.startsWith("<!DOCTYPE html>"));
+        assertTrue(html.contains("<title>Código de Validación</title>"));
+        assertTrue(html.contains(">48213</p>"));
+        assertTrue(html.contains("&copy; 2025 - Essentia"));
+        assertFalse(html.contains("<!--contenido-->"));
+        assertTrue(html.stripTrailing().endsWith("</html>"));
+    }
+
+    /**
+     * Prueba que las variables se escapan y no pueden inyectar HTML
+     */
+    @Test
+    void testRenderizar_EscapaVariables() {
+        // Act
+        String html = plantillasCorreo.renderizar(
+                UsuarioMapper.toEmailCodigoExpiradoDTO("cliente@correo.com", "<script>x</script>", "Validación"));
+
+        // Assert
+        assertFalse(html.contains("<script>"));
+        assertTrue(html.contains("&lt;script&gt;x&lt;/script&gt;"));
+        assertTrue(html.contains("Nuevo código de validación"));
+    }
+
+    /**
+     * Prueba que la confirmación suma las líneas de un producto repartido en varios lotes
+     */
+    @Test
+    void testRenderizar_ConfirmacionPedido() {
+        // Arrange
+        Producto producto = new Producto();
+        producto.setIdProducto("p1");
+        producto.setNombreProducto("Sérum facial");
+
+        Pedido pedido = new Pedido();
+        pedido.setId("pedido-1");
+        pedido.setTotal(new BigDecimal("75000"));
+        pedido.setDetalle(List.of(
+                new DetallePedido("p1", "lote-1", 2, new BigDecimal("25000")),
+                new DetallePedido("p1", "lote-2", 1, new BigDecimal("25000"))));
+
+        // Act
+        EmailDTO emailDTO = PedidoMapper.toEmailConfirmacionDTO(
+                "cliente@correo.com", pedido, ContextoMapeo.de(List.of(producto), List.of()));
+        String html = plantillasCorreo.renderizar(emailDTO);
+
+        // Assert
+        assertTrue(html.contains("pedido-1"));
+        assertTrue(html.contains(">Sérum facial</td>"));
+        assertTrue(html.contains(">x 3</td>"));
+        assertTrue(html.contains("$ 75000.00"));
+    }
+}
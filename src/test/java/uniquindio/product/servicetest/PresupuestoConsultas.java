@@ -0,0 +1,65 @@
+package uniquindio.product.servicetest;
+
+import uniquindio.product.configs.ContadorConsultas;
+import uniquindio.product.model.vo.ConteoConsultas;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Utilidad de pruebas para fijar cuántas consultas puede hacer un método de servicio.
+ * Usa el mismo ContadorConsultas que mide las peticiones HTTP, así que la prueba debe
+ * importar ContadorConsultas y ContadorConsultasConfig en su contexto de Spring.
+ */
+public final class PresupuestoConsultas {
+
+    private PresupuestoConsultas() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Ejecuta la acción y falla si emite más sentencias SQL que el máximo.
+     *
+     * @return el resultado de la acción
+     */
+    public static <T> T verificar(ContadorConsultas contador, int maximoSentencias, Accion<T> accion) {
+        return verificar(contador, new ConteoConsultas(maximoSentencias, Integer.MAX_VALUE, Integer.MAX_VALUE), accion);
+    }
+
+    /**
+     * Ejecuta la acción y falla si supera cualquiera de los tres máximos
+     * (sentencias, entidades cargadas o colecciones inicializadas).
+     *
+     * @return el resultado de la acción
+     */
+    public static <T> T verificar(ContadorConsultas contador, ConteoConsultas maximo, Accion<T> accion) {
+        Medicion<T> medicion = medir(contador, accion);
+        assertFalse(medicion.conteo().excede(maximo),
+                () -> "Se excedió el presupuesto de consultas: " + medicion.conteo() + "; máximo: " + maximo);
+        return medicion.resultado();
+    }
+
+    /**
+     * Ejecuta la acción y devuelve lo que consultó, sin verificar ningún máximo.
+     */
+    public static <T> Medicion<T> medir(ContadorConsultas contador, Accion<T> accion) {
+        contador.iniciar();
+        T resultado;
+        ConteoConsultas conteo;
+        try {
+            resultado = accion.ejecutar();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            // La medición se cierra también si la acción falla
+            conteo = contador.detener();
+        }
+        return new Medicion<>(resultado, conteo);
+    }
+
+    public record Medicion<T>(T resultado, ConteoConsultas conteo) {}
+
+    @FunctionalInterface
+    public interface Accion<T> {
+        T ejecutar() throws Exception;
+    }
+}
@@ -0,0 +1,69 @@
+package uniquindio.product.servicetest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import uniquindio.product.configs.CacheConfig;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.repositories.ProductoRepository;
+import uniquindio.product.services.implementations.ProductoCacheServiceImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de pruebas unitarias para ProductoCacheServiceImpl
+ * Prueba la lectura por lotes: solo los productos que no están en caché llegan a la base de datos
+ */
+@ExtendWith(MockitoExtension.class)
+public class ProductoCacheTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    private ProductoCacheServiceImpl productoCacheService;
+
+    @BeforeEach
+    void setUp() {
+        productoCacheService = new ProductoCacheServiceImpl(
+                productoRepository, new ConcurrentMapCacheManager(CacheConfig.CACHE_PRODUCTOS));
+    }
+
+    /**
+     * Prueba que la segunda lectura del mismo conjunto de productos no consulta el repositorio
+     * y que una lectura mixta solo consulta los IDs que faltan
+     */
+    @Test
+    void testBuscarPorIds_SoloConsultaLosFaltantes() {
+        // Arrange
+        when(productoRepository.findAllById(Set.of("p1", "p2"))).thenReturn(List.of(producto("p1"), producto("p2")));
+        when(productoRepository.findAllById(Set.of("p3"))).thenReturn(List.of(producto("p3")));
+
+        // Act
+        Map<String, Producto> primera = productoCacheService.buscarPorIds(List.of("p1", "p2"));
+        Map<String, Producto> segunda = productoCacheService.buscarPorIds(List.of("p1", "p2"));
+        Map<String, Producto> mixta = productoCacheService.buscarPorIds(List.of("p1", "p3"));
+
+        // Assert
+        assertEquals(2, primera.size());
+        assertSame(primera.get("p1"), segunda.get("p1"));
+        assertEquals(Set.of("p1", "p3"), mixta.keySet());
+        verify(productoRepository, times(2)).findAllById(anyIterable());
+    }
+
+    private Producto producto(String id) {
+        Producto producto = new Producto();
+        producto.setIdProducto(id);
+        producto.setNombreProducto("Producto " + id);
+        producto.setValor(1_000.0);
+        return producto;
+    }
+}
@@ -0,0 +1,335 @@
+package uniquindio.product.servicetest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import uniquindio.product.configs.CacheConfig;
+import uniquindio.product.configs.ReservaStockProperties;
+import uniquindio.product.exceptions.PedidoException;
+import uniquindio.product.model.documents.ExistenciaLote;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.Pedido;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.enums.EstadoPago;
+import uniquindio.product.model.enums.EstadoPedido;
+import uniquindio.product.model.enums.EstadoReserva;
+import uniquindio.product.model.vo.DetallePedido;
+import uniquindio.product.model.vo.Pago;
+import uniquindio.product.model.vo.PlanAsignacionLotes;
+import uniquindio.product.repositories.*;
+import uniquindio.product.services.implementations.*;
+import uniquindio.product.services.interfaces.EmailService;
+import uniquindio.product.services.interfaces.PasarelaPagoPort;
+import uniquindio.product.services.interfaces.PedidoService;
+import uniquindio.product.services.interfaces.ReservaStockService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Clase de pruebas de PedidoServiceImpl.registrarPago contra la base de datos
+ * Prueba que un pago aprobado vende las unidades reservadas del pedido y que los pagos
+ * concurrentes sin reserva no sobrevenden, cada paso en su propia transacción
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PedidoServiceImpl.class, ReservaStockServiceImpl.class, LoteServiceImpl.class, ProductoCacheServiceImpl.class,
+        CacheConfig.class, IndiceVencimientos.class, CargadorContextoMapeo.class, MetricasCheckout.class,
+        ReservaStockProperties.class, RegistroPagoTest.Dobles.class})
+public class RegistroPagoTest {
+
+    private static final int CANTIDAD_PRODUCIDA = 10;
+    private static final int PAGOS_CONCURRENTES = 16;
+    private static final int HILOS = 8;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ReservaStockService reservaStockService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private LoteRepository loteRepository;
+
+    @Autowired
+    private ExistenciaLoteRepository existenciaLoteRepository;
+
+    @Autowired
+    private StockProductoRepository stockProductoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ReservaStockRepository reservaStockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Producto producto;
+    private final List<Lote> lotes = new ArrayList<>();
+    private final List<String> idsPedidos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        producto = new Producto();
+        producto.setNombreProducto("Producto pago");
+        producto.setValor(1_000.0);
+        producto.setUltimaFechaModificacion(LocalDateTime.now());
+        producto = productoRepository.save(producto);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaStockRepository.deleteAll(reservaStockRepository.findAll().stream()
+                .filter(r -> idsPedidos.contains(r.getIdPedido()))
+                .toList());
+        pedidoRepository.deleteAllById(idsPedidos);
+        lotes.forEach(lote -> existenciaLoteRepository.deleteById(lote.getId()));
+        loteRepository.deleteAll(lotes);
+        stockProductoRepository.deleteById(producto.getIdProducto());
+        productoRepository.deleteById(producto.getIdProducto());
+    }
+
+    /**
+     * Prueba que un pago aprobado convierte la reserva en venta y confirma el pedido
+     */
+    @Test
+    void testRegistrarPagoAprobado_VendeLoReservado() throws Exception {
+        // Arrange
+        Lote lote = crearLote(CANTIDAD_PRODUCIDA, 6);
+        String idPedido = crearPedidoConReserva(3);
+
+        // Act
+        pedidoService.registrarPago(pagoAprobado(idPedido));
+
+        // Assert
+        Lote resultado = loteRepository.findById(lote.getId()).orElseThrow();
+        assertEquals(CANTIDAD_PRODUCIDA - 3, resultado.getCantidadDisponible());
+        assertEquals(0, resultado.getCantidadReservada());
+        assertEquals(CANTIDAD_PRODUCIDA - 3, existenciaLoteRepository.findById(lote.getId()).orElseThrow().getCantidad());
+
+        Pedido pedido = pedidoRepository.findById(idPedido).orElseThrow();
+        assertEquals(EstadoPedido.CONFIRMADO, pedido.getEstado());
+        assertEquals(EstadoPago.APROBADO, pedido.getPago().getEstado());
+        assertTrue(reservaStockRepository.findByIdPedidoAndEstado(idPedido, EstadoReserva.ACTIVA).isEmpty());
+        assertEquals(1, reservaStockRepository.findByIdPedidoAndEstado(idPedido, EstadoReserva.CONFIRMADA).size());
+    }
+
+    /**
+     * Prueba que, sin reserva, el pago descuenta del lote registrado en el pedido aunque
+     * otro lote venza antes, y que solo lo que ese lote no cubre se replanifica en FEFO
+     */
+    @Test
+    void testPagoSinReserva_ConsumePrimeroElLoteDelPedido() throws Exception {
+        // Arrange
+        Lote proximoAVencer = crearLote(CANTIDAD_PRODUCIDA, 3);
+        Lote registrado = crearLote(2, 6);
+        String idPedido = crearPedidoSinReserva(registrado);
+        String idPedidoMayor = crearPedidoSinReserva(registrado, 5);
+
+        // Act
+        pedidoService.registrarPago(pagoAprobado(idPedido));
+        pedidoService.registrarPago(pagoAprobado(idPedidoMayor));
+
+        // Assert: el primero sale entero del lote registrado; del segundo, lo que el lote ya no tiene va a FEFO
+        assertEquals(0, loteRepository.findById(registrado.getId()).orElseThrow().getCantidadDisponible());
+        assertEquals(CANTIDAD_PRODUCIDA - 4,
+                loteRepository.findById(proximoAVencer.getId()).orElseThrow().getCantidadDisponible());
+    }
+
+    /**
+     * Prueba que pagos concurrentes cuyas reservas ya se liberaron venden exactamente el stock
+     * libre: quien pierde la carrera por el primer lote se replanifica sobre el segundo
+     */
+    @Test
+    void testPagosConcurrentesSinReserva_NoSobrevenden() throws Exception {
+        // Arrange: dos lotes de la mitad del stock cada uno y más pedidos que unidades
+        Lote primero = crearLote(CANTIDAD_PRODUCIDA / 2, 3);
+        Lote segundo = crearLote(CANTIDAD_PRODUCIDA / 2, 6);
+        List<String> pedidos = new ArrayList<>();
+        for (int i = 0; i < PAGOS_CONCURRENTES; i++) {
+            pedidos.add(crearPedidoSinReserva(primero));
+        }
+
+        AtomicInteger aprobados = new AtomicInteger();
+        AtomicInteger rechazados = new AtomicInteger();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+
+        // Act
+        for (String idPedido : pedidos) {
+            tareas.add(executor.submit(() -> {
+                salida.await();
+                try {
+                    pedidoService.registrarPago(pagoAprobado(idPedido));
+                    aprobados.incrementAndGet();
+                } catch (PedidoException e) {
+                    rechazados.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        salida.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(CANTIDAD_PRODUCIDA, aprobados.get());
+        assertEquals(PAGOS_CONCURRENTES - CANTIDAD_PRODUCIDA, rechazados.get());
+        for (Lote lote : List.of(primero, segundo)) {
+            Lote resultado = loteRepository.findById(lote.getId()).orElseThrow();
+            assertEquals(0, resultado.getCantidadDisponible());
+            assertEquals(EstadoLote.AGOTADO, resultado.getEstado());
+            assertEquals(0, existenciaLoteRepository.findById(lote.getId()).orElseThrow().getCantidad());
+        }
+        assertEquals(CANTIDAD_PRODUCIDA, pedidoRepository.findAllById(pedidos).stream()
+                .filter(p -> p.getEstado() == EstadoPedido.CONFIRMADO)
+                .count());
+    }
+
+    // ============================
+    // Métodos privados auxiliares
+    // ============================
+
+    /**
+     * Crea un lote disponible, su existencia en el almacén y recalcula el resumen de stock.
+     */
+    private Lote crearLote(int cantidad, int mesesParaVencer) {
+        Lote lote = new Lote();
+        lote.setCodigoLote("PAGO-" + UUID.randomUUID().toString().substring(0, 8));
+        lote.setIdProducto(producto.getIdProducto());
+        lote.setFechaProduccion(LocalDate.now());
+        lote.setFechaVencimiento(LocalDate.now().plusMonths(mesesParaVencer));
+        lote.setCantidadProducida(cantidad);
+        lote.setCantidadDisponible(cantidad);
+        lote.setEstado(EstadoLote.DISPONIBLE);
+        lote.setFechaCreacion(LocalDateTime.now());
+        lote = loteRepository.save(lote);
+        lotes.add(lote);
+
+        existenciaLoteRepository.save(new ExistenciaLote(lote.getId(), producto.getIdProducto(),
+                cantidad, LocalDateTime.now(), LocalDateTime.now()));
+        transactionTemplate.executeWithoutResult(estado -> stockProductoRepository.recalcular(producto.getIdProducto()));
+        return lote;
+    }
+
+    /**
+     * Reserva las unidades y guarda el pedido con sus reservas, como lo hace crearPedido.
+     *
+     * @return ID del pedido creado
+     */
+    private String crearPedidoConReserva(int cantidad) {
+        String idPedido = transactionTemplate.execute(estado -> {
+            PlanAsignacionLotes plan;
+            try {
+                plan = reservaStockService.reservar(Map.of(producto.getIdProducto(), cantidad));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+
+            Pedido pedido = pedidoPendiente();
+            for (PlanAsignacionLotes.Asignacion asignacion : plan.asignaciones()) {
+                pedido.getDetalle().add(new DetallePedido(asignacion.idProducto(), asignacion.lote().getId(),
+                        asignacion.cantidad(), new BigDecimal("1000")));
+            }
+
+            String id = pedidoRepository.save(pedido).getId();
+            reservaStockService.registrarReservas(id, plan);
+            return id;
+        });
+        idsPedidos.add(idPedido);
+        return idPedido;
+    }
+
+    /**
+     * Guarda un pedido sin reservas, como queda cuando el barrido las libera.
+     *
+     * @return ID del pedido creado
+     */
+    private String crearPedidoSinReserva(Lote lote) {
+        return crearPedidoSinReserva(lote, 1);
+    }
+
+    private String crearPedidoSinReserva(Lote lote, int cantidad) {
+        Pedido pedido = pedidoPendiente();
+        pedido.getDetalle().add(new DetallePedido(producto.getIdProducto(), lote.getId(), cantidad, new BigDecimal("1000")));
+        String idPedido = pedidoRepository.save(pedido).getId();
+        idsPedidos.add(idPedido);
+        return idPedido;
+    }
+
+    private Pedido pedidoPendiente() {
+        Pedido pedido = new Pedido();
+        pedido.setIdCliente("cliente-" + UUID.randomUUID());
+        pedido.setFechaCreacion(OffsetDateTime.now());
+        pedido.setEstado(EstadoPedido.PENDIENTE);
+        pedido.setTotal(new BigDecimal("1000"));
+        return pedido;
+    }
+
+    private Pago pagoAprobado(String idPedido) {
+        Pago pago = new Pago();
+        pago.setIdPago(idPedido);
+        pago.setEstado(EstadoPago.APROBADO);
+        pago.setFecha(OffsetDateTime.now());
+        pago.setValorTransaccion(new BigDecimal("3000"));
+        return pago;
+    }
+
+    /**
+     * Pasarela y correo no participan en el registro del pago.
+     */
+    @TestConfiguration
+    static class Dobles {
+
+        @Bean
+        PasarelaPagoPort pasarelaPagoPort() {
+            return mock(PasarelaPagoPort.class);
+        }
+
+        @Bean
+        EmailService emailService() {
+            return mock(EmailService.class);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
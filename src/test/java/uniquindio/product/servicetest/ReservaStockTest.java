@@ -0,0 +1,173 @@
+package uniquindio.product.servicetest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import uniquindio.product.configs.ReservaStockProperties;
+import uniquindio.product.exceptions.LoteException;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.ReservaStock;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.model.enums.EstadoReserva;
+import uniquindio.product.model.vo.CambioStock;
+import uniquindio.product.model.vo.PlanAsignacionLotes;
+import uniquindio.product.repositories.ExistenciaLoteRepository;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.repositories.ReservaStockRepository;
+import uniquindio.product.repositories.StockProductoRepository;
+import uniquindio.product.services.implementations.ReservaStockServiceImpl;
+import uniquindio.product.services.interfaces.LoteService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de pruebas unitarias para ReservaStockServiceImpl
+ * Prueba la reserva con reintento, la conversión en venta y el barrido de reservas vencidas
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReservaStockTest {
+
+    @Mock
+    private ReservaStockRepository reservaStockRepository;
+
+    @Mock
+    private LoteRepository loteRepository;
+
+    @Mock
+    private ExistenciaLoteRepository existenciaLoteRepository;
+
+    @Mock
+    private LoteService loteService;
+
+    @Mock
+    private StockProductoRepository stockProductoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ReservaStockProperties reservaStockProperties = new ReservaStockProperties();
+
+    @InjectMocks
+    private ReservaStockServiceImpl reservaStockService;
+
+    private Lote loteA;
+    private Lote loteB;
+
+    @BeforeEach
+    void setUp() {
+        loteA = lote("lote-a");
+        loteB = lote("lote-b");
+    }
+
+    /**
+     * Prueba que si otro pedido reserva un lote entre la planificación y el UPDATE,
+     * solo la cantidad perdida se vuelve a planificar en otro lote
+     */
+    @Test
+    void testReservar_ReplanificaLoPerdido() {
+        // Arrange
+        when(loteService.planificarAsignacionFEFO(Map.of("prod1", 5)))
+                .thenReturn(new PlanAsignacionLotes(List.of(new PlanAsignacionLotes.Asignacion("prod1", loteA, 5))))
+                .thenReturn(new PlanAsignacionLotes(List.of(new PlanAsignacionLotes.Asignacion("prod1", loteB, 5))));
+        when(loteRepository.reservarSiDisponible("lote-a", 5)).thenReturn(false);
+        when(loteRepository.reservarSiDisponible("lote-b", 5)).thenReturn(true);
+
+        // Act
+        PlanAsignacionLotes plan = reservaStockService.reservar(Map.of("prod1", 5));
+
+        // Assert
+        assertEquals(1, plan.asignaciones().size());
+        assertEquals("lote-b", plan.asignaciones().get(0).lote().getId());
+        verify(loteService, times(2)).planificarAsignacionFEFO(anyMap());
+    }
+
+    /**
+     * Prueba que la reserva falla si tras los reintentos siguen faltando unidades
+     */
+    @Test
+    void testReservar_FallaTrasReintentos() {
+        // Arrange
+        when(loteService.planificarAsignacionFEFO(anyMap()))
+                .thenReturn(new PlanAsignacionLotes(List.of(new PlanAsignacionLotes.Asignacion("prod1", loteA, 5))));
+        when(loteRepository.reservarSiDisponible("lote-a", 5)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(LoteException.class, () -> reservaStockService.reservar(Map.of("prod1", 5)));
+        verify(loteService, times(3)).planificarAsignacionFEFO(anyMap());
+    }
+
+    /**
+     * Prueba que el barrido solo devuelve unidades al lote cuando gana la transición ACTIVA → LIBERADA
+     */
+    @Test
+    void testLiberarReservasVencidas_SoloLiberaLasQueGanaLaTransicion() {
+        // Arrange
+        ReservaStock vencida = reserva("r1", "lote-a", 3);
+        ReservaStock yaConfirmada = reserva("r2", "lote-b", 4);
+        when(reservaStockRepository.findByEstadoAndFechaExpiracionBeforeOrderByFechaExpiracionAsc(
+                eq(EstadoReserva.ACTIVA), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(vencida, yaConfirmada));
+        when(reservaStockRepository.cambiarEstado("r1", EstadoReserva.ACTIVA, EstadoReserva.LIBERADA)).thenReturn(1);
+        when(reservaStockRepository.cambiarEstado("r2", EstadoReserva.ACTIVA, EstadoReserva.LIBERADA)).thenReturn(0);
+
+        // Act
+        int leidas = reservaStockService.liberarReservasVencidas(10);
+
+        // Assert
+        assertEquals(2, leidas);
+        verify(loteRepository).liberarCantidadReservada("lote-a", 3);
+        verify(loteRepository, never()).liberarCantidadReservada(eq("lote-b"), anyInt());
+        verify(stockProductoRepository).recalcular(Set.of("prod1"));
+        verify(eventPublisher).publishEvent(new CambioStock(Set.of("prod1")));
+    }
+
+    /**
+     * Prueba que el pago convierte la reserva en venta sobre el mismo lote
+     */
+    @Test
+    void testConfirmarReservas_VendeLasUnidadesReservadas() {
+        // Arrange
+        ReservaStock reserva = reserva("r1", "lote-a", 3);
+        when(reservaStockRepository.findByIdPedidoAndEstado("pedido1", EstadoReserva.ACTIVA)).thenReturn(List.of(reserva));
+        when(reservaStockRepository.cambiarEstado("r1", EstadoReserva.ACTIVA, EstadoReserva.CONFIRMADA)).thenReturn(1);
+        when(loteRepository.venderCantidadReservada("lote-a", 3, EstadoLote.AGOTADO)).thenReturn(1);
+        when(existenciaLoteRepository.descontarCantidad(eq("lote-a"), eq(3), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        Map<String, Integer> vendidas = reservaStockService.confirmarReservas("pedido1");
+
+        // Assert
+        assertEquals(Map.of("lote-a", 3), vendidas);
+        verifyNoInteractions(stockProductoRepository);
+    }
+
+    private Lote lote(String id) {
+        Lote lote = new Lote();
+        lote.setId(id);
+        lote.setCodigoLote(id);
+        lote.setIdProducto("prod1");
+        lote.setCantidadDisponible(10);
+        lote.setEstado(EstadoLote.DISPONIBLE);
+        return lote;
+    }
+
+    private ReservaStock reserva(String id, String idLote, int cantidad) {
+        LocalDateTime ahora = LocalDateTime.now();
+        return new ReservaStock(id, "pedido1", "prod1", idLote, cantidad,
+                EstadoReserva.ACTIVA, ahora.minusMinutes(20), ahora.minusMinutes(5));
+    }
+}
@@ -0,0 +1,183 @@
+package uniquindio.product.servicetest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import uniquindio.product.configs.MigracionEstadoLote;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.documents.Producto;
+import uniquindio.product.model.documents.StockProducto;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.repositories.ProductoRepository;
+import uniquindio.product.repositories.StockProductoRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del resumen de stock por producto contra la base de datos:
+ * qué lotes cuentan, la verificación contra la tabla de lotes y que los
+ * recálculos concurrentes no dejen el resumen desactualizado.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(MigracionEstadoLote.class)
+public class StockProductoTest {
+
+    private static final int RESERVAS_CONCURRENTES = 300;
+    private static final int HILOS = 32;
+
+    @Autowired
+    private LoteRepository loteRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private StockProductoRepository stockProductoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Producto producto;
+    private final List<Lote> lotes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        producto = new Producto();
+        producto.setNombreProducto("Producto resumen");
+        producto.setValor(10_000.0);
+        producto.setUltimaFechaModificacion(LocalDateTime.now());
+        producto = productoRepository.save(producto);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loteRepository.deleteAll(lotes);
+        stockProductoRepository.deleteById(producto.getIdProducto());
+        productoRepository.deleteById(producto.getIdProducto());
+    }
+
+    /**
+     * Prueba que solo cuentan los lotes DISPONIBLES con unidades, descontando lo reservado
+     */
+    @Test
+    void testRecalcular_SoloLotesVigentes() {
+        // Arrange
+        LocalDate hoy = LocalDate.now();
+        Lote vigente = lote(EstadoLote.DISPONIBLE, 50, hoy.plusDays(30));
+        lote(EstadoLote.DISPONIBLE, 20, hoy.plusDays(10));
+        lote(EstadoLote.VENCIDO, 40, hoy.minusDays(1));
+        lote(EstadoLote.BLOQUEADO, 70, hoy.plusDays(5));
+        lote(EstadoLote.AGOTADO, 0, hoy.plusDays(3));
+        transactionTemplate.executeWithoutResult(status -> loteRepository.reservarSiDisponible(vigente.getId(), 5));
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> stockProductoRepository.recalcular(producto.getIdProducto()));
+
+        // Assert
+        StockProducto stock = stockProductoRepository.findById(producto.getIdProducto()).orElseThrow();
+        assertEquals(65, stock.getStockDisponible());
+        assertEquals(2, stock.getLotesDisponibles());
+        assertEquals(hoy.plusDays(10), stock.getProximoVencimiento());
+    }
+
+    /**
+     * Prueba que la verificación detecta un cambio de lotes sin recálculo
+     * y que la reconstrucción lo corrige
+     */
+    @Test
+    void testContarDiferencias_DetectaCambioSinRecalculo() {
+        // Arrange
+        Lote vigente = lote(EstadoLote.DISPONIBLE, 50, LocalDate.now().plusDays(30));
+        transactionTemplate.executeWithoutResult(status -> stockProductoRepository.recalcular(producto.getIdProducto()));
+        long antes = stockProductoRepository.contarDiferencias();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> loteRepository.descontarSiDisponible(vigente.getId(), 10));
+        long conCambio = stockProductoRepository.contarDiferencias();
+        transactionTemplate.executeWithoutResult(status ->
+                stockProductoRepository.recalcularTodos(LocalDateTime.now()));
+
+        // Assert
+        assertEquals(antes + 1, conCambio);
+        assertEquals(0, stockProductoRepository.contarDiferencias());
+        assertEquals(40, stockProductoRepository.findById(producto.getIdProducto()).orElseThrow().getStockDisponible());
+    }
+
+    /**
+     * Cientos de reservas concurrentes sobre varios lotes del mismo producto, cada una
+     * con su recálculo: al terminar, el resumen coincide con los lotes
+     */
+    @Test
+    void testRecalculosConcurrentes_ResumenCoincideConLotes() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            lote(EstadoLote.DISPONIBLE, 200, LocalDate.now().plusDays(10 + i));
+        }
+        transactionTemplate.executeWithoutResult(status -> stockProductoRepository.recalcular(producto.getIdProducto()));
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < RESERVAS_CONCURRENTES; i++) {
+            String idLote = lotes.get(i % lotes.size()).getId();
+            tareas.add(executor.submit(() -> {
+                salida.await();
+                transactionTemplate.executeWithoutResult(status -> {
+                    loteRepository.reservarSiDisponible(idLote, 1);
+                    stockProductoRepository.recalcular(producto.getIdProducto());
+                });
+                return null;
+            }));
+        }
+        salida.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        int libres = loteRepository.findByIdProducto(producto.getIdProducto()).stream()
+                .mapToInt(Lote::cantidadLibre)
+                .sum();
+        StockProducto stock = stockProductoRepository.findById(producto.getIdProducto()).orElseThrow();
+        assertEquals(600 - RESERVAS_CONCURRENTES, libres);
+        assertEquals(libres, stock.getStockDisponible());
+    }
+
+    private Lote lote(EstadoLote estado, int cantidad, LocalDate fechaVencimiento) {
+        Lote lote = new Lote();
+        lote.setCodigoLote("RES-" + UUID.randomUUID().toString().substring(0, 8));
+        lote.setIdProducto(producto.getIdProducto());
+        lote.setFechaProduccion(LocalDate.now().minusMonths(1));
+        lote.setFechaVencimiento(fechaVencimiento);
+        lote.setCantidadProducida(Math.max(cantidad, 1));
+        lote.setCantidadDisponible(cantidad);
+        lote.setEstado(estado);
+        lote.setFechaCreacion(LocalDateTime.now());
+        lote = loteRepository.save(lote);
+        lotes.add(lote);
+        return lote;
+    }
+}
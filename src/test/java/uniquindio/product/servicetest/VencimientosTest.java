@@ -0,0 +1,150 @@
+package uniquindio.product.servicetest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uniquindio.product.configs.VencimientosProperties;
+import uniquindio.product.model.documents.Lote;
+import uniquindio.product.model.enums.EstadoLote;
+import uniquindio.product.repositories.LoteRepository;
+import uniquindio.product.services.implementations.IndiceVencimientos;
+import uniquindio.product.services.implementations.MotorVencimientos;
+import uniquindio.product.services.interfaces.LoteService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de pruebas unitarias para el motor de vencimientos
+ * Prueba el índice en memoria ordenado por fecha y que cada pasada solo vence los lotes que ya vencieron
+ */
+@ExtendWith(MockitoExtension.class)
+public class VencimientosTest {
+
+    @Mock
+    private LoteService loteService;
+
+    @Mock
+    private LoteRepository loteRepository;
+
+    private final LocalDate hoy = LocalDate.now();
+    private IndiceVencimientos indice;
+    private VencimientosProperties propiedades;
+    private MotorVencimientos motor;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceVencimientos();
+        propiedades = new VencimientosProperties();
+        motor = new MotorVencimientos(loteService, loteRepository, indice, propiedades);
+    }
+
+    /**
+     * Prueba que el índice entrega primero los que vencen antes y nunca los que aún no vencen
+     */
+    @Test
+    void testTomarVencidos_EnOrdenDeFechaYSoloVencidos() {
+        // Arrange
+        indice.recargar(List.of(
+                lote("l3", EstadoLote.DISPONIBLE, hoy),
+                lote("l1", EstadoLote.BLOQUEADO, hoy.minusDays(2)),
+                lote("l2", EstadoLote.DISPONIBLE, hoy.minusDays(1)),
+                lote("l4", EstadoLote.DISPONIBLE, hoy.plusDays(1))
+        ), hoy.plusDays(7));
+
+        // Act
+        List<String> primeros = indice.tomarVencidos(hoy, 2);
+        List<String> resto = indice.tomarVencidos(hoy, 2);
+
+        // Assert
+        assertEquals(List.of("l1", "l2"), primeros);
+        assertEquals(List.of("l3"), resto);
+        assertTrue(indice.tomarVencidos(hoy, 2).isEmpty());
+        assertEquals(1, indice.tamano());
+    }
+
+    /**
+     * Prueba que solo se registran lotes con stock que vencen dentro del horizonte cargado
+     */
+    @Test
+    void testRegistrar_RespetaEstadoYHorizonte() {
+        // Arrange
+        indice.recargar(List.of(), hoy.plusDays(7));
+
+        // Act
+        indice.registrar(lote("dentro", EstadoLote.DISPONIBLE, hoy.plusDays(3)));
+        indice.registrar(lote("fuera", EstadoLote.DISPONIBLE, hoy.plusDays(30)));
+        indice.registrar(lote("produccion", EstadoLote.EN_PRODUCCION, hoy.plusDays(3)));
+
+        // Assert
+        assertEquals(List.of("dentro"), indice.tomarVencidos(hoy.plusDays(7), 10));
+    }
+
+    /**
+     * Prueba que el índice se carga una vez al día y que los vencidos se procesan en bloques
+     */
+    @Test
+    void testVencerLotes_CargaUnaVezYVenceEnBloques() {
+        // Arrange
+        propiedades.setTamanoLote(2);
+        List<Lote> lotes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            lotes.add(lote("vencido-" + i, EstadoLote.DISPONIBLE, hoy.minusDays(1)));
+        }
+        lotes.add(lote("vigente", EstadoLote.DISPONIBLE, hoy.plusDays(2)));
+        when(loteRepository.findByEstadoInAndFechaVencimientoLessThanEqual(anyCollection(), eq(hoy.plusDays(7))))
+                .thenReturn(lotes);
+        when(loteService.vencerLotes(anyCollection())).thenAnswer(invocacion -> invocacion.<Collection<?>>getArgument(0).size());
+
+        // Act
+        motor.vencerLotes();
+        motor.vencerLotes();
+
+        // Assert
+        verify(loteRepository, times(1)).findByEstadoInAndFechaVencimientoLessThanEqual(anyCollection(), any());
+        verify(loteService, times(3)).vencerLotes(anyCollection());
+        verify(loteService, never()).vencerLotes(argThat(ids -> ids.contains("vigente")));
+        assertEquals(1, indice.tamano());
+    }
+
+    /**
+     * Prueba que si falla la transacción de un bloque, sus lotes vuelven al índice para la siguiente pasada
+     */
+    @Test
+    void testVencerLotes_FalloDevuelveLotesAlIndice() {
+        // Arrange
+        when(loteRepository.findByEstadoInAndFechaVencimientoLessThanEqual(anyCollection(), any()))
+                .thenReturn(List.of(lote("l1", EstadoLote.DISPONIBLE, hoy.minusDays(1))));
+        when(loteService.vencerLotes(anyCollection()))
+                .thenThrow(new IllegalStateException("deadlock detectado"))
+                .thenReturn(1);
+
+        // Act
+        motor.vencerLotes();
+        int pendientesTrasFallo = indice.tamano();
+        motor.vencerLotes();
+
+        // Assert
+        assertEquals(1, pendientesTrasFallo);
+        assertEquals(0, indice.tamano());
+        verify(loteService, times(2)).vencerLotes(List.of("l1"));
+    }
+
+    private Lote lote(String id, EstadoLote estado, LocalDate fechaVencimiento) {
+        Lote lote = new Lote();
+        lote.setId(id);
+        lote.setCodigoLote(id);
+        lote.setIdProducto("prod1");
+        lote.setEstado(estado);
+        lote.setFechaVencimiento(fechaVencimiento);
+        return lote;
+    }
+}